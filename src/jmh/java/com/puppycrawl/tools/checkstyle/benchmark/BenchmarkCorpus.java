@@ -0,0 +1,150 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * The corpus of Java files the benchmarks are run on. The files are taken from
+ * the inputs of integration tests by default, sorted by path, so every run
+ * processes the same sources in the same order. Files which cannot be parsed
+ * by Checkstyle are skipped.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkCorpus {
+
+    /** The extension of Java files. */
+    private static final String JAVA_EXTENSION = ".java";
+
+    /**
+     * Comma separated list of directories to search for Java files,
+     * relative to the project root.
+     */
+    @Param("src/it/resources")
+    private String corpus;
+
+    /** The files of the corpus. */
+    private List<File> files;
+
+    /** The contents of the files of the corpus. */
+    private List<FileText> fileTexts;
+
+    /**
+     * Loads the files of the corpus.
+     *
+     * @throws IOException if a file cannot be read.
+     * @throws IllegalStateException if the corpus has no Java files.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final List<File> parsedFiles = new ArrayList<>();
+        final List<FileText> parsedFileTexts = new ArrayList<>();
+        for (final Path path : findJavaFiles(corpus)) {
+            final File file = path.toFile().getAbsoluteFile();
+            final FileText fileText = new FileText(file, StandardCharsets.UTF_8.name());
+            if (isParsed(fileText)) {
+                parsedFiles.add(file);
+                parsedFileTexts.add(fileText);
+            }
+        }
+        if (parsedFiles.isEmpty()) {
+            throw new IllegalStateException("No Java files found in corpus: " + corpus);
+        }
+        files = Collections.unmodifiableList(parsedFiles);
+        fileTexts = Collections.unmodifiableList(parsedFileTexts);
+    }
+
+    /**
+     * Returns the files of the corpus.
+     *
+     * @return the files of the corpus.
+     */
+    public List<File> getFiles() {
+        return files;
+    }
+
+    /**
+     * Returns the contents of the files of the corpus.
+     *
+     * @return the contents of the files of the corpus.
+     */
+    public List<FileText> getFileTexts() {
+        return fileTexts;
+    }
+
+    /**
+     * Finds Java files in the given directories.
+     *
+     * @param directories comma separated list of directories.
+     * @return sorted paths of Java files.
+     * @throws IOException if a directory cannot be traversed.
+     */
+    private static List<Path> findJavaFiles(String directories) throws IOException {
+        final List<Path> result = new ArrayList<>();
+        for (final String directory : directories.split(",")) {
+            try (Stream<Path> paths = Files.walk(Paths.get(directory.trim()))) {
+                result.addAll(paths
+                        .filter(path -> path.toString().endsWith(JAVA_EXTENSION))
+                        .filter(Files::isRegularFile)
+                        .collect(Collectors.toUnmodifiableList()));
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Checks whether the file can be parsed by Checkstyle.
+     *
+     * @param fileText the contents of the file.
+     * @return {@code true} if the file can be parsed.
+     */
+    private static boolean isParsed(FileText fileText) {
+        boolean result = true;
+        try {
+            JavaParser.parseFileText(fileText, JavaParser.Options.WITH_COMMENTS);
+        }
+        catch (CheckstyleException ignored) {
+            result = false;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,165 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.DefaultContext;
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.PackageObjectFactory;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
+
+/**
+ * Measures the cost of visiting the ASTs of the corpus by a single check with
+ * its default configuration. The ASTs are built in advance, so parsing is not
+ * included, and the walk calls the check for its tokens the same way
+ * {@code TreeWalker} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class CheckBenchmark {
+
+    /** The name of the check to measure, as it is used in configuration files. */
+    @Param({
+        "RequireThis",
+        "Indentation",
+        "FinalLocalVariable",
+        "HiddenField",
+        "UnusedLocalVariable",
+        "MagicNumber",
+        "WhitespaceAround",
+        "JavadocMethod"
+    })
+    private String check;
+
+    /** The check instance. */
+    private AbstractCheck checkInstance;
+
+    /** The tokens the check is subscribed to. */
+    private final BitSet checkTokens = new BitSet();
+
+    /** The contents of the files of the corpus. */
+    private final List<FileContents> fileContents = new ArrayList<>();
+
+    /** The ASTs of the files of the corpus. */
+    private final List<DetailAST> asts = new ArrayList<>();
+
+    /**
+     * Creates the check and builds the ASTs of the corpus.
+     *
+     * @param corpus the corpus of files.
+     * @throws CheckstyleException if the check cannot be created or a file cannot be parsed.
+     */
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkCorpus corpus) throws CheckstyleException {
+        final PackageObjectFactory factory = new PackageObjectFactory(
+                PackageObjectFactory.class.getPackage().getName(),
+                Thread.currentThread().getContextClassLoader());
+        checkInstance = (AbstractCheck) factory.createModule(check);
+        final DefaultContext context = new DefaultContext();
+        context.add("severity", SeverityLevel.ERROR.getName());
+        context.add("tabWidth", String.valueOf(CommonUtil.DEFAULT_TAB_WIDTH));
+        checkInstance.contextualize(context);
+        checkInstance.configure(new DefaultConfiguration(check));
+        checkInstance.init();
+        checkTokens.clear();
+        for (final int token : checkInstance.getDefaultTokens()) {
+            checkTokens.set(token);
+        }
+
+        fileContents.clear();
+        asts.clear();
+        for (final FileText fileText : corpus.getFileTexts()) {
+            final FileContents contents = new FileContents(fileText);
+            DetailAST ast = JavaParser.parse(contents);
+            if (checkInstance.isCommentNodesRequired()) {
+                ast = JavaParser.appendHiddenCommentNodes(ast);
+            }
+            fileContents.add(contents);
+            asts.add(ast);
+        }
+    }
+
+    /**
+     * Visits the ASTs of the corpus by the check.
+     *
+     * @param blackhole the consumer of results.
+     */
+    @Benchmark
+    public void visit(Blackhole blackhole) {
+        for (int index = 0; index < asts.size(); index++) {
+            final DetailAST root = asts.get(index);
+            checkInstance.setFileContents(fileContents.get(index));
+            checkInstance.clearViolations();
+            checkInstance.beginTree(root);
+            walk(root);
+            checkInstance.finishTree(root);
+            blackhole.consume(checkInstance.getViolations());
+        }
+    }
+
+    /**
+     * Walks the AST calling the check for its tokens.
+     *
+     * @param root the root of the AST.
+     */
+    private void walk(DetailAST root) {
+        DetailAST curNode = root;
+        while (curNode != null) {
+            if (checkTokens.get(curNode.getType())) {
+                checkInstance.visitToken(curNode);
+            }
+            DetailAST toVisit = curNode.getFirstChild();
+            while (curNode != null && toVisit == null) {
+                if (checkTokens.get(curNode.getType())) {
+                    checkInstance.leaveToken(curNode);
+                }
+                toVisit = curNode.getNextSibling();
+                curNode = curNode.getParent();
+            }
+            curNode = toVisit;
+        }
+    }
+
+}
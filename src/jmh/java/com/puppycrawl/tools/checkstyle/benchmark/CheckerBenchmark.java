@@ -0,0 +1,92 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Measures {@link Checker#process(java.util.List)} of the corpus from reading
+ * of files to dispatching of violations, with one of the bundled configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class CheckerBenchmark {
+
+    /** The configuration file, as a classpath resource, a file or a URL. */
+    @Param({"/google_checks.xml", "/sun_checks.xml"})
+    private String config;
+
+    /** The loaded configuration. */
+    private Configuration configuration;
+
+    /**
+     * Loads the configuration.
+     *
+     * @throws CheckstyleException if the configuration cannot be loaded.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws CheckstyleException {
+        configuration = ConfigurationLoader.loadConfiguration(config,
+                new PropertiesExpander(new Properties()),
+                ConfigurationLoader.IgnoredModulesOptions.OMIT);
+    }
+
+    /**
+     * Processes the corpus with a new Checker, as a single run of the command line
+     * tool does.
+     *
+     * @param corpus the corpus of files.
+     * @return the number of violations.
+     * @throws CheckstyleException if the Checker cannot be configured or fails.
+     */
+    @Benchmark
+    public int process(BenchmarkCorpus corpus) throws CheckstyleException {
+        final Checker checker = new Checker();
+        try {
+            checker.setModuleClassLoader(Checker.class.getClassLoader());
+            checker.configure(configuration);
+            return checker.process(corpus.getFiles());
+        }
+        finally {
+            checker.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.grammar.CharSequenceCharStream;
+import com.puppycrawl.tools.checkstyle.grammar.java.JavaLanguageLexer;
+
+/**
+ * Measures the stages of parsing of Java files: lexing, building of the AST
+ * by {@link JavaParser#parse(FileContents)}, which includes the parse tree
+ * and its prediction modes, and attaching of comment nodes to the AST.
+ * Each stage includes the previous ones, so the cost of a stage is the
+ * difference with the previous benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JavaParserBenchmark {
+
+    /**
+     * Splits the files of the corpus into tokens.
+     *
+     * @param corpus the corpus of files.
+     * @param blackhole the consumer of results.
+     */
+    @Benchmark
+    public void lex(BenchmarkCorpus corpus, Blackhole blackhole) {
+        for (final FileText fileText : corpus.getFileTexts()) {
+            final JavaLanguageLexer lexer = createLexer(fileText);
+            Token token = lexer.nextToken();
+            while (token.getType() != Token.EOF) {
+                blackhole.consume(token);
+                token = lexer.nextToken();
+            }
+        }
+    }
+
+    /**
+     * Builds ASTs of the files of the corpus.
+     *
+     * @param corpus the corpus of files.
+     * @param blackhole the consumer of results.
+     * @throws CheckstyleException if a file cannot be parsed.
+     */
+    @Benchmark
+    public void parse(BenchmarkCorpus corpus, Blackhole blackhole) throws CheckstyleException {
+        for (final FileText fileText : corpus.getFileTexts()) {
+            blackhole.consume(JavaParser.parse(new FileContents(fileText)));
+        }
+    }
+
+    /**
+     * Builds ASTs with comment nodes of the files of the corpus.
+     *
+     * @param corpus the corpus of files.
+     * @param blackhole the consumer of results.
+     * @throws CheckstyleException if a file cannot be parsed.
+     */
+    @Benchmark
+    public void parseWithComments(BenchmarkCorpus corpus, Blackhole blackhole)
+            throws CheckstyleException {
+        for (final FileText fileText : corpus.getFileTexts()) {
+            blackhole.consume(
+                    JavaParser.parseFileText(fileText, JavaParser.Options.WITH_COMMENTS));
+        }
+    }
+
+    /**
+     * Creates the lexer of a file the same way as {@link JavaParser} does.
+     *
+     * @param fileText the contents of the file.
+     * @return the lexer.
+     */
+    private static JavaLanguageLexer createLexer(FileText fileText) {
+        final CharSequence fullText = fileText.getFullText();
+        final CharStream charStream;
+        if (CharSequenceCharStream.isApplicable(fullText)) {
+            charStream = new CharSequenceCharStream(fullText, IntStream.UNKNOWN_SOURCE_NAME);
+        }
+        else {
+            charStream = CharStreams.fromString(fullText.toString());
+        }
+        final JavaLanguageLexer lexer = new JavaLanguageLexer(charStream, true);
+        lexer.setCommentListener(new FileContents(fileText));
+        return lexer;
+    }
+
+}
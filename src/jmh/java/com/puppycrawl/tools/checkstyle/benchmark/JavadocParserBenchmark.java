@@ -0,0 +1,108 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtil;
+
+/**
+ * Measures parsing of all Javadoc comments of the corpus into DetailNode trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JavadocParserBenchmark {
+
+    /** Javadoc comments of the corpus. */
+    private final List<DetailAST> javadocComments = new ArrayList<>();
+
+    /**
+     * Collects Javadoc comments of the corpus.
+     *
+     * @param corpus the corpus of files.
+     * @throws CheckstyleException if a file cannot be parsed.
+     */
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkCorpus corpus) throws CheckstyleException {
+        javadocComments.clear();
+        for (final FileText fileText : corpus.getFileTexts()) {
+            DetailAST node =
+                    JavaParser.parseFileText(fileText, JavaParser.Options.WITH_COMMENTS);
+            while (node != null) {
+                if (node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN
+                        && JavadocUtil.isJavadocComment(node)) {
+                    javadocComments.add(node);
+                }
+                node = getNextNode(node);
+            }
+        }
+    }
+
+    /**
+     * Parses all Javadoc comments of the corpus.
+     *
+     * @param blackhole the consumer of results.
+     */
+    @Benchmark
+    public void parseJavadoc(Blackhole blackhole) {
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        for (final DetailAST javadocComment : javadocComments) {
+            blackhole.consume(parser.parseJavadocAsDetailNode(javadocComment));
+        }
+    }
+
+    /**
+     * Returns the next node of the AST in the depth-first order.
+     *
+     * @param node the current node.
+     * @return the next node or {@code null} if there are no more nodes.
+     */
+    private static DetailAST getNextNode(DetailAST node) {
+        DetailAST result = node.getFirstChild();
+        DetailAST current = node;
+        while (result == null && current != null) {
+            result = current.getNextSibling();
+            current = current.getParent();
+        }
+        return result;
+    }
+
+}
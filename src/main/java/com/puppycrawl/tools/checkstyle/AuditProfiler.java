@@ -0,0 +1,374 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractViolationReporter;
+
+/**
+ * Collects the time spent in modules, and optionally the bytes allocated
+ * by them, while files are audited. Modules are identified by their id, or
+ * by the simple name of their class if they have no id. The profiler is
+ * thread safe, the allocated bytes are measured for the current thread.
+ * A measurement started while another one is in progress on the same thread,
+ * such as a check notified by another check, is not counted in the outer one,
+ * except by {@link Operation#PROCESS}.
+ */
+public final class AuditProfiler {
+
+    /** The header of the report. */
+    private static final String REPORT_HEADER = "module,operation,calls,nanos,allocatedBytes";
+
+    /** The bean to measure allocated bytes with, {@code null} if they are not measured. */
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    /** The profiles of modules by module name. */
+    private final Map<String, ModuleProfile> profiles = new ConcurrentHashMap<>();
+
+    /** The innermost measurement in progress on each thread. */
+    private final ThreadLocal<Sample> currentSample = new ThreadLocal<>();
+
+    /**
+     * Creates a new profiler.
+     *
+     * @param measureAllocations whether to measure the bytes allocated by modules,
+     *     the bytes are only measured if the JVM supports it.
+     */
+    public AuditProfiler(boolean measureAllocations) {
+        threadBean = getAllocationMeasuringBean(measureAllocations);
+    }
+
+    /**
+     * Gets the profile of the module.
+     *
+     * @param module the module.
+     * @return the profile of the module.
+     */
+    public ModuleProfile getModuleProfile(Object module) {
+        String name = null;
+        if (module instanceof AbstractViolationReporter) {
+            name = ((AbstractViolationReporter) module).getId();
+        }
+        if (name == null) {
+            name = module.getClass().getSimpleName();
+        }
+        return profiles.computeIfAbsent(name, ModuleProfile::new);
+    }
+
+    /**
+     * Writes the collected measurements as CSV, one row per module and
+     * operation, sorted by the time spent in descending order.
+     *
+     * @param writer the writer to write the report to.
+     * @throws IOException if the report cannot be written.
+     */
+    public void writeReport(Writer writer) throws IOException {
+        final List<Measurement> measurements = new ArrayList<>();
+        for (ModuleProfile profile : profiles.values()) {
+            for (Operation operation : Operation.values()) {
+                final Measurement measurement = profile.getMeasurement(operation);
+                if (measurement.calls.sum() > 0) {
+                    measurements.add(measurement);
+                }
+            }
+        }
+        measurements.sort(Comparator.comparingLong((Measurement measurement) -> {
+            return measurement.nanos.sum();
+        }).reversed()
+                .thenComparing(measurement -> measurement.moduleName)
+                .thenComparing(measurement -> measurement.operation));
+
+        final PrintWriter printWriter = new PrintWriter(writer);
+        printWriter.println(REPORT_HEADER);
+        for (Measurement measurement : measurements) {
+            printWriter.println(String.format(Locale.ROOT, "%s,%s,%d,%d,%d",
+                    escapeCsv(measurement.moduleName), measurement.operation.getName(),
+                    measurement.calls.sum(), measurement.nanos.sum(),
+                    measurement.allocatedBytes.sum()));
+        }
+        printWriter.flush();
+        if (printWriter.checkError()) {
+            throw new IOException("Unable to write the profiling report");
+        }
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread.
+     *
+     * @return the bytes allocated by the current thread, or zero if they are not measured.
+     */
+    private long getAllocatedBytes() {
+        long result = 0;
+        if (threadBean != null) {
+            result = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the bean to measure allocated bytes with.
+     *
+     * @param measureAllocations whether to measure the bytes allocated by modules.
+     * @return the bean, or {@code null} if allocated bytes should not or can not be measured.
+     */
+    private static com.sun.management.ThreadMXBean getAllocationMeasuringBean(
+            boolean measureAllocations) {
+        com.sun.management.ThreadMXBean result = null;
+        if (measureAllocations) {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                result = (com.sun.management.ThreadMXBean) bean;
+                if (result.isThreadAllocatedMemorySupported()) {
+                    result.setThreadAllocatedMemoryEnabled(true);
+                }
+                else {
+                    result = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Quotes a CSV value if it contains special characters.
+     *
+     * @param value the value.
+     * @return the value to write to CSV.
+     */
+    private static String escapeCsv(String value) {
+        String result = value;
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+            result = '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return result;
+    }
+
+    /** The operations of modules which are measured. */
+    public enum Operation {
+
+        /** Reading of a file. */
+        READ("read"),
+
+        /** Parsing of a file. */
+        PARSE("parse"),
+
+        /**
+         * Processing of a file by a file set check. The measurement includes the
+         * operations of the checks and filters run by the module, which are also
+         * reported on their own.
+         */
+        PROCESS("process(total)"),
+
+        /** Beginning of a tree by a check. */
+        BEGIN_TREE("beginTree"),
+
+        /** Visiting of a token by a check. */
+        VISIT_TOKEN("visitToken"),
+
+        /** Leaving of a token by a check. */
+        LEAVE_TOKEN("leaveToken"),
+
+        /** Finishing of a tree by a check. */
+        FINISH_TREE("finishTree"),
+
+        /** Beginning of a Javadoc tree by a Javadoc check. */
+        BEGIN_JAVADOC_TREE("beginJavadocTree"),
+
+        /** Visiting of a Javadoc node by a Javadoc check. */
+        VISIT_JAVADOC_TOKEN("visitJavadocToken"),
+
+        /** Leaving of a Javadoc node by a Javadoc check. */
+        LEAVE_JAVADOC_TOKEN("leaveJavadocToken"),
+
+        /** Finishing of a Javadoc tree by a Javadoc check. */
+        FINISH_JAVADOC_TREE("finishJavadocTree"),
+
+        /** Filtering of an event by a filter. */
+        ACCEPT("accept");
+
+        /** The name of the operation in the report. */
+        private final String name;
+
+        /**
+         * Creates an operation.
+         *
+         * @param name the name of the operation in the report.
+         */
+        Operation(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the name of the operation in the report.
+         *
+         * @return the name of the operation in the report.
+         */
+        public String getName() {
+            return name;
+        }
+
+    }
+
+    /** The values measured at the start of a measurement. */
+    public static final class Sample {
+
+        /** The value of the nanosecond timer. */
+        private long nanos;
+
+        /** The bytes allocated by the thread. */
+        private long allocatedBytes;
+
+        /** The measurement in progress when this one started, {@code null} if none. */
+        private final Sample outer;
+
+        /** The time spent in nested measurements, in nanoseconds. */
+        private long nestedNanos;
+
+        /** The bytes allocated in nested measurements. */
+        private long nestedAllocatedBytes;
+
+        /**
+         * Creates a sample, the values are set once the sample is allocated.
+         *
+         * @param outer the measurement in progress, {@code null} if none.
+         */
+        private Sample(Sample outer) {
+            this.outer = outer;
+        }
+
+    }
+
+    /** The measurements of a module. */
+    public final class ModuleProfile {
+
+        /** The measurements of the module by operation. */
+        private final Measurement[] measurements;
+
+        /**
+         * Creates a profile of a module.
+         *
+         * @param moduleName the name of the module.
+         */
+        private ModuleProfile(String moduleName) {
+            final Operation[] operations = Operation.values();
+            measurements = new Measurement[operations.length];
+            for (Operation operation : operations) {
+                measurements[operation.ordinal()] = new Measurement(moduleName, operation);
+            }
+        }
+
+        /**
+         * Starts a measurement of an operation of the module.
+         *
+         * @return the sample of the start of the measurement.
+         */
+        public Sample startSample() {
+            // the sample is allocated before the counters are read, so its bytes
+            // are not attributed to the module
+            final Sample sample = new Sample(currentSample.get());
+            currentSample.set(sample);
+            sample.allocatedBytes = getAllocatedBytes();
+            sample.nanos = System.nanoTime();
+            return sample;
+        }
+
+        /**
+         * Records an operation of the module which started at the sample.
+         * The nested measurements are not counted, unless the operation is
+         * {@link Operation#PROCESS}, and this one is counted as nested in
+         * the outer measurement.
+         *
+         * @param operation the operation.
+         * @param start the sample taken when the operation started.
+         */
+        public void record(Operation operation, Sample start) {
+            long nanos = System.nanoTime() - start.nanos;
+            long allocatedBytes = getAllocatedBytes() - start.allocatedBytes;
+            currentSample.set(start.outer);
+            if (start.outer != null) {
+                start.outer.nestedNanos += nanos;
+                start.outer.nestedAllocatedBytes += allocatedBytes;
+            }
+            if (operation != Operation.PROCESS) {
+                nanos -= start.nestedNanos;
+                allocatedBytes -= start.nestedAllocatedBytes;
+            }
+            final Measurement measurement = measurements[operation.ordinal()];
+            measurement.calls.increment();
+            measurement.nanos.add(nanos);
+            measurement.allocatedBytes.add(allocatedBytes);
+        }
+
+        /**
+         * Returns the measurement of the operation.
+         *
+         * @param operation the operation.
+         * @return the measurement of the operation.
+         */
+        private Measurement getMeasurement(Operation operation) {
+            return measurements[operation.ordinal()];
+        }
+
+    }
+
+    /** The totals of an operation of a module. */
+    private static final class Measurement {
+
+        /** The name of the module. */
+        private final String moduleName;
+
+        /** The operation. */
+        private final Operation operation;
+
+        /** The number of calls. */
+        private final LongAdder calls = new LongAdder();
+
+        /** The time spent in nanoseconds. */
+        private final LongAdder nanos = new LongAdder();
+
+        /** The bytes allocated. */
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        /**
+         * Creates a measurement.
+         *
+         * @param moduleName the name of the module.
+         * @param operation the operation.
+         */
+        private Measurement(String moduleName, Operation operation) {
+            this.moduleName = moduleName;
+            this.operation = operation;
+        }
+
+    }
+
+}
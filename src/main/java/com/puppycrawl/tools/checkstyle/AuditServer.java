@@ -0,0 +1,537 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.RootModule;
+
+/**
+ * A long-lived server which keeps configured root modules between audits, so
+ * that auditing a few files does not pay for loading the configuration,
+ * instantiating the modules and warming up the JVM each time.
+ *
+ * <p>
+ * The server listens on a port of the loopback address and answers one
+ * connection at a time. A client sends the secret of the server on the first
+ * line, the location of the configuration on the second line and the absolute
+ * paths of the files to check on the following lines, and ends the request with
+ * an empty line or by shutting down its output. The server answers with
+ * the report in plain format, as {@link Main} prints it, followed by the number
+ * of errors if there are any, and closes the connection.
+ * </p>
+ *
+ * <p>
+ * The secret is generated when the server starts and written to a file which
+ * only the owner can read, so that other users of the machine cannot make
+ * the server read files on their behalf. Requests without it are rejected.
+ * </p>
+ *
+ * <p>
+ * Root modules are kept by the location of their configuration. A root module
+ * is configured again when the content of its configuration, or of an external
+ * resource of its modules such as a suppressions file, changes.
+ * </p>
+ */
+public final class AuditServer {
+
+    /** The maximum number of connections waiting to be accepted. */
+    private static final int BACKLOG = 50;
+
+    /** The number of random bytes of a secret. */
+    private static final int SECRET_LENGTH = 32;
+
+    /** The permissions of the secret file, read and write by the owner only. */
+    private static final String SECRET_FILE_PERMISSIONS = "rw-------";
+
+    /** Logger for AuditServer. */
+    private static final Log LOG = LogFactory.getLog(AuditServer.class);
+
+    /** The configured root modules by configuration location. */
+    private final Map<String, ConfiguredRootModule> rootModules = new HashMap<>();
+
+    /** The properties to expand configurations with. */
+    private final Properties properties;
+
+    /** The secret which requests must start with. */
+    private final byte[] secret;
+
+    /**
+     * Creates a server.
+     *
+     * @param properties the properties to expand configurations with.
+     * @param secret the secret which requests must start with.
+     */
+    public AuditServer(Properties properties, String secret) {
+        this.properties = properties;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Starts a server on the port of the loopback address given as the first
+     * argument, and writes its secret to the new file given as the second
+     * argument. The file is deleted when the server stops. Configurations are
+     * expanded with the system properties.
+     *
+     * @param args the command line arguments.
+     * @throws IOException if the port cannot be listened on or the secret file
+     *     cannot be created.
+     * @throws IllegalArgumentException if the port or the secret file is not given.
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: AuditServer <port> <secret file>");
+        }
+        final Path secretFile = Paths.get(args[1]);
+        try (ServerSocket serverSocket = new ServerSocket(Integer.parseInt(args[0]),
+                BACKLOG, InetAddress.getLoopbackAddress())) {
+            final String secret = createSecretFile(secretFile);
+            try {
+                new AuditServer(System.getProperties(), secret).serve(serverSocket);
+            }
+            finally {
+                Files.deleteIfExists(secretFile);
+            }
+        }
+    }
+
+    /**
+     * Generates a secret and writes it to a new file which only the owner can
+     * read. The file must not exist, so that nobody else can have opened it.
+     *
+     * @param secretFile the file to write the secret to.
+     * @return the secret.
+     * @throws IOException if the file exists or cannot be written.
+     */
+    /* package */ static String createSecretFile(Path secretFile) throws IOException {
+        final byte[] bytes = new byte[SECRET_LENGTH];
+        new SecureRandom().nextBytes(bytes);
+        final String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(secretFile, PosixFilePermissions.asFileAttribute(
+                    PosixFilePermissions.fromString(SECRET_FILE_PERMISSIONS)));
+        }
+        else {
+            final File file = Files.createFile(secretFile).toFile();
+            file.setReadable(false, false);
+            file.setReadable(true, true);
+        }
+        Files.writeString(secretFile, secret);
+        return secret;
+    }
+
+    /**
+     * Answers the connections to the socket one after the other until
+     * the socket is closed, then destroys all root modules.
+     *
+     * @param serverSocket the socket to accept connections from.
+     */
+    public void serve(ServerSocket serverSocket) {
+        try {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    audit(socket.getInputStream(), socket.getOutputStream());
+                }
+                catch (IOException exc) {
+                    if (!serverSocket.isClosed()) {
+                        LOG.warn("Unable to answer the request", exc);
+                    }
+                }
+            }
+        }
+        finally {
+            destroy();
+        }
+    }
+
+    /**
+     * Reads a request, audits the requested files and writes the report.
+     * A request which does not start with the secret is rejected unread.
+     *
+     * @param request the stream to read the request from.
+     * @param response the stream to write the report to.
+     * @return the number of errors.
+     * @throws IOException if the request cannot be read.
+     */
+    public int audit(InputStream request, OutputStream response) throws IOException {
+        final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request, StandardCharsets.UTF_8));
+        final PrintWriter writer = new PrintWriter(
+                new OutputStreamWriter(response, StandardCharsets.UTF_8));
+        final int errorCount;
+        if (isAuthenticated(reader.readLine())) {
+            errorCount = audit(reader, response, writer);
+        }
+        else {
+            writer.println("Request is not authenticated");
+            errorCount = 1;
+        }
+        if (errorCount > 0) {
+            final LocalizedMessage errorCounterViolation = new LocalizedMessage(
+                    Definitions.CHECKSTYLE_BUNDLE, Main.class,
+                    Main.ERROR_COUNTER, String.valueOf(errorCount));
+            writer.println(errorCounterViolation.getMessage());
+        }
+        writer.flush();
+        return errorCount;
+    }
+
+    /**
+     * Reads the configuration location and the files of an authenticated
+     * request and audits them.
+     *
+     * @param reader the reader of the request after the secret.
+     * @param response the stream to write the report to.
+     * @param writer the writer to write errors to.
+     * @return the number of errors.
+     * @throws IOException if the request cannot be read.
+     */
+    private int audit(BufferedReader reader, OutputStream response, PrintWriter writer)
+            throws IOException {
+        final String configLocation = reader.readLine();
+        final List<File> files = new ArrayList<>();
+        String line = reader.readLine();
+        while (line != null && !line.isEmpty()) {
+            files.add(new File(line));
+            line = reader.readLine();
+        }
+
+        final int errorCount;
+        if (configLocation == null || configLocation.isBlank()) {
+            writer.println("Request has no configuration location");
+            errorCount = 1;
+        }
+        else {
+            errorCount = audit(configLocation, files, response, writer);
+        }
+        return errorCount;
+    }
+
+    /**
+     * Audits the files with the root module of the configuration. A root module
+     * which fails is dropped, so that the next request configures it again.
+     *
+     * @param configLocation the location of the configuration.
+     * @param files the files to audit.
+     * @param response the stream to write the report to.
+     * @param writer the writer to write errors to.
+     * @return the number of errors.
+     */
+    private int audit(String configLocation, List<File> files, OutputStream response,
+            PrintWriter writer) {
+        int errorCount;
+        try {
+            final ConfiguredRootModule rootModule = getRootModule(configLocation);
+            errorCount = rootModule.process(files,
+                    new DefaultLogger(response,
+                            AbstractAutomaticBean.OutputStreamOptions.NONE));
+        }
+        // -@cs[IllegalCatch] A failed request must not stop the server
+        catch (CheckstyleException | RuntimeException exc) {
+            // the modules may be left in any state
+            removeRootModule(configLocation);
+            exc.printStackTrace(writer);
+            errorCount = 1;
+        }
+        return errorCount;
+    }
+
+    /**
+     * Checks whether the first line of a request is the secret. The comparison
+     * takes the same time whatever the line, to not give the secret away.
+     *
+     * @param line the first line of the request, {@code null} if it is empty.
+     * @return {@code true} if the line is the secret.
+     */
+    private boolean isAuthenticated(String line) {
+        return line != null
+                && MessageDigest.isEqual(secret, line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Destroys all root modules.
+     */
+    public void destroy() {
+        rootModules.values().forEach(ConfiguredRootModule::destroy);
+        rootModules.clear();
+    }
+
+    /**
+     * Gets the root module of the configuration, configuring it again if
+     * the configuration or one of its external resources changed.
+     *
+     * @param configLocation the location of the configuration.
+     * @return the configured root module.
+     * @throws CheckstyleException if the root module cannot be configured.
+     */
+    private ConfiguredRootModule getRootModule(String configLocation)
+            throws CheckstyleException {
+        ConfiguredRootModule result = rootModules.get(configLocation);
+        if (result != null && result.isChanged()) {
+            removeRootModule(configLocation);
+            result = null;
+        }
+        if (result == null) {
+            result = configure(configLocation);
+            rootModules.put(configLocation, result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes and destroys the root module of the configuration.
+     *
+     * @param configLocation the location of the configuration.
+     */
+    private void removeRootModule(String configLocation) {
+        final ConfiguredRootModule rootModule = rootModules.remove(configLocation);
+        if (rootModule != null) {
+            rootModule.destroy();
+        }
+    }
+
+    /**
+     * Creates and configures the root module of the configuration.
+     *
+     * @param configLocation the location of the configuration.
+     * @return the configured root module.
+     * @throws CheckstyleException if the root module cannot be configured.
+     */
+    private ConfiguredRootModule configure(String configLocation) throws CheckstyleException {
+        // the hash is taken before loading to notice changes made while loading
+        final String configHash = PropertyCacheFile.getExternalResourceHash(configLocation);
+        final Configuration config = ConfigurationLoader.loadConfiguration(
+                configLocation, new PropertiesExpander(properties),
+                ConfigurationLoader.IgnoredModulesOptions.OMIT,
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE);
+
+        final ClassLoader moduleClassLoader = Checker.class.getClassLoader();
+        final ModuleFactory factory = new PackageObjectFactory(
+                Checker.class.getPackage().getName(), moduleClassLoader);
+        final RootModule rootModule = (RootModule) factory.createModule(config.getName());
+        final ForwardingAuditListener listener = new ForwardingAuditListener();
+        rootModule.setModuleClassLoader(moduleClassLoader);
+        rootModule.configure(config);
+        rootModule.addListener(listener);
+
+        final Map<String, String> resourceHashes = new HashMap<>();
+        resourceHashes.put(configLocation, configHash);
+        for (String location : getExternalResourceLocations(rootModule)) {
+            resourceHashes.put(location, PropertyCacheFile.getExternalResourceHash(location));
+        }
+        return new ConfiguredRootModule(rootModule, listener, resourceHashes);
+    }
+
+    /**
+     * Gets the locations of the external resources of the modules.
+     * Only {@link Checker} reports them.
+     *
+     * @param rootModule the root module.
+     * @return the locations of the external resources.
+     */
+    private static Set<String> getExternalResourceLocations(RootModule rootModule) {
+        Set<String> result = Collections.emptySet();
+        if (rootModule instanceof Checker) {
+            result = ((Checker) rootModule).getExternalResourceLocations();
+        }
+        return result;
+    }
+
+    /** A configured root module with the hashes of the resources it was configured from. */
+    private static final class ConfiguredRootModule {
+
+        /** The root module. */
+        private final RootModule rootModule;
+
+        /** The listener of the root module which forwards events to the current request. */
+        private final ForwardingAuditListener listener;
+
+        /** The hashes of the content of the configuration and external resources. */
+        private final Map<String, String> resourceHashes;
+
+        /**
+         * Creates a configured root module.
+         *
+         * @param rootModule the root module.
+         * @param listener the listener added to the root module.
+         * @param resourceHashes the hashes of the resources by location.
+         */
+        private ConfiguredRootModule(RootModule rootModule, ForwardingAuditListener listener,
+                Map<String, String> resourceHashes) {
+            this.rootModule = rootModule;
+            this.listener = listener;
+            this.resourceHashes = resourceHashes;
+        }
+
+        /**
+         * Checks whether the content of a resource changed since the root module
+         * was configured.
+         *
+         * @return {@code true} if a resource changed.
+         */
+        private boolean isChanged() {
+            boolean result = false;
+            for (Map.Entry<String, String> entry : resourceHashes.entrySet()) {
+                final String hash = PropertyCacheFile.getExternalResourceHash(entry.getKey());
+                if (!hash.equals(entry.getValue())) {
+                    result = true;
+                    break;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Audits the files. A {@link Checker} keeps its file set checks for
+         * the next audit, since it would destroy them at the end of this one.
+         *
+         * @param files the files to audit.
+         * @param auditListener the listener to notify of the audit.
+         * @return the number of errors.
+         * @throws CheckstyleException if the files cannot be audited.
+         */
+        private int process(List<File> files, AuditListener auditListener)
+                throws CheckstyleException {
+            listener.setDelegate(auditListener);
+            try {
+                final int errorCount;
+                if (rootModule instanceof Checker) {
+                    errorCount = ((Checker) rootModule).processKeepingFileSetChecks(files);
+                }
+                else {
+                    errorCount = rootModule.process(files);
+                }
+                return errorCount;
+            }
+            finally {
+                listener.setDelegate(null);
+            }
+        }
+
+        /**
+         * Destroys the root module, and the file set checks a {@link Checker}
+         * kept between audits.
+         */
+        private void destroy() {
+            if (rootModule instanceof Checker) {
+                ((Checker) rootModule).destroyFileSetChecks();
+            }
+            rootModule.destroy();
+        }
+
+    }
+
+    /**
+     * Listener which forwards events to another listener, since listeners
+     * cannot be removed from a root module.
+     */
+    private static final class ForwardingAuditListener implements AuditListener {
+
+        /** The listener to forward events to, {@code null} to drop them. */
+        private AuditListener delegate;
+
+        /**
+         * Sets the listener to forward events to.
+         *
+         * @param delegate the listener, {@code null} to drop events.
+         */
+        private void setDelegate(AuditListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            if (delegate != null) {
+                delegate.auditStarted(event);
+            }
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            if (delegate != null) {
+                delegate.auditFinished(event);
+            }
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            if (delegate != null) {
+                delegate.fileStarted(event);
+            }
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            if (delegate != null) {
+                delegate.fileFinished(event);
+            }
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            if (delegate != null) {
+                delegate.addError(event);
+            }
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            if (delegate != null) {
+                delegate.addException(event, throwable);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,465 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+
+/**
+ * Accepts only the events on lines changed by a unified diff, so that only
+ * violations introduced by a change are reported. Events without a line,
+ * such as violations of a whole file, are accepted for every changed file.
+ * Events without a file name or violation are always accepted.
+ *
+ * <p>
+ * The changed lines of a file are kept as sorted, disjoint ranges, so finding
+ * whether lines are changed takes a binary search. Files are identified by
+ * their absolute and normalized path.
+ * </p>
+ */
+public final class ChangedLinesFilter implements Filter {
+
+    /**
+     * The header of a hunk, with the number of old lines, the first new line
+     * and the number of new lines.
+     */
+    private static final Pattern HUNK_HEADER =
+            Pattern.compile("^@@ -\\d+(?:,(?<oldCount>\\d+))? "
+                    + "\\+(?<newStart>\\d+)(?:,(?<newCount>\\d+))? @@");
+
+    /** The prefix of the line with the old name of a file. */
+    private static final String OLD_FILE_PREFIX = "--- ";
+
+    /** The prefix of the line with the new name of a file. */
+    private static final String NEW_FILE_PREFIX = "+++ ";
+
+    /** The name git uses for a missing file. */
+    private static final String NO_FILE = "/dev/null";
+
+    /** The changed lines by file. */
+    private final Map<String, LineRanges> changedLines;
+
+    /**
+     * The directory file names of events are relative to, {@code null} for
+     * the current directory.
+     */
+    private File eventBaseDirectory;
+
+    /**
+     * Creates a filter of the changed lines.
+     *
+     * @param changedLines the changed lines by absolute and normalized file path.
+     */
+    private ChangedLinesFilter(Map<String, LineRanges> changedLines) {
+        this.changedLines = changedLines;
+    }
+
+    /**
+     * Creates a filter of the lines changed by a unified diff.
+     * Git prefixes {@code a/} and {@code b/} are removed from file names.
+     *
+     * @param diff the unified diff.
+     * @param baseDirectory the directory file names in the diff are relative to.
+     * @return the filter.
+     * @throws IOException if the diff cannot be read.
+     */
+    public static ChangedLinesFilter fromDiff(Reader diff, File baseDirectory)
+            throws IOException {
+        final DiffParser parser = new DiffParser(baseDirectory);
+        final BufferedReader reader = new BufferedReader(diff);
+        String line = reader.readLine();
+        while (line != null) {
+            parser.parseLine(line);
+            line = reader.readLine();
+        }
+        return new ChangedLinesFilter(parser.getChangedLines());
+    }
+
+    /**
+     * Creates a filter of the lines changed since a revision, as reported
+     * by {@code git diff} run in the directory. Files which are not tracked
+     * by git are not reported as changed.
+     *
+     * @param revision the revision to compare the working tree to.
+     * @param directory the directory to run git in.
+     * @return the filter.
+     * @throws IOException if git cannot be run.
+     * @throws CheckstyleException if git fails.
+     */
+    public static ChangedLinesFilter fromGitRevision(String revision, File directory)
+            throws IOException, CheckstyleException {
+        final Process process = new ProcessBuilder("git", "-c", "core.quotePath=false",
+                "diff", "--unified=0", "--no-color", "--no-ext-diff", "--relative",
+                revision, "--")
+                .directory(directory)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        final ChangedLinesFilter result;
+        try (Reader reader =
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)) {
+            result = fromDiff(reader, directory);
+        }
+        final int exitCode;
+        try {
+            exitCode = process.waitFor();
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Interrupted while waiting for git", exc);
+        }
+        if (exitCode != 0) {
+            throw new CheckstyleException("git diff of revision '" + revision
+                    + "' failed with exit code " + exitCode);
+        }
+        return result;
+    }
+
+    /**
+     * Sets the directory file names of events are relative to. Checker strips
+     * its base directory off the file names of events.
+     *
+     * @param basedir the base directory, {@code null} for the current directory.
+     */
+    /* package */ void setEventBaseDirectory(String basedir) {
+        eventBaseDirectory = null;
+        if (basedir != null) {
+            eventBaseDirectory = new File(basedir);
+        }
+    }
+
+    @Override
+    public boolean accept(AuditEvent event) {
+        boolean result = true;
+        if (event.getFileName() != null && event.getViolation() != null) {
+            final LineRanges ranges = changedLines.getOrDefault(
+                    getPath(eventBaseDirectory, event.getFileName()), LineRanges.EMPTY);
+            if (event.getLine() > 0) {
+                result = ranges.intersects(event.getLine(), event.getLine());
+            }
+            else {
+                result = !ranges.isEmpty();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the file has changed lines.
+     *
+     * @param file the file to check.
+     * @return {@code true} if lines of the file are changed.
+     */
+    public boolean isChanged(File file) {
+        return !getChangedLines(file.getPath()).isEmpty();
+    }
+
+    /**
+     * Gets the changed lines of the file.
+     *
+     * @param fileName the name of the file.
+     * @return the changed lines, empty if the file is not changed.
+     */
+    /* package */ LineRanges getChangedLines(String fileName) {
+        return changedLines.getOrDefault(getPath(null, fileName), LineRanges.EMPTY);
+    }
+
+    /**
+     * Gets the absolute and normalized path of the file.
+     *
+     * @param baseDirectory the directory to resolve relative names against,
+     *     {@code null} for the current directory.
+     * @param fileName the name of the file.
+     * @return the absolute and normalized path.
+     */
+    private static String getPath(File baseDirectory, String fileName) {
+        Path path = Paths.get(fileName);
+        if (baseDirectory != null && !path.isAbsolute()) {
+            path = baseDirectory.toPath().resolve(path);
+        }
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Parses a unified diff line by line. Lines of hunks are counted, so that
+     * removed or added lines are not taken for file headers.
+     */
+    private static final class DiffParser {
+
+        /** The directory file names in the diff are relative to. */
+        private final File baseDirectory;
+
+        /** The builders of the changed lines by file. */
+        private final Map<String, LineRanges.Builder> builders = new HashMap<>();
+
+        /** The old name of the current file. */
+        private String oldFileName;
+
+        /** The builder of the changed lines of the current file, {@code null} if none. */
+        private LineRanges.Builder builder;
+
+        /** The number of old lines left in the current hunk. */
+        private int oldLinesLeft;
+
+        /** The number of new lines left in the current hunk. */
+        private int newLinesLeft;
+
+        /**
+         * Creates a parser.
+         *
+         * @param baseDirectory the directory file names in the diff are relative to.
+         */
+        private DiffParser(File baseDirectory) {
+            this.baseDirectory = baseDirectory;
+        }
+
+        /**
+         * Parses the next line of the diff.
+         *
+         * @param line the line.
+         */
+        private void parseLine(String line) {
+            if (oldLinesLeft > 0 || newLinesLeft > 0) {
+                countHunkLine(line);
+            }
+            else if (line.startsWith(OLD_FILE_PREFIX)) {
+                oldFileName = getFileName(line);
+            }
+            else if (line.startsWith(NEW_FILE_PREFIX)) {
+                final String newFileName = getFileName(line);
+                builder = null;
+                if (!NO_FILE.equals(newFileName)) {
+                    final String path = getPath(baseDirectory, removeGitPrefix(newFileName));
+                    builder = builders.computeIfAbsent(path, key -> new LineRanges.Builder());
+                }
+            }
+            else if (builder != null) {
+                parseHunkHeader(line);
+            }
+        }
+
+        /**
+         * Gets the changed lines by file.
+         *
+         * @return the changed lines by absolute and normalized file path.
+         */
+        private Map<String, LineRanges> getChangedLines() {
+            final Map<String, LineRanges> result = new HashMap<>();
+            builders.forEach((path, rangesBuilder) -> result.put(path, rangesBuilder.build()));
+            return result;
+        }
+
+        /**
+         * Counts the line of a hunk.
+         *
+         * @param line the line of the hunk.
+         */
+        private void countHunkLine(String line) {
+            if (line.startsWith("-")) {
+                oldLinesLeft--;
+            }
+            else if (line.startsWith("+")) {
+                newLinesLeft--;
+            }
+            else if (!line.startsWith("\\")) {
+                oldLinesLeft--;
+                newLinesLeft--;
+            }
+        }
+
+        /**
+         * Adds the new lines of the hunk to the changed lines, if the line is
+         * a hunk header. Hunks without new lines mark the lines around
+         * the removed lines.
+         *
+         * @param line the line of the diff.
+         */
+        private void parseHunkHeader(String line) {
+            final Matcher matcher = HUNK_HEADER.matcher(line);
+            if (matcher.find()) {
+                oldLinesLeft = parseCount(matcher.group("oldCount"));
+                final int start = Integer.parseInt(matcher.group("newStart"));
+                newLinesLeft = parseCount(matcher.group("newCount"));
+                if (newLinesLeft == 0) {
+                    builder.add(Math.max(start, 1), start + 1);
+                }
+                else {
+                    builder.add(start, start + newLinesLeft - 1);
+                }
+            }
+        }
+
+        /**
+         * Removes the prefix git adds to the new file name.
+         *
+         * @param newFileName the new file name.
+         * @return the new file name without the git prefix.
+         */
+        private String removeGitPrefix(String newFileName) {
+            String result = newFileName;
+            if ((oldFileName == null || oldFileName.startsWith("a/")
+                    || NO_FILE.equals(oldFileName))
+                    && newFileName.startsWith("b/")) {
+                result = newFileName.substring(2);
+            }
+            return result;
+        }
+
+        /**
+         * Parses the number of lines of a hunk header.
+         *
+         * @param count the number, {@code null} if it is omitted.
+         * @return the number of lines.
+         */
+        private static int parseCount(String count) {
+            int result = 1;
+            if (count != null) {
+                result = Integer.parseInt(count);
+            }
+            return result;
+        }
+
+        /**
+         * Gets the file name of a file header line, without the timestamp
+         * which diff may append after a tab.
+         *
+         * @param line the file header line.
+         * @return the file name.
+         */
+        private static String getFileName(String line) {
+            String result = line.substring(NEW_FILE_PREFIX.length());
+            final int tabIndex = result.indexOf('\t');
+            if (tabIndex >= 0) {
+                result = result.substring(0, tabIndex);
+            }
+            return result;
+        }
+
+    }
+
+    /** Sorted and disjoint ranges of lines. */
+    /* package */ static final class LineRanges {
+
+        /** Ranges without lines. */
+        private static final LineRanges EMPTY = new LineRanges(new int[0], new int[0]);
+
+        /** The first lines of the ranges, in ascending order. */
+        private final int[] starts;
+
+        /** The last lines of the ranges, in ascending order. */
+        private final int[] ends;
+
+        /**
+         * Creates ranges.
+         *
+         * @param starts the first lines of the ranges.
+         * @param ends the last lines of the ranges.
+         */
+        private LineRanges(int[] starts, int[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        /**
+         * Checks whether there are no lines.
+         *
+         * @return {@code true} if there are no lines.
+         */
+        /* package */ boolean isEmpty() {
+            return starts.length == 0;
+        }
+
+        /**
+         * Checks whether any line from the first to the last line is in a range.
+         *
+         * @param first the first line.
+         * @param last the last line.
+         * @return {@code true} if one of the lines is in a range.
+         */
+        /* package */ boolean intersects(int first, int last) {
+            // the first range which does not end before the first line
+            int index = Arrays.binarySearch(ends, first);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < starts.length && starts[index] <= last;
+        }
+
+        /** Collects ranges in any order. */
+        private static final class Builder {
+
+            /** The ranges as pairs of first and last line. */
+            private final List<int[]> ranges = new ArrayList<>();
+
+            /**
+             * Adds a range.
+             *
+             * @param first the first line of the range.
+             * @param last the last line of the range.
+             */
+            private void add(int first, int last) {
+                ranges.add(new int[] {first, last});
+            }
+
+            /**
+             * Builds sorted and disjoint ranges, merging the overlapping and
+             * adjacent ranges.
+             *
+             * @return the ranges.
+             */
+            private LineRanges build() {
+                ranges.sort((first, second) -> Integer.compare(first[0], second[0]));
+                final int[] starts = new int[ranges.size()];
+                final int[] ends = new int[ranges.size()];
+                int count = 0;
+                for (int[] range : ranges) {
+                    if (count > 0 && range[0] <= ends[count - 1] + 1) {
+                        ends[count - 1] = Math.max(ends[count - 1], range[1]);
+                    }
+                    else {
+                        starts[count] = range[0];
+                        ends[count] = range[1];
+                        count++;
+                    }
+                }
+                return new LineRanges(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+            }
+
+        }
+
+    }
+
+}
@@ -81,6 +81,12 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
     /** Vector of fileset checks. */
     private final List<FileSetCheck> fileSetChecks = new ArrayList<>();
 
+    /** The processor of files in multi thread mode, {@code null} in single thread mode. */
+    private MultiThreadFileProcessor multiThreadFileProcessor;
+
+    /** The reader of files ahead of checking, {@code null} if files are not read ahead. */
+    private FilePrefetcher filePrefetcher;
+
     /** The audit event before execution file filters. */
     private final BeforeExecutionFileFilterSet beforeExecutionFileFilters =
             new BeforeExecutionFileFilterSet();
@@ -129,12 +135,25 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
     @XdocsPropertyType(PropertyType.FILE)
     private PropertyCacheFile cacheFile;
 
+    /** Cache file keyed by the content of files. **/
+    @XdocsPropertyType(PropertyType.FILE)
+    private ContentHashCacheFile contentCacheFile;
+
     /** Controls whether exceptions should halt execution or not. */
     private boolean haltOnException = true;
 
+    /** The number of files which are read ahead of the file being checked. */
+    private int prefetchFiles;
+
     /** The tab width for column reporting. */
     private int tabWidth = CommonUtil.DEFAULT_TAB_WIDTH;
 
+    /** The profiler to record time spent in modules, {@code null} if disabled. */
+    private AuditProfiler profiler;
+
+    /** The filter of changed lines, {@code null} if all lines are audited. */
+    private ChangedLinesFilter changedLinesFilter;
+
     /**
      * Creates a new {@code Checker} instance.
      * The instance needs to be contextualized and configured.
@@ -156,6 +175,46 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
         cacheFile.load();
     }
 
+    /**
+     * Sets cache file which keeps violations of files by the hash of their content.
+     *
+     * @param fileName the cache file.
+     * @throws IOException if there are some problems with file loading.
+     */
+    public void setContentCacheFile(String fileName) throws IOException {
+        final Configuration configuration = getConfiguration();
+        ClassLoader classLoader = moduleClassLoader;
+        if (classLoader == null) {
+            classLoader = Checker.class.getClassLoader();
+        }
+        contentCacheFile = new ContentHashCacheFile(configuration, fileName, classLoader);
+        contentCacheFile.load();
+    }
+
+    /**
+     * Sets the profiler to record time spent in modules. It must be set
+     * before the checker is configured, to be passed to child modules.
+     *
+     * @param profiler the profiler.
+     */
+    public void setProfiler(AuditProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Restricts the audit to changed lines. Only violations on changed lines
+     * are reported, and checks annotated with {@link LocalCheck} are not
+     * notified about members without changed lines. It must be set before
+     * the checker is configured, to be passed to child modules. The content
+     * cache file is not used, as it keeps the violations of whole files.
+     *
+     * @param filter the filter of changed lines.
+     */
+    public void setChangedLinesFilter(ChangedLinesFilter filter) {
+        changedLinesFilter = filter;
+        addFilter(filter);
+    }
+
     /**
      * Removes before execution file filter.
      *
@@ -178,6 +237,9 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
     public void destroy() {
         listeners.clear();
         fileSetChecks.clear();
+        if (multiThreadFileProcessor != null) {
+            multiThreadFileProcessor.clear();
+        }
         beforeExecutionFileFilters.clear();
         filters.clear();
         if (cacheFile != null) {
@@ -188,6 +250,14 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
                 throw new IllegalStateException("Unable to persist cache file.", exc);
             }
         }
+        if (contentCacheFile != null) {
+            try {
+                contentCacheFile.persist();
+            }
+            catch (IOException exc) {
+                throw new IllegalStateException("Unable to persist content cache file.", exc);
+            }
+        }
     }
 
     /**
@@ -210,33 +280,107 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
 
     @Override
     public int process(List<File> files) throws CheckstyleException {
+        return process(files, true);
+    }
+
+    /**
+     * Processes the files.
+     *
+     * @param files the list of files to be audited.
+     * @param destroyFileSetChecks whether to destroy the file set checks at the end.
+     * @return the total number of audit events with error severity found
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    private int process(List<File> files, boolean destroyFileSetChecks)
+            throws CheckstyleException {
         if (cacheFile != null) {
             cacheFile.putExternalResources(getExternalResourceLocations());
         }
+        if (contentCacheFile != null) {
+            contentCacheFile.putExternalResources(getExternalResourceLocations());
+        }
+
+        final List<FileSetCheck> allFileSetChecks = getAllFileSetChecks();
 
         // Prepare to start
         fireAuditStarted();
-        for (final FileSetCheck fsc : fileSetChecks) {
+        for (final FileSetCheck fsc : allFileSetChecks) {
             fsc.beginProcessing(charset);
         }
 
         final List<File> targetFiles = files.stream()
                 .filter(file -> CommonUtil.matchesFileExtension(file, fileExtensions))
                 .collect(Collectors.toUnmodifiableList());
-        processFiles(targetFiles);
+        if (multiThreadFileProcessor != null) {
+            multiThreadFileProcessor.start(targetFiles, fileSetChecks, this::isToBeChecked);
+            try {
+                processFiles(targetFiles);
+            }
+            finally {
+                multiThreadFileProcessor.finish();
+            }
+        }
+        else if (filePrefetcher != null) {
+            filePrefetcher.start(targetFiles, this::isToBeChecked);
+            try {
+                processFiles(targetFiles);
+            }
+            finally {
+                filePrefetcher.finish();
+            }
+        }
+        else {
+            processFiles(targetFiles);
+        }
 
         // Finish up
         // It may also log!!!
-        fileSetChecks.forEach(FileSetCheck::finishProcessing);
+        allFileSetChecks.forEach(FileSetCheck::finishProcessing);
 
-        // It may also log!!!
-        fileSetChecks.forEach(FileSetCheck::destroy);
+        if (destroyFileSetChecks) {
+            // It may also log!!!
+            allFileSetChecks.forEach(FileSetCheck::destroy);
+        }
 
         final int errorCount = counter.getCount();
         fireAuditFinished();
         return errorCount;
     }
 
+    /**
+     * Processes the files like {@link #process(List)}, but keeps the file set
+     * checks, so that a long-lived checker can process more files with them.
+     * They are destroyed by {@link #destroyFileSetChecks()}.
+     *
+     * @param files the list of files to be audited.
+     * @return the total number of audit events with error severity found
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    /* package */ int processKeepingFileSetChecks(List<File> files)
+            throws CheckstyleException {
+        return process(files, false);
+    }
+
+    /**
+     * Destroys the file set checks kept by {@link #processKeepingFileSetChecks(List)}.
+     */
+    /* package */ void destroyFileSetChecks() {
+        getAllFileSetChecks().forEach(FileSetCheck::destroy);
+    }
+
+    /**
+     * Gets the file set checks together with their copies for worker threads.
+     *
+     * @return all file set checks.
+     */
+    private List<FileSetCheck> getAllFileSetChecks() {
+        final List<FileSetCheck> allFileSetChecks = new ArrayList<>(fileSetChecks);
+        if (multiThreadFileProcessor != null) {
+            allFileSetChecks.addAll(multiThreadFileProcessor.getFileSetCheckCopies());
+        }
+        return allFileSetChecks;
+    }
+
     /**
      * Returns a set of external configuration resource locations which are used by all file set
      * checks and filters.
@@ -244,7 +388,7 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
      * @return a set of external configuration resource locations which are used by all file set
      *         checks and filters.
      */
-    private Set<String> getExternalResourceLocations() {
+    /* package */ Set<String> getExternalResourceLocations() {
         return Stream.concat(fileSetChecks.stream(), filters.getFilters().stream())
             .filter(ExternalResourceHolder.class::isInstance)
             .flatMap(resource -> {
@@ -254,6 +398,21 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
             .collect(Collectors.toUnmodifiableSet());
     }
 
+    /**
+     * Checks whether the file is going to be checked, so that it may be
+     * processed or read in advance.
+     * Files in the content cache are still read, as the hash of their content
+     * is taken from the text which is read.
+     *
+     * @param file the file.
+     * @return {@code true} if the file is neither cached nor filtered out.
+     */
+    private boolean isToBeChecked(File file) {
+        final String fileName = file.getAbsolutePath();
+        return (cacheFile == null || !cacheFile.isInCache(fileName, file.lastModified()))
+                && acceptFileStarted(fileName);
+    }
+
     /** Notify all listeners about the audit start. */
     private void fireAuditStarted() {
         final AuditEvent event = new AuditEvent(this);
@@ -296,25 +455,20 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
                     cacheFile.put(fileName, timestamp);
                 }
                 fireFileStarted(fileName);
-                final SortedSet<Violation> fileMessages = processFile(file);
-                fireErrors(fileName, fileMessages);
+                processAndFireErrors(file, fileName);
                 fireFileFinished(fileName);
             }
             // -@cs[IllegalCatch] There is no other way to deliver filename that was under
             // processing. See https://github.com/checkstyle/checkstyle/issues/2285
             catch (Exception exc) {
-                if (fileName != null && cacheFile != null) {
-                    cacheFile.remove(fileName);
-                }
+                removeFromCaches(fileName);
 
                 // We need to catch all exceptions to put a reason failure (file name) in exception
                 throw new CheckstyleException(
                         getLocalizedMessage("Checker.processFilesException", filePath), exc);
             }
             catch (Error error) {
-                if (fileName != null && cacheFile != null) {
-                    cacheFile.remove(fileName);
-                }
+                removeFromCaches(fileName);
 
                 // We need to catch all errors to put a reason failure (file name) in error
                 throw new Error("Error was thrown while processing " + filePath, error);
@@ -323,21 +477,150 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
     }
 
     /**
-     * Processes a file with all FileSetChecks.
+     * Processes a file with all FileSetChecks, notifies listeners about its
+     * violations and records the violations in the content cache. Violations
+     * of a file which is in the content cache are reported from the cache.
      *
      * @param file a file to process.
-     * @return a sorted set of violations to be logged.
+     * @param fileName the absolute path of the file.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private void processAndFireErrors(File file, String fileName) throws CheckstyleException {
+        final SortedSet<Violation> fileMessages = new TreeSet<>();
+        final FileText fileText;
+        if (multiThreadFileProcessor == null) {
+            fileText = processFile(file, null, fileSetChecks, fileMessages);
+        }
+        else {
+            fileText = multiThreadFileProcessor.process(file, fileMessages);
+        }
+        SortedSet<Violation> cachedMessages = null;
+        if (contentCacheFile != null) {
+            cachedMessages = contentCacheFile.get(CommonUtil.relativizePath(basedir, fileName));
+        }
+        if (cachedMessages == null) {
+            final SortedSet<Violation> acceptedMessages =
+                    fireErrors(fileName, fileMessages, fileText);
+            if (contentCacheFile != null) {
+                contentCacheFile.put(CommonUtil.relativizePath(basedir, fileName),
+                        acceptedMessages);
+            }
+        }
+        else {
+            fireCachedErrors(fileName, cachedMessages);
+        }
+    }
+
+    /**
+     * Reads the contents of the file, recording the time spent when profiling.
+     * The hash of the contents is recorded in the content cache, on the thread
+     * which reads the file.
+     *
+     * @param file the file to read.
+     * @return the contents of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private FileText readFile(File file) throws IOException {
+        final FileText result;
+        if (profiler == null) {
+            result = new FileText(file.getAbsoluteFile(), charset);
+        }
+        else {
+            final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(this);
+            final AuditProfiler.Sample sample = profile.startSample();
+            result = new FileText(file.getAbsoluteFile(), charset);
+            profile.record(AuditProfiler.Operation.READ, sample);
+        }
+        if (contentCacheFile != null) {
+            contentCacheFile.putContentHash(
+                    CommonUtil.relativizePath(basedir, file.getAbsolutePath()), result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the violations of a read file are in the content cache,
+     * so that the file needs not to be processed.
+     *
+     * @param file the file.
+     * @return {@code true} if the file is in the content cache.
+     */
+    private boolean isInContentCache(File file) {
+        return contentCacheFile != null && contentCacheFile.isInCache(
+                CommonUtil.relativizePath(basedir, file.getAbsolutePath()));
+    }
+
+    /**
+     * Processes the file with the FileSetCheck, recording the time spent when profiling.
+     *
+     * @param fsc the FileSetCheck.
+     * @param file the file to process.
+     * @param fileText the contents of the file.
+     * @return the sorted set of violations to be logged.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private SortedSet<Violation> runFileSetCheck(FileSetCheck fsc, File file,
+            FileText fileText) throws CheckstyleException {
+        final SortedSet<Violation> result;
+        if (profiler == null) {
+            result = fsc.process(file, fileText);
+        }
+        else {
+            final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(fsc);
+            final AuditProfiler.Sample sample = profile.startSample();
+            result = fsc.process(file, fileText);
+            profile.record(AuditProfiler.Operation.PROCESS, sample);
+        }
+        return result;
+    }
+
+    /**
+     * Removes a file from caches after a failure of its processing.
+     *
+     * @param fileName the absolute path of the file, or {@code null} if it is unknown.
+     */
+    private void removeFromCaches(String fileName) {
+        if (fileName != null) {
+            if (cacheFile != null) {
+                cacheFile.remove(fileName);
+            }
+            if (contentCacheFile != null) {
+                contentCacheFile.remove(CommonUtil.relativizePath(basedir, fileName));
+            }
+        }
+    }
+
+    /**
+     * Processes a file with the given FileSetChecks.
+     *
+     * @param file a file to process.
+     * @param fileText the already read contents of the file, or {@code null}
+     *     if the file should be read.
+     * @param checks the FileSetChecks to process the file with.
+     * @param fileMessages the sorted set to collect violations to be logged.
+     * @return the contents of the file, or {@code null} if processing was aborted
+     *     or the violations of the file are in the content cache.
      * @throws CheckstyleException if error condition within Checkstyle occurs.
      * @noinspection ProhibitedExceptionThrown
      * @noinspectionreason ProhibitedExceptionThrown - there is no other way to obey
      *      haltOnException field
      */
-    private SortedSet<Violation> processFile(File file) throws CheckstyleException {
-        final SortedSet<Violation> fileMessages = new TreeSet<>();
+    private FileText processFile(File file, FileText fileText, List<FileSetCheck> checks,
+            SortedSet<Violation> fileMessages) throws CheckstyleException {
+        FileText result = null;
         try {
-            final FileText theText = new FileText(file.getAbsoluteFile(), charset);
-            for (final FileSetCheck fsc : fileSetChecks) {
-                fileMessages.addAll(fsc.process(file, theText));
+            FileText theText = fileText;
+            if (theText == null && filePrefetcher != null) {
+                theText = filePrefetcher.read(file);
+            }
+            if (theText == null) {
+                theText = readFile(file);
+            }
+            if (!isInContentCache(file)) {
+                for (final FileSetCheck fsc : checks) {
+                    fileMessages.addAll(runFileSetCheck(fsc, file, theText));
+                }
+                result = theText;
             }
         }
         catch (final IOException ioe) {
@@ -364,7 +647,7 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
                     new String[] {sw.getBuffer().toString()},
                     null, getClass(), null));
         }
-        return fileMessages;
+        return result;
     }
 
     /**
@@ -402,18 +685,78 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
      */
     @Override
     public void fireErrors(String fileName, SortedSet<Violation> errors) {
+        fireErrors(fileName, errors, null);
+    }
+
+    /**
+     * Notify all listeners about the errors in a file, providing filters
+     * with the already read contents of the file.
+     *
+     * @param fileName the audited file
+     * @param errors the audit errors from the file
+     * @param fileText the contents of the file, or {@code null} if they are not available
+     * @return the errors accepted by filters
+     */
+    private SortedSet<Violation> fireErrors(String fileName, SortedSet<Violation> errors,
+            FileText fileText) {
         final String stripped = CommonUtil.relativizePath(basedir, fileName);
-        boolean hasNonFilteredViolations = false;
+        final SortedSet<Violation> acceptedErrors = new TreeSet<>();
         for (final Violation element : errors) {
-            final AuditEvent event = new AuditEvent(this, stripped, element);
-            if (filters.accept(event)) {
-                hasNonFilteredViolations = true;
+            final AuditEvent event = new AuditEvent(this, stripped, element, fileText);
+            if (acceptEvent(event)) {
+                acceptedErrors.add(element);
                 for (final AuditListener listener : listeners) {
                     listener.addError(event);
                 }
             }
         }
-        if (hasNonFilteredViolations && cacheFile != null) {
+        if (!acceptedErrors.isEmpty() && cacheFile != null) {
+            cacheFile.remove(fileName);
+        }
+        return acceptedErrors;
+    }
+
+    /**
+     * Filters the event, recording the time spent in each filter when profiling.
+     *
+     * @param event the event to filter.
+     * @return {@code true} if the event is accepted by all filters.
+     */
+    private boolean acceptEvent(AuditEvent event) {
+        boolean result = true;
+        if (profiler == null) {
+            result = filters.accept(event);
+        }
+        else {
+            for (Filter filter : filters.getFilters()) {
+                final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(filter);
+                final AuditProfiler.Sample sample = profile.startSample();
+                result = filter.accept(event);
+                profile.record(AuditProfiler.Operation.ACCEPT, sample);
+                if (!result) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Notify all listeners about the errors of a file taken from the content cache.
+     * The errors were accepted by filters when they were cached, so filters are skipped.
+     *
+     * @param fileName the audited file
+     * @param errors the cached errors of the file
+     */
+    private void fireCachedErrors(String fileName, SortedSet<Violation> errors) {
+        final String stripped = CommonUtil.relativizePath(basedir, fileName);
+        for (final Violation element : errors) {
+            final AuditEvent event = new AuditEvent(this, stripped, element);
+            for (final AuditListener listener : listeners) {
+                listener.addError(event);
+            }
+        }
+        if (!errors.isEmpty() && cacheFile != null) {
             cacheFile.remove(fileName);
         }
     }
@@ -438,6 +781,20 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
         final Locale locale = new Locale(localeLanguage, localeCountry);
         LocalizedMessage.setLocale(locale);
 
+        final Configuration configuration = getConfiguration();
+        if (configuration instanceof DefaultConfiguration) {
+            final int checkerThreadsNumber = ((DefaultConfiguration) configuration)
+                    .getThreadModeSettings().getCheckerThreadsNumber();
+            if (checkerThreadsNumber > 1) {
+                multiThreadFileProcessor =
+                        new MultiThreadFileProcessor(checkerThreadsNumber, this::processFile);
+            }
+        }
+        // worker threads of multi thread mode read their files themselves
+        if (multiThreadFileProcessor == null && prefetchFiles > 0) {
+            filePrefetcher = new FilePrefetcher(prefetchFiles, this::readFile);
+        }
+
         if (moduleFactory == null) {
             if (moduleClassLoader == null) {
                 throw new CheckstyleException(getLocalizedMessage("Checker.finishLocalSetup"));
@@ -455,6 +812,15 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
         context.add("severity", severity.getName());
         context.add("basedir", basedir);
         context.add("tabWidth", String.valueOf(tabWidth));
+        if (profiler != null) {
+            context.add("profiler", profiler);
+        }
+        if (changedLinesFilter != null) {
+            // the cache would keep and replay violations of changed lines only
+            contentCacheFile = null;
+            changedLinesFilter.setEventBaseDirectory(basedir);
+            context.add("changedLinesFilter", changedLinesFilter);
+        }
         childContext = context;
     }
 
@@ -468,25 +834,24 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
     protected void setupChild(Configuration childConf)
             throws CheckstyleException {
         final String name = childConf.getName();
-        final Object child;
-
-        try {
-            child = moduleFactory.createModule(name);
+        final Object child = createChildModule(childConf);
 
-            if (child instanceof AbstractAutomaticBean) {
-                final AbstractAutomaticBean bean = (AbstractAutomaticBean) child;
-                bean.contextualize(childContext);
-                bean.configure(childConf);
-            }
-        }
-        catch (final CheckstyleException exc) {
-            throw new CheckstyleException(
-                    getLocalizedMessage("Checker.setupChildModule", name, exc.getMessage()), exc);
-        }
         if (child instanceof FileSetCheck) {
             final FileSetCheck fsc = (FileSetCheck) child;
             fsc.init();
             addFileSetCheck(fsc);
+            if (multiThreadFileProcessor != null
+                    && !fsc.getClass().isAnnotationPresent(GlobalStatefulCheck.class)) {
+                final List<FileSetCheck> copies = new ArrayList<>();
+                for (int index = 1; index < multiThreadFileProcessor.getThreadsNumber();
+                        index++) {
+                    final FileSetCheck copy = (FileSetCheck) createChildModule(childConf);
+                    copy.init();
+                    copy.setMessageDispatcher(this);
+                    copies.add(copy);
+                }
+                multiThreadFileProcessor.addFileSetCheckCopies(fsc, copies);
+            }
         }
         else if (child instanceof BeforeExecutionFileFilter) {
             final BeforeExecutionFileFilter filter = (BeforeExecutionFileFilter) child;
@@ -506,6 +871,33 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
         }
     }
 
+    /**
+     * Creates, contextualizes and configures a child module.
+     *
+     * @param childConf the configuration of the child module.
+     * @return the child module.
+     * @throws CheckstyleException if the module cannot be created or configured.
+     */
+    private Object createChildModule(Configuration childConf) throws CheckstyleException {
+        final String name = childConf.getName();
+        final Object child;
+
+        try {
+            child = moduleFactory.createModule(name);
+
+            if (child instanceof AbstractAutomaticBean) {
+                final AbstractAutomaticBean bean = (AbstractAutomaticBean) child;
+                bean.contextualize(childContext);
+                bean.configure(childConf);
+            }
+        }
+        catch (final CheckstyleException exc) {
+            throw new CheckstyleException(
+                    getLocalizedMessage("Checker.setupChildModule", name, exc.getMessage()), exc);
+        }
+        return child;
+    }
+
     /**
      * Adds a FileSetCheck to the list of FileSetChecks
      * that is executed in process().
@@ -629,6 +1021,17 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
         this.haltOnException = haltOnException;
     }
 
+    /**
+     * Sets the number of files which are read on a background thread ahead of
+     * the file being checked, so that reading overlaps with checking. Files are
+     * only read ahead in single thread mode.
+     *
+     * @param prefetchFiles the number of files, zero to read each file when it is checked.
+     */
+    public void setPrefetchFiles(int prefetchFiles) {
+        this.prefetchFiles = prefetchFiles;
+    }
+
     /**
      * Set the tab width to report audit events with.
      *
@@ -645,6 +1048,9 @@ public class Checker extends AbstractAutomaticBean implements MessageDispatcher,
         if (cacheFile != null) {
             cacheFile.reset();
         }
+        if (contentCacheFile != null) {
+            contentCacheFile.reset();
+        }
     }
 
     /**
@@ -0,0 +1,459 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.utils.OsSpecificUtil;
+
+/**
+ * This class maintains a persistent(on file-system) store of the violations
+ * of checked files, keyed by the hash of the content of the files. The hash
+ * is taken from the text which is read to be checked, so that each file is
+ * read and hashed once, and the violations of a file are stored with the
+ * content they were found in. Unlike
+ * {@link PropertyCacheFile}, it does not depend on file timestamps, so it
+ * survives checkouts and fresh clones, and it also keeps files with
+ * violations, so their violations can be reported again without parsing.
+ *
+ * <p>The cache is stored in a binary file. It starts with a header holding the
+ * hash of the configuration and of external resources, then goes the index of
+ * entries with their offsets and then the entries themselves. On load only the
+ * header and the index are decoded, an entry is decoded when it is requested
+ * and the content of the file still matches it.
+ * </p>
+ *
+ * <p>The hashes of files may be recorded and looked up on the threads which
+ * read the files, while violations are stored by the thread which reports them.
+ * </p>
+ */
+public final class ContentHashCacheFile {
+
+    /** The first bytes of a cache file. */
+    private static final int MAGIC = 0x43534348;
+
+    /** The version of the format of a cache file. */
+    private static final int VERSION = 2;
+
+    /** The algorithm used to hash the content of files. */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /** The length of a hash of the content of a file. */
+    private static final int HASH_LENGTH = 32;
+
+    /** The length written instead of the length of a {@code null} string. */
+    private static final int NULL_LENGTH = -1;
+
+    /** The entries of the cache, not decoded yet, by file name. */
+    private final Map<String, ByteBuffer> entries = new ConcurrentHashMap<>();
+
+    /** The hashes of the content of files read but not stored yet, by file name. */
+    private final Map<String, byte[]> contentHashes = new ConcurrentHashMap<>();
+
+    /** Configuration object. */
+    private final Configuration config;
+
+    /** File name of cache. */
+    private final String fileName;
+
+    /** The class loader of the sources of violations. */
+    private final ClassLoader classLoader;
+
+    /** Generated configuration hash. */
+    private String configHash;
+
+    /** Generated hash of the content of external resources. */
+    private String externalResourcesHash = "";
+
+    /**
+     * Creates a new {@code ContentHashCacheFile} instance.
+     *
+     * @param config the current configuration, not null
+     * @param fileName the cache file
+     * @param classLoader the class loader of the sources of violations
+     * @throws IllegalArgumentException when either arguments are null
+     */
+    public ContentHashCacheFile(Configuration config, String fileName, ClassLoader classLoader) {
+        if (config == null) {
+            throw new IllegalArgumentException("config can not be null");
+        }
+        if (fileName == null) {
+            throw new IllegalArgumentException("fileName can not be null");
+        }
+        if (classLoader == null) {
+            throw new IllegalArgumentException("classLoader can not be null");
+        }
+        this.config = config;
+        this.fileName = fileName;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Load cached values from file. The cache is empty if the file does not
+     * exist, was created for another configuration or cannot be decoded.
+     *
+     * @throws IOException when there is a problems with file read
+     */
+    public void load() throws IOException {
+        // the default locale is not a part of the configuration,
+        // but the cached messages are localized with it
+        configHash = PropertyCacheFile.getHashCodeBasedOnObjectContent(config)
+                + ':' + Locale.getDefault();
+        reset();
+        final Path path = Path.of(fileName);
+        if (Files.exists(path)) {
+            try {
+                readEntries(ByteBuffer.wrap(Files.readAllBytes(path)));
+            }
+            catch (BufferUnderflowException | IllegalArgumentException exc) {
+                // the cache file is broken, the files are checked again
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Updates the cache file.
+     *
+     * @throws IOException when there is a problems with file save
+     */
+    public void persist() throws IOException {
+        final Path path = Path.of(fileName);
+        final Path directory = path.getParent();
+
+        if (directory != null) {
+            OsSpecificUtil.updateDirectory(directory);
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeInt(out, MAGIC);
+        writeInt(out, VERSION);
+        writeString(out, configHash);
+        writeString(out, externalResourcesHash);
+        writeInt(out, entries.size());
+        int offset = 0;
+        for (Map.Entry<String, ByteBuffer> entry : entries.entrySet()) {
+            final int length = entry.getValue().remaining();
+            writeString(out, entry.getKey());
+            writeInt(out, offset);
+            writeInt(out, length);
+            offset += length;
+        }
+        for (ByteBuffer entry : entries.values()) {
+            out.write(entry.array(), entry.arrayOffset() + entry.position(), entry.remaining());
+        }
+        Files.write(path, out.toByteArray());
+    }
+
+    /**
+     * Resets the cache to be empty.
+     */
+    public void reset() {
+        entries.clear();
+        externalResourcesHash = "";
+    }
+
+    /**
+     * Remembers the hash of the content of a file read to be checked, to look
+     * the file up and to store its violations with that content.
+     *
+     * @param checkedFileName the name of the file in cache
+     * @param fileText the content of the file which is checked
+     */
+    public void putContentHash(String checkedFileName, FileText fileText) {
+        contentHashes.put(checkedFileName, getContentHash(fileText));
+    }
+
+    /**
+     * Checks that the file is in cache with the content it was read with.
+     *
+     * @param checkedFileName the name of the file in cache
+     * @return whether the file has not changed since it was put in cache
+     */
+    public boolean isInCache(String checkedFileName) {
+        final ByteBuffer entry = entries.get(checkedFileName);
+        return entry != null && isSameContent(entry, contentHashes.get(checkedFileName));
+    }
+
+    /**
+     * Retrieves the cached violations of a file read with
+     * {@link #putContentHash(String, FileText)}. If there are none, the hash
+     * of the content is kept to be stored by {@link #put(String, SortedSet)}.
+     *
+     * @param checkedFileName the name of the file in cache
+     * @return the violations of the file or {@code null} if the file is not in
+     *     cache, has changed or was not read
+     */
+    public SortedSet<Violation> get(String checkedFileName) {
+        SortedSet<Violation> result = null;
+        if (isInCache(checkedFileName)) {
+            final ByteBuffer entry = entries.get(checkedFileName).duplicate();
+            entry.position(HASH_LENGTH);
+            result = readViolations(entry);
+        }
+        if (result != null) {
+            contentHashes.remove(checkedFileName);
+        }
+        return result;
+    }
+
+    /**
+     * Records the violations of a file. The content of the file given to
+     * {@link #putContentHash(String, FileText)} is associated with the
+     * violations, the file is removed from cache if it was not read.
+     *
+     * @param checkedFileName the name of the file in cache
+     * @param violations the violations of the file
+     */
+    public void put(String checkedFileName, SortedSet<Violation> violations) {
+        final byte[] contentHash = contentHashes.remove(checkedFileName);
+        if (contentHash == null) {
+            entries.remove(checkedFileName);
+        }
+        else {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.writeBytes(contentHash);
+            writeInt(out, violations.size());
+            for (Violation violation : violations) {
+                writeViolation(out, violation);
+            }
+            entries.put(checkedFileName, ByteBuffer.wrap(out.toByteArray()));
+        }
+    }
+
+    /**
+     * Removed a specific file from the cache.
+     *
+     * @param checkedFileName The name of the file to remove.
+     */
+    public void remove(String checkedFileName) {
+        entries.remove(checkedFileName);
+        contentHashes.remove(checkedFileName);
+    }
+
+    /**
+     * Puts external resources in cache.
+     * If at least one external resource changed, clears the cache.
+     *
+     * @param locations locations of external resources.
+     */
+    public void putExternalResources(Set<String> locations) {
+        final StringBuilder hashes = new StringBuilder(256);
+        new TreeSet<>(locations).forEach(location -> {
+            hashes.append(location).append('=')
+                    .append(PropertyCacheFile.getExternalResourceHash(location)).append('\n');
+        });
+        final String hash = PropertyCacheFile.getHashCodeBasedOnObjectContent(hashes.toString());
+        if (!hash.equals(externalResourcesHash)) {
+            reset();
+            externalResourcesHash = hash;
+        }
+    }
+
+    /**
+     * Decodes the header and the index of a cache file.
+     *
+     * @param buffer the content of the cache file.
+     */
+    private void readEntries(ByteBuffer buffer) {
+        if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION
+                && configHash.equals(readString(buffer))) {
+            externalResourcesHash = readString(buffer);
+            final int count = buffer.getInt();
+            final String[] names = new String[count];
+            final int[] offsets = new int[count];
+            final int[] lengths = new int[count];
+            for (int index = 0; index < count; index++) {
+                names[index] = readString(buffer);
+                offsets[index] = buffer.getInt();
+                lengths[index] = buffer.getInt();
+            }
+            final int start = buffer.position();
+            for (int index = 0; index < count; index++) {
+                final ByteBuffer entry = buffer.duplicate();
+                entry.limit(start + offsets[index] + lengths[index]);
+                entry.position(start + offsets[index]);
+                entries.put(names[index], entry.slice());
+            }
+        }
+    }
+
+    /**
+     * Checks whether an entry was stored for the content with the hash.
+     *
+     * @param entry the entry
+     * @param contentHash the hash of the content or {@code null} if it is not known
+     * @return whether the entry starts with the hash
+     */
+    private static boolean isSameContent(ByteBuffer entry, byte[] contentHash) {
+        final byte[] cachedContentHash = new byte[HASH_LENGTH];
+        entry.duplicate().get(cachedContentHash);
+        return Arrays.equals(contentHash, cachedContentHash);
+    }
+
+    /**
+     * Calculates the hash of the content of a file.
+     *
+     * @param fileText the content of the file
+     * @return the hash of the content
+     * @throws IllegalStateException if the hash algorithm is not available
+     */
+    private static byte[] getContentHash(FileText fileText) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(
+                    fileText.getFullText().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new IllegalStateException("Unable to calculate hashcode.", exc);
+        }
+    }
+
+    /**
+     * Decodes the violations of an entry.
+     *
+     * @param entry the entry positioned after the content hash.
+     * @return the violations or {@code null} if a source of violations cannot be loaded
+     */
+    private SortedSet<Violation> readViolations(ByteBuffer entry) {
+        SortedSet<Violation> result = new TreeSet<>();
+        final int count = entry.getInt();
+        for (int index = 0; index < count; index++) {
+            final int lineNo = entry.getInt();
+            final int columnNo = entry.getInt();
+            final int columnCharIndex = entry.getInt();
+            final int tokenType = entry.getInt();
+            final SeverityLevel severityLevel = SeverityLevel.getInstance(readString(entry));
+            final String moduleId = readString(entry);
+            final String key = readString(entry);
+            final String sourceName = readString(entry);
+            final String message = readString(entry);
+            final Class<?> sourceClass;
+            try {
+                sourceClass = Class.forName(sourceName, false, classLoader);
+            }
+            catch (ClassNotFoundException ignored) {
+                result = null;
+                break;
+            }
+            result.add(new Violation(lineNo, columnNo, columnCharIndex, tokenType, null, key,
+                    null, severityLevel, moduleId, sourceClass, escapeMessage(message)));
+        }
+        return result;
+    }
+
+    /**
+     * Encodes a violation. The message is stored already localized,
+     * as arguments of violations are not serializable in general,
+     * so the bundle and the arguments are not stored.
+     *
+     * @param out the stream to write to.
+     * @param violation the violation.
+     */
+    private static void writeViolation(ByteArrayOutputStream out, Violation violation) {
+        writeInt(out, violation.getLineNo());
+        writeInt(out, violation.getColumnNo());
+        writeInt(out, violation.getColumnCharIndex());
+        writeInt(out, violation.getTokenType());
+        writeString(out, violation.getSeverityLevel().getName());
+        writeString(out, violation.getModuleId());
+        writeString(out, violation.getKey());
+        writeString(out, violation.getSourceName());
+        writeString(out, violation.getViolation());
+    }
+
+    /**
+     * Escapes a localized message to be used as a custom message of a violation,
+     * which is a {@link java.text.MessageFormat} pattern.
+     *
+     * @param message the localized message.
+     * @return the pattern producing the message.
+     */
+    private static String escapeMessage(String message) {
+        return message.replace("'", "''").replace("{", "'{'");
+    }
+
+    /**
+     * Writes an integer in the big-endian order.
+     *
+     * @param out the stream to write to.
+     * @param value the value.
+     */
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    /**
+     * Writes a nullable string as its length and UTF-8 bytes.
+     *
+     * @param out the stream to write to.
+     * @param value the value.
+     */
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeInt(out, NULL_LENGTH);
+        }
+        else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(out, bytes.length);
+            out.writeBytes(bytes);
+        }
+    }
+
+    /**
+     * Reads a nullable string written by {@link #writeString(ByteArrayOutputStream, String)}.
+     *
+     * @param buffer the buffer to read from.
+     * @return the value.
+     * @throws BufferUnderflowException if the buffer is broken.
+     */
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        String result = null;
+        if (length != NULL_LENGTH) {
+            if (length < 0 || length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+
+}
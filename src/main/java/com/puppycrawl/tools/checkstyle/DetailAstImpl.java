@@ -19,14 +19,13 @@
 
 package com.puppycrawl.tools.checkstyle;
 
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.List;
 
 import org.antlr.v4.runtime.Token;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
-import com.puppycrawl.tools.checkstyle.utils.UnmodifiableCollectionUtil;
 
 /**
  * The implementation of {@link DetailAST}. This should only be directly used to
@@ -41,6 +40,15 @@ public final class DetailAstImpl implements DetailAST {
     /** Constant to indicate if not calculated the child count. */
     private static final int NOT_INITIALIZED = Integer.MIN_VALUE;
 
+    /** The number of bits of a word of branch token types, as a shift. */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * The branch token types of nodes without children, by token type, shared
+     * by all such nodes as branch token types are never modified.
+     */
+    private static final long[][] LEAF_TOKEN_TYPES = createLeafTokenTypes();
+
     /** The line number. **/
     private int lineNo = NOT_INITIALIZED;
     /** The column number. **/
@@ -66,23 +74,18 @@ public final class DetailAstImpl implements DetailAST {
     private int type;
 
     /**
-     * All tokens on COMMENTS channel to the left of the current token up to the
-     * preceding token on the DEFAULT_TOKEN_CHANNEL.
+     * The tokens on COMMENTS channel around the current token, {@code null} if
+     * there are none. They are kept in one field, as few nodes have them.
      */
-    private List<Token> hiddenBefore;
+    private HiddenTokens hiddenTokens;
 
     /**
-     * All tokens on COMMENTS channel to the right of the current token up to the
-     * next token on the DEFAULT_TOKEN_CHANNEL.
+     * All token types in this branch, {@code null} if not computed yet.
+     * Token 'x' (where x is an int) is in this branch if bit {@code x % 64} of
+     * word {@code x / 64} is set. The words are never modified once computed,
+     * so they may be shared. If a node has them, all its descendants have them.
      */
-    private List<Token> hiddenAfter;
-
-    /**
-     * All token types in this branch.
-     * Token 'x' (where x is an int) is in this branch
-     * if branchTokenTypes.get(x) is true.
-     */
-    private BitSet branchTokenTypes;
+    private long[] branchTokenTypes;
 
     /**
      * Initializes this DetailAstImpl.
@@ -114,21 +117,25 @@ public final class DetailAstImpl implements DetailAST {
      *        DetailAST object.
      */
     public void addPreviousSibling(DetailAST ast) {
-        clearBranchTokenTypes();
         clearChildCountCache(parent);
         if (ast != null) {
-            // parent is set in setNextSibling or parent.setFirstChild
-            final DetailAstImpl previousSiblingNode = previousSibling;
             final DetailAstImpl astImpl = (DetailAstImpl) ast;
+            // nodes without parent do not change the parent of the added node
+            if (parent != null) {
+                astImpl.detachFromParent();
+                astImpl.parent = parent;
+            }
+            astImpl.previousSibling = previousSibling;
+            astImpl.nextSibling = this;
 
-            if (previousSiblingNode != null) {
-                previousSiblingNode.setNextSibling(astImpl);
+            if (previousSibling != null) {
+                previousSibling.nextSibling = astImpl;
             }
             else if (parent != null) {
-                parent.setFirstChild(astImpl);
+                parent.firstChild = astImpl;
             }
-
-            astImpl.setNextSibling(this);
+            previousSibling = astImpl;
+            astImpl.addBranchTokenTypesToParents();
         }
     }
 
@@ -138,15 +145,22 @@ public final class DetailAstImpl implements DetailAST {
      * @param ast DetailAST object.
      */
     public void addNextSibling(DetailAST ast) {
-        clearBranchTokenTypes();
         clearChildCountCache(parent);
         if (ast != null) {
-            // parent is set in setNextSibling
-            final DetailAstImpl sibling = nextSibling;
             final DetailAstImpl astImpl = (DetailAstImpl) ast;
-            astImpl.setNextSibling(sibling);
+            // nodes without parent do not change the parent of the added node
+            if (parent != null) {
+                astImpl.detachFromParent();
+                astImpl.parent = parent;
+            }
+            astImpl.previousSibling = this;
+            astImpl.nextSibling = nextSibling;
 
-            setNextSibling(astImpl);
+            if (nextSibling != null) {
+                nextSibling.previousSibling = astImpl;
+            }
+            nextSibling = astImpl;
+            astImpl.addBranchTokenTypesToParents();
         }
     }
 
@@ -156,36 +170,42 @@ public final class DetailAstImpl implements DetailAST {
      * @param child to DetailAST to add as child
      */
     public void addChild(DetailAST child) {
-        clearBranchTokenTypes();
         clearChildCountCache(this);
-        if (child != null) {
-            final DetailAstImpl astImpl = (DetailAstImpl) child;
+        final DetailAstImpl astImpl = (DetailAstImpl) child;
+        if (astImpl != null) {
             astImpl.setParent(this);
         }
-        DetailAST temp = firstChild;
+        DetailAstImpl temp = firstChild;
         if (temp == null) {
-            firstChild = (DetailAstImpl) child;
+            firstChild = astImpl;
         }
         else {
-            while (temp.getNextSibling() != null) {
-                temp = temp.getNextSibling();
+            while (temp.nextSibling != null) {
+                temp = temp.nextSibling;
             }
 
-            ((DetailAstImpl) temp).setNextSibling(child);
+            temp.nextSibling = astImpl;
+            if (astImpl != null) {
+                astImpl.previousSibling = temp;
+            }
+        }
+        for (DetailAstImpl added = astImpl; added != null; added = added.nextSibling) {
+            added.addBranchTokenTypesToParents();
         }
     }
 
     @Override
     public int getChildCount() {
-        // lazy init
+        // lazy init, the count is assigned once, as trees may be read by several threads
         if (childCount == NOT_INITIALIZED) {
-            childCount = 0;
+            int count = 0;
             DetailAST child = firstChild;
 
             while (child != null) {
-                childCount += 1;
+                count += 1;
                 child = child.getNextSibling();
             }
+            childCount = count;
         }
         return childCount;
     }
@@ -209,7 +229,7 @@ public final class DetailAstImpl implements DetailAST {
     private void setParent(DetailAstImpl parent) {
         DetailAstImpl instance = this;
         do {
-            instance.clearBranchTokenTypes();
+            instance.detachFromParent();
             instance.parent = parent;
             instance = instance.nextSibling;
         } while (instance != null);
@@ -245,6 +265,7 @@ public final class DetailAstImpl implements DetailAST {
      * @param type the token type of this DetailAstImpl
      */
     public void setType(int type) {
+        clearBranchTokenTypes(this);
         this.type = type;
     }
 
@@ -360,31 +381,59 @@ public final class DetailAstImpl implements DetailAST {
     }
 
     /**
-     * Returns token type with branch.
-     *
-     * @return the token types that occur in the branch as a sorted set.
+     * Computes the token types within branch for all nodes of the branch
+     * which do not have them. As they are computed lazily otherwise, it must
+     * be called before the branch is read by several threads.
      */
-    private BitSet getBranchTokenTypes() {
-        // lazy init
-        if (branchTokenTypes == null) {
-            branchTokenTypes = new BitSet();
-            branchTokenTypes.set(type);
-
-            // add union of all children
-            DetailAstImpl child = firstChild;
-            while (child != null) {
-                final BitSet childTypes = child.getBranchTokenTypes();
-                branchTokenTypes.or(childTypes);
+    /* package */ void computeBranchTokenTypes() {
+        getBranchTokenTypes();
+    }
 
-                child = child.nextSibling;
+    /**
+     * Returns token types within branch. They are computed for all nodes of
+     * the branch which do not have them in one pass, children before parents.
+     *
+     * @return the token types that occur in the branch as words of bits.
+     */
+    private long[] getBranchTokenTypes() {
+        DetailAstImpl node = this;
+        DetailAstImpl next = firstChild;
+        while (branchTokenTypes == null) {
+            while (next != null && next.branchTokenTypes != null) {
+                next = next.nextSibling;
+            }
+            if (next == null) {
+                node.branchTokenTypes = node.collectBranchTokenTypes();
+                next = node.nextSibling;
+                node = node.parent;
+            }
+            else {
+                node = next;
+                next = node.firstChild;
             }
         }
         return branchTokenTypes;
     }
 
+    /**
+     * Collects the token types of this node and the branch token types of its children,
+     * which are already computed.
+     *
+     * @return the token types that occur in the branch as words of bits.
+     */
+    private long[] collectBranchTokenTypes() {
+        long[] result = getLeafTokenTypes(type);
+        for (DetailAstImpl child = firstChild; child != null; child = child.nextSibling) {
+            result = union(result, child.branchTokenTypes);
+        }
+        return result;
+    }
+
     @Override
     public boolean branchContains(int tokenType) {
-        return getBranchTokenTypes().get(tokenType);
+        final long[] words = getBranchTokenTypes();
+        final int index = tokenType >>> WORD_SHIFT;
+        return index < words.length && (words[index] & 1L << tokenType) != 0;
     }
 
     @Override
@@ -441,15 +490,111 @@ public final class DetailAstImpl implements DetailAST {
     }
 
     /**
-     * Clears branchTokenTypes cache for all parents of the current DetailAST instance, and the
-     * child count for the current DetailAST instance.
+     * Removes this node from the children of its parent, as far as branch
+     * token types are concerned, before the node is moved to another parent.
+     */
+    private void detachFromParent() {
+        clearBranchTokenTypes(parent);
+    }
+
+    /**
+     * Adds the branch token types of this node, which was just added, to its
+     * parent and ancestors which have them, instead of clearing them.
+     * An ancestor which already has all the types does not change, nor do
+     * its ancestors.
+     */
+    private void addBranchTokenTypesToParents() {
+        DetailAstImpl ancestor = parent;
+        if (ancestor != null && ancestor.branchTokenTypes != null) {
+            final long[] addedTypes = getBranchTokenTypes();
+            while (ancestor != null && ancestor.branchTokenTypes != null) {
+                final long[] types = union(ancestor.branchTokenTypes, addedTypes);
+                if (types == ancestor.branchTokenTypes) {
+                    break;
+                }
+                ancestor.branchTokenTypes = types;
+                ancestor = ancestor.parent;
+            }
+        }
+    }
+
+    /**
+     * Clears the branch token types of the node and its ancestors. As the
+     * descendants of a node with branch token types have them too, ancestors
+     * above a node without them have none either.
+     *
+     * @param ast the node to start with, may be {@code null}.
+     */
+    private static void clearBranchTokenTypes(DetailAstImpl ast) {
+        DetailAstImpl node = ast;
+        while (node != null && node.branchTokenTypes != null) {
+            node.branchTokenTypes = null;
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Gets the token types of a node without children.
+     *
+     * @param tokenType the type of the node.
+     * @return the words with the bit of the type set.
+     */
+    private static long[] getLeafTokenTypes(int tokenType) {
+        final long[] result;
+        if (tokenType < LEAF_TOKEN_TYPES.length) {
+            result = LEAF_TOKEN_TYPES[tokenType];
+        }
+        else {
+            result = createLeafTokenTypes(tokenType);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the token types of a node without children.
+     *
+     * @param tokenType the type of the node.
+     * @return the words with the bit of the type set.
+     */
+    private static long[] createLeafTokenTypes(int tokenType) {
+        final long[] result = new long[(tokenType >>> WORD_SHIFT) + 1];
+        result[tokenType >>> WORD_SHIFT] = 1L << tokenType;
+        return result;
+    }
+
+    /**
+     * Creates the token types of nodes without children for all token types.
+     *
+     * @return the token types of nodes without children by token type.
+     */
+    private static long[][] createLeafTokenTypes() {
+        final int maxTokenType = Arrays.stream(TokenUtil.getAllTokenIds()).max().orElse(0);
+        final long[][] result = new long[maxTokenType + 1][];
+        for (int tokenType = 0; tokenType < result.length; tokenType++) {
+            result[tokenType] = createLeafTokenTypes(tokenType);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the union of token types without modifying them.
+     *
+     * @param first the first token types.
+     * @param second the second token types.
+     * @return the union, the first token types if they include the second ones.
      */
-    private void clearBranchTokenTypes() {
-        DetailAstImpl prevParent = parent;
-        while (prevParent != null) {
-            prevParent.branchTokenTypes = null;
-            prevParent = prevParent.parent;
+    private static long[] union(long[] first, long[] second) {
+        long[] result = first;
+        for (int index = 0; index < second.length; index++) {
+            final long word = second[index];
+            if (word != 0 && (index >= result.length || (result[index] | word) != result[index])) {
+                if (result == first) {
+                    result = Arrays.copyOf(first, Math.max(first.length, second.length));
+                }
+                result[index] |= word;
+            }
         }
+        return result;
     }
 
     /**
@@ -458,7 +603,7 @@ public final class DetailAstImpl implements DetailAST {
      * @param nextSibling the DetailAST to set as sibling
      */
     public void setNextSibling(DetailAST nextSibling) {
-        clearBranchTokenTypes();
+        clearBranchTokenTypes(parent);
         clearChildCountCache(parent);
         this.nextSibling = (DetailAstImpl) nextSibling;
         if (nextSibling != null && parent != null) {
@@ -475,7 +620,7 @@ public final class DetailAstImpl implements DetailAST {
      * @param firstChild the DetailAST to set as first child
      */
     public void setFirstChild(DetailAST firstChild) {
-        clearBranchTokenTypes();
+        clearBranchTokenTypes(this);
         clearChildCountCache(this);
         this.firstChild = (DetailAstImpl) firstChild;
         if (firstChild != null) {
@@ -487,6 +632,7 @@ public final class DetailAstImpl implements DetailAST {
      * Removes all children of this AST.
      */
     public void removeChildren() {
+        clearBranchTokenTypes(this);
         firstChild = null;
     }
 
@@ -494,12 +640,12 @@ public final class DetailAstImpl implements DetailAST {
      * Get list of tokens on COMMENTS channel to the left of the
      * current token up to the preceding token on the DEFAULT_TOKEN_CHANNEL.
      *
-     * @return list of comment tokens
+     * @return immutable list of comment tokens, {@code null} if there are none
      */
     public List<Token> getHiddenBefore() {
         List<Token> returnList = null;
-        if (hiddenBefore != null) {
-            returnList = UnmodifiableCollectionUtil.unmodifiableList(hiddenBefore);
+        if (hiddenTokens != null) {
+            returnList = hiddenTokens.before;
         }
         return returnList;
     }
@@ -508,12 +654,12 @@ public final class DetailAstImpl implements DetailAST {
      * Get list tokens on COMMENTS channel to the right of the current
      * token up to the next token on the DEFAULT_TOKEN_CHANNEL.
      *
-     * @return list of comment tokens
+     * @return immutable list of comment tokens, {@code null} if there are none
      */
     public List<Token> getHiddenAfter() {
         List<Token> returnList = null;
-        if (hiddenAfter != null) {
-            returnList = UnmodifiableCollectionUtil.unmodifiableList(hiddenAfter);
+        if (hiddenTokens != null) {
+            returnList = hiddenTokens.after;
         }
         return returnList;
     }
@@ -524,7 +670,7 @@ public final class DetailAstImpl implements DetailAST {
      * @param hiddenBefore comment token preceding this DetailAstImpl
      */
     public void setHiddenBefore(List<Token> hiddenBefore) {
-        this.hiddenBefore = UnmodifiableCollectionUtil.unmodifiableList(hiddenBefore);
+        hiddenTokens = new HiddenTokens(List.copyOf(hiddenBefore), getHiddenAfter());
     }
 
     /**
@@ -533,6 +679,36 @@ public final class DetailAstImpl implements DetailAST {
      * @param hiddenAfter comment token following this DetailAstImpl
      */
     public void setHiddenAfter(List<Token> hiddenAfter) {
-        this.hiddenAfter = UnmodifiableCollectionUtil.unmodifiableList(hiddenAfter);
+        hiddenTokens = new HiddenTokens(getHiddenBefore(), List.copyOf(hiddenAfter));
+    }
+
+    /**
+     * The tokens on COMMENTS channel around a token.
+     */
+    private static final class HiddenTokens {
+
+        /**
+         * All tokens on COMMENTS channel to the left of the token up to the
+         * preceding token on the DEFAULT_TOKEN_CHANNEL, {@code null} if there are none.
+         */
+        private final List<Token> before;
+
+        /**
+         * All tokens on COMMENTS channel to the right of the token up to the
+         * next token on the DEFAULT_TOKEN_CHANNEL, {@code null} if there are none.
+         */
+        private final List<Token> after;
+
+        /**
+         * Creates the hidden tokens around a token.
+         *
+         * @param before the tokens to the left of the token
+         * @param after the tokens to the right of the token
+         */
+        private HiddenTokens(List<Token> before, List<Token> after) {
+            this.before = before;
+            this.after = after;
+        }
+
     }
 }
@@ -0,0 +1,219 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Processes files on background threads ahead of the thread which requests the
+ * results, in the order the files are going to be requested. Only a limited
+ * number of files are processed ahead, which caps the memory held by results
+ * which are not requested yet.
+ *
+ * @param <T> the type of the result of processing a file.
+ * @param <E> the type of the checked exception of processing a file.
+ */
+final class FileLookAheadQueue<T, E extends Exception> {
+
+    /** The number of files which may be processed ahead of the file requested last. */
+    private final int filesAhead;
+
+    /** The processing of a file. */
+    private final FileTask<T, E> task;
+
+    /** The type of the checked exception of processing a file. */
+    private final Class<E> exceptionType;
+
+    /** Files submitted to background threads, in the order of submission. */
+    private final Deque<PendingFile<T>> pendingFiles = new ArrayDeque<>();
+
+    /** The files which are not submitted to background threads yet. */
+    private Iterator<File> filesToSubmit;
+
+    /** The filter of files which should be processed in advance. */
+    private Predicate<File> fileFilter;
+
+    /** The executor of background threads. */
+    private ExecutorService executor;
+
+    /**
+     * Creates a new {@code FileLookAheadQueue} instance.
+     *
+     * @param filesAhead the number of files which may be processed ahead.
+     * @param task the processing of a file.
+     * @param exceptionType the type of the checked exception of processing a file.
+     */
+    FileLookAheadQueue(int filesAhead, FileTask<T, E> task, Class<E> exceptionType) {
+        this.filesAhead = filesAhead;
+        this.task = task;
+        this.exceptionType = exceptionType;
+    }
+
+    /**
+     * Starts processing of files on background threads.
+     *
+     * @param files the files which are going to be requested.
+     * @param filter the filter of files which should be processed in advance.
+     * @param threadsNumber the number of background threads.
+     */
+    void start(List<File> files, Predicate<File> filter, int threadsNumber) {
+        filesToSubmit = files.iterator();
+        fileFilter = filter;
+        executor = Executors.newFixedThreadPool(threadsNumber);
+        submitFiles();
+    }
+
+    /**
+     * Gets the result of processing a file. The result is taken from background
+     * threads if the file was submitted in advance, otherwise the file is submitted now.
+     *
+     * @param file the file to process.
+     * @return the result of processing.
+     * @throws E if the file cannot be processed.
+     * @throws CheckstyleException if the calling thread is interrupted.
+     */
+    T get(File file) throws E, CheckstyleException {
+        Future<T> future = null;
+        if (pendingFiles.stream().anyMatch(pendingFile -> pendingFile.file.equals(file))) {
+            // files before the requested one were skipped by the calling thread
+            while (future == null) {
+                final PendingFile<T> pendingFile = pendingFiles.remove();
+                if (pendingFile.file.equals(file)) {
+                    future = pendingFile.result;
+                }
+                else {
+                    pendingFile.result.cancel(false);
+                }
+            }
+        }
+        submitFiles();
+        if (future == null) {
+            future = executor.submit(() -> task.process(file));
+        }
+        return getResult(future);
+    }
+
+    /** Stops background threads. */
+    void finish() {
+        pendingFiles.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /** Submits files to background threads until the limit of files processed ahead is reached. */
+    private void submitFiles() {
+        while (pendingFiles.size() < filesAhead && filesToSubmit.hasNext()) {
+            final File file = filesToSubmit.next();
+            if (fileFilter.test(file)) {
+                pendingFiles.add(new PendingFile<>(file,
+                        executor.submit(() -> task.process(file))));
+            }
+        }
+    }
+
+    /**
+     * Waits for the result of a background thread and rethrows its failure if any.
+     *
+     * @param future the pending result.
+     * @return the result of processing.
+     * @throws E if the file cannot be processed.
+     * @throws CheckstyleException if the calling thread is interrupted.
+     */
+    private T getResult(Future<T> future) throws E, CheckstyleException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Interrupted while waiting for a file to be processed",
+                    exc);
+        }
+        catch (ExecutionException exc) {
+            final Throwable cause = exc.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw exceptionType.cast(cause);
+        }
+    }
+
+    /**
+     * Processes a file on a background thread.
+     *
+     * @param <T> the type of the result of processing a file.
+     * @param <E> the type of the checked exception of processing a file.
+     */
+    @FunctionalInterface
+    interface FileTask<T, E extends Exception> {
+
+        /**
+         * Processes a file.
+         *
+         * @param file the file to process.
+         * @return the result of processing.
+         * @throws E if the file cannot be processed.
+         */
+        T process(File file) throws E;
+
+    }
+
+    /**
+     * A file submitted to background threads.
+     *
+     * @param <T> the type of the result of processing a file.
+     */
+    private static final class PendingFile<T> {
+
+        /** The file being processed. */
+        private final File file;
+
+        /** The pending result of processing. */
+        private final Future<T> result;
+
+        /**
+         * Creates a new {@code PendingFile} instance.
+         *
+         * @param file the file being processed.
+         * @param result the pending result of processing.
+         */
+        private PendingFile(File file, Future<T> result) {
+            this.file = file;
+            this.result = result;
+        }
+
+    }
+
+}
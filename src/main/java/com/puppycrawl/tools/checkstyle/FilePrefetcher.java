@@ -0,0 +1,97 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Reads files on a background thread ahead of the thread which checks them, so
+ * that reading and decoding of the next files overlaps with checking of the
+ * current one. Only a limited number of files are read ahead, which caps the
+ * memory held by contents which are not checked yet.
+ */
+final class FilePrefetcher {
+
+    /** The queue of files read ahead. */
+    private final FileLookAheadQueue<FileText, IOException> lookAheadQueue;
+
+    /**
+     * Creates a new {@code FilePrefetcher} instance.
+     *
+     * @param filesAhead the number of files which may be read ahead.
+     * @param fileTextReader the reader of the contents of a file.
+     */
+    FilePrefetcher(int filesAhead, FileTextReader fileTextReader) {
+        lookAheadQueue = new FileLookAheadQueue<>(filesAhead, fileTextReader::read,
+                IOException.class);
+    }
+
+    /**
+     * Starts reading of files on the background thread.
+     *
+     * @param files the files which are going to be requested.
+     * @param filter the filter of files which should be read in advance.
+     */
+    void start(List<File> files, Predicate<File> filter) {
+        lookAheadQueue.start(files, filter, 1);
+    }
+
+    /**
+     * Reads the contents of a file on the background thread. The contents are
+     * read in advance if the file passed the filter.
+     *
+     * @param file the file to read.
+     * @return the contents of the file.
+     * @throws IOException if the file cannot be read.
+     * @throws CheckstyleException if the calling thread is interrupted.
+     */
+    FileText read(File file) throws IOException, CheckstyleException {
+        return lookAheadQueue.get(file);
+    }
+
+    /** Stops the background thread. */
+    void finish() {
+        lookAheadQueue.finish();
+    }
+
+    /**
+     * Reads the contents of a file.
+     */
+    @FunctionalInterface
+    interface FileTextReader {
+
+        /**
+         * Reads the contents of a file.
+         *
+         * @param file the file to read.
+         * @return the contents of the file.
+         * @throws IOException if the file cannot be read.
+         */
+        FileText read(File file) throws IOException;
+
+    }
+
+}
@@ -22,16 +22,20 @@ package com.puppycrawl.tools.checkstyle;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.stream.Collectors;
 
 import org.antlr.v4.runtime.BufferedTokenStream;
+import org.antlr.v4.runtime.CommonToken;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.Vocabulary;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
@@ -115,9 +119,21 @@ public final class JavaAstVisitor extends JavaLanguageParserBaseVisitor<DetailAs
         TokenTypes.LAMBDA,
     };
 
+    /** The texts of tokens which always have the same text, by token type. */
+    private static final String[] FIXED_TEXTS = createFixedTexts();
+
     /** Token stream to check for hidden tokens. */
     private final BufferedTokenStream tokens;
 
+    /** The texts of nodes, so that nodes with equal texts share one string. */
+    private final Map<String, String> texts = new HashMap<>();
+
+    /**
+     * The copies of comment tokens which do not refer to the token stream,
+     * so that nodes share them and do not keep the stream alive.
+     */
+    private final Map<Token, Token> detachedComments = new HashMap<>();
+
     /**
      * Constructs a JavaAstVisitor with given token stream.
      *
@@ -2143,12 +2159,14 @@ public final class JavaAstVisitor extends JavaLanguageParserBaseVisitor<DetailAs
                 tokens.getHiddenTokensToRight(tokenIndex, JavaLanguageLexer.COMMENTS);
 
         final DetailAstImpl detailAst = new DetailAstImpl();
-        detailAst.initialize(token);
+        detailAst.initialize(token.getType(), getText(token));
+        detailAst.setLineNo(token.getLine());
+        detailAst.setColumnNo(token.getCharPositionInLine());
         if (tokensToLeft != null) {
-            detailAst.setHiddenBefore(tokensToLeft);
+            detailAst.setHiddenBefore(detachComments(tokensToLeft));
         }
         if (tokensToRight != null) {
-            detailAst.setHiddenAfter(tokensToRight);
+            detailAst.setHiddenAfter(detachComments(tokensToRight));
         }
         return detailAst;
     }
@@ -2164,6 +2182,81 @@ public final class JavaAstVisitor extends JavaLanguageParserBaseVisitor<DetailAs
         return create((Token) node.getPayload());
     }
 
+    /**
+     * Gets the text of a token, shared with all nodes of the same text.
+     * Tokens which always have the same text are not asked for it,
+     * as it would be copied from the token stream.
+     *
+     * @param token the token
+     * @return the text of the token
+     */
+    private String getText(Token token) {
+        final int type = token.getType();
+        String result = null;
+        if (type >= 0 && type < FIXED_TEXTS.length) {
+            result = FIXED_TEXTS[type];
+        }
+        if (result == null) {
+            final String text = token.getText();
+            result = texts.putIfAbsent(text, text);
+            if (result == null) {
+                result = text;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces comment tokens by their copies which do not refer to the token stream.
+     *
+     * @param comments the comment tokens
+     * @return the immutable list of copies
+     */
+    private List<Token> detachComments(List<Token> comments) {
+        final Token[] result = new Token[comments.size()];
+        for (int index = 0; index < result.length; index++) {
+            result[index] = detachedComments.computeIfAbsent(comments.get(index),
+                    JavaAstVisitor::detachComment);
+        }
+        return List.of(result);
+    }
+
+    /**
+     * Copies a comment token without its reference to the token stream.
+     *
+     * @param comment the comment token
+     * @return the copy
+     */
+    private static Token detachComment(Token comment) {
+        final CommonToken result = new CommonToken(comment.getType(), comment.getText());
+        result.setChannel(comment.getChannel());
+        result.setLine(comment.getLine());
+        result.setCharPositionInLine(comment.getCharPositionInLine());
+        result.setTokenIndex(comment.getTokenIndex());
+        result.setStartIndex(comment.getStartIndex());
+        result.setStopIndex(comment.getStopIndex());
+        return result;
+    }
+
+    /**
+     * Creates the texts of tokens which always have the same text, from the
+     * literal names of the lexer.
+     *
+     * @return the texts by token type, {@code null} for tokens of any text
+     */
+    private static String[] createFixedTexts() {
+        final Vocabulary vocabulary = JavaLanguageLexer.VOCABULARY;
+        final String[] result = new String[vocabulary.getMaxTokenType() + 1];
+        for (int type = 0; type < result.length; type++) {
+            final String literalName = vocabulary.getLiteralName(type);
+            // literal names are quoted, escaped names are skipped for simplicity
+            if (literalName != null && literalName.indexOf('\\') == -1) {
+                result[type] = literalName.substring(1, literalName.length() - 1);
+            }
+        }
+        return result;
+    }
+
     /**
      * Creates a type declaration DetailAstImpl from a given rule context.
      *
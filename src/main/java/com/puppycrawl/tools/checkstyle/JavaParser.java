@@ -26,20 +26,26 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonToken;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.IntStream;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.grammar.CharSequenceCharStream;
+import com.puppycrawl.tools.checkstyle.grammar.DfaCacheBudget;
 import com.puppycrawl.tools.checkstyle.grammar.java.JavaLanguageLexer;
 import com.puppycrawl.tools.checkstyle.grammar.java.JavaLanguageParser;
 import com.puppycrawl.tools.checkstyle.utils.ParserUtil;
@@ -68,6 +74,9 @@ public final class JavaParser {
 
     }
 
+    /** The budget of the DFA cache shared by all Java parsers. */
+    private static final DfaCacheBudget DFA_CACHE_BUDGET = DfaCacheBudget.fromSystemProperties();
+
     /** Stop instances being created. **/
     private JavaParser() {
     }
@@ -81,21 +90,21 @@ public final class JavaParser {
      */
     public static DetailAST parse(FileContents contents)
             throws CheckstyleException {
-        final String fullText = contents.getText().getFullText().toString();
-        final CharStream codePointCharStream = CharStreams.fromString(fullText);
-        final JavaLanguageLexer lexer = new JavaLanguageLexer(codePointCharStream, true);
+        final CharSequence fullText = contents.getText().getFullText();
+        final CharStream charStream;
+        if (CharSequenceCharStream.isApplicable(fullText)) {
+            charStream = new CharSequenceCharStream(fullText, IntStream.UNKNOWN_SOURCE_NAME);
+        }
+        else {
+            charStream = CharStreams.fromString(fullText.toString());
+        }
+        final JavaLanguageLexer lexer = new JavaLanguageLexer(charStream, true);
         lexer.setCommentListener(contents);
 
         final CommonTokenStream tokenStream = new CommonTokenStream(lexer);
-        final JavaLanguageParser parser =
-                new JavaLanguageParser(tokenStream, JavaLanguageParser.CLEAR_DFA_LIMIT);
-        parser.setErrorHandler(new CheckstyleParserErrorStrategy());
-        parser.removeErrorListeners();
-        parser.addErrorListener(new CheckstyleErrorListener());
-
         final JavaLanguageParser.CompilationUnitContext compilationUnit;
         try {
-            compilationUnit = parser.compilationUnit();
+            compilationUnit = parseCompilationUnit(tokenStream);
         }
         catch (IllegalStateException exc) {
             final String exceptionMsg = String.format(Locale.ROOT,
@@ -107,6 +116,43 @@ public final class JavaParser {
         return new JavaAstVisitor(tokenStream).visit(compilationUnit);
     }
 
+    /**
+     * Parses the tokens as a compilation unit. The tokens are first parsed in
+     * the fast SLL prediction mode, which stops at the first syntax error.
+     * SLL fails for invalid sources and for the few valid ones needing full
+     * context, so only then the tokens are parsed again in the full LL mode,
+     * which reports the syntax error. Afterwards the shared DFA cache is
+     * cleared if it exceeds its budget.
+     *
+     * @param tokenStream the tokens of the source.
+     * @return the parse tree of the compilation unit.
+     * @throws IllegalStateException if the source is not valid
+     */
+    private static JavaLanguageParser.CompilationUnitContext parseCompilationUnit(
+            CommonTokenStream tokenStream) {
+        final JavaLanguageParser parser = new JavaLanguageParser(tokenStream);
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+
+        JavaLanguageParser.CompilationUnitContext compilationUnit;
+        try {
+            compilationUnit = parser.compilationUnit();
+        }
+        catch (ParseCancellationException ignored) {
+            tokenStream.seek(0);
+            final JavaLanguageParser fullContextParser = new JavaLanguageParser(tokenStream);
+            fullContextParser.setErrorHandler(new CheckstyleParserErrorStrategy());
+            fullContextParser.removeErrorListeners();
+            fullContextParser.addErrorListener(new CheckstyleErrorListener());
+            compilationUnit = fullContextParser.compilationUnit();
+        }
+        finally {
+            DFA_CACHE_BUDGET.clearIfExceeded(parser.getInterpreter());
+        }
+        return compilationUnit;
+    }
+
     /**
      * Parse a text and return the parse tree.
      *
@@ -155,23 +201,7 @@ public final class JavaParser {
 
         while (curNode != null) {
             lastNode = curNode;
-
-            final List<Token> hiddenBefore = ((DetailAstImpl) curNode).getHiddenBefore();
-            if (hiddenBefore != null) {
-                DetailAST currentSibling = curNode;
-
-                final ListIterator<Token> reverseCommentsIterator =
-                        hiddenBefore.listIterator(hiddenBefore.size());
-
-                while (reverseCommentsIterator.hasPrevious()) {
-                    final DetailAST newCommentNode =
-                            createCommentAstFromToken((CommonToken)
-                                    reverseCommentsIterator.previous());
-                    ((DetailAstImpl) currentSibling).addPreviousSibling(newCommentNode);
-
-                    currentSibling = newCommentNode;
-                }
-            }
+            appendHiddenCommentNodesBefore(curNode);
 
             DetailAST toVisit = curNode.getFirstChild();
             while (curNode != null && toVisit == null) {
@@ -181,20 +211,63 @@ public final class JavaParser {
             curNode = toVisit;
         }
         if (lastNode != null) {
-            final List<Token> hiddenAfter = ((DetailAstImpl) lastNode).getHiddenAfter();
-            if (hiddenAfter != null) {
-                DetailAST currentSibling = lastNode;
-                for (Token token : hiddenAfter) {
-                    final DetailAST newCommentNode =
-                            createCommentAstFromToken((CommonToken) token);
+            appendHiddenCommentNodesAfter(lastNode);
+        }
+        return root;
+    }
+
+    /**
+     * Checks whether there are hidden comment tokens before the node.
+     *
+     * @param node the node of AST
+     * @return {@code true} if the node has comments to append before it
+     */
+    static boolean hasHiddenCommentNodesBefore(DetailAST node) {
+        return ((DetailAstImpl) node).getHiddenBefore() != null;
+    }
+
+    /**
+     * Appends hidden comment tokens before the node as its previous siblings.
+     *
+     * @param node the node of AST
+     */
+    static void appendHiddenCommentNodesBefore(DetailAST node) {
+        final List<Token> hiddenBefore = ((DetailAstImpl) node).getHiddenBefore();
+        if (hiddenBefore != null) {
+            DetailAST currentSibling = node;
 
-                    ((DetailAstImpl) currentSibling).addNextSibling(newCommentNode);
+            final ListIterator<Token> reverseCommentsIterator =
+                    hiddenBefore.listIterator(hiddenBefore.size());
 
-                    currentSibling = newCommentNode;
-                }
+            while (reverseCommentsIterator.hasPrevious()) {
+                final DetailAST newCommentNode =
+                        createCommentAstFromToken((CommonToken)
+                                reverseCommentsIterator.previous());
+                ((DetailAstImpl) currentSibling).addPreviousSibling(newCommentNode);
+
+                currentSibling = newCommentNode;
+            }
+        }
+    }
+
+    /**
+     * Appends hidden comment tokens after the last node of AST as its next siblings.
+     *
+     * @param lastNode the last node of AST in the order of traversal
+     */
+    static void appendHiddenCommentNodesAfter(DetailAST lastNode) {
+        final List<Token> hiddenAfter = ((DetailAstImpl) lastNode).getHiddenAfter();
+        if (hiddenAfter != null) {
+            DetailAST currentSibling = lastNode;
+            for (Token token : hiddenAfter) {
+                final DetailAST newCommentNode =
+                        createCommentAstFromToken((CommonToken) token);
+
+                ((DetailAstImpl) currentSibling).addNextSibling(newCommentNode);
+
+                currentSibling = newCommentNode;
             }
         }
-        return root;
     }
 
     /**
@@ -23,10 +23,18 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -213,11 +221,12 @@ public final class Main {
      *
      * @param options the user-specified options
      * @return list of files to process
+     * @throws IOException if a directory could not be traversed
      */
-    private static List<File> getFilesToProcess(CliOptions options) {
+    private static List<File> getFilesToProcess(CliOptions options) throws IOException {
         final List<Pattern> patternsToExclude = options.getExclusions();
 
-        final List<File> result = new LinkedList<>();
+        final List<File> result = new ArrayList<>();
         for (File file : options.files) {
             result.addAll(listFiles(file, patternsToExclude));
         }
@@ -225,35 +234,25 @@ public final class Main {
     }
 
     /**
-     * Traverses a specified node looking for files to check. Found files are added to
-     * a specified list. Subdirectories are also traversed.
+     * Traverses a specified node looking for files to check. Subdirectories are also
+     * traversed, except for excluded ones, which are skipped with all their contents.
      *
      * @param node
      *        the node to process
      * @param patternsToExclude The list of patterns to exclude from searching or being added as
      *        files.
      * @return found files
+     * @throws IOException if a directory could not be traversed
      */
-    private static List<File> listFiles(File node, List<Pattern> patternsToExclude) {
-        // could be replaced with org.apache.commons.io.FileUtils.list() method
-        // if only we add commons-io library
-        final List<File> result = new LinkedList<>();
-
-        if (node.canRead() && !isPathExcluded(node.getAbsolutePath(), patternsToExclude)) {
-            if (node.isDirectory()) {
-                final File[] files = node.listFiles();
-                // listFiles() can return null, so we need to check it
-                if (files != null) {
-                    for (File element : files) {
-                        result.addAll(listFiles(element, patternsToExclude));
-                    }
-                }
-            }
-            else if (node.isFile()) {
-                result.add(node);
-            }
+    private static List<File> listFiles(File node, List<Pattern> patternsToExclude)
+            throws IOException {
+        final FileCollector collector = new FileCollector(patternsToExclude);
+        // an empty path can not be read as a file, but would be walked as the current directory
+        if (node.canRead()) {
+            Files.walkFileTree(node.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE, collector);
         }
-        return result;
+        return collector.files;
     }
 
     /**
@@ -364,19 +363,12 @@ public final class Main {
     private static int runCheckstyle(CliOptions options, List<File> filesToProcess)
             throws CheckstyleException, IOException {
         // setup the properties
-        final Properties props;
-
-        if (options.propertiesFile == null) {
-            props = System.getProperties();
-        }
-        else {
-            props = loadProperties(options.propertiesFile);
-        }
+        final Properties props = getProperties(options);
 
         // create a configuration
         final ThreadModeSettings multiThreadModeSettings =
-                new ThreadModeSettings(CliOptions.CHECKER_THREADS_NUMBER,
-                        CliOptions.TREE_WALKER_THREADS_NUMBER);
+                new ThreadModeSettings(options.checkerThreadsNumber,
+                        options.treeWalkerThreadsNumber);
 
         final ConfigurationLoader.IgnoredModulesOptions ignoredModulesOptions;
         if (options.executeIgnoredModules) {
@@ -421,12 +413,20 @@ public final class Main {
                 listener = createListener(options.format, options.outputPath);
             }
 
+            final AuditProfiler profiler = createProfiler(options, rootModule);
+            final List<File> filesToAudit =
+                    restrictToChangedLines(options, rootModule, filesToProcess);
+
             rootModule.setModuleClassLoader(moduleClassLoader);
             rootModule.configure(config);
             rootModule.addListener(listener);
 
             // run RootModule
-            errorCounter = rootModule.process(filesToProcess);
+            errorCounter = rootModule.process(filesToAudit);
+
+            if (profiler != null) {
+                writeProfilingReport(profiler, options.profilePath);
+            }
         }
         finally {
             rootModule.destroy();
@@ -435,6 +435,95 @@ public final class Main {
         return errorCounter;
     }
 
+    /**
+     * Creates the profiler of the root module if profiling is requested.
+     * Only {@link Checker} supports profiling.
+     *
+     * @param options user-specified options
+     * @param rootModule the root module to profile
+     * @return the profiler, or {@code null} if profiling is not requested or supported
+     */
+    private static AuditProfiler createProfiler(CliOptions options, RootModule rootModule) {
+        AuditProfiler result = null;
+        if (options.profilePath != null && rootModule instanceof Checker) {
+            result = new AuditProfiler(options.profileAllocations);
+            ((Checker) rootModule).setProfiler(result);
+        }
+        return result;
+    }
+
+    /**
+     * Restricts the audit to the lines changed by a diff or since a git revision,
+     * if requested. Only {@link Checker} supports restricting violations to
+     * changed lines, other root modules only get the changed files.
+     *
+     * @param options user-specified options
+     * @param rootModule the root module which will audit the files
+     * @param filesToProcess the files to audit
+     * @return the files to audit, without unchanged files
+     * @throws IOException if the diff cannot be read or git cannot be run
+     * @throws CheckstyleException if git fails
+     */
+    private static List<File> restrictToChangedLines(CliOptions options, RootModule rootModule,
+            List<File> filesToProcess) throws IOException, CheckstyleException {
+        final File currentDirectory = new File("").getAbsoluteFile();
+        ChangedLinesFilter filter = null;
+        if (options.diffFile != null) {
+            try (Reader reader = Files.newBufferedReader(options.diffFile.toPath(),
+                    StandardCharsets.UTF_8)) {
+                filter = ChangedLinesFilter.fromDiff(reader, currentDirectory);
+            }
+        }
+        else if (options.diffRevision != null) {
+            filter = ChangedLinesFilter.fromGitRevision(options.diffRevision, currentDirectory);
+        }
+
+        List<File> result = filesToProcess;
+        if (filter != null) {
+            result = filesToProcess.stream()
+                    .filter(filter::isChanged)
+                    .collect(Collectors.toUnmodifiableList());
+            if (rootModule instanceof Checker) {
+                ((Checker) rootModule).setChangedLinesFilter(filter);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the report of the profiler to the file.
+     *
+     * @param profiler the profiler
+     * @param profilePath the file to write the report to
+     * @throws IOException if the report cannot be written
+     */
+    private static void writeProfilingReport(AuditProfiler profiler, Path profilePath)
+            throws IOException {
+        try (Writer writer = Files.newBufferedWriter(profilePath, StandardCharsets.UTF_8)) {
+            profiler.writeReport(writer);
+        }
+    }
+
+    /**
+     * Gets the properties to expand the configuration with, the system
+     * properties if no properties file is specified.
+     *
+     * @param options user-specified options
+     * @return the properties
+     * @throws CheckstyleException
+     *         when could not load properties file
+     */
+    private static Properties getProperties(CliOptions options) throws CheckstyleException {
+        final Properties result;
+        if (options.propertiesFile == null) {
+            result = System.getProperties();
+        }
+        else {
+            result = loadProperties(options.propertiesFile);
+        }
+        return result;
+    }
+
     /**
      * Loads properties from a File.
      *
@@ -621,6 +710,51 @@ public final class Main {
         }
     }
 
+    /**
+     * Collects readable files which are not excluded while a file tree is walked.
+     * Excluded directories are skipped with all their contents.
+     */
+    private static final class FileCollector extends SimpleFileVisitor<Path> {
+        /** The patterns to exclude directories and files. */
+        private final List<Pattern> patternsToExclude;
+
+        /** The collected files, in the order they are found. */
+        private final List<File> files = new ArrayList<>();
+
+        /**
+         * Creates a new {@code FileCollector} instance.
+         *
+         * @param patternsToExclude the patterns to exclude directories and files
+         */
+        private FileCollector(List<Pattern> patternsToExclude) {
+            this.patternsToExclude = patternsToExclude;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            FileVisitResult result = FileVisitResult.CONTINUE;
+            if (isPathExcluded(dir.toAbsolutePath().toString(), patternsToExclude)) {
+                result = FileVisitResult.SKIP_SUBTREE;
+            }
+            return result;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (attrs.isRegularFile() && Files.isReadable(file)
+                    && !isPathExcluded(file.toAbsolutePath().toString(), patternsToExclude)) {
+                files.add(file.toFile());
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            // missing files, unreadable directories and loops of links are skipped
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
     /**
      * Command line options.
      *
@@ -657,19 +791,6 @@ public final class Main {
         /** Option name for output format. */
         private static final String OUTPUT_FORMAT_OPTION = "-f";
 
-        /**
-         * The checker threads number.
-         * This option has been skipped for CLI options intentionally.
-         *
-         */
-        private static final int CHECKER_THREADS_NUMBER = DEFAULT_THREAD_COUNT;
-
-        /**
-         * The tree walker threads number.
-         *
-         */
-        private static final int TREE_WALKER_THREADS_NUMBER = DEFAULT_THREAD_COUNT;
-
         /** List of file to validate. */
         @Parameters(arity = "1..*", paramLabel = "<files or folders>",
                 description = "One or more source files to verify")
@@ -811,6 +932,56 @@ public final class Main {
                 description = "Allows ignored modules to be run.")
         private boolean executeIgnoredModules;
 
+        /**
+         * The checker threads number.
+         *
+         * @noinspection CanBeFinal
+         * @noinspectionreason CanBeFinal - we use picocli, and it uses
+         *      reflection to manage such fields
+         */
+        @Option(names = {"-C", "--checker-threads-number"},
+                description = "Sets the number of threads used to process files in parallel. "
+                        + "Default value is ${DEFAULT-VALUE}.")
+        private int checkerThreadsNumber = DEFAULT_THREAD_COUNT;
+
+        /**
+         * The tree walker threads number.
+         *
+         * @noinspection CanBeFinal
+         * @noinspectionreason CanBeFinal - we use picocli, and it uses
+         *      reflection to manage such fields
+         */
+        @Option(names = {"-W", "--tree-walker-threads-number"},
+                description = "Sets the number of threads used to run independent checks "
+                        + "of a file in parallel. Default value is ${DEFAULT-VALUE}.")
+        private int treeWalkerThreadsNumber = DEFAULT_THREAD_COUNT;
+
+        /** The file to write the profiling report to. */
+        @Option(names = {"-P", "--profile"},
+                description = "Writes the time spent in each module to the given file as CSV, "
+                        + "sorted by cost. The process(total) row of a file set check includes "
+                        + "the rows of the checks and filters it runs.")
+        private Path profilePath;
+
+        /** Switch whether to measure allocated bytes when profiling. */
+        @Option(names = {"-A", "--profile-allocations"},
+                description = "Measures the bytes allocated by each module when profiling.")
+        private boolean profileAllocations;
+
+        /** The unified diff of the lines to audit. */
+        @Option(names = {"-u", "--diff"},
+                description = "Audits only the files changed by the given unified diff and "
+                        + "reports only violations on the changed lines. File names in the diff "
+                        + "are relative to the current directory.")
+        private File diffFile;
+
+        /** The git revision since which the lines to audit changed. */
+        @Option(names = {"-r", "--diff-revision"},
+                description = "Audits only the files changed since the given git revision and "
+                        + "reports only violations on the changed lines. Changes are read with "
+                        + "git diff in the current directory.")
+        private String diffRevision;
+
         /** Show AST branches that match xpath. */
         @Option(names = {"-b", "--branch-matching-xpath"},
             description = "Shows Abstract Syntax Tree(AST) branches that match given XPath query.")
@@ -894,9 +1065,20 @@ public final class Main {
          */
         private List<String> validateOptionalCliParametersIfConfigDefined() {
             final List<String> result = new ArrayList<>();
-            if (propertiesFile != null && !propertiesFile.exists()) {
-                result.add(String.format(Locale.ROOT,
-                        "Could not find file '%s'.", propertiesFile));
+            for (File file : Arrays.asList(propertiesFile, diffFile)) {
+                if (file != null && !file.exists()) {
+                    result.add(String.format(Locale.ROOT,
+                            "Could not find file '%s'.", file));
+                }
+            }
+            if (checkerThreadsNumber < 1) {
+                result.add("Checker threads number must be greater than zero.");
+            }
+            if (treeWalkerThreadsNumber < 1) {
+                result.add("TreeWalker threads number must be greater than zero.");
+            }
+            if (diffFile != null && diffRevision != null) {
+                result.add("Options '-u' and '-r' cannot be used together.");
             }
             return result;
         }
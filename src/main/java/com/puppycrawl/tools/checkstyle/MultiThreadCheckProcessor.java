@@ -0,0 +1,250 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Notifies groups of checks of a {@link TreeWalker} on several threads, so
+ * that the checks of a large file are not all run one after the other.
+ * Only independent checks are split into groups. The first group, which holds
+ * the other checks, walks the tree on the calling thread, while the other groups
+ * walk it on worker threads. All methods of a check are called on the same
+ * thread, as checks keep the state of the file in thread locals.
+ */
+final class MultiThreadCheckProcessor {
+
+    /** The number of threads, including the calling thread. */
+    private final int threadsNumber;
+
+    /** The executor of worker threads, {@code null} until groups are walked. */
+    private ExecutorService executor;
+
+    /**
+     * Creates a new {@code MultiThreadCheckProcessor} instance.
+     *
+     * @param threadsNumber the number of threads, including the calling thread.
+     */
+    MultiThreadCheckProcessor(int threadsNumber) {
+        this.threadsNumber = threadsNumber;
+    }
+
+    /**
+     * Gets the number of TreeWalker threads of the thread mode settings of
+     * the configuration.
+     *
+     * @param configuration the configuration of a TreeWalker.
+     * @return the number of threads, one if the configuration has no settings.
+     */
+    static int getThreadsNumber(Configuration configuration) {
+        int result = 1;
+        if (configuration instanceof DefaultConfiguration) {
+            result = ((DefaultConfiguration) configuration)
+                    .getThreadModeSettings().getTreeWalkerThreadsNumber();
+        }
+        return result;
+    }
+
+    /**
+     * Prepares a tree to be walked by several groups. State of the nodes which
+     * is computed lazily is computed on the calling thread, before worker
+     * threads are given the tree, so that they only read it.
+     *
+     * @param ast the root of the tree, may be {@code null}.
+     */
+    static void prepareTree(DetailAST ast) {
+        if (ast instanceof DetailAstImpl) {
+            ((DetailAstImpl) ast).computeBranchTokenTypes();
+        }
+    }
+
+    /**
+     * Splits checks into groups, one per thread at most. Independent checks
+     * are distributed over the groups in turn, the other checks are kept in
+     * the first group.
+     *
+     * @param checks the checks in the order of notification.
+     * @return the non-empty groups of checks, or a single empty group if
+     *     there are no checks.
+     */
+    List<Set<AbstractCheck>> splitChecks(Set<AbstractCheck> checks) {
+        final List<Set<AbstractCheck>> result = new ArrayList<>();
+        for (int index = 0; index < threadsNumber; index++) {
+            result.add(new LinkedHashSet<>());
+        }
+        // the first group is filled last, as it has the checks which are not independent
+        int nextGroup = 1;
+        for (AbstractCheck check : checks) {
+            if (isIndependent(check)) {
+                result.get(nextGroup % threadsNumber).add(check);
+                nextGroup++;
+            }
+            else {
+                result.get(0).add(check);
+            }
+        }
+        result.removeIf(Set::isEmpty);
+        if (result.isEmpty()) {
+            result.add(new LinkedHashSet<>());
+        }
+        return result;
+    }
+
+    /**
+     * Walks the tree with all groups. The first group walks it on the calling
+     * thread, the other groups on worker threads. The walk finishes when all
+     * groups finished it, failures of checks are rethrown afterwards.
+     *
+     * @param groups the groups to walk the tree with.
+     * @param firstGroupWalk the walk of the first group.
+     * @param otherGroupWalk the walk of another group, which collects
+     *     the violations of the group into the given set.
+     * @param violations the set to collect the violations of other groups.
+     * @param <T> the type of groups.
+     * @param <R> the type of the result of the walk of the first group.
+     * @return the result of the walk of the first group.
+     * @throws CheckstyleException if the calling thread is interrupted.
+     */
+    <T, R> R process(List<T> groups, Function<T, R> firstGroupWalk,
+            BiConsumer<T, SortedSet<Violation>> otherGroupWalk, SortedSet<Violation> violations)
+            throws CheckstyleException {
+        final List<Future<SortedSet<Violation>>> groupViolations = new ArrayList<>();
+        for (T group : groups.subList(1, groups.size())) {
+            groupViolations.add(getExecutor().submit(() -> {
+                final SortedSet<Violation> result = new TreeSet<>();
+                otherGroupWalk.accept(group, result);
+                return result;
+            }));
+        }
+        try {
+            return firstGroupWalk.apply(groups.get(0));
+        }
+        finally {
+            collectViolations(groupViolations, violations);
+        }
+    }
+
+    /** Stops worker threads, they are started again when needed. */
+    void finish() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Returns the executor of worker threads, creating it on first use.
+     * The worker threads are daemon threads, so that they do not keep the JVM
+     * alive when an audit fails before the processor is finished.
+     *
+     * @return the executor.
+     */
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threadsNumber - 1, runnable -> {
+                final Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Waits for all groups walking on worker threads and collects their
+     * violations. A failure is rethrown once all groups finished, so that
+     * no check is still running afterwards.
+     *
+     * @param groupViolations the pending violations of the groups.
+     * @param violations the set to collect the violations.
+     * @throws CheckstyleException if the calling thread is interrupted.
+     */
+    private static void collectViolations(List<Future<SortedSet<Violation>>> groupViolations,
+            SortedSet<Violation> violations) throws CheckstyleException {
+        Throwable failure = null;
+        for (Future<SortedSet<Violation>> future : groupViolations) {
+            try {
+                violations.addAll(future.get());
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                groupViolations.forEach(pending -> pending.cancel(true));
+                throw new CheckstyleException("Interrupted while waiting for checks", exc);
+            }
+            catch (ExecutionException exc) {
+                if (failure == null) {
+                    failure = exc.getCause();
+                }
+            }
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Checks whether the check may be notified on another thread than the
+     * other checks. Such a check must be annotated with {@link StatelessCheck}
+     * or {@link FileStatefulCheck}, and must not keep state in static thread
+     * locals, which other modules read on the calling thread, like
+     * {@code SuppressWarningsHolder}, or which checks of the same kind share,
+     * like Javadoc checks.
+     *
+     * @param check the check.
+     * @return {@code true} if the check is independent of other modules.
+     */
+    private static boolean isIndependent(AbstractCheck check) {
+        Class<?> clazz = check.getClass();
+        boolean result = clazz.isAnnotationPresent(StatelessCheck.class)
+                || clazz.isAnnotationPresent(FileStatefulCheck.class);
+        while (result && clazz != AbstractCheck.class) {
+            result = Arrays.stream(clazz.getDeclaredFields())
+                    .noneMatch(field -> {
+                        return Modifier.isStatic(field.getModifiers())
+                                && ThreadLocal.class.isAssignableFrom(field.getType());
+                    });
+            clazz = clazz.getSuperclass();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,240 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Predicate;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Processes files with FileSetChecks on several worker threads, ahead of the thread
+ * which requests the results and dispatches them to listeners. Each worker thread
+ * owns its own copies of the FileSetChecks. FileSetChecks without copies, like
+ * {@link GlobalStatefulCheck} modules, are run on the requesting thread in the
+ * order files are requested, so the results are the same as in single thread mode.
+ */
+final class MultiThreadFileProcessor {
+
+    /**
+     * The number of files per worker thread which may be processed ahead of
+     * the file requested last.
+     */
+    private static final int FILES_AHEAD_PER_THREAD = 4;
+
+    /** The number of worker threads. */
+    private final int threadsNumber;
+
+    /** The processor of a file with a list of FileSetChecks. */
+    private final FileSetChecksProcessor fileSetChecksProcessor;
+
+    /** Maps FileSetChecks to their copies for worker threads other than the first one. */
+    private final Map<FileSetCheck, List<FileSetCheck>> fileSetCheckCopies = new HashMap<>();
+
+    /** The queue of files processed ahead on worker threads. */
+    private final FileLookAheadQueue<WorkerResult, CheckstyleException> lookAheadQueue;
+
+    /** The FileSetChecks which are run on the requesting thread. */
+    private final List<FileSetCheck> sharedChecks = new ArrayList<>();
+
+    /** The sets of FileSetChecks which are not used by worker threads at the moment. */
+    private BlockingQueue<List<FileSetCheck>> idleWorkerChecks;
+
+    /**
+     * Creates a new {@code MultiThreadFileProcessor} instance.
+     *
+     * @param threadsNumber the number of worker threads.
+     * @param fileSetChecksProcessor the processor of a file with a list of FileSetChecks.
+     */
+    MultiThreadFileProcessor(int threadsNumber, FileSetChecksProcessor fileSetChecksProcessor) {
+        this.threadsNumber = threadsNumber;
+        this.fileSetChecksProcessor = fileSetChecksProcessor;
+        lookAheadQueue = new FileLookAheadQueue<>(threadsNumber * FILES_AHEAD_PER_THREAD,
+                this::processInWorker, CheckstyleException.class);
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return the number of worker threads.
+     */
+    int getThreadsNumber() {
+        return threadsNumber;
+    }
+
+    /**
+     * Registers copies of a FileSetCheck for worker threads. The original instance
+     * is used by the first worker thread.
+     *
+     * @param fileSetCheck the original FileSetCheck.
+     * @param copies copies of the FileSetCheck, one per each other worker thread.
+     */
+    void addFileSetCheckCopies(FileSetCheck fileSetCheck, List<FileSetCheck> copies) {
+        fileSetCheckCopies.put(fileSetCheck, copies);
+    }
+
+    /**
+     * Returns copies of all FileSetChecks.
+     *
+     * @return copies of all FileSetChecks.
+     */
+    List<FileSetCheck> getFileSetCheckCopies() {
+        final List<FileSetCheck> result = new ArrayList<>();
+        fileSetCheckCopies.values().forEach(result::addAll);
+        return result;
+    }
+
+    /** Removes all registered copies of FileSetChecks. */
+    void clear() {
+        fileSetCheckCopies.clear();
+    }
+
+    /**
+     * Starts processing of files on worker threads.
+     *
+     * @param files the files which are going to be requested.
+     * @param fileSetChecks all FileSetChecks to process files with.
+     * @param filter the filter of files which should be processed in advance.
+     */
+    void start(List<File> files, List<FileSetCheck> fileSetChecks, Predicate<File> filter) {
+        final List<List<FileSetCheck>> workerChecks = new ArrayList<>();
+        for (int index = 0; index < threadsNumber; index++) {
+            workerChecks.add(new ArrayList<>());
+        }
+        sharedChecks.clear();
+        for (final FileSetCheck fsc : fileSetChecks) {
+            final List<FileSetCheck> copies = fileSetCheckCopies.get(fsc);
+            if (copies == null) {
+                sharedChecks.add(fsc);
+            }
+            else {
+                workerChecks.get(0).add(fsc);
+                for (int index = 0; index < copies.size(); index++) {
+                    workerChecks.get(index + 1).add(copies.get(index));
+                }
+            }
+        }
+        idleWorkerChecks = new ArrayBlockingQueue<>(threadsNumber, false, workerChecks);
+        lookAheadQueue.start(files, filter, threadsNumber);
+    }
+
+    /**
+     * Processes a file with all FileSetChecks. The result is taken from worker threads
+     * if the file was submitted in advance, otherwise the file is submitted now.
+     *
+     * @param file the file to process.
+     * @param fileMessages the sorted set to collect violations to be logged.
+     * @return the contents of the file, or {@code null} if processing was aborted.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    FileText process(File file, SortedSet<Violation> fileMessages) throws CheckstyleException {
+        final WorkerResult result = lookAheadQueue.get(file);
+        fileMessages.addAll(result.violations);
+        if (result.fileText != null && !sharedChecks.isEmpty()) {
+            fileSetChecksProcessor.process(file, result.fileText, sharedChecks, fileMessages);
+        }
+        return result.fileText;
+    }
+
+    /** Stops worker threads. */
+    void finish() {
+        lookAheadQueue.finish();
+    }
+
+    /**
+     * Processes a file on a worker thread with one of the idle sets of FileSetChecks.
+     * There is always an idle set, as the number of sets is equal to the number of
+     * worker threads.
+     *
+     * @param file the file to process.
+     * @return the result of processing.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private WorkerResult processInWorker(File file) throws CheckstyleException {
+        final List<FileSetCheck> checks = idleWorkerChecks.remove();
+        try {
+            final SortedSet<Violation> violations = new TreeSet<>();
+            final FileText fileText =
+                    fileSetChecksProcessor.process(file, null, checks, violations);
+            return new WorkerResult(fileText, violations);
+        }
+        finally {
+            idleWorkerChecks.add(checks);
+        }
+    }
+
+    /**
+     * Processes a file with a list of FileSetChecks.
+     */
+    @FunctionalInterface
+    interface FileSetChecksProcessor {
+
+        /**
+         * Processes a file with the given FileSetChecks.
+         *
+         * @param file a file to process.
+         * @param fileText the already read contents of the file, or {@code null}
+         *     if the file should be read.
+         * @param checks the FileSetChecks to process the file with.
+         * @param fileMessages the sorted set to collect violations to be logged.
+         * @return the contents of the file, or {@code null} if processing was aborted.
+         * @throws CheckstyleException if error condition within Checkstyle occurs.
+         */
+        FileText process(File file, FileText fileText, List<FileSetCheck> checks,
+                SortedSet<Violation> fileMessages) throws CheckstyleException;
+
+    }
+
+    /**
+     * The result of processing a file on a worker thread.
+     */
+    private static final class WorkerResult {
+
+        /** The contents of the file, or {@code null} if processing was aborted. */
+        private final FileText fileText;
+
+        /** The violations found by the worker thread. */
+        private final SortedSet<Violation> violations;
+
+        /**
+         * Creates a new {@code WorkerResult} instance.
+         *
+         * @param fileText the contents of the file.
+         * @param violations the violations found by the worker thread.
+         */
+        private WorkerResult(FileText fileText, SortedSet<Violation> violations) {
+            this.fileText = fileText;
+            this.violations = violations;
+        }
+
+    }
+
+}
@@ -209,7 +209,7 @@ public final class PropertyCacheFile {
      * @return the hashcode for serializable object.
      * @throws IllegalStateException when some unexpected happened.
      */
-    private static String getHashCodeBasedOnObjectContent(Serializable object) {
+    static String getHashCodeBasedOnObjectContent(Serializable object) {
         try {
             final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             // in-memory serialization of Configuration
@@ -266,25 +266,34 @@ public final class PropertyCacheFile {
     private static Set<ExternalResource> loadExternalResources(Set<String> resourceLocations) {
         final Set<ExternalResource> resources = new HashSet<>();
         for (String location : resourceLocations) {
-            try {
-                final byte[] content = loadExternalResource(location);
-                final String contentHashSum = getHashCodeBasedOnObjectContent(content);
-                resources.add(new ExternalResource(EXTERNAL_RESOURCE_KEY_PREFIX + location,
-                        contentHashSum));
-            }
-            catch (CheckstyleException | IOException exc) {
-                // if exception happened (configuration resource was not found, connection is not
-                // available, resource is broken, etc.), we need to calculate hash sum based on
-                // exception object content in order to check whether problem is resolved later
-                // and/or the configuration is changed.
-                final String contentHashSum = getHashCodeBasedOnObjectContent(exc);
-                resources.add(new ExternalResource(EXTERNAL_RESOURCE_KEY_PREFIX + location,
-                        contentHashSum));
-            }
+            resources.add(new ExternalResource(EXTERNAL_RESOURCE_KEY_PREFIX + location,
+                    getExternalResourceHash(location)));
         }
         return resources;
     }
 
+    /**
+     * Calculates the hash sum of the content of an external resource.
+     *
+     * @param location external resource location.
+     * @return the hash sum of the content of the resource.
+     */
+    static String getExternalResourceHash(String location) {
+        String contentHashSum;
+        try {
+            final byte[] content = loadExternalResource(location);
+            contentHashSum = getHashCodeBasedOnObjectContent(content);
+        }
+        catch (CheckstyleException | IOException exc) {
+            // if exception happened (configuration resource was not found, connection is not
+            // available, resource is broken, etc.), we need to calculate hash sum based on
+            // exception object content in order to check whether problem is resolved later
+            // and/or the configuration is changed.
+            contentHashSum = getHashCodeBasedOnObjectContent(exc);
+        }
+        return contentHashSum;
+    }
+
     /**
      * Loads the content of external resource.
      *
@@ -27,8 +27,6 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.regex.Pattern;
 
@@ -41,6 +39,12 @@ import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
  * Simple SARIF logger.
  * SARIF stands for the static analysis results interchange format.
  * See <a href="https://sarifweb.azurewebsites.net/">reference</a>
+ *
+ * <p>
+ * The report is streamed: results are written as they are reported,
+ * between the start and the end of the report, so memory use does not
+ * depend on the number of results.
+ * </p>
  */
 public class SarifLogger extends AbstractAutomaticBean implements AuditListener {
 
@@ -96,11 +100,17 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
     /** Close output stream in auditFinished. */
     private final boolean closeStream;
 
-    /** The results. */
-    private final List<String> results = new ArrayList<>();
+    /** Content of the report before the results. */
+    private final String reportHeader;
 
-    /** Content for the entire report. */
-    private final String report;
+    /** Content of the report after the results. */
+    private final String reportFooter;
+
+    /** Whether the header of the report was written. */
+    private boolean headerWritten;
+
+    /** Whether a result was written. */
+    private boolean resultWritten;
 
     /** Content for result representing an error with source line and column. */
     private final String resultLineColumn;
@@ -147,7 +157,11 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
         }
         writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
         closeStream = outputStreamOptions == OutputStreamOptions.CLOSE;
-        report = readResource("/com/puppycrawl/tools/checkstyle/sarif/SarifReport.template");
+        final String report = replaceVersionString(
+            readResource("/com/puppycrawl/tools/checkstyle/sarif/SarifReport.template"));
+        final int resultsIndex = report.indexOf(RESULTS_PLACEHOLDER);
+        reportHeader = report.substring(0, resultsIndex);
+        reportFooter = report.substring(resultsIndex + RESULTS_PLACEHOLDER.length());
         resultLineColumn =
             readResource("/com/puppycrawl/tools/checkstyle/sarif/ResultLineColumn.template");
         resultLineOnly =
@@ -165,14 +179,13 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
 
     @Override
     public void auditStarted(AuditEvent event) {
-        // No code by default
+        writeHeader();
     }
 
     @Override
     public void auditFinished(AuditEvent event) {
-        String rendered = replaceVersionString(report);
-        rendered = rendered.replace(RESULTS_PLACEHOLDER, String.join(",\n", results));
-        writer.print(rendered);
+        writeHeader();
+        writer.print(reportFooter);
         if (closeStream) {
             writer.close();
         }
@@ -181,6 +194,30 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
         }
     }
 
+    /**
+     * Writes the header of the report, if it was not written yet.
+     */
+    private void writeHeader() {
+        if (!headerWritten) {
+            writer.print(reportHeader);
+            headerWritten = true;
+        }
+    }
+
+    /**
+     * Writes a result to the report, separated from the previous result.
+     *
+     * @param result the rendered result.
+     */
+    private void writeResult(String result) {
+        writeHeader();
+        if (resultWritten) {
+            writer.print(",\n");
+        }
+        writer.print(result);
+        resultWritten = true;
+    }
+
     /**
      * Returns the version string.
      *
@@ -195,7 +232,7 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
     @Override
     public void addError(AuditEvent event) {
         if (event.getColumn() > 0) {
-            results.add(resultLineColumn
+            writeResult(resultLineColumn
                 .replace(SEVERITY_LEVEL_PLACEHOLDER, renderSeverityLevel(event.getSeverityLevel()))
                 .replace(URI_PLACEHOLDER, renderFileNameUri(event.getFileName()))
                 .replace(COLUMN_PLACEHOLDER, Integer.toString(event.getColumn()))
@@ -205,7 +242,7 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
             );
         }
         else {
-            results.add(resultLineOnly
+            writeResult(resultLineOnly
                 .replace(SEVERITY_LEVEL_PLACEHOLDER, renderSeverityLevel(event.getSeverityLevel()))
                 .replace(URI_PLACEHOLDER, renderFileNameUri(event.getFileName()))
                 .replace(LINE_PLACEHOLDER, Integer.toString(event.getLine()))
@@ -221,13 +258,13 @@ public class SarifLogger extends AbstractAutomaticBean implements AuditListener
         final PrintWriter printer = new PrintWriter(stringWriter);
         throwable.printStackTrace(printer);
         if (event.getFileName() == null) {
-            results.add(resultErrorOnly
+            writeResult(resultErrorOnly
                 .replace(SEVERITY_LEVEL_PLACEHOLDER, renderSeverityLevel(event.getSeverityLevel()))
                 .replace(MESSAGE_PLACEHOLDER, escape(stringWriter.toString()))
             );
         }
         else {
-            results.add(resultFileOnly
+            writeResult(resultFileOnly
                 .replace(SEVERITY_LEVEL_PLACEHOLDER, renderSeverityLevel(event.getSeverityLevel()))
                 .replace(URI_PLACEHOLDER, renderFileNameUri(event.getFileName()))
                 .replace(MESSAGE_PLACEHOLDER, escape(stringWriter.toString()))
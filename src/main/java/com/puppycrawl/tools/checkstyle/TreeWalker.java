@@ -20,16 +20,20 @@
 package com.puppycrawl.tools.checkstyle;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,6 +47,8 @@ import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.SymbolTable;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.api.Violation;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
@@ -51,6 +57,7 @@ import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
  * checks at each node.
  *
  */
+// -@cs[ClassFanOutComplexity] TreeWalker hands the models of a file to its checks.
 @FileStatefulCheck
 public final class TreeWalker extends AbstractFileSetCheck implements ExternalResourceHolder {
 
@@ -71,6 +78,12 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** Registered comment checks. */
     private final Set<AbstractCheck> commentChecks = createNewCheckSortedSet();
 
+    /** Ordinary checks by token type, one table per group of checks, built on first walk. */
+    private List<DispatchTable> ordinaryDispatchTables;
+
+    /** Comment checks by token type, one table per group of checks, built on first walk. */
+    private List<DispatchTable> commentDispatchTables;
+
     /** The ast filters. */
     private final Set<TreeWalkerFilter> filters = new HashSet<>();
 
@@ -89,6 +102,21 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** Specify severity Level to log Java parsing exceptions when they are skipped. */
     private SeverityLevel javaParseExceptionSeverity = SeverityLevel.ERROR;
 
+    /** The profiler to record time spent in checks and filters, {@code null} if disabled. */
+    private AuditProfiler profiler;
+
+    /** The filter of changed lines, {@code null} if all lines are audited. */
+    private ChangedLinesFilter changedLinesFilter;
+
+    /** The processor of groups of checks on several threads, {@code null} in single thread mode. */
+    private MultiThreadCheckProcessor multiThreadCheckProcessor;
+
+    /**
+     * The declarations of the file being processed, shared by its checks and
+     * built on first use by a check.
+     */
+    private SymbolTable symbolTable;
+
     /**
      * Creates a new {@code TreeWalker} instance.
      */
@@ -105,6 +133,25 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         this.moduleFactory = moduleFactory;
     }
 
+    /**
+     * Sets the profiler to record time spent in checks and filters.
+     *
+     * @param profiler the profiler.
+     */
+    public void setProfiler(AuditProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets the filter of changed lines, so that checks annotated with
+     * {@link LocalCheck} are not notified about members without changed lines.
+     *
+     * @param changedLinesFilter the filter of changed lines.
+     */
+    public void setChangedLinesFilter(ChangedLinesFilter changedLinesFilter) {
+        this.changedLinesFilter = changedLinesFilter;
+    }
+
     /**
      * Setter to control whether to skip files with Java parsing exceptions.
      *
@@ -129,9 +176,17 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
 
     @Override
     public void finishLocalSetup() {
+        final int threadsNumber = MultiThreadCheckProcessor.getThreadsNumber(getConfiguration());
+        if (threadsNumber > 1) {
+            multiThreadCheckProcessor = new MultiThreadCheckProcessor(threadsNumber);
+        }
+
         final DefaultContext checkContext = new DefaultContext();
         checkContext.add("severity", getSeverity());
         checkContext.add("tabWidth", String.valueOf(getTabWidth()));
+        if (profiler != null) {
+            checkContext.add("profiler", profiler);
+        }
         childContext = checkContext;
     }
 
@@ -192,7 +247,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             // whether skip the procedure after parsing Java files.
             boolean skip = false;
             try {
-                rootAST = JavaParser.parse(contents);
+                rootAST = parse(contents);
             }
             // -@cs[IllegalCatch] There is no other way to obey skipFileOnJavaParseException field
             catch (Exception exc) {
@@ -207,12 +262,18 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             }
 
             if (!skip) {
-                if (!ordinaryChecks.isEmpty()) {
-                    walk(rootAST, contents, AstState.ORDINARY);
+                symbolTable = new SymbolTable(rootAST);
+                final ChangedLinesFilter.LineRanges changedLines = getChangedLines(file);
+                if (commentChecks.isEmpty()) {
+                    walk(rootAST, contents, AstState.ORDINARY, changedLines, null);
                 }
-                if (!commentChecks.isEmpty()) {
+                else if (ordinaryChecks.isEmpty()) {
                     final DetailAST astWithComments = JavaParser.appendHiddenCommentNodes(rootAST);
-                    walk(astWithComments, contents, AstState.WITH_COMMENTS);
+                    walk(astWithComments, contents, AstState.WITH_COMMENTS, changedLines, null);
+                }
+                else {
+                    walkAndAppendHiddenCommentNodes(rootAST, contents, changedLines);
+                    walk(rootAST, contents, AstState.WITH_COMMENTS, changedLines, null);
                 }
                 if (filters.isEmpty()) {
                     addViolations(violations);
@@ -222,11 +283,33 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
                             getFilteredViolations(file.getAbsolutePath(), contents, rootAST);
                     addViolations(filteredViolations);
                 }
+                symbolTable = null;
             }
             violations.clear();
         }
     }
 
+    /**
+     * Parses the contents of the file, recording the time spent when profiling.
+     *
+     * @param contents the contents of the file.
+     * @return the root of the AST.
+     * @throws CheckstyleException if the contents is not a valid Java source.
+     */
+    private DetailAST parse(FileContents contents) throws CheckstyleException {
+        final DetailAST result;
+        if (profiler == null) {
+            result = JavaParser.parse(contents);
+        }
+        else {
+            final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(this);
+            final AuditProfiler.Sample sample = profile.startSample();
+            result = JavaParser.parse(contents);
+            profile.record(AuditProfiler.Operation.PARSE, sample);
+        }
+        return result;
+    }
+
     /**
      * Returns filtered set of {@link Violation}.
      *
@@ -242,7 +325,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             final TreeWalkerAuditEvent event =
                     new TreeWalkerAuditEvent(fileContents, fileName, element, rootAST);
             for (TreeWalkerFilter filter : filters) {
-                if (!filter.accept(event)) {
+                if (!accept(filter, event)) {
                     result.remove(element);
                     break;
                 }
@@ -251,6 +334,27 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         return result;
     }
 
+    /**
+     * Filters the event, recording the time spent when profiling.
+     *
+     * @param filter the filter.
+     * @param event the event to filter.
+     * @return {@code true} if the event is accepted by the filter.
+     */
+    private boolean accept(TreeWalkerFilter filter, TreeWalkerAuditEvent event) {
+        final boolean result;
+        if (profiler == null) {
+            result = filter.accept(event);
+        }
+        else {
+            final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(filter);
+            final AuditProfiler.Sample sample = profile.startSample();
+            result = filter.accept(event);
+            profile.record(AuditProfiler.Operation.ACCEPT, sample);
+        }
+        return result;
+    }
+
     /**
      * Register a check for a given configuration.
      *
@@ -301,6 +405,8 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @throws CheckstyleException if Check is misconfigured
      */
     private void registerCheck(int tokenId, AbstractCheck check) throws CheckstyleException {
+        ordinaryDispatchTables = null;
+        commentDispatchTables = null;
         if (check.isCommentNodesRequired()) {
             tokenToCommentChecks.computeIfAbsent(tokenId, empty -> createNewCheckSortedSet())
                     .add(check);
@@ -319,123 +425,196 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     }
 
     /**
-     * Initiates the walk of an AST.
+     * Initiates the walk of an AST. When checks are split into groups, each
+     * group walks the AST on its own thread, and the walk finishes when all
+     * groups finished the tree.
      *
      * @param ast the root AST
      * @param contents the contents of the file the AST was generated from.
      * @param astState state of AST.
+     * @param changedLines the changed lines of the file, {@code null} if all
+     *     lines are audited.
+     * @param nodesWithComments the list to collect nodes which have hidden
+     *     comments before them, or {@code null} if they are not needed.
+     * @return the last visited node.
+     * @throws CheckstyleException if the walk is interrupted.
      */
-    private void walk(DetailAST ast, FileContents contents,
-            AstState astState) {
-        notifyBegin(ast, contents, astState);
-        processIter(ast, astState);
-        notifyEnd(ast, astState);
+    private DetailAST walk(DetailAST ast, FileContents contents, AstState astState,
+            ChangedLinesFilter.LineRanges changedLines, List<DetailAST> nodesWithComments)
+            throws CheckstyleException {
+        final List<DispatchTable> dispatchTables = getDispatchTables(astState);
+        final DetailAST lastNode;
+        if (dispatchTables.size() == 1) {
+            lastNode = walk(ast, contents, dispatchTables.get(0), changedLines,
+                    nodesWithComments, violations);
+        }
+        else {
+            MultiThreadCheckProcessor.prepareTree(ast);
+            lastNode = multiThreadCheckProcessor.process(dispatchTables,
+                dispatchTable -> {
+                    return walk(ast, contents, dispatchTable, changedLines,
+                            nodesWithComments, violations);
+                },
+                (dispatchTable, groupViolations) -> {
+                    walk(ast, contents, dispatchTable, changedLines, null, groupViolations);
+                },
+                violations);
+        }
+        return lastNode;
     }
 
     /**
-     * Notify checks that we are about to begin walking a tree.
+     * Walks an AST with the checks of a table on the current thread.
      *
-     * @param rootAST the root of the tree.
+     * @param ast the root AST
      * @param contents the contents of the file the AST was generated from.
-     * @param astState state of AST.
+     * @param dispatchTable the checks to notify.
+     * @param changedLines the changed lines of the file, {@code null} if all
+     *     lines are audited.
+     * @param nodesWithComments the list to collect nodes which have hidden
+     *     comments before them, or {@code null} if they are not needed.
+     * @param checkViolations the set to collect violations of the checks.
+     * @return the last visited node.
      */
-    private void notifyBegin(DetailAST rootAST, FileContents contents,
-            AstState astState) {
-        final Set<AbstractCheck> checks;
-
-        if (astState == AstState.WITH_COMMENTS) {
-            checks = commentChecks;
-        }
-        else {
-            checks = ordinaryChecks;
-        }
+    private DetailAST walk(DetailAST ast, FileContents contents, DispatchTable dispatchTable,
+            ChangedLinesFilter.LineRanges changedLines, List<DetailAST> nodesWithComments,
+            SortedSet<Violation> checkViolations) {
+        notifyBegin(ast, contents, dispatchTable.getChecks());
+        final DetailAST lastNode =
+                processIter(ast, dispatchTable, changedLines, nodesWithComments);
+        notifyEnd(ast, dispatchTable.getChecks(), checkViolations);
+        return lastNode;
+    }
 
-        for (AbstractCheck check : checks) {
-            check.setFileContents(contents);
-            check.clearViolations();
-            check.beginTree(rootAST);
+    /**
+     * Walks an AST without comment nodes with ordinary checks and then appends
+     * comment nodes to it. Nodes with comments are collected during the walk,
+     * so comments are appended without one more traversal of the AST.
+     * Comments can not be appended during the walk, as ordinary checks
+     * may look at any part of the AST till they finish the tree.
+     *
+     * @param rootAST the root AST without comment nodes.
+     * @param contents the contents of the file the AST was generated from.
+     * @param changedLines the changed lines of the file, {@code null} if all
+     *     lines are audited.
+     * @throws CheckstyleException if the walk is interrupted.
+     */
+    private void walkAndAppendHiddenCommentNodes(DetailAST rootAST, FileContents contents,
+            ChangedLinesFilter.LineRanges changedLines) throws CheckstyleException {
+        final List<DetailAST> nodesWithComments = new ArrayList<>();
+        final DetailAST lastNode = walk(rootAST, contents, AstState.ORDINARY,
+                changedLines, nodesWithComments);
+
+        nodesWithComments.forEach(JavaParser::appendHiddenCommentNodesBefore);
+        if (lastNode != null) {
+            JavaParser.appendHiddenCommentNodesAfter(lastNode);
         }
     }
 
     /**
-     * Notify checks that we have finished walking a tree.
+     * Returns the tables of checks by token type, one per group of checks,
+     * building the tables after checks are registered.
      *
-     * @param rootAST the root of the tree.
      * @param astState state of AST.
+     * @return the tables of checks for the state of AST.
      */
-    private void notifyEnd(DetailAST rootAST, AstState astState) {
-        final Set<AbstractCheck> checks;
-
+    private List<DispatchTable> getDispatchTables(AstState astState) {
+        if (ordinaryDispatchTables == null) {
+            ordinaryDispatchTables = createDispatchTables(ordinaryChecks, tokenToOrdinaryChecks);
+            commentDispatchTables = createDispatchTables(commentChecks, tokenToCommentChecks);
+        }
+        final List<DispatchTable> result;
         if (astState == AstState.WITH_COMMENTS) {
-            checks = commentChecks;
+            result = commentDispatchTables;
         }
         else {
-            checks = ordinaryChecks;
-        }
-
-        for (AbstractCheck check : checks) {
-            check.finishTree(rootAST);
-            violations.addAll(check.getViolations());
+            result = ordinaryDispatchTables;
         }
+        return result;
     }
 
     /**
-     * Notify checks that visiting a node.
+     * Creates the tables of checks by token type, one per group of checks
+     * when checks are notified on several threads.
      *
-     * @param ast the node to notify for.
-     * @param astState state of AST.
+     * @param checks the registered checks.
+     * @param tokenToChecks the sets of checks by token type.
+     * @return the tables of checks.
      */
-    private void notifyVisit(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors = getListOfChecks(ast, astState);
-
-        if (visitors != null) {
-            for (AbstractCheck check : visitors) {
-                check.visitToken(ast);
+    private List<DispatchTable> createDispatchTables(Set<AbstractCheck> checks,
+            Map<Integer, Set<AbstractCheck>> tokenToChecks) {
+        final List<DispatchTable> result;
+        if (multiThreadCheckProcessor == null) {
+            result = List.of(new DispatchTable(checks, tokenToChecks, profiler));
+        }
+        else {
+            result = new ArrayList<>();
+            for (Set<AbstractCheck> group : multiThreadCheckProcessor.splitChecks(checks)) {
+                result.add(new DispatchTable(group,
+                        DispatchTable.filterChecks(tokenToChecks, group::contains), profiler));
             }
         }
+        return result;
     }
 
     /**
-     * Notify checks that leaving a node.
+     * Notify checks that we are about to begin walking a tree.
      *
-     * @param ast
-     *        the node to notify for
-     * @param astState state of AST.
+     * @param rootAST the root of the tree.
+     * @param contents the contents of the file the AST was generated from.
+     * @param checks the checks to notify.
      */
-    private void notifyLeave(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors = getListOfChecks(ast, astState);
-
-        if (visitors != null) {
-            for (AbstractCheck check : visitors) {
-                check.leaveToken(ast);
+    private void notifyBegin(DetailAST rootAST, FileContents contents,
+            Set<AbstractCheck> checks) {
+        for (AbstractCheck check : checks) {
+            check.setFileContents(contents);
+            check.setSymbolTable(symbolTable);
+            check.clearViolations();
+            if (profiler == null) {
+                check.beginTree(rootAST);
+            }
+            else {
+                final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(check);
+                final AuditProfiler.Sample sample = profile.startSample();
+                check.beginTree(rootAST);
+                profile.record(AuditProfiler.Operation.BEGIN_TREE, sample);
             }
         }
     }
 
     /**
-     * Method returns list of checks.
+     * Notify checks that we have finished walking a tree.
      *
-     * @param ast
-     *            the node to notify for
-     * @param astState
-     *            state of AST.
-     * @return list of visitors
+     * @param rootAST the root of the tree.
+     * @param checks the checks to notify.
+     * @param checkViolations the set to collect violations of the checks.
      */
-    private Collection<AbstractCheck> getListOfChecks(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors;
-        final int tokenId = ast.getType();
-
-        if (astState == AstState.WITH_COMMENTS) {
-            visitors = tokenToCommentChecks.get(tokenId);
+    private void notifyEnd(DetailAST rootAST, Set<AbstractCheck> checks,
+            SortedSet<Violation> checkViolations) {
+        for (AbstractCheck check : checks) {
+            if (profiler == null) {
+                check.finishTree(rootAST);
+            }
+            else {
+                final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(check);
+                final AuditProfiler.Sample sample = profile.startSample();
+                check.finishTree(rootAST);
+                profile.record(AuditProfiler.Operation.FINISH_TREE, sample);
+            }
+            checkViolations.addAll(check.getViolations());
         }
-        else {
-            visitors = tokenToOrdinaryChecks.get(tokenId);
+    }
+
+    @Override
+    public void finishProcessing() {
+        if (multiThreadCheckProcessor != null) {
+            multiThreadCheckProcessor.finish();
         }
-        return visitors;
     }
 
     @Override
     public void destroy() {
+        finishProcessing();
         ordinaryChecks.forEach(AbstractCheck::destroy);
         commentChecks.forEach(AbstractCheck::destroy);
         super.destroy();
@@ -453,25 +632,95 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             .collect(Collectors.toUnmodifiableSet());
     }
 
+    /**
+     * Gets the changed lines of the file.
+     *
+     * @param file the file.
+     * @return the changed lines, {@code null} if all lines are audited.
+     */
+    private ChangedLinesFilter.LineRanges getChangedLines(File file) {
+        ChangedLinesFilter.LineRanges result = null;
+        if (changedLinesFilter != null) {
+            result = changedLinesFilter.getChangedLines(file.getAbsolutePath());
+        }
+        return result;
+    }
+
     /**
      * Processes a node calling interested checks at each node.
-     * Uses iterative algorithm.
+     * Uses iterative algorithm. When only changed lines are audited, checks
+     * annotated with {@link LocalCheck} are not notified about members
+     * without changed lines.
      *
      * @param root the root of tree for process
-     * @param astState state of AST.
+     * @param dispatchTable the checks to notify by token type.
+     * @param changedLines the changed lines of the file, {@code null} if all
+     *     lines are audited.
+     * @param nodesWithComments the list to collect nodes which have hidden
+     *     comments before them, or {@code null} if they are not needed.
+     * @return the last visited node.
      */
-    private void processIter(DetailAST root, AstState astState) {
+    private static DetailAST processIter(DetailAST root, DispatchTable dispatchTable,
+            ChangedLinesFilter.LineRanges changedLines, List<DetailAST> nodesWithComments) {
+        final boolean skipUnchanged = changedLines != null && dispatchTable.hasLocalChecks();
+        DispatchTable currentTable = dispatchTable;
+        DetailAST skippedNode = null;
         DetailAST curNode = root;
+        DetailAST lastNode = root;
         while (curNode != null) {
-            notifyVisit(curNode, astState);
+            lastNode = curNode;
+            if (skipUnchanged && skippedNode == null
+                    && isUnchangedMember(curNode, changedLines)) {
+                skippedNode = curNode;
+                currentTable = dispatchTable.getNonLocalTable();
+            }
+            currentTable.notifyVisit(curNode);
+            if (nodesWithComments != null && JavaParser.hasHiddenCommentNodesBefore(curNode)) {
+                nodesWithComments.add(curNode);
+            }
             DetailAST toVisit = curNode.getFirstChild();
             while (curNode != null && toVisit == null) {
-                notifyLeave(curNode, astState);
+                currentTable.notifyLeave(curNode);
+                if (curNode == skippedNode) {
+                    skippedNode = null;
+                    currentTable = dispatchTable;
+                }
                 toVisit = curNode.getNextSibling();
                 curNode = curNode.getParent();
             }
             curNode = toVisit;
         }
+        return lastNode;
+    }
+
+    /**
+     * Checks whether the node is a member of a type, or a top level node,
+     * without changed lines. The lines of the node span from its first to
+     * its last descendant, which include its comments.
+     *
+     * @param ast the node to check.
+     * @param changedLines the changed lines of the file.
+     * @return {@code true} if the node is a member without changed lines.
+     */
+    private static boolean isUnchangedMember(DetailAST ast,
+            ChangedLinesFilter.LineRanges changedLines) {
+        final DetailAST parent = ast.getParent();
+        boolean result = false;
+        if (parent == null || parent.getType() == TokenTypes.OBJBLOCK
+                || parent.getType() == TokenTypes.COMPILATION_UNIT) {
+            DetailAST first = ast;
+            while (first.getFirstChild() != null) {
+                first = first.getFirstChild();
+            }
+            DetailAST last = ast;
+            while (last.getLastChild() != null) {
+                last = last.getLastChild();
+            }
+            final int firstLine = Math.min(ast.getLineNo(), first.getLineNo());
+            final int lastLine = Math.max(ast.getLineNo(), last.getLineNo());
+            result = !changedLines.intersects(firstLine, lastLine);
+        }
+        return result;
     }
 
     /**
@@ -506,4 +755,205 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
 
     }
 
+    /**
+     * Checks to notify about nodes, indexed by token type. The checks of a
+     * token are kept in the order of registered sets, and checks which do
+     * not override {@link AbstractCheck#leaveToken(DetailAST)} are not
+     * notified on leaving of nodes. When profiling, the time spent in
+     * checks is recorded in their profiles.
+     */
+    private static final class DispatchTable {
+
+        /** Shared array for tokens without checks. */
+        private static final AbstractCheck[] NO_CHECKS = new AbstractCheck[0];
+
+        /** The checks of the table, in the order of notification. */
+        private final Set<AbstractCheck> tableChecks;
+
+        /** Checks to notify on visiting of nodes, by token type. */
+        private final AbstractCheck[][] visitors;
+
+        /** Checks to notify on leaving of nodes, by token type. */
+        private final AbstractCheck[][] leavers;
+
+        /** The profiles of checks, {@code null} if profiling is disabled. */
+        private final Map<AbstractCheck, AuditProfiler.ModuleProfile> profiles;
+
+        /**
+         * The table without checks annotated with {@link LocalCheck}, this
+         * table if there are no such checks.
+         */
+        private final DispatchTable nonLocalTable;
+
+        /**
+         * Creates the table from the sets of checks by token type.
+         *
+         * @param tableChecks the checks of the table, in the order of notification.
+         * @param tokenToChecks the sets of checks by token type.
+         * @param profiler the profiler, {@code null} if profiling is disabled.
+         */
+        private DispatchTable(Set<AbstractCheck> tableChecks,
+                Map<Integer, Set<AbstractCheck>> tokenToChecks, AuditProfiler profiler) {
+            this.tableChecks = tableChecks;
+            if (profiler == null) {
+                profiles = null;
+            }
+            else {
+                profiles = new IdentityHashMap<>();
+                tokenToChecks.values().forEach(checks -> {
+                    checks.forEach(check -> profiles.put(check, profiler.getModuleProfile(check)));
+                });
+            }
+            final int size = tokenToChecks.keySet().stream()
+                    .mapToInt(Integer::intValue)
+                    .max()
+                    .orElse(-1) + 1;
+            visitors = new AbstractCheck[size][];
+            leavers = new AbstractCheck[size][];
+            Arrays.fill(visitors, NO_CHECKS);
+            Arrays.fill(leavers, NO_CHECKS);
+            tokenToChecks.forEach((tokenId, checks) -> {
+                visitors[tokenId] = checks.toArray(NO_CHECKS);
+                leavers[tokenId] = checks.stream()
+                        .filter(DispatchTable::isLeaveTokenOverridden)
+                        .toArray(AbstractCheck[]::new);
+            });
+
+            final Map<Integer, Set<AbstractCheck>> tokenToNonLocalChecks =
+                    filterChecks(tokenToChecks, check -> !isLocal(check));
+            if (tokenToNonLocalChecks.equals(tokenToChecks)) {
+                nonLocalTable = this;
+            }
+            else {
+                nonLocalTable = new DispatchTable(tableChecks, tokenToNonLocalChecks, profiler);
+            }
+        }
+
+        /**
+         * Checks whether the check is annotated with {@link LocalCheck}.
+         *
+         * @param check the check.
+         * @return {@code true} if the check is local.
+         */
+        private static boolean isLocal(AbstractCheck check) {
+            return check.getClass().isAnnotationPresent(LocalCheck.class);
+        }
+
+        /**
+         * Filters the sets of checks by token type, keeping the order of checks.
+         *
+         * @param tokenToChecks the sets of checks by token type.
+         * @param filter the filter of checks to keep.
+         * @return the filtered sets of checks by token type.
+         */
+        private static Map<Integer, Set<AbstractCheck>> filterChecks(
+                Map<Integer, Set<AbstractCheck>> tokenToChecks, Predicate<AbstractCheck> filter) {
+            final Map<Integer, Set<AbstractCheck>> result = new HashMap<>();
+            tokenToChecks.forEach((tokenId, checks) -> {
+                result.put(tokenId, checks.stream()
+                        .filter(filter)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+            });
+            return result;
+        }
+
+        /**
+         * Returns the checks of the table.
+         *
+         * @return the checks of the table, in the order of notification.
+         */
+        private Set<AbstractCheck> getChecks() {
+            return tableChecks;
+        }
+
+        /**
+         * Checks whether the table has checks annotated with {@link LocalCheck}.
+         *
+         * @return {@code true} if the table has local checks.
+         */
+        private boolean hasLocalChecks() {
+            return nonLocalTable != this;
+        }
+
+        /**
+         * Returns the table without checks annotated with {@link LocalCheck}.
+         *
+         * @return the table without local checks.
+         */
+        private DispatchTable getNonLocalTable() {
+            return nonLocalTable;
+        }
+
+        /**
+         * Notify checks that visiting a node.
+         *
+         * @param ast the node to notify for.
+         */
+        private void notifyVisit(DetailAST ast) {
+            final int tokenId = ast.getType();
+            if (tokenId < visitors.length) {
+                if (profiles == null) {
+                    for (AbstractCheck check : visitors[tokenId]) {
+                        check.visitToken(ast);
+                    }
+                }
+                else {
+                    for (AbstractCheck check : visitors[tokenId]) {
+                        final AuditProfiler.ModuleProfile profile = profiles.get(check);
+                        final AuditProfiler.Sample sample = profile.startSample();
+                        check.visitToken(ast);
+                        profile.record(AuditProfiler.Operation.VISIT_TOKEN, sample);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Notify checks that leaving a node.
+         *
+         * @param ast the node to notify for.
+         */
+        private void notifyLeave(DetailAST ast) {
+            final int tokenId = ast.getType();
+            if (tokenId < leavers.length) {
+                if (profiles == null) {
+                    for (AbstractCheck check : leavers[tokenId]) {
+                        check.leaveToken(ast);
+                    }
+                }
+                else {
+                    for (AbstractCheck check : leavers[tokenId]) {
+                        final AuditProfiler.ModuleProfile profile = profiles.get(check);
+                        final AuditProfiler.Sample sample = profile.startSample();
+                        check.leaveToken(ast);
+                        profile.record(AuditProfiler.Operation.LEAVE_TOKEN, sample);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks whether the check has its own implementation of
+         * {@link AbstractCheck#leaveToken(DetailAST)}.
+         *
+         * @param check the check.
+         * @return {@code true} if leaving of nodes should be notified to the check.
+         */
+        private static boolean isLeaveTokenOverridden(AbstractCheck check) {
+            boolean result = false;
+            Class<?> clazz = check.getClass();
+            while (!result && clazz != AbstractCheck.class) {
+                result = Arrays.stream(clazz.getDeclaredMethods())
+                        .anyMatch(method -> {
+                            return "leaveToken".equals(method.getName())
+                                    && Arrays.equals(method.getParameterTypes(),
+                                            new Class<?>[] {DetailAST.class});
+                        });
+                clazz = clazz.getSuperclass();
+            }
+            return result;
+        }
+
+    }
+
 }
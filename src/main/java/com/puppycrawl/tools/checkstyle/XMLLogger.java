@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.io.BufferedWriter;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -29,6 +30,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
@@ -53,22 +55,43 @@ public class XMLLogger
     /** Hex radix. */
     private static final int BASE_16 = 16;
 
+    /** The first character above all escaped and ISO control characters. */
+    private static final int FIRST_PLAIN_CHARACTER = 0xA0;
+
     /** Some known entities to detect. */
     private static final String[] ENTITIES = {"gt", "amp", "lt", "apos",
                                               "quot", };
 
+    /**
+     * Replacements of the characters below {@link #FIRST_PLAIN_CHARACTER},
+     * {@code null} for characters which are written as they are.
+     */
+    private static final String[] ESCAPES = createEscapes();
+
     /** Close output stream in auditFinished. */
     private final boolean closeStream;
 
-    /** Holds all messages for the given file. */
+    /** Holds all messages for the files started while another file is written. */
     private final Map<String, FileMessages> fileMessages =
             new HashMap<>();
 
+    /** The messages to write once the written file is finished, in order. */
+    private final List<FileMessages> pendingMessages = new ArrayList<>();
+
+    /** The exceptions of the written file, written after its errors. */
+    private final List<Throwable> writtenFileExceptions = new ArrayList<>();
+
     /**
      * Helper writer that allows easy encoding and printing.
      */
     private final PrintWriter writer;
 
+    /** Whether the section of a file is open, so its errors are written directly. */
+    private boolean writingFile;
+
+    /** The name of the file whose section is open. */
+    private String writtenFileName;
+
     /**
      * Creates a new {@code XMLLogger} instance.
      * Sets the output to a defined stream.
@@ -94,7 +117,8 @@ public class XMLLogger
      * @throws IllegalArgumentException if outputStreamOptions is null.
      */
     public XMLLogger(OutputStream outputStream, OutputStreamOptions outputStreamOptions) {
-        writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
         if (outputStreamOptions == null) {
             throw new IllegalArgumentException("Parameter outputStreamOptions can not be null");
         }
@@ -124,6 +148,9 @@ public class XMLLogger
 
     @Override
     public void auditFinished(AuditEvent event) {
+        if (writingFile) {
+            finishWrittenFile();
+        }
         writer.println("</checkstyle>");
         if (closeStream) {
             writer.close();
@@ -133,35 +160,104 @@ public class XMLLogger
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * Files are usually audited one after the other, so the section of the file
+     * is opened at once and its errors are written as they are added.
+     * Only the messages of files started while another file is written are kept
+     * until the file is finished.
+     */
     @Override
     public void fileStarted(AuditEvent event) {
-        fileMessages.put(event.getFileName(), new FileMessages());
+        final String fileName = event.getFileName();
+        if (writingFile) {
+            fileMessages.put(fileName, new FileMessages(fileName));
+        }
+        else {
+            writingFile = true;
+            writtenFileName = fileName;
+            writeFileOpeningTag(fileName);
+        }
     }
 
     @Override
     public void fileFinished(AuditEvent event) {
         final String fileName = event.getFileName();
-        final FileMessages messages = fileMessages.remove(fileName);
-        writeFileMessages(fileName, messages);
+        if (isWrittenFile(fileName)) {
+            finishWrittenFile();
+        }
+        else {
+            FileMessages messages = fileMessages.remove(fileName);
+            if (messages == null) {
+                messages = new FileMessages(fileName);
+            }
+            writeOrDefer(messages);
+        }
     }
 
     /**
-     * Prints the file section with all file errors and exceptions.
+     * Checks whether the section of the file is open.
      *
-     * @param fileName The file name, as should be printed in the opening file tag.
-     * @param messages The file messages.
+     * @param fileName the name of the file.
+     * @return {@code true} if the errors of the file are written directly.
      */
-    private void writeFileMessages(String fileName, FileMessages messages) {
-        writeFileOpeningTag(fileName);
-        if (messages != null) {
-            for (AuditEvent errorEvent : messages.getErrors()) {
-                writeFileError(errorEvent);
-            }
-            for (Throwable exception : messages.getExceptions()) {
-                writeException(exception);
-            }
+    private boolean isWrittenFile(String fileName) {
+        return writingFile && Objects.equals(fileName, writtenFileName);
+    }
+
+    /**
+     * Closes the section of the written file, and writes the messages
+     * which waited for it.
+     */
+    private void finishWrittenFile() {
+        for (Throwable exception : writtenFileExceptions) {
+            writeException(exception);
         }
+        writtenFileExceptions.clear();
         writeFileClosingTag();
+        writingFile = false;
+        writtenFileName = null;
+
+        for (FileMessages messages : pendingMessages) {
+            writeFileMessages(messages);
+        }
+        pendingMessages.clear();
+    }
+
+    /**
+     * Writes the messages, or keeps them until the written file is finished.
+     *
+     * @param messages the messages to write.
+     */
+    private void writeOrDefer(FileMessages messages) {
+        if (writingFile) {
+            pendingMessages.add(messages);
+        }
+        else {
+            writeFileMessages(messages);
+        }
+    }
+
+    /**
+     * Prints the file section with all file errors and exceptions, or only
+     * the errors and exceptions if the messages belong to no file.
+     *
+     * @param messages The file messages.
+     */
+    private void writeFileMessages(FileMessages messages) {
+        final String fileName = messages.getFileName();
+        if (fileName != null) {
+            writeFileOpeningTag(fileName);
+        }
+        for (AuditEvent errorEvent : messages.getErrors()) {
+            writeFileError(errorEvent);
+        }
+        for (Throwable exception : messages.getExceptions()) {
+            writeException(exception);
+        }
+        if (fileName != null) {
+            writeFileClosingTag();
+        }
     }
 
     /**
@@ -170,7 +266,9 @@ public class XMLLogger
      * @param fileName The filename to output.
      */
     private void writeFileOpeningTag(String fileName) {
-        writer.println("<file name=\"" + encode(fileName) + "\">");
+        writer.print("<file name=\"");
+        writeEncoded(fileName);
+        writer.println("\">");
     }
 
     /**
@@ -188,9 +286,14 @@ public class XMLLogger
             if (messages != null) {
                 messages.addError(event);
             }
-            else {
+            else if (isWrittenFile(fileName) || !writingFile) {
                 writeFileError(event);
             }
+            else {
+                final FileMessages detachedMessages = new FileMessages(null);
+                detachedMessages.addError(event);
+                pendingMessages.add(detachedMessages);
+            }
         }
     }
 
@@ -200,17 +303,19 @@ public class XMLLogger
      * @param event An event to print.
      */
     private void writeFileError(AuditEvent event) {
-        writer.print("<error" + " line=\"" + event.getLine() + "\"");
+        writer.print("<error line=\"");
+        writer.print(event.getLine());
+        writer.print('"');
         if (event.getColumn() > 0) {
-            writer.print(" column=\"" + event.getColumn() + "\"");
-        }
-        writer.print(" severity=\""
-                + event.getSeverityLevel().getName()
-                + "\"");
-        writer.print(" message=\""
-                + encode(event.getMessage())
-                + "\"");
-        writer.print(" source=\"");
+            writer.print(" column=\"");
+            writer.print(event.getColumn());
+            writer.print('"');
+        }
+        writer.print(" severity=\"");
+        writer.print(event.getSeverityLevel().getName());
+        writer.print("\" message=\"");
+        writeEncoded(event.getMessage());
+        writer.print("\" source=\"");
         final String sourceValue;
         if (event.getModuleId() == null) {
             sourceValue = event.getSourceName();
@@ -218,7 +323,7 @@ public class XMLLogger
         else {
             sourceValue = event.getModuleId();
         }
-        writer.print(encode(sourceValue));
+        writeEncoded(sourceValue);
         writer.println("\"/>");
     }
 
@@ -229,6 +334,14 @@ public class XMLLogger
         if (messages != null) {
             messages.addException(throwable);
         }
+        else if (isWrittenFile(fileName)) {
+            writtenFileExceptions.add(throwable);
+        }
+        else if (writingFile) {
+            final FileMessages detachedMessages = new FileMessages(null);
+            detachedMessages.addException(throwable);
+            pendingMessages.add(detachedMessages);
+        }
         else {
             writeException(throwable);
         }
@@ -246,12 +359,32 @@ public class XMLLogger
         final StringWriter stringWriter = new StringWriter();
         final PrintWriter printer = new PrintWriter(stringWriter);
         throwable.printStackTrace(printer);
-        writer.println(encode(stringWriter.toString()));
+        writeEncoded(stringWriter.toString());
+        writer.println();
 
         writer.println("]]>");
         writer.println("</exception>");
     }
 
+    /**
+     * Writes the value escaped, without building the escaped value.
+     *
+     * @param value the value to escape.
+     */
+    private void writeEncoded(String value) {
+        final int length = value.length();
+        int start = 0;
+        for (int index = 0; index < length; index++) {
+            final String escape = getEscape(value.charAt(index));
+            if (escape != null) {
+                writer.write(value, start, index - start);
+                writer.write(escape);
+                start = index + 1;
+            }
+        }
+        writer.write(value, start, length - start);
+    }
+
     /**
      * Escape &lt;, &gt; &amp; &#39; and &quot; as their entities.
      *
@@ -259,45 +392,66 @@ public class XMLLogger
      * @return the escaped value if necessary.
      */
     public static String encode(String value) {
-        final StringBuilder sb = new StringBuilder(256);
-        for (int i = 0; i < value.length(); i++) {
-            final char chr = value.charAt(i);
-            switch (chr) {
-                case '<':
-                    sb.append("&lt;");
-                    break;
-                case '>':
-                    sb.append("&gt;");
-                    break;
-                case '\'':
-                    sb.append("&apos;");
-                    break;
-                case '\"':
-                    sb.append("&quot;");
-                    break;
-                case '&':
-                    sb.append("&amp;");
-                    break;
-                case '\r':
-                    break;
-                case '\n':
-                    sb.append("&#10;");
-                    break;
-                default:
-                    if (Character.isISOControl(chr)) {
-                        // true escape characters need '&' before, but it also requires XML 1.1
-                        // until https://github.com/checkstyle/checkstyle/issues/5168
-                        sb.append("#x");
-                        sb.append(Integer.toHexString(chr));
-                        sb.append(';');
-                    }
-                    else {
-                        sb.append(chr);
-                    }
-                    break;
+        final int length = value.length();
+        StringBuilder builder = null;
+        int start = 0;
+        for (int index = 0; index < length; index++) {
+            final String escape = getEscape(value.charAt(index));
+            if (escape != null) {
+                if (builder == null) {
+                    builder = new StringBuilder(length + BASE_16);
+                }
+                builder.append(value, start, index).append(escape);
+                start = index + 1;
+            }
+        }
+
+        final String result;
+        if (builder == null) {
+            result = value;
+        }
+        else {
+            result = builder.append(value, start, length).toString();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the replacement of the character.
+     *
+     * @param chr the character to escape.
+     * @return the replacement of the character, or {@code null} if it is written as it is.
+     */
+    private static String getEscape(char chr) {
+        String result = null;
+        if (chr < FIRST_PLAIN_CHARACTER) {
+            result = ESCAPES[chr];
+        }
+        return result;
+    }
+
+    /**
+     * Creates the replacements of the characters below {@link #FIRST_PLAIN_CHARACTER}.
+     *
+     * @return the replacements indexed by character.
+     */
+    private static String[] createEscapes() {
+        final String[] escapes = new String[FIRST_PLAIN_CHARACTER];
+        for (char chr = 0; chr < FIRST_PLAIN_CHARACTER; chr++) {
+            if (Character.isISOControl(chr)) {
+                // true escape characters need '&' before, but it also requires XML 1.1
+                // until https://github.com/checkstyle/checkstyle/issues/5168
+                escapes[chr] = "#x" + Integer.toHexString(chr) + ';';
             }
         }
-        return sb.toString();
+        escapes['<'] = "&lt;";
+        escapes['>'] = "&gt;";
+        escapes['\''] = "&apos;";
+        escapes['\"'] = "&quot;";
+        escapes['&'] = "&amp;";
+        escapes['\r'] = "";
+        escapes['\n'] = "&#10;";
+        return escapes;
     }
 
     /**
@@ -347,12 +501,34 @@ public class XMLLogger
      */
     private static final class FileMessages {
 
+        /** The name of the file, {@code null} if the messages belong to no file. */
+        private final String fileName;
+
         /** The file error events. */
         private final List<AuditEvent> errors = new ArrayList<>();
 
         /** The file exceptions. */
         private final List<Throwable> exceptions = new ArrayList<>();
 
+        /**
+         * Creates the messages of a file.
+         *
+         * @param fileName the name of the file, {@code null} if the messages
+         *     belong to no file.
+         */
+        private FileMessages(String fileName) {
+            this.fileName = fileName;
+        }
+
+        /**
+         * Returns the name of the file.
+         *
+         * @return the name of the file, {@code null} if the messages belong to no file.
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
         /**
          * Returns the file error events.
          *
@@ -207,6 +207,31 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
         return context.get().fileContents;
     }
 
+    /**
+     * Set the symbol table of the file associated with the tree.
+     *
+     * @param symbolTable the symbol table shared by the checks of the file
+     */
+    public final void setSymbolTable(SymbolTable symbolTable) {
+        context.get().symbolTable = symbolTable;
+    }
+
+    /**
+     * Returns the declarations of the tree. When the check is run by {@code TreeWalker},
+     * the table of the file is shared by all checks of the file and is built once.
+     * Otherwise, a table is built for the tree.
+     *
+     * @param rootAst the root of the tree, as given to {@link #beginTree(DetailAST)}
+     * @return the symbol table of the tree
+     */
+    protected final SymbolTable getSymbolTable(DetailAST rootAst) {
+        SymbolTable result = context.get().symbolTable;
+        if (result == null || !result.isTableOf(rootAst)) {
+            result = new SymbolTable(rootAst);
+        }
+        return result;
+    }
+
     /**
      * Get tab width to report audit events with.
      *
@@ -338,6 +363,9 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
         /** The current file contents. */
         private FileContents fileContents;
 
+        /** The symbol table of the current file. */
+        private SymbolTable symbolTable;
+
     }
 
 }
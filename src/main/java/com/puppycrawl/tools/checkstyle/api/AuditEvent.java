@@ -44,6 +44,8 @@ public final class AuditEvent {
     private final String fileName;
     /** Violation associated with the event. **/
     private final Violation violation;
+    /** Contents of the file event associated with. **/
+    private final FileText fileText;
 
     /**
      * Creates a new instance.
@@ -73,6 +75,19 @@ public final class AuditEvent {
      * @throws IllegalArgumentException if {@code src} is {@code null}.
      */
     public AuditEvent(Object src, String fileName, Violation violation) {
+        this(src, fileName, violation, null);
+    }
+
+    /**
+     * Creates a new {@code AuditEvent} instance.
+     *
+     * @param src source of the event
+     * @param fileName file associated with the event
+     * @param violation the actual violation
+     * @param fileText the contents of the file associated with the event
+     * @throws IllegalArgumentException if {@code src} is {@code null}.
+     */
+    public AuditEvent(Object src, String fileName, Violation violation, FileText fileText) {
         if (src == null) {
             throw new IllegalArgumentException("null source");
         }
@@ -80,6 +95,7 @@ public final class AuditEvent {
         source = src;
         this.fileName = fileName;
         this.violation = violation;
+        this.fileText = fileText;
     }
 
     /**
@@ -170,4 +186,15 @@ public final class AuditEvent {
         return violation;
     }
 
+    /**
+     * Returns the contents of the file being audited, as they were read
+     * by Checkstyle with the configured charset.
+     *
+     * @return the contents of the file or null if they are not available
+     *     for the event.
+     */
+    public FileText getFileText() {
+        return fileText;
+    }
+
 }
@@ -78,4 +78,57 @@ public interface DetailNode {
      */
     int getIndex();
 
+    /**
+     * Returns the first child of this node. Implementations should override
+     * it to avoid copying the children.
+     *
+     * @return first child node, or {@code null} if there are no children
+     */
+    default DetailNode getFirstChild() {
+        final DetailNode[] children = getChildren();
+        DetailNode result = null;
+        if (children.length > 0) {
+            result = children[0];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the next sibling of this node. Implementations should override
+     * it to avoid copying the children of the parent.
+     *
+     * @return next sibling node, or {@code null} if this is the last child
+     */
+    default DetailNode getNextSibling() {
+        return getSibling(getIndex() + 1);
+    }
+
+    /**
+     * Returns the previous sibling of this node. Implementations should
+     * override it to avoid copying the children of the parent.
+     *
+     * @return previous sibling node, or {@code null} if this is the first child
+     */
+    default DetailNode getPreviousSibling() {
+        return getSibling(getIndex() - 1);
+    }
+
+    /**
+     * Returns the child of the parent of this node at the index.
+     *
+     * @param index the index among the children of the parent.
+     * @return the sibling, or {@code null} if there is no child at the index
+     */
+    private DetailNode getSibling(int index) {
+        final DetailNode parent = getParent();
+        DetailNode result = null;
+        if (parent != null) {
+            final DetailNode[] siblings = parent.getChildren();
+            if (index >= 0 && index < siblings.length) {
+                result = siblings[index];
+            }
+        }
+        return result;
+    }
+
 }
@@ -19,24 +19,19 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Files;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 
@@ -52,19 +47,30 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 public final class FileText {
 
     /**
-     * The number of characters to read in one go.
+     * The initial capacity of the buffer files are decoded into.
      */
-    private static final int READ_BUFFER_SIZE = 1024;
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
 
     /**
-     * Regular expression pattern matching all line terminators.
+     * The initial capacity of the array of line break positions.
      */
-    private static final Pattern LINE_TERMINATOR = Pattern.compile("\\n|\\r\\n?");
+    private static final int INITIAL_LINE_COUNT = 256;
 
-    // For now, we always keep both full text and lines array.
-    // In the long run, however, the one passed at initialization might be
-    // enough, while the other could be lazily created when requested.
-    // This would save memory but cost CPU cycles.
+    /**
+     * The maximum capacity of the buffer kept for reuse by a thread.
+     * Larger files are decoded into a buffer which is discarded afterwards.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The buffer files are decoded into, reused by subsequent reads of a thread.
+     */
+    private static final ThreadLocal<CharBuffer> DECODE_BUFFER =
+            ThreadLocal.withInitial(() -> CharBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    // The full text is always kept, while lines of a file read from disk
+    // are only created from it when they are requested, as many files are
+    // never accessed line by line.
 
     /**
      * The name of the file.
@@ -80,6 +86,7 @@ public final class FileText {
 
     /**
      * The lines of the file, without terminators.
+     * An element is {@code null} until the line is requested.
      */
     private final String[] lines;
 
@@ -165,25 +172,14 @@ public final class FileText {
         }
 
         fullText = readFile(file, decoder);
-
-        // Use the BufferedReader to break down the lines as this
-        // is about 30% faster than using the
-        // LINE_TERMINATOR.split(fullText, -1) method
-        try (BufferedReader reader = new BufferedReader(new StringReader(fullText))) {
-            final ArrayList<String> textLines = new ArrayList<>();
-            while (true) {
-                final String line = reader.readLine();
-                if (line == null) {
-                    break;
-                }
-                textLines.add(line);
-            }
-            lines = textLines.toArray(CommonUtil.EMPTY_STRING_ARRAY);
-        }
+        lineBreaks = findLineBreaks(fullText);
+        lines = new String[lineBreaks.length - 1];
     }
 
     /**
      * Reads file using specific decoder and returns all its content as a String.
+     * The content is decoded into a buffer reused by the current thread, so
+     * the returned string is the only copy of the decoded text.
      *
      * @param inputFile File to read
      * @param decoder Charset decoder
@@ -196,19 +192,58 @@ public final class FileText {
         if (!inputFile.exists()) {
             throw new FileNotFoundException(inputFile.getPath() + " (No such file or directory)");
         }
-        final StringBuilder buf = new StringBuilder(1024);
-        final InputStream stream = Files.newInputStream(inputFile.toPath());
-        try (Reader reader = new InputStreamReader(stream, decoder)) {
-            final char[] chars = new char[READ_BUFFER_SIZE];
-            while (true) {
-                final int len = reader.read(chars);
-                if (len == -1) {
-                    break;
-                }
-                buf.append(chars, 0, len);
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(inputFile.toPath()));
+        CharBuffer chars = getDecodeBuffer(
+                (int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte()));
+        // malformed input and unmappable characters are replaced,
+        // so decoding can only stop when the buffer is full
+        CoderResult result = decoder.decode(bytes, chars, true);
+        while (result.isOverflow()) {
+            chars = getDecodeBuffer(chars.capacity() * 2 + 1, chars);
+            result = decoder.decode(bytes, chars, true);
+        }
+        result = decoder.flush(chars);
+        while (result.isOverflow()) {
+            chars = getDecodeBuffer(chars.capacity() * 2 + 1, chars);
+            result = decoder.flush(chars);
+        }
+        return chars.flip().toString();
+    }
+
+    /**
+     * Gets an empty buffer of at least the given capacity to decode a file into.
+     *
+     * @param capacity the minimum capacity of the buffer.
+     * @return the buffer.
+     */
+    private static CharBuffer getDecodeBuffer(int capacity) {
+        CharBuffer buffer = DECODE_BUFFER.get();
+        if (buffer.capacity() < capacity) {
+            buffer = CharBuffer.allocate(capacity);
+            if (capacity <= MAX_REUSED_BUFFER_SIZE) {
+                DECODE_BUFFER.set(buffer);
             }
         }
-        return buf.toString();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Gets a buffer of at least the given capacity containing the already
+     * decoded characters of the given buffer.
+     *
+     * @param capacity the minimum capacity of the buffer.
+     * @param decoded the buffer containing the decoded characters.
+     * @return the buffer ready to decode the remaining characters into.
+     */
+    private static CharBuffer getDecodeBuffer(int capacity, CharBuffer decoded) {
+        decoded.flip();
+        final CharBuffer buffer = CharBuffer.allocate(capacity);
+        buffer.put(decoded);
+        if (capacity <= MAX_REUSED_BUFFER_SIZE) {
+            DECODE_BUFFER.set(buffer);
+        }
+        return buffer;
     }
 
     /**
@@ -219,7 +254,21 @@ public final class FileText {
      * @return the line with the given number
      */
     public String get(final int lineNo) {
-        return lines[lineNo];
+        String line = lines[lineNo];
+        if (line == null) {
+            final int[] lineBreakPositions = findLineBreaks();
+            final int start = lineBreakPositions[lineNo];
+            int end = lineBreakPositions[lineNo + 1];
+            if (end > start && fullText.charAt(end - 1) == '\n') {
+                end--;
+            }
+            if (end > start && fullText.charAt(end - 1) == '\r') {
+                end--;
+            }
+            line = fullText.substring(start, end);
+            lines[lineNo] = line;
+        }
+        return line;
     }
 
     /**
@@ -258,6 +307,9 @@ public final class FileText {
      * @return an array of all lines of the text
      */
     public String[] toLinesArray() {
+        for (int lineNo = 0; lineNo < lines.length; lineNo++) {
+            get(lineNo);
+        }
         return lines.clone();
     }
 
@@ -288,20 +340,47 @@ public final class FileText {
      */
     private int[] findLineBreaks() {
         if (lineBreaks == null) {
-            final int[] lineBreakPositions = new int[size() + 1];
-            lineBreakPositions[0] = 0;
-            int lineNo = 1;
-            final Matcher matcher = LINE_TERMINATOR.matcher(fullText);
-            while (matcher.find()) {
-                lineBreakPositions[lineNo] = matcher.end();
+            lineBreaks = findLineBreaks(fullText);
+        }
+        return lineBreaks;
+    }
+
+    /**
+     * Find positions of line breaks in the text. Lines are terminated by
+     * a line feed, a carriage return or a carriage return followed by a line
+     * feed. The terminator of the last line is optional.
+     *
+     * @param text the text to search line breaks in.
+     * @return an array giving the first positions of each line followed by
+     *     the length of the text.
+     */
+    private static int[] findLineBreaks(String text) {
+        final int length = text.length();
+        int[] lineBreakPositions = new int[INITIAL_LINE_COUNT];
+        int lineNo = 1;
+        int pos = 0;
+        while (pos < length) {
+            final char chr = text.charAt(pos);
+            if (chr == '\r' && pos + 1 < length && text.charAt(pos + 1) == '\n') {
+                pos++;
+            }
+            pos++;
+            if ((chr == '\n' || chr == '\r') && pos < length) {
+                if (lineNo == lineBreakPositions.length) {
+                    lineBreakPositions = Arrays.copyOf(lineBreakPositions, lineNo * 2);
+                }
+                lineBreakPositions[lineNo] = pos;
                 lineNo++;
             }
-            if (lineNo < lineBreakPositions.length) {
-                lineBreakPositions[lineNo] = fullText.length();
+        }
+        if (length > 0) {
+            if (lineNo == lineBreakPositions.length) {
+                lineBreakPositions = Arrays.copyOf(lineBreakPositions, lineNo + 1);
             }
-            lineBreaks = lineBreakPositions;
+            lineBreakPositions[lineNo] = length;
+            lineNo++;
         }
-        return lineBreaks;
+        return Arrays.copyOf(lineBreakPositions, lineNo);
     }
 
     /**
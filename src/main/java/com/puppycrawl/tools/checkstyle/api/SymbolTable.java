@@ -0,0 +1,659 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The declarations of a file, organized in nested scopes and indexed by name.
+ * Types, methods, constructors, blocks, catch clauses, for loops and
+ * try-with-resources statements open scopes. Fields and methods are recorded in
+ * the scope of their type, and methods are looked up by name and number of
+ * arguments. Local variables and parameters are recorded in the scope which
+ * declares them. Parameters of lambdas, and of anything nested in lambdas, are
+ * not recorded.
+ *
+ * <p>
+ * {@code TreeWalker} creates one table per file and gives it to all checks of the
+ * file, see {@link AbstractCheck#getSymbolTable(DetailAST)}. The table is built on
+ * first use, so files are not scanned for declarations when no check needs them.
+ * The table may be used by checks running on several threads.
+ * </p>
+ */
+public final class SymbolTable {
+
+    /** The root of the tree the table is built from. */
+    private final DetailAST rootAst;
+
+    /** The scopes by the node which opens them, {@code null} until the table is built. */
+    private Map<DetailAST, Scope> scopes;
+
+    /**
+     * Creates the table of a tree. The tree is scanned for declarations on first use
+     * of the table.
+     *
+     * @param rootAst the root of the tree.
+     */
+    public SymbolTable(DetailAST rootAst) {
+        this.rootAst = rootAst;
+    }
+
+    /**
+     * Returns the scope opened by the node.
+     *
+     * @param ast the node.
+     * @return the scope, or {@code null} if the node does not open a named scope.
+     */
+    public Scope getScope(DetailAST ast) {
+        return getScopes().get(ast);
+    }
+
+    /**
+     * Whether the table is built from the tree.
+     *
+     * @param ast the root of a tree.
+     * @return true if the table is built from the tree.
+     */
+    /* package */ boolean isTableOf(DetailAST ast) {
+        return rootAst == ast;
+    }
+
+    /**
+     * Returns the scopes of the tree, scanning the tree for declarations on first use.
+     * The method is synchronized, as checks of a file may run on several threads.
+     *
+     * @return the scopes by the node which opens them.
+     */
+    private synchronized Map<DetailAST, Scope> getScopes() {
+        if (scopes == null) {
+            final Map<DetailAST, Scope> result = new HashMap<>();
+            final Deque<Scope> scopeStack = new ArrayDeque<>();
+            DetailAST curNode = rootAst;
+            while (curNode != null) {
+                collectDeclarations(scopeStack, curNode);
+                DetailAST toVisit = curNode.getFirstChild();
+                while (curNode != null && toVisit == null) {
+                    endCollectingDeclarations(result, scopeStack, curNode);
+                    toVisit = curNode.getNextSibling();
+                    curNode = curNode.getParent();
+                }
+                curNode = toVisit;
+            }
+            scopes = result;
+        }
+        return scopes;
+    }
+
+    /**
+     * Records the declarations of the node, and opens the scope of the node.
+     *
+     * @param scopeStack the stack of open scopes.
+     * @param ast the node.
+     */
+    // -@cs[JavaNCSS] This method is a big switch and is too hard to remove.
+    private static void collectDeclarations(Deque<Scope> scopeStack, DetailAST ast) {
+        final Scope scope = scopeStack.peek();
+        switch (ast.getType()) {
+            case TokenTypes.VARIABLE_DEF:
+                collectVariableDeclaration(scope, ast);
+                break;
+            case TokenTypes.RECORD_COMPONENT_DEF:
+                scope.addRecordComponent(ast.findFirstToken(TokenTypes.IDENT));
+                break;
+            case TokenTypes.PARAMETER_DEF:
+                // a receiver parameter has no ident
+                final DetailAST parameterIdent = ast.findFirstToken(TokenTypes.IDENT);
+                if (parameterIdent != null && !isInLambda(ast)) {
+                    scope.addVariable(parameterIdent);
+                }
+                break;
+            case TokenTypes.RESOURCE:
+                final DetailAST resourceIdent = ast.findFirstToken(TokenTypes.IDENT);
+                if (resourceIdent != null) {
+                    scope.addVariable(resourceIdent);
+                }
+                break;
+            case TokenTypes.CLASS_DEF:
+            case TokenTypes.INTERFACE_DEF:
+            case TokenTypes.ENUM_DEF:
+            case TokenTypes.ANNOTATION_DEF:
+            case TokenTypes.RECORD_DEF:
+                final DetailAST typeIdent = ast.findFirstToken(TokenTypes.IDENT);
+                scopeStack.push(new Scope(ScopeKind.TYPE, scope, typeIdent, typeIdent.getText()));
+                break;
+            case TokenTypes.METHOD_DEF:
+                final DetailAST methodIdent = ast.findFirstToken(TokenTypes.IDENT);
+                scope.addMethod(methodIdent);
+                scopeStack.push(new Scope(ScopeKind.METHOD, scope, methodIdent,
+                        methodIdent.getText()));
+                break;
+            case TokenTypes.CTOR_DEF:
+            case TokenTypes.COMPACT_CTOR_DEF:
+                final DetailAST ctorIdent = ast.findFirstToken(TokenTypes.IDENT);
+                scopeStack.push(new Scope(ScopeKind.CONSTRUCTOR, scope, ctorIdent,
+                        ctorIdent.getText()));
+                break;
+            case TokenTypes.ENUM_CONSTANT_DEF:
+                scope.addEnumConstant(ast.findFirstToken(TokenTypes.IDENT));
+                break;
+            case TokenTypes.SLIST:
+                scopeStack.push(new Scope(ScopeKind.BLOCK, scope, ast, ast.getText()));
+                break;
+            case TokenTypes.LITERAL_CATCH:
+                scopeStack.push(new Scope(ScopeKind.CATCH, scope, ast, ast.getText()));
+                break;
+            case TokenTypes.LITERAL_FOR:
+                scopeStack.push(new Scope(ScopeKind.FOR, scope, ast, ast.getText()));
+                break;
+            case TokenTypes.LITERAL_NEW:
+                if (isAnonymousClassDef(ast)) {
+                    scopeStack.push(new Scope(ScopeKind.ANONYMOUS_TYPE, scope, null,
+                            ast.toString()));
+                }
+                break;
+            case TokenTypes.LITERAL_TRY:
+                if (isTryWithResources(ast)) {
+                    scopeStack.push(new Scope(ScopeKind.TRY_WITH_RESOURCES, scope, ast,
+                            ast.getText()));
+                }
+                break;
+            default:
+                // no declarations
+        }
+    }
+
+    /**
+     * Records a variable declaration as a field or a local variable.
+     *
+     * @param scope the scope of the declaration.
+     * @param ast the {@code VARIABLE_DEF} node.
+     */
+    private static void collectVariableDeclaration(Scope scope, DetailAST ast) {
+        final DetailAST ident = ast.findFirstToken(TokenTypes.IDENT);
+        if (scope.isType()) {
+            final DetailAST mods = ast.findFirstToken(TokenTypes.MODIFIERS);
+            if (ast.getParent().getParent().getType() == TokenTypes.INTERFACE_DEF
+                    || mods.findFirstToken(TokenTypes.LITERAL_STATIC) != null) {
+                scope.addStaticField(ident);
+            }
+            else {
+                scope.addInstanceField(ident,
+                        mods.findFirstToken(TokenTypes.FINAL) != null);
+            }
+        }
+        else {
+            scope.addVariable(ident);
+        }
+    }
+
+    /**
+     * Closes the scope of the node, and records it.
+     *
+     * @param scopes the scopes by the node which opens them.
+     * @param scopeStack the stack of open scopes.
+     * @param ast the node.
+     */
+    private static void endCollectingDeclarations(Map<DetailAST, Scope> scopes,
+            Deque<Scope> scopeStack, DetailAST ast) {
+        switch (ast.getType()) {
+            case TokenTypes.CLASS_DEF:
+            case TokenTypes.INTERFACE_DEF:
+            case TokenTypes.ENUM_DEF:
+            case TokenTypes.ANNOTATION_DEF:
+            case TokenTypes.SLIST:
+            case TokenTypes.METHOD_DEF:
+            case TokenTypes.CTOR_DEF:
+            case TokenTypes.LITERAL_CATCH:
+            case TokenTypes.LITERAL_FOR:
+            case TokenTypes.RECORD_DEF:
+            case TokenTypes.COMPACT_CTOR_DEF:
+                scopes.put(ast, scopeStack.pop());
+                break;
+            case TokenTypes.LITERAL_NEW:
+                if (isAnonymousClassDef(ast)) {
+                    scopeStack.pop();
+                }
+                break;
+            case TokenTypes.LITERAL_TRY:
+                if (isTryWithResources(ast)) {
+                    scopes.put(ast, scopeStack.pop());
+                }
+                break;
+            default:
+                // no scope
+        }
+    }
+
+    /**
+     * Whether the node is a definition of an anonymous class.
+     *
+     * @param ast the {@code LITERAL_NEW} node.
+     * @return true if the node is a definition of an anonymous class.
+     */
+    private static boolean isAnonymousClassDef(DetailAST ast) {
+        final DetailAST lastChild = ast.getLastChild();
+        return lastChild != null
+            && lastChild.getType() == TokenTypes.OBJBLOCK;
+    }
+
+    /**
+     * Whether the node is a try-with-resources statement.
+     *
+     * @param ast the {@code LITERAL_TRY} node.
+     * @return true if the statement declares resources.
+     */
+    private static boolean isTryWithResources(DetailAST ast) {
+        return ast.getFirstChild().getType() == TokenTypes.RESOURCE_SPECIFICATION;
+    }
+
+    /**
+     * Whether the node is nested in a lambda.
+     *
+     * @param ast the node.
+     * @return true if a parent of the node is a lambda.
+     */
+    private static boolean isInLambda(DetailAST ast) {
+        DetailAST parent = ast.getParent();
+        while (parent != null && parent.getType() != TokenTypes.LAMBDA) {
+            parent = parent.getParent();
+        }
+        return parent != null;
+    }
+
+    /** The kind of a scope. */
+    public enum ScopeKind {
+
+        /** Class, interface, enum, annotation or record. */
+        TYPE,
+        /** Anonymous class. */
+        ANONYMOUS_TYPE,
+        /** Constructor, including compact constructors of records. */
+        CONSTRUCTOR,
+        /** Method. */
+        METHOD,
+        /** Statement list. */
+        BLOCK,
+        /** Catch clause. */
+        CATCH,
+        /** For loop. */
+        FOR,
+        /** Try-with-resources statement. */
+        TRY_WITH_RESOURCES
+
+    }
+
+    /**
+     * A scope and the declarations made directly in it.
+     */
+    public static final class Scope {
+
+        /** The kind of the scope. */
+        private final ScopeKind kind;
+
+        /** The enclosing scope, {@code null} for top level types. */
+        private final Scope parent;
+
+        /** The name ident of named scopes, the opening node of the others. */
+        private final DetailAST nameIdent;
+
+        /** The name of the scope. */
+        private final String name;
+
+        /** The idents of local variables and parameters by name. */
+        private final Map<String, List<DetailAST>> variables = new HashMap<>();
+
+        /** The names of instance fields and record components of a type. */
+        private final Set<String> instanceFields = new HashSet<>();
+
+        /** The names of final instance fields of a type. */
+        private final Set<String> finalInstanceFields = new HashSet<>();
+
+        /** The names of static fields and enum constants of a type. */
+        private final Set<String> staticFields = new HashSet<>();
+
+        /** The name idents of fields and record components of a type, by name. */
+        private final Map<String, List<DetailAST>> fieldIdents = new HashMap<>();
+
+        /** The number of parameter children of instance methods of a type, by name. */
+        private final Map<String, Set<Integer>> instanceMethods = new HashMap<>();
+
+        /** The number of parameter children of static methods of a type, by name. */
+        private final Map<String, Set<Integer>> staticMethods = new HashMap<>();
+
+        /** Whether a type is a record with components. */
+        private boolean recordComponents;
+
+        /**
+         * Creates a scope.
+         *
+         * @param kind the kind of the scope.
+         * @param parent the enclosing scope.
+         * @param nameIdent the name ident, or the opening node of unnamed scopes.
+         * @param name the name of the scope.
+         */
+        private Scope(ScopeKind kind, Scope parent, DetailAST nameIdent, String name) {
+            this.kind = kind;
+            this.parent = parent;
+            this.nameIdent = nameIdent;
+            this.name = name;
+        }
+
+        /**
+         * Returns the kind of the scope.
+         *
+         * @return the kind of the scope.
+         */
+        public ScopeKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the enclosing scope.
+         *
+         * @return the enclosing scope, {@code null} for top level types.
+         */
+        public Scope getParent() {
+            return parent;
+        }
+
+        /**
+         * Returns the name ident of a type, method or constructor, or the node
+         * which opens other scopes.
+         *
+         * @return the name ident or the opening node, {@code null} for anonymous types.
+         */
+        public DetailAST getNameIdent() {
+            return nameIdent;
+        }
+
+        /**
+         * Returns the name of the scope. Scopes without a name ident are named
+         * after their opening node.
+         *
+         * @return the name of the scope.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Whether the scope is a type, including anonymous types.
+         *
+         * @return true if the scope declares members.
+         */
+        public boolean isType() {
+            return kind == ScopeKind.TYPE || kind == ScopeKind.ANONYMOUS_TYPE;
+        }
+
+        /**
+         * Whether the type has an instance field or record component with the name
+         * of the ident.
+         *
+         * @param ident the ident to look up.
+         * @return true if the type has such an instance field.
+         */
+        public boolean hasInstanceField(DetailAST ident) {
+            return instanceFields.contains(ident.getText());
+        }
+
+        /**
+         * Whether the type has a final instance field with the name of the ident.
+         * Record components are final, so any field of a record with components
+         * is considered final.
+         *
+         * @param ident the ident to look up.
+         * @return true if the type has such a final instance field.
+         */
+        public boolean hasFinalField(DetailAST ident) {
+            return recordComponents || finalInstanceFields.contains(ident.getText());
+        }
+
+        /**
+         * Whether the type has an instance method which the method call may invoke,
+         * which has the same name and number of arguments.
+         *
+         * @param ident the name ident of a method call.
+         * @return true if the type has such an instance method.
+         */
+        public boolean hasInstanceMethod(DetailAST ident) {
+            return containsMethod(instanceMethods, ident);
+        }
+
+        /**
+         * Whether the type has a static method which the method call may invoke,
+         * which has the same name and number of arguments.
+         *
+         * @param ident the name ident of a method call.
+         * @return true if the type has such a static method.
+         */
+        public boolean hasStaticMethod(DetailAST ident) {
+            return containsMethod(staticMethods, ident);
+        }
+
+        /**
+         * Returns the name idents of the fields and record components of the type
+         * which have the name, in the order of declaration. Enum constants are not
+         * included. Fields declared in the body of an enum constant are recorded in
+         * the scope of the enum, the parent of their declaration tells them apart.
+         *
+         * @param fieldName the name of the fields.
+         * @return the name idents of the fields, empty if there are none.
+         */
+        public List<DetailAST> getFieldIdents(String fieldName) {
+            return Collections.unmodifiableList(
+                    fieldIdents.getOrDefault(fieldName, Collections.emptyList()));
+        }
+
+        /**
+         * Finds the scope which declares the name of the ident, starting with this
+         * scope. Local variables must be declared before the ident, resources of
+         * a try statement are not visible from its catch clauses, and a type
+         * matches a field or a method of the name.
+         *
+         * @param ident the ident to look up.
+         * @param lookForMethod whether only types are searched, for a method name.
+         * @return the declaring scope, or {@code null} if the name is not declared.
+         */
+        public Scope findDeclaringScope(DetailAST ident, boolean lookForMethod) {
+            final Scope result;
+            if (isType()) {
+                if (hasMethod(ident) || hasField(ident)) {
+                    result = this;
+                }
+                else if (parent == null) {
+                    result = null;
+                }
+                else {
+                    result = parent.findDeclaringScope(ident, lookForMethod);
+                }
+            }
+            else if (!lookForMethod && hasVariable(ident)) {
+                result = this;
+            }
+            else if (kind == ScopeKind.CATCH
+                    && parent.kind == ScopeKind.TRY_WITH_RESOURCES) {
+                result = parent.parent.findDeclaringScope(ident, lookForMethod);
+            }
+            else {
+                result = parent.findDeclaringScope(ident, lookForMethod);
+            }
+            return result;
+        }
+
+        /**
+         * Records a local variable or parameter.
+         *
+         * @param ident the name ident of the declaration.
+         */
+        private void addVariable(DetailAST ident) {
+            variables.computeIfAbsent(ident.getText(), key -> new ArrayList<>(1))
+                    .add(ident);
+        }
+
+        /**
+         * Records an instance field of a type.
+         *
+         * @param ident the name ident of the field.
+         * @param finalField whether the field is final.
+         */
+        private void addInstanceField(DetailAST ident, boolean finalField) {
+            addFieldIdent(ident);
+            instanceFields.add(ident.getText());
+            if (finalField) {
+                finalInstanceFields.add(ident.getText());
+            }
+        }
+
+        /**
+         * Records a component of a record.
+         *
+         * @param ident the name ident of the component.
+         */
+        private void addRecordComponent(DetailAST ident) {
+            addFieldIdent(ident);
+            instanceFields.add(ident.getText());
+            recordComponents = true;
+        }
+
+        /**
+         * Records a static field of a type.
+         *
+         * @param ident the name ident of the field.
+         */
+        private void addStaticField(DetailAST ident) {
+            addFieldIdent(ident);
+            staticFields.add(ident.getText());
+        }
+
+        /**
+         * Records an enum constant, which is looked up like a static field.
+         *
+         * @param ident the name ident of the enum constant.
+         */
+        private void addEnumConstant(DetailAST ident) {
+            staticFields.add(ident.getText());
+        }
+
+        /**
+         * Records the name ident of a field or record component.
+         *
+         * @param ident the name ident.
+         */
+        private void addFieldIdent(DetailAST ident) {
+            fieldIdents.computeIfAbsent(ident.getText(), key -> new ArrayList<>(1))
+                    .add(ident);
+        }
+
+        /**
+         * Records a method of a type.
+         *
+         * @param ident the name ident of the method.
+         */
+        private void addMethod(DetailAST ident) {
+            final DetailAST methodDef = ident.getParent();
+            final Map<String, Set<Integer>> methods;
+            if (methodDef.findFirstToken(TokenTypes.MODIFIERS)
+                    .findFirstToken(TokenTypes.LITERAL_STATIC) == null) {
+                methods = instanceMethods;
+            }
+            else {
+                methods = staticMethods;
+            }
+            final int parameterCount =
+                    methodDef.findFirstToken(TokenTypes.PARAMETERS).getChildCount();
+            methods.computeIfAbsent(ident.getText(), key -> new HashSet<>())
+                    .add(parameterCount);
+        }
+
+        /**
+         * Whether a local variable or parameter with the name of the ident is
+         * declared in this scope before the ident.
+         *
+         * @param ident the ident to look up.
+         * @return true if such a variable is declared.
+         */
+        private boolean hasVariable(DetailAST ident) {
+            boolean result = false;
+            for (DetailAST declaration
+                    : variables.getOrDefault(ident.getText(), Collections.emptyList())) {
+                if (declaration.getLineNo() < ident.getLineNo()
+                        || declaration.getLineNo() == ident.getLineNo()
+                            && declaration.getColumnNo() < ident.getColumnNo()) {
+                    result = true;
+                    break;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Whether the type has a field with the name of the ident.
+         *
+         * @param ident the ident to look up.
+         * @return true if the type has such a field.
+         */
+        private boolean hasField(DetailAST ident) {
+            final String identName = ident.getText();
+            return instanceFields.contains(identName) || staticFields.contains(identName);
+        }
+
+        /**
+         * Whether the type has a method which the method call may invoke.
+         *
+         * @param ident the name ident of a method call.
+         * @return true if the type has such a method.
+         */
+        private boolean hasMethod(DetailAST ident) {
+            return containsMethod(instanceMethods, ident)
+                || containsMethod(staticMethods, ident);
+        }
+
+        /**
+         * Whether the methods contain one with the name and number of arguments of
+         * the method call. Parameters and arguments are counted by the children of
+         * their lists, which include separators on both sides.
+         *
+         * @param methods the number of parameter children of methods by name.
+         * @param ident the name ident of a method call.
+         * @return true if a method matches.
+         */
+        private static boolean containsMethod(Map<String, Set<Integer>> methods,
+                DetailAST ident) {
+            boolean result = false;
+            final DetailAST elist = ident.getParent().findFirstToken(TokenTypes.ELIST);
+            if (elist != null) {
+                final Set<Integer> parameterCounts = methods.get(ident.getText());
+                result = parameterCounts != null
+                        && parameterCounts.contains(elist.getChildCount());
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks;
 
+import com.puppycrawl.tools.checkstyle.LocalCheck;
 import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -64,6 +65,7 @@ import com.puppycrawl.tools.checkstyle.api.TokenTypes;
  * @since 3.1
  */
 @StatelessCheck
+@LocalCheck
 public class ArrayTypeStyleCheck extends AbstractCheck {
 
     /**
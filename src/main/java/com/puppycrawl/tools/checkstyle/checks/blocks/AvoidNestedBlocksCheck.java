@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.blocks;
 
+import com.puppycrawl.tools.checkstyle.LocalCheck;
 import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -90,6 +91,7 @@ import com.puppycrawl.tools.checkstyle.api.TokenTypes;
  * @since 3.1
  */
 @StatelessCheck
+@LocalCheck
 public class AvoidNestedBlocksCheck extends AbstractCheck {
 
     /**
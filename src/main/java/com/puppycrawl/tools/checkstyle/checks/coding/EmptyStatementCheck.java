@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.coding;
 
+import com.puppycrawl.tools.checkstyle.LocalCheck;
 import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -46,6 +47,7 @@ import com.puppycrawl.tools.checkstyle.api.TokenTypes;
  * @since 3.1
  */
 @StatelessCheck
+@LocalCheck
 public class EmptyStatementCheck extends AbstractCheck {
 
     /**
@@ -19,16 +19,15 @@
 
 package com.puppycrawl.tools.checkstyle.checks.coding;
 
-import java.util.HashSet;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.puppycrawl.tools.checkstyle.FileStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.Scope;
+import com.puppycrawl.tools.checkstyle.api.SymbolTable;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.CheckUtil;
 import com.puppycrawl.tools.checkstyle.utils.ScopeUtil;
@@ -156,6 +155,9 @@ public class HiddenFieldCheck
      */
     private FieldFrame frame;
 
+    /** The declarations of the file, shared with other checks. */
+    private SymbolTable symbolTable;
+
     /** Define the RegExp for names of variables and parameters to ignore. */
     private Pattern ignoreFormat;
 
@@ -208,7 +210,8 @@ public class HiddenFieldCheck
 
     @Override
     public void beginTree(DetailAST rootAST) {
-        frame = new FieldFrame(null, true, null);
+        symbolTable = getSymbolTable(rootAST);
+        frame = new FieldFrame(null, true, null, null, null);
     }
 
     @Override
@@ -276,42 +279,16 @@ public class HiddenFieldCheck
         else {
             frameName = null;
         }
-        final FieldFrame newFrame = new FieldFrame(frame, isStaticInnerType, frameName);
-
-        // add fields to container
-        final DetailAST objBlock = ast.findFirstToken(TokenTypes.OBJBLOCK);
-        // enum constants may not have bodies
-        if (objBlock != null) {
-            DetailAST child = objBlock.getFirstChild();
-            while (child != null) {
-                if (child.getType() == TokenTypes.VARIABLE_DEF) {
-                    final String name =
-                        child.findFirstToken(TokenTypes.IDENT).getText();
-                    final DetailAST mods =
-                        child.findFirstToken(TokenTypes.MODIFIERS);
-                    if (mods.findFirstToken(TokenTypes.LITERAL_STATIC) == null) {
-                        newFrame.addInstanceField(name);
-                    }
-                    else {
-                        newFrame.addStaticField(name);
-                    }
-                }
-                child = child.getNextSibling();
-            }
+        // fields of enum constant bodies are recorded in the scope of the enum
+        final SymbolTable.Scope fieldScope;
+        if (type == TokenTypes.ENUM_CONSTANT_DEF) {
+            fieldScope = symbolTable.getScope(ast.getParent().getParent());
         }
-        if (ast.getType() == TokenTypes.RECORD_DEF) {
-            final DetailAST recordComponents =
-                ast.findFirstToken(TokenTypes.RECORD_COMPONENTS);
-
-            // For each record component definition, we will add it to this frame.
-            TokenUtil.forEachChild(recordComponents,
-                TokenTypes.RECORD_COMPONENT_DEF, node -> {
-                    final String name = node.findFirstToken(TokenTypes.IDENT).getText();
-                    newFrame.addInstanceField(name);
-                });
+        else {
+            fieldScope = symbolTable.getScope(ast);
         }
         // push container
-        frame = newFrame;
+        frame = new FieldFrame(frame, isStaticInnerType, frameName, ast, fieldScope);
     }
 
     @Override
@@ -601,7 +578,7 @@ public class HiddenFieldCheck
     }
 
     /**
-     * Holds the names of static and instance fields of a type.
+     * Looks up the static and instance fields of a type in the symbol table.
      */
     private static final class FieldFrame {
 
@@ -614,11 +591,11 @@ public class HiddenFieldCheck
         /** Parent frame. */
         private final FieldFrame parent;
 
-        /** Set of instance field names. */
-        private final Set<String> instanceFields = new HashSet<>();
+        /** The type or enum constant which declares the fields of the frame. */
+        private final DetailAST frameAst;
 
-        /** Set of static field names. */
-        private final Set<String> staticFields = new HashSet<>();
+        /** The scope which records the fields of the frame, {@code null} for the root. */
+        private final SymbolTable.Scope fieldScope;
 
         /**
          * Creates new frame.
@@ -626,29 +603,51 @@ public class HiddenFieldCheck
          * @param parent parent frame.
          * @param staticType is this a static inner type (class or enum).
          * @param frameName name associated with the frame, which can be a
+         * @param frameAst the type or enum constant which declares the fields.
+         * @param fieldScope the scope which records the fields.
          */
-        private FieldFrame(FieldFrame parent, boolean staticType, String frameName) {
+        private FieldFrame(FieldFrame parent, boolean staticType, String frameName,
+                DetailAST frameAst, SymbolTable.Scope fieldScope) {
             this.parent = parent;
             this.staticType = staticType;
             this.frameName = frameName;
+            this.frameAst = frameAst;
+            this.fieldScope = fieldScope;
         }
 
         /**
-         * Adds an instance field to this FieldFrame.
+         * Determines whether this FieldFrame itself declares a field. The scope
+         * may also record fields of other frames, like those of enum constant bodies
+         * in the scope of the enum, so the declaring node must be the frame node.
          *
-         * @param field  the name of the instance field.
+         * @param field the field to check
+         * @param staticField whether the field must be static
+         * @return true if this FieldFrame declares such a field
          */
-        public void addInstanceField(String field) {
-            instanceFields.add(field);
+        private boolean declaresField(String field, boolean staticField) {
+            boolean result = false;
+            if (fieldScope != null) {
+                for (DetailAST ident : fieldScope.getFieldIdents(field)) {
+                    final DetailAST declaration = ident.getParent();
+                    if (declaration.getParent().getParent() == frameAst
+                            && isStaticField(declaration) == staticField) {
+                        result = true;
+                        break;
+                    }
+                }
+            }
+            return result;
         }
 
         /**
-         * Adds a static field to this FieldFrame.
+         * Whether a field is declared static, record components are instance fields.
          *
-         * @param field  the name of the instance field.
+         * @param declaration the declaration of the field or record component.
+         * @return true if the field is static.
          */
-        public void addStaticField(String field) {
-            staticFields.add(field);
+        private static boolean isStaticField(DetailAST declaration) {
+            final DetailAST mods = declaration.findFirstToken(TokenTypes.MODIFIERS);
+            return mods != null && mods.findFirstToken(TokenTypes.LITERAL_STATIC) != null;
         }
 
         /**
@@ -659,10 +658,10 @@ public class HiddenFieldCheck
          */
         public boolean containsInstanceField(String field) {
             FieldFrame currentParent = parent;
-            boolean contains = instanceFields.contains(field);
+            boolean contains = declaresField(field, false);
             boolean isStaticType = staticType;
             while (!isStaticType && !contains) {
-                contains = currentParent.instanceFields.contains(field);
+                contains = currentParent.declaresField(field, false);
                 isStaticType = currentParent.staticType;
                 currentParent = currentParent.parent;
             }
@@ -677,9 +676,9 @@ public class HiddenFieldCheck
          */
         public boolean containsStaticField(String field) {
             FieldFrame currentParent = parent;
-            boolean contains = staticFields.contains(field);
+            boolean contains = declaresField(field, true);
             while (currentParent != null && !contains) {
-                contains = currentParent.staticFields.contains(field);
+                contains = currentParent.declaresField(field, true);
                 currentParent = currentParent.parent;
             }
             return contains;
@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle.checks.coding;
 import java.util.Arrays;
 import java.util.BitSet;
 
+import com.puppycrawl.tools.checkstyle.LocalCheck;
 import com.puppycrawl.tools.checkstyle.PropertyType;
 import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.XdocsPropertyType;
@@ -177,6 +178,7 @@ import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
  * @since 3.1
  */
 @StatelessCheck
+@LocalCheck
 public class MagicNumberCheck extends AbstractCheck {
 
     /**
@@ -26,12 +26,11 @@ import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
+import com.puppycrawl.tools.checkstyle.utils.XpathUtil;
 import com.puppycrawl.tools.checkstyle.xpath.AbstractNode;
 import com.puppycrawl.tools.checkstyle.xpath.RootNode;
-import net.sf.saxon.Configuration;
 import net.sf.saxon.om.Item;
 import net.sf.saxon.sxpath.XPathDynamicContext;
-import net.sf.saxon.sxpath.XPathEvaluator;
 import net.sf.saxon.sxpath.XPathExpression;
 import net.sf.saxon.trans.XPathException;
 
@@ -107,9 +106,7 @@ public class MatchXpathCheck extends AbstractCheck {
         this.query = query;
         if (!query.isEmpty()) {
             try {
-                final XPathEvaluator xpathEvaluator =
-                        new XPathEvaluator(Configuration.newConfiguration());
-                xpathExpression = xpathEvaluator.createExpression(query);
+                xpathExpression = XpathUtil.compileXpath(query);
             }
             catch (XPathException exc) {
                 throw new IllegalStateException("Creating Xpath expression failed: " + query, exc);
@@ -22,18 +22,14 @@ package com.puppycrawl.tools.checkstyle.checks.coding;
 import java.util.ArrayDeque;
 import java.util.BitSet;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
 import com.puppycrawl.tools.checkstyle.FileStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.SymbolTable;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
-import com.puppycrawl.tools.checkstyle.utils.CheckUtil;
 import com.puppycrawl.tools.checkstyle.utils.ScopeUtil;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
@@ -160,10 +156,10 @@ public class RequireThisCheck extends AbstractCheck {
     );
 
     /** Frame for the currently processed AST. */
-    private final Deque<AbstractFrame> current = new ArrayDeque<>();
+    private final Deque<SymbolTable.Scope> current = new ArrayDeque<>();
 
-    /** Tree of all the parsed frames. */
-    private Map<DetailAST, AbstractFrame> frames;
+    /** The declarations of the file, shared with other checks. */
+    private SymbolTable symbolTable;
 
     /** Control whether to check references to fields. */
     private boolean checkFields = true;
@@ -233,21 +229,8 @@ public class RequireThisCheck extends AbstractCheck {
 
     @Override
     public void beginTree(DetailAST rootAST) {
-        frames = new HashMap<>();
+        symbolTable = getSymbolTable(rootAST);
         current.clear();
-
-        final Deque<AbstractFrame> frameStack = new LinkedList<>();
-        DetailAST curNode = rootAST;
-        while (curNode != null) {
-            collectDeclarations(frameStack, curNode);
-            DetailAST toVisit = curNode.getFirstChild();
-            while (curNode != null && toVisit == null) {
-                endCollectingDeclarations(frameStack, curNode);
-                toVisit = curNode.getNextSibling();
-                curNode = curNode.getParent();
-            }
-            curNode = toVisit;
-        }
     }
 
     @Override
@@ -265,11 +248,11 @@ public class RequireThisCheck extends AbstractCheck {
             case TokenTypes.CTOR_DEF:
             case TokenTypes.LITERAL_FOR:
             case TokenTypes.RECORD_DEF:
-                current.push(frames.get(ast));
+                current.push(symbolTable.getScope(ast));
                 break;
             case TokenTypes.LITERAL_TRY:
                 if (ast.getFirstChild().getType() == TokenTypes.RESOURCE_SPECIFICATION) {
-                    current.push(frames.get(ast));
+                    current.push(symbolTable.getScope(ast));
                 }
                 break;
             default:
@@ -292,7 +275,7 @@ public class RequireThisCheck extends AbstractCheck {
                 current.pop();
                 break;
             case TokenTypes.LITERAL_TRY:
-                if (current.peek().getType() == FrameType.TRY_WITH_RESOURCES_FRAME) {
+                if (current.peek().getKind() == SymbolTable.ScopeKind.TRY_WITH_RESOURCES) {
                     current.pop();
                 }
                 break;
@@ -322,7 +305,7 @@ public class RequireThisCheck extends AbstractCheck {
                 break;
             case TokenTypes.METHOD_CALL:
                 if (checkMethods) {
-                    final AbstractFrame frame = getMethodWithoutThis(ast);
+                    final SymbolTable.Scope frame = getMethodWithoutThis(ast);
                     if (frame != null) {
                         logViolation(MSG_METHOD, ast, frame);
                     }
@@ -330,7 +313,7 @@ public class RequireThisCheck extends AbstractCheck {
                 break;
             default:
                 if (checkFields) {
-                    final AbstractFrame frame = getFieldWithoutThis(ast, parentType);
+                    final SymbolTable.Scope frame = getFieldWithoutThis(ast, parentType);
                     final boolean canUseThis = !isInCompactConstructor(ast);
                     if (frame != null && canUseThis) {
                         logViolation(MSG_VARIABLE, ast, frame);
@@ -347,12 +330,12 @@ public class RequireThisCheck extends AbstractCheck {
      * @param ast a node to get line id column numbers associated with the message.
      * @param frame the class frame where the violation is found.
      */
-    private void logViolation(String msgKey, DetailAST ast, AbstractFrame frame) {
-        if (frame.getFrameName().equals(getNearestClassFrameName())) {
+    private void logViolation(String msgKey, DetailAST ast, SymbolTable.Scope frame) {
+        if (frame.getName().equals(getNearestClassFrameName())) {
             log(ast, msgKey, ast.getText(), "");
         }
-        else if (!(frame instanceof AnonymousClassFrame)) {
-            log(ast, msgKey, ast.getText(), frame.getFrameName() + '.');
+        else if (frame.getKind() != SymbolTable.ScopeKind.ANONYMOUS_TYPE) {
+            log(ast, msgKey, ast.getText(), frame.getName() + '.');
         }
     }
 
@@ -365,19 +348,19 @@ public class RequireThisCheck extends AbstractCheck {
      * @return the frame where the field is declared, if the given field is used without
      *         'this' and null otherwise.
      */
-    private AbstractFrame getFieldWithoutThis(DetailAST ast, int parentType) {
+    private SymbolTable.Scope getFieldWithoutThis(DetailAST ast, int parentType) {
         final boolean importOrPackage = ScopeUtil.getSurroundingScope(ast) == null;
         final boolean typeName = parentType == TokenTypes.TYPE
                 || parentType == TokenTypes.LITERAL_NEW;
-        AbstractFrame frame = null;
+        SymbolTable.Scope frame = null;
 
         if (!importOrPackage
                 && !typeName
                 && !isDeclarationToken(parentType)
                 && !isLambdaParameter(ast)) {
-            final AbstractFrame fieldFrame = findClassFrame(ast, false);
+            final SymbolTable.Scope fieldFrame = findClassFrame(ast, false);
 
-            if (fieldFrame != null && ((ClassFrame) fieldFrame).hasInstanceMember(ast)) {
+            if (fieldFrame != null && fieldFrame.hasInstanceField(ast)) {
                 frame = getClassFrameWhereViolationIsFound(ast);
             }
         }
@@ -403,175 +386,6 @@ public class RequireThisCheck extends AbstractCheck {
         return isInCompactCtor;
     }
 
-    /**
-     * Parses the next AST for declarations.
-     *
-     * @param frameStack stack containing the FrameTree being built.
-     * @param ast AST to parse.
-     */
-    // -@cs[JavaNCSS] This method is a big switch and is too hard to remove.
-    private static void collectDeclarations(Deque<AbstractFrame> frameStack, DetailAST ast) {
-        final AbstractFrame frame = frameStack.peek();
-        switch (ast.getType()) {
-            case TokenTypes.VARIABLE_DEF:
-                collectVariableDeclarations(ast, frame);
-                break;
-            case TokenTypes.RECORD_COMPONENT_DEF:
-                final DetailAST componentIdent = ast.findFirstToken(TokenTypes.IDENT);
-                ((ClassFrame) frame).addInstanceMember(componentIdent);
-                break;
-            case TokenTypes.PARAMETER_DEF:
-                if (!CheckUtil.isReceiverParameter(ast)
-                        && !isLambdaParameter(ast)) {
-                    final DetailAST parameterIdent = ast.findFirstToken(TokenTypes.IDENT);
-                    frame.addIdent(parameterIdent);
-                }
-                break;
-            case TokenTypes.RESOURCE:
-                final DetailAST resourceIdent = ast.findFirstToken(TokenTypes.IDENT);
-                if (resourceIdent != null) {
-                    frame.addIdent(resourceIdent);
-                }
-                break;
-            case TokenTypes.CLASS_DEF:
-            case TokenTypes.INTERFACE_DEF:
-            case TokenTypes.ENUM_DEF:
-            case TokenTypes.ANNOTATION_DEF:
-            case TokenTypes.RECORD_DEF:
-                final DetailAST classFrameNameIdent = ast.findFirstToken(TokenTypes.IDENT);
-                frameStack.addFirst(new ClassFrame(frame, classFrameNameIdent));
-                break;
-            case TokenTypes.SLIST:
-                frameStack.addFirst(new BlockFrame(frame, ast));
-                break;
-            case TokenTypes.METHOD_DEF:
-                collectMethodDeclarations(frameStack, ast, frame);
-                break;
-            case TokenTypes.CTOR_DEF:
-            case TokenTypes.COMPACT_CTOR_DEF:
-                final DetailAST ctorFrameNameIdent = ast.findFirstToken(TokenTypes.IDENT);
-                frameStack.addFirst(new ConstructorFrame(frame, ctorFrameNameIdent));
-                break;
-            case TokenTypes.ENUM_CONSTANT_DEF:
-                final DetailAST ident = ast.findFirstToken(TokenTypes.IDENT);
-                ((ClassFrame) frame).addStaticMember(ident);
-                break;
-            case TokenTypes.LITERAL_CATCH:
-                final AbstractFrame catchFrame = new CatchFrame(frame, ast);
-                frameStack.addFirst(catchFrame);
-                break;
-            case TokenTypes.LITERAL_FOR:
-                final AbstractFrame forFrame = new ForFrame(frame, ast);
-                frameStack.addFirst(forFrame);
-                break;
-            case TokenTypes.LITERAL_NEW:
-                if (isAnonymousClassDef(ast)) {
-                    frameStack.addFirst(new AnonymousClassFrame(frame,
-                            ast.toString()));
-                }
-                break;
-            case TokenTypes.LITERAL_TRY:
-                if (ast.getFirstChild().getType() == TokenTypes.RESOURCE_SPECIFICATION) {
-                    frameStack.addFirst(new TryWithResourcesFrame(frame, ast));
-                }
-                break;
-            default:
-                // do nothing
-        }
-    }
-
-    /**
-     * Collects variable declarations.
-     *
-     * @param ast variable token.
-     * @param frame current frame.
-     */
-    private static void collectVariableDeclarations(DetailAST ast, AbstractFrame frame) {
-        final DetailAST ident = ast.findFirstToken(TokenTypes.IDENT);
-        if (frame.getType() == FrameType.CLASS_FRAME) {
-            final DetailAST mods =
-                    ast.findFirstToken(TokenTypes.MODIFIERS);
-            if (ScopeUtil.isInInterfaceBlock(ast)
-                    || mods.findFirstToken(TokenTypes.LITERAL_STATIC) != null) {
-                ((ClassFrame) frame).addStaticMember(ident);
-            }
-            else {
-                ((ClassFrame) frame).addInstanceMember(ident);
-            }
-        }
-        else {
-            frame.addIdent(ident);
-        }
-    }
-
-    /**
-     * Collects {@code METHOD_DEF} declarations.
-     *
-     * @param frameStack stack containing the FrameTree being built.
-     * @param ast AST to parse.
-     * @param frame current frame.
-     */
-    private static void collectMethodDeclarations(Deque<AbstractFrame> frameStack,
-                                                  DetailAST ast, AbstractFrame frame) {
-        final DetailAST methodFrameNameIdent = ast.findFirstToken(TokenTypes.IDENT);
-        final DetailAST mods = ast.findFirstToken(TokenTypes.MODIFIERS);
-        if (mods.findFirstToken(TokenTypes.LITERAL_STATIC) == null) {
-            ((ClassFrame) frame).addInstanceMethod(methodFrameNameIdent);
-        }
-        else {
-            ((ClassFrame) frame).addStaticMethod(methodFrameNameIdent);
-        }
-        frameStack.addFirst(new MethodFrame(frame, methodFrameNameIdent));
-    }
-
-    /**
-     * Ends parsing of the AST for declarations.
-     *
-     * @param frameStack Stack containing the FrameTree being built.
-     * @param ast AST that was parsed.
-     */
-    private void endCollectingDeclarations(Queue<AbstractFrame> frameStack, DetailAST ast) {
-        switch (ast.getType()) {
-            case TokenTypes.CLASS_DEF:
-            case TokenTypes.INTERFACE_DEF:
-            case TokenTypes.ENUM_DEF:
-            case TokenTypes.ANNOTATION_DEF:
-            case TokenTypes.SLIST:
-            case TokenTypes.METHOD_DEF:
-            case TokenTypes.CTOR_DEF:
-            case TokenTypes.LITERAL_CATCH:
-            case TokenTypes.LITERAL_FOR:
-            case TokenTypes.RECORD_DEF:
-            case TokenTypes.COMPACT_CTOR_DEF:
-                frames.put(ast, frameStack.poll());
-                break;
-            case TokenTypes.LITERAL_NEW:
-                if (isAnonymousClassDef(ast)) {
-                    frameStack.remove();
-                }
-                break;
-            case TokenTypes.LITERAL_TRY:
-                if (ast.getFirstChild().getType() == TokenTypes.RESOURCE_SPECIFICATION) {
-                    frames.put(ast, frameStack.poll());
-                }
-                break;
-            default:
-                // do nothing
-        }
-    }
-
-    /**
-     * Whether the AST is a definition of an anonymous class.
-     *
-     * @param ast the AST to process.
-     * @return true if the AST is a definition of an anonymous class.
-     */
-    private static boolean isAnonymousClassDef(DetailAST ast) {
-        final DetailAST lastChild = ast.getLastChild();
-        return lastChild != null
-            && lastChild.getType() == TokenTypes.OBJBLOCK;
-    }
-
     /**
      * Returns the class frame where violation is found (where the field is used without 'this')
      * or null otherwise.
@@ -581,18 +395,19 @@ public class RequireThisCheck extends AbstractCheck {
      */
     // -@cs[CyclomaticComplexity] Method already invokes too many methods that fully explain
     // a logic, additional abstraction will not make logic/algorithm more readable.
-    private AbstractFrame getClassFrameWhereViolationIsFound(DetailAST ast) {
-        AbstractFrame frameWhereViolationIsFound = null;
-        final AbstractFrame variableDeclarationFrame = findFrame(ast, false);
-        final FrameType variableDeclarationFrameType = variableDeclarationFrame.getType();
+    private SymbolTable.Scope getClassFrameWhereViolationIsFound(DetailAST ast) {
+        SymbolTable.Scope frameWhereViolationIsFound = null;
+        final SymbolTable.Scope variableDeclarationFrame = findFrame(ast, false);
+        final SymbolTable.ScopeKind variableDeclarationFrameType =
+                variableDeclarationFrame.getKind();
         final DetailAST prevSibling = ast.getPreviousSibling();
-        if (variableDeclarationFrameType == FrameType.CLASS_FRAME
+        if (variableDeclarationFrame.isType()
                 && !validateOnlyOverlapping
                 && (prevSibling == null || !isInExpression(ast))
                 && canBeReferencedFromStaticContext(ast)) {
             frameWhereViolationIsFound = variableDeclarationFrame;
         }
-        else if (variableDeclarationFrameType == FrameType.METHOD_FRAME) {
+        else if (variableDeclarationFrameType == SymbolTable.ScopeKind.METHOD) {
             if (isOverlappingByArgument(ast)) {
                 if (!isUserDefinedArrangementOfThis(variableDeclarationFrame, ast)
                         && !isReturnedVariable(variableDeclarationFrame, ast)
@@ -610,12 +425,12 @@ public class RequireThisCheck extends AbstractCheck {
                 frameWhereViolationIsFound = findFrame(ast, true);
             }
         }
-        else if (variableDeclarationFrameType == FrameType.CTOR_FRAME
+        else if (variableDeclarationFrameType == SymbolTable.ScopeKind.CONSTRUCTOR
                  && isOverlappingByArgument(ast)
                  && !isUserDefinedArrangementOfThis(variableDeclarationFrame, ast)) {
             frameWhereViolationIsFound = findFrame(ast, true);
         }
-        else if (variableDeclarationFrameType == FrameType.BLOCK_FRAME
+        else if (variableDeclarationFrameType == SymbolTable.ScopeKind.BLOCK
                     && isOverlappingByLocalVariable(ast)
                     && canAssignValueToClassField(ast)
                     && !isUserDefinedArrangementOfThis(variableDeclarationFrame, ast)
@@ -645,9 +460,9 @@ public class RequireThisCheck extends AbstractCheck {
      * @return true if user arranges 'this' for variable in method, constructor,
      *         or block on his own.
      */
-    private static boolean isUserDefinedArrangementOfThis(AbstractFrame currentFrame,
+    private static boolean isUserDefinedArrangementOfThis(SymbolTable.Scope currentFrame,
                                                           DetailAST ident) {
-        final DetailAST blockFrameNameIdent = currentFrame.getFrameNameIdent();
+        final DetailAST blockFrameNameIdent = currentFrame.getNameIdent();
         final DetailAST definitionToken = blockFrameNameIdent.getParent();
         final DetailAST blockStartToken = definitionToken.findFirstToken(TokenTypes.SLIST);
         final DetailAST blockEndToken = getBlockEndToken(blockFrameNameIdent, blockStartToken);
@@ -702,8 +517,8 @@ public class RequireThisCheck extends AbstractCheck {
      * @param ident variable ident token.
      * @return true if the current variable is returned from the method.
      */
-    private static boolean isReturnedVariable(AbstractFrame currentFrame, DetailAST ident) {
-        final DetailAST blockFrameNameIdent = currentFrame.getFrameNameIdent();
+    private static boolean isReturnedVariable(SymbolTable.Scope currentFrame, DetailAST ident) {
+        final DetailAST blockFrameNameIdent = currentFrame.getNameIdent();
         final DetailAST definitionToken = blockFrameNameIdent.getParent();
         final DetailAST blockStartToken = definitionToken.findFirstToken(TokenTypes.SLIST);
         final DetailAST blockEndToken = getBlockEndToken(blockFrameNameIdent, blockStartToken);
@@ -782,11 +597,11 @@ public class RequireThisCheck extends AbstractCheck {
      * @return true if a value can be assigned to a field.
      */
     private boolean canAssignValueToClassField(DetailAST ast) {
-        final AbstractFrame fieldUsageFrame = findFrame(ast, false);
+        final SymbolTable.Scope fieldUsageFrame = findFrame(ast, false);
         final boolean fieldUsageInConstructor = isInsideConstructorFrame(fieldUsageFrame);
 
-        final AbstractFrame declarationFrame = findFrame(ast, true);
-        final boolean finalField = ((ClassFrame) declarationFrame).hasFinalField(ast);
+        final SymbolTable.Scope declarationFrame = findFrame(ast, true);
+        final boolean finalField = declarationFrame.hasFinalField(ast);
 
         return fieldUsageInConstructor || !finalField;
     }
@@ -797,12 +612,12 @@ public class RequireThisCheck extends AbstractCheck {
      * @param frame frame, where field is used.
      * @return true if the field usage frame is inside constructor frame.
      */
-    private static boolean isInsideConstructorFrame(AbstractFrame frame) {
-        AbstractFrame fieldUsageFrame = frame;
-        while (fieldUsageFrame.getType() == FrameType.BLOCK_FRAME) {
+    private static boolean isInsideConstructorFrame(SymbolTable.Scope frame) {
+        SymbolTable.Scope fieldUsageFrame = frame;
+        while (fieldUsageFrame.getKind() == SymbolTable.ScopeKind.BLOCK) {
             fieldUsageFrame = fieldUsageFrame.getParent();
         }
-        return fieldUsageFrame.getType() == FrameType.CTOR_FRAME;
+        return fieldUsageFrame.getKind() == SymbolTable.ScopeKind.CONSTRUCTOR;
     }
 
     /**
@@ -820,9 +635,7 @@ public class RequireThisCheck extends AbstractCheck {
                 overlapping = true;
             }
             else {
-                final ClassFrame classFrame = (ClassFrame) findFrame(ast, true);
-                final Set<DetailAST> exprIdents = getAllTokensOfType(sibling, TokenTypes.IDENT);
-                overlapping = classFrame.containsFieldOrVariableDef(exprIdents, ast);
+                overlapping = containsIdentWithSameText(sibling, ast);
             }
         }
         return overlapping;
@@ -838,10 +651,7 @@ public class RequireThisCheck extends AbstractCheck {
         boolean overlapping = false;
         final DetailAST parent = ast.getParent();
         if (isAssignToken(parent.getType())) {
-            final ClassFrame classFrame = (ClassFrame) findFrame(ast, true);
-            final Set<DetailAST> exprIdents =
-                getAllTokensOfType(ast.getNextSibling(), TokenTypes.IDENT);
-            overlapping = classFrame.containsFieldOrVariableDef(exprIdents, ast);
+            overlapping = containsIdentWithSameText(ast.getNextSibling(), ast);
         }
         return overlapping;
     }
@@ -907,6 +717,33 @@ public class RequireThisCheck extends AbstractCheck {
         return result;
     }
 
+    /**
+     * Checks whether an IDENT with the text of the token is found starting with the current
+     * ast node, in the same nodes as {@link #getAllTokensOfType(DetailAST, int)}.
+     *
+     * @param ast ast node.
+     * @param token IDENT token.
+     * @return true if an IDENT with the same text is found.
+     */
+    private static boolean containsIdentWithSameText(DetailAST ast, DetailAST token) {
+        DetailAST vertex = ast;
+        boolean result = false;
+        final Deque<DetailAST> stack = new ArrayDeque<>();
+        while (!result && (vertex != null || !stack.isEmpty())) {
+            if (!stack.isEmpty()) {
+                vertex = stack.pop();
+            }
+            while (vertex != null && !result) {
+                result = isAstSimilar(token, vertex);
+                if (vertex.getNextSibling() != null) {
+                    stack.push(vertex.getNextSibling());
+                }
+                vertex = vertex.getFirstChild();
+            }
+        }
+        return result;
+    }
+
     /**
      * Collects all tokens which are equal to current token starting with the current ast node and
      * which line number is lower or equal to the end line number.
@@ -948,13 +785,13 @@ public class RequireThisCheck extends AbstractCheck {
      * @return the frame where the method is declared, if the given method is used without
      *         'this' and null otherwise.
      */
-    private AbstractFrame getMethodWithoutThis(DetailAST ast) {
-        AbstractFrame result = null;
+    private SymbolTable.Scope getMethodWithoutThis(DetailAST ast) {
+        SymbolTable.Scope result = null;
         if (!validateOnlyOverlapping) {
-            final AbstractFrame frame = findFrame(ast, true);
+            final SymbolTable.Scope frame = findFrame(ast, true);
             if (frame != null
-                    && ((ClassFrame) frame).hasInstanceMethod(ast)
-                    && !((ClassFrame) frame).hasStaticMethod(ast)) {
+                    && frame.hasInstanceMethod(ast)
+                    && !frame.hasStaticMethod(ast)) {
                 result = frame;
             }
         }
@@ -966,15 +803,15 @@ public class RequireThisCheck extends AbstractCheck {
      *
      * @param name IDENT ast of the declaration to find.
      * @param lookForMethod whether we are looking for a method name.
-     * @return AbstractFrame containing declaration or null.
+     * @return SymbolTable.Scope containing declaration or null.
      */
-    private AbstractFrame findClassFrame(DetailAST name, boolean lookForMethod) {
-        AbstractFrame frame = current.peek();
+    private SymbolTable.Scope findClassFrame(DetailAST name, boolean lookForMethod) {
+        SymbolTable.Scope frame = current.peek();
 
         while (true) {
             frame = findFrame(frame, name, lookForMethod);
 
-            if (frame == null || frame instanceof ClassFrame) {
+            if (frame == null || frame.isType()) {
                 break;
             }
 
@@ -989,9 +826,9 @@ public class RequireThisCheck extends AbstractCheck {
      *
      * @param name IDENT ast of the declaration to find.
      * @param lookForMethod whether we are looking for a method name.
-     * @return AbstractFrame containing declaration or null.
+     * @return SymbolTable.Scope containing declaration or null.
      */
-    private AbstractFrame findFrame(DetailAST name, boolean lookForMethod) {
+    private SymbolTable.Scope findFrame(DetailAST name, boolean lookForMethod) {
         return findFrame(current.peek(), name, lookForMethod);
     }
 
@@ -1001,11 +838,11 @@ public class RequireThisCheck extends AbstractCheck {
      * @param frame The parent frame to searching in.
      * @param name IDENT ast of the declaration to find.
      * @param lookForMethod whether we are looking for a method name.
-     * @return AbstractFrame containing declaration or null.
+     * @return SymbolTable.Scope containing declaration or null.
      */
-    private static AbstractFrame findFrame(AbstractFrame frame, DetailAST name,
+    private static SymbolTable.Scope findFrame(SymbolTable.Scope frame, DetailAST name,
             boolean lookForMethod) {
-        return frame.getIfContains(name, lookForMethod);
+        return frame.findDeclaringScope(name, lookForMethod);
     }
 
     /**
@@ -1044,11 +881,11 @@ public class RequireThisCheck extends AbstractCheck {
      * @return the name of the nearest parent ClassFrame.
      */
     private String getNearestClassFrameName() {
-        AbstractFrame frame = current.peek();
-        while (frame.getType() != FrameType.CLASS_FRAME) {
+        SymbolTable.Scope frame = current.peek();
+        while (!frame.isType()) {
             frame = frame.getParent();
         }
-        return frame.getFrameName();
+        return frame.getName();
     }
 
     /**
@@ -1098,539 +935,4 @@ public class RequireThisCheck extends AbstractCheck {
         return left.getType() == right.getType() && left.getText().equals(right.getText());
     }
 
-    /** An AbstractFrame type. */
-    private enum FrameType {
-
-        /** Class frame type. */
-        CLASS_FRAME,
-        /** Constructor frame type. */
-        CTOR_FRAME,
-        /** Method frame type. */
-        METHOD_FRAME,
-        /** Block frame type. */
-        BLOCK_FRAME,
-        /** Catch frame type. */
-        CATCH_FRAME,
-        /** For frame type. */
-        FOR_FRAME,
-        /** Try with resources frame type. */
-        TRY_WITH_RESOURCES_FRAME
-
-    }
-
-    /**
-     * A declaration frame.
-     */
-    private abstract static class AbstractFrame {
-
-        /** Set of name of variables declared in this frame. */
-        private final Set<DetailAST> varIdents;
-
-        /** Parent frame. */
-        private final AbstractFrame parent;
-
-        /** Name identifier token. */
-        private final DetailAST frameNameIdent;
-
-        /**
-         * Constructor -- invocable only via super() from subclasses.
-         *
-         * @param parent parent frame.
-         * @param ident frame name ident.
-         */
-        protected AbstractFrame(AbstractFrame parent, DetailAST ident) {
-            this.parent = parent;
-            frameNameIdent = ident;
-            varIdents = new HashSet<>();
-        }
-
-        /**
-         * Get the type of the frame.
-         *
-         * @return a FrameType.
-         */
-        protected abstract FrameType getType();
-
-        /**
-         * Add a name to the frame.
-         *
-         * @param identToAdd the name we're adding.
-         */
-        private void addIdent(DetailAST identToAdd) {
-            varIdents.add(identToAdd);
-        }
-
-        /**
-         * Returns the parent frame.
-         *
-         * @return the parent frame
-         */
-        protected AbstractFrame getParent() {
-            return parent;
-        }
-
-        /**
-         * Returns the name identifier text.
-         *
-         * @return the name identifier text
-         */
-        protected String getFrameName() {
-            return frameNameIdent.getText();
-        }
-
-        /**
-         * Returns the name identifier token.
-         *
-         * @return the name identifier token
-         */
-        public DetailAST getFrameNameIdent() {
-            return frameNameIdent;
-        }
-
-        /**
-         * Check whether the frame contains a field or a variable with the given name.
-         *
-         * @param identToFind the IDENT ast of the name we're looking for.
-         * @return whether it was found.
-         */
-        protected boolean containsFieldOrVariable(DetailAST identToFind) {
-            return containsFieldOrVariableDef(varIdents, identToFind);
-        }
-
-        /**
-         * Check whether the frame contains a given name.
-         *
-         * @param identToFind IDENT ast of the name we're looking for.
-         * @param lookForMethod whether we are looking for a method name.
-         * @return whether it was found.
-         */
-        protected AbstractFrame getIfContains(DetailAST identToFind, boolean lookForMethod) {
-            final AbstractFrame frame;
-
-            if (!lookForMethod
-                && containsFieldOrVariable(identToFind)) {
-                frame = this;
-            }
-            else {
-                frame = parent.getIfContains(identToFind, lookForMethod);
-            }
-            return frame;
-        }
-
-        /**
-         * Whether the set contains a declaration with the text of the specified
-         * IDENT ast and it is declared in a proper position.
-         *
-         * @param set the set of declarations.
-         * @param ident the specified IDENT ast.
-         * @return true if the set contains a declaration with the text of the specified
-         *         IDENT ast and it is declared in a proper position.
-         */
-        protected boolean containsFieldOrVariableDef(Set<DetailAST> set, DetailAST ident) {
-            boolean result = false;
-            for (DetailAST ast: set) {
-                if (isProperDefinition(ident, ast)) {
-                    result = true;
-                    break;
-                }
-            }
-            return result;
-        }
-
-        /**
-         * Whether the definition is correspondent to the IDENT.
-         *
-         * @param ident the IDENT ast to check.
-         * @param ast the IDENT ast of the definition to check.
-         * @return true if ast is correspondent to ident.
-         */
-        protected boolean isProperDefinition(DetailAST ident, DetailAST ast) {
-            final String identToFind = ident.getText();
-            return identToFind.equals(ast.getText())
-                && CheckUtil.isBeforeInSource(ast, ident);
-        }
-    }
-
-    /**
-     * A frame initiated at method definition; holds a method definition token.
-     */
-    private static class MethodFrame extends AbstractFrame {
-
-        /**
-         * Creates method frame.
-         *
-         * @param parent parent frame.
-         * @param ident method name identifier token.
-         */
-        protected MethodFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-        }
-
-        @Override
-        protected FrameType getType() {
-            return FrameType.METHOD_FRAME;
-        }
-
-    }
-
-    /**
-     * A frame initiated at constructor definition.
-     */
-    private static class ConstructorFrame extends AbstractFrame {
-
-        /**
-         * Creates a constructor frame.
-         *
-         * @param parent parent frame.
-         * @param ident frame name ident.
-         */
-        protected ConstructorFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-        }
-
-        @Override
-        protected FrameType getType() {
-            return FrameType.CTOR_FRAME;
-        }
-
-    }
-
-    /**
-     * A frame initiated at class, enum or interface definition; holds instance variable names.
-     */
-    private static class ClassFrame extends AbstractFrame {
-
-        /** Set of idents of instance members declared in this frame. */
-        private final Set<DetailAST> instanceMembers;
-        /** Set of idents of instance methods declared in this frame. */
-        private final Set<DetailAST> instanceMethods;
-        /** Set of idents of variables declared in this frame. */
-        private final Set<DetailAST> staticMembers;
-        /** Set of idents of static methods declared in this frame. */
-        private final Set<DetailAST> staticMethods;
-
-        /**
-         * Creates new instance of ClassFrame.
-         *
-         * @param parent parent frame.
-         * @param ident frame name ident.
-         */
-        private ClassFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-            instanceMembers = new HashSet<>();
-            instanceMethods = new HashSet<>();
-            staticMembers = new HashSet<>();
-            staticMethods = new HashSet<>();
-        }
-
-        @Override
-        protected FrameType getType() {
-            return FrameType.CLASS_FRAME;
-        }
-
-        /**
-         * Adds static member's ident.
-         *
-         * @param ident an ident of static member of the class.
-         */
-        public void addStaticMember(final DetailAST ident) {
-            staticMembers.add(ident);
-        }
-
-        /**
-         * Adds static method's name.
-         *
-         * @param ident an ident of static method of the class.
-         */
-        public void addStaticMethod(final DetailAST ident) {
-            staticMethods.add(ident);
-        }
-
-        /**
-         * Adds instance member's ident.
-         *
-         * @param ident an ident of instance member of the class.
-         */
-        public void addInstanceMember(final DetailAST ident) {
-            instanceMembers.add(ident);
-        }
-
-        /**
-         * Adds instance method's name.
-         *
-         * @param ident an ident of instance method of the class.
-         */
-        public void addInstanceMethod(final DetailAST ident) {
-            instanceMethods.add(ident);
-        }
-
-        /**
-         * Checks if a given name is a known instance member of the class.
-         *
-         * @param ident the IDENT ast of the name to check.
-         * @return true is the given name is a name of a known
-         *         instance member of the class.
-         */
-        public boolean hasInstanceMember(final DetailAST ident) {
-            return containsFieldOrVariableDef(instanceMembers, ident);
-        }
-
-        /**
-         * Checks if a given name is a known instance method of the class.
-         *
-         * @param ident the IDENT ast of the method call to check.
-         * @return true if the given ast is correspondent to a known
-         *         instance method of the class.
-         */
-        public boolean hasInstanceMethod(final DetailAST ident) {
-            return containsMethodDef(instanceMethods, ident);
-        }
-
-        /**
-         * Checks if a given name is a known static method of the class.
-         *
-         * @param ident the IDENT ast of the method call to check.
-         * @return true is the given ast is correspondent to a known
-         *         instance method of the class.
-         */
-        public boolean hasStaticMethod(final DetailAST ident) {
-            return containsMethodDef(staticMethods, ident);
-        }
-
-        /**
-         * Checks whether given instance member has final modifier.
-         *
-         * @param instanceMember an instance member of a class.
-         * @return true if given instance member has final modifier.
-         */
-        public boolean hasFinalField(final DetailAST instanceMember) {
-            boolean result = false;
-            for (DetailAST member : instanceMembers) {
-                final DetailAST parent = member.getParent();
-                if (parent.getType() == TokenTypes.RECORD_COMPONENT_DEF) {
-                    result = true;
-                }
-                else {
-                    final DetailAST mods = parent.findFirstToken(TokenTypes.MODIFIERS);
-                    final boolean finalMod = mods.findFirstToken(TokenTypes.FINAL) != null;
-                    if (finalMod && isAstSimilar(member, instanceMember)) {
-                        result = true;
-                    }
-                }
-            }
-            return result;
-        }
-
-        @Override
-        protected boolean containsFieldOrVariable(DetailAST identToFind) {
-            return containsFieldOrVariableDef(instanceMembers, identToFind)
-                    || containsFieldOrVariableDef(staticMembers, identToFind);
-        }
-
-        @Override
-        protected boolean isProperDefinition(DetailAST ident, DetailAST ast) {
-            final String identToFind = ident.getText();
-            return identToFind.equals(ast.getText());
-        }
-
-        @Override
-        protected AbstractFrame getIfContains(DetailAST identToFind, boolean lookForMethod) {
-            AbstractFrame frame = null;
-
-            if (containsMethod(identToFind)
-                || containsFieldOrVariable(identToFind)) {
-                frame = this;
-            }
-            else if (getParent() != null) {
-                frame = getParent().getIfContains(identToFind, lookForMethod);
-            }
-            return frame;
-        }
-
-        /**
-         * Check whether the frame contains a given method.
-         *
-         * @param methodToFind the AST of the method to find.
-         * @return true, if a method with the same name and number of parameters is found.
-         */
-        private boolean containsMethod(DetailAST methodToFind) {
-            return containsMethodDef(instanceMethods, methodToFind)
-                || containsMethodDef(staticMethods, methodToFind);
-        }
-
-        /**
-         * Whether the set contains a method definition with the
-         *     same name and number of parameters.
-         *
-         * @param set the set of definitions.
-         * @param ident the specified method call IDENT ast.
-         * @return true if the set contains a definition with the
-         *     same name and number of parameters.
-         */
-        private static boolean containsMethodDef(Set<DetailAST> set, DetailAST ident) {
-            boolean result = false;
-            for (DetailAST ast: set) {
-                if (isSimilarSignature(ident, ast)) {
-                    result = true;
-                    break;
-                }
-            }
-            return result;
-        }
-
-        /**
-         * Whether the method definition has the same name and number of parameters.
-         *
-         * @param ident the specified method call IDENT ast.
-         * @param ast the ast of a method definition to compare with.
-         * @return true if a method definition has the same name and number of parameters
-         *     as the method call.
-         */
-        private static boolean isSimilarSignature(DetailAST ident, DetailAST ast) {
-            boolean result = false;
-            final DetailAST elistToken = ident.getParent().findFirstToken(TokenTypes.ELIST);
-            if (elistToken != null && ident.getText().equals(ast.getText())) {
-                final int paramsNumber =
-                    ast.getParent().findFirstToken(TokenTypes.PARAMETERS).getChildCount();
-                final int argsNumber = elistToken.getChildCount();
-                result = paramsNumber == argsNumber;
-            }
-            return result;
-        }
-
-    }
-
-    /**
-     * An anonymous class frame; holds instance variable names.
-     */
-    private static class AnonymousClassFrame extends ClassFrame {
-
-        /** The name of the frame. */
-        private final String frameName;
-
-        /**
-         * Creates anonymous class frame.
-         *
-         * @param parent parent frame.
-         * @param frameName name of the frame.
-         */
-        protected AnonymousClassFrame(AbstractFrame parent, String frameName) {
-            super(parent, null);
-            this.frameName = frameName;
-        }
-
-        @Override
-        protected String getFrameName() {
-            return frameName;
-        }
-
-    }
-
-    /**
-     * A frame initiated on entering a statement list; holds local variable names.
-     */
-    private static class BlockFrame extends AbstractFrame {
-
-        /**
-         * Creates block frame.
-         *
-         * @param parent parent frame.
-         * @param ident ident frame name ident.
-         */
-        protected BlockFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-        }
-
-        @Override
-        protected FrameType getType() {
-            return FrameType.BLOCK_FRAME;
-        }
-
-    }
-
-    /**
-     * A frame initiated on entering a catch block; holds local catch variable names.
-     */
-    private static class CatchFrame extends AbstractFrame {
-
-        /**
-         * Creates catch frame.
-         *
-         * @param parent parent frame.
-         * @param ident ident frame name ident.
-         */
-        protected CatchFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-        }
-
-        @Override
-        public FrameType getType() {
-            return FrameType.CATCH_FRAME;
-        }
-
-        @Override
-        protected AbstractFrame getIfContains(DetailAST identToFind, boolean lookForMethod) {
-            final AbstractFrame frame;
-
-            if (!lookForMethod
-                    && containsFieldOrVariable(identToFind)) {
-                frame = this;
-            }
-            else if (getParent().getType() == FrameType.TRY_WITH_RESOURCES_FRAME) {
-                // Skip try-with-resources frame because resources cannot be accessed from catch
-                frame = getParent().getParent().getIfContains(identToFind, lookForMethod);
-            }
-            else {
-                frame = getParent().getIfContains(identToFind, lookForMethod);
-            }
-            return frame;
-        }
-
-    }
-
-    /**
-     * A frame initiated on entering a for block; holds local for variable names.
-     */
-    private static class ForFrame extends AbstractFrame {
-
-        /**
-         * Creates for frame.
-         *
-         * @param parent parent frame.
-         * @param ident ident frame name ident.
-         */
-        protected ForFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-        }
-
-        @Override
-        public FrameType getType() {
-            return FrameType.FOR_FRAME;
-        }
-
-    }
-
-    /**
-     * A frame initiated on entering a try-with-resources construct;
-     * holds local resources for the try block.
-     */
-    private static class TryWithResourcesFrame extends AbstractFrame {
-
-        /**
-         * Creates try-with-resources frame.
-         *
-         * @param parent parent frame.
-         * @param ident ident frame name ident.
-         */
-        protected TryWithResourcesFrame(AbstractFrame parent, DetailAST ident) {
-            super(parent, ident);
-        }
-
-        @Override
-        public FrameType getType() {
-            return FrameType.TRY_WITH_RESOURCES_FRAME;
-        }
-
-    }
-
 }
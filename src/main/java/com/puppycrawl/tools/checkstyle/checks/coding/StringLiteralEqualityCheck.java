@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.coding;
 
+import com.puppycrawl.tools.checkstyle.LocalCheck;
 import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -67,6 +68,7 @@ import com.puppycrawl.tools.checkstyle.api.TokenTypes;
  *      when replaced with Javadoc tag
  */
 @StatelessCheck
+@LocalCheck
 public class StringLiteralEqualityCheck extends AbstractCheck {
 
     /**
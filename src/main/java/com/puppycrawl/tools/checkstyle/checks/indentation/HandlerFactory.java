@@ -19,17 +19,16 @@
 
 package com.puppycrawl.tools.checkstyle.checks.indentation;
 
-import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
-import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 
 /**
- * Factory for handlers. Looks up constructor via reflection.
+ * Factory for handlers. Creates handlers through the constructors registered
+ * for token types.
  *
  */
 public class HandlerFactory {
@@ -37,9 +36,12 @@ public class HandlerFactory {
     /**
      * Registered handlers.
      */
-    private final Map<Integer, Constructor<?>> typeHandlers = new HashMap<>();
+    private final Map<Integer, HandlerConstructor> typeHandlers = new HashMap<>();
 
-    /** Cache for created method call handlers. */
+    /**
+     * Handlers created ahead of the visit of their AST, which are handed out
+     * once when the AST is visited.
+     */
     private final Map<DetailAST, AbstractExpressionHandler> createdHandlers = new HashMap<>();
 
     /**
@@ -50,64 +52,56 @@ public class HandlerFactory {
      *      requires this coupling
      */
     public HandlerFactory() {
-        register(TokenTypes.CASE_GROUP, CaseHandler.class);
-        register(TokenTypes.LITERAL_SWITCH, SwitchHandler.class);
-        register(TokenTypes.SLIST, SlistHandler.class);
-        register(TokenTypes.PACKAGE_DEF, PackageDefHandler.class);
-        register(TokenTypes.LITERAL_ELSE, ElseHandler.class);
-        register(TokenTypes.LITERAL_IF, IfHandler.class);
-        register(TokenTypes.LITERAL_TRY, TryHandler.class);
-        register(TokenTypes.LITERAL_CATCH, CatchHandler.class);
-        register(TokenTypes.LITERAL_FINALLY, FinallyHandler.class);
-        register(TokenTypes.LITERAL_DO, DoWhileHandler.class);
-        register(TokenTypes.LITERAL_WHILE, WhileHandler.class);
-        register(TokenTypes.LITERAL_FOR, ForHandler.class);
-        register(TokenTypes.METHOD_DEF, MethodDefHandler.class);
-        register(TokenTypes.CTOR_DEF, MethodDefHandler.class);
-        register(TokenTypes.CLASS_DEF, ClassDefHandler.class);
-        register(TokenTypes.ENUM_DEF, ClassDefHandler.class);
-        register(TokenTypes.OBJBLOCK, ObjectBlockHandler.class);
-        register(TokenTypes.INTERFACE_DEF, ClassDefHandler.class);
-        register(TokenTypes.IMPORT, ImportHandler.class);
-        register(TokenTypes.ARRAY_INIT, ArrayInitHandler.class);
-        register(TokenTypes.ANNOTATION_ARRAY_INIT, AnnotationArrayInitHandler.class);
-        register(TokenTypes.METHOD_CALL, MethodCallHandler.class);
-        register(TokenTypes.CTOR_CALL, MethodCallHandler.class);
-        register(TokenTypes.SUPER_CTOR_CALL, MethodCallHandler.class);
-        register(TokenTypes.LABELED_STAT, LabelHandler.class);
-        register(TokenTypes.STATIC_INIT, StaticInitHandler.class);
-        register(TokenTypes.INSTANCE_INIT, SlistHandler.class);
-        register(TokenTypes.VARIABLE_DEF, MemberDefHandler.class);
-        register(TokenTypes.LITERAL_NEW, NewHandler.class);
-        register(TokenTypes.INDEX_OP, IndexHandler.class);
-        register(TokenTypes.LITERAL_SYNCHRONIZED, SynchronizedHandler.class);
-        register(TokenTypes.LAMBDA, LambdaHandler.class);
-        register(TokenTypes.ANNOTATION_DEF, ClassDefHandler.class);
-        register(TokenTypes.ANNOTATION_FIELD_DEF, MethodDefHandler.class);
-        register(TokenTypes.SWITCH_RULE, SwitchRuleHandler.class);
-        register(TokenTypes.LITERAL_YIELD, YieldHandler.class);
-        register(TokenTypes.RECORD_DEF, ClassDefHandler.class);
-        register(TokenTypes.COMPACT_CTOR_DEF, MethodDefHandler.class);
+        register(TokenTypes.CASE_GROUP, CaseHandler::new);
+        register(TokenTypes.LITERAL_SWITCH, SwitchHandler::new);
+        register(TokenTypes.SLIST, SlistHandler::new);
+        register(TokenTypes.PACKAGE_DEF, PackageDefHandler::new);
+        register(TokenTypes.LITERAL_ELSE, ElseHandler::new);
+        register(TokenTypes.LITERAL_IF, IfHandler::new);
+        register(TokenTypes.LITERAL_TRY, TryHandler::new);
+        register(TokenTypes.LITERAL_CATCH, CatchHandler::new);
+        register(TokenTypes.LITERAL_FINALLY, FinallyHandler::new);
+        register(TokenTypes.LITERAL_DO, DoWhileHandler::new);
+        register(TokenTypes.LITERAL_WHILE, WhileHandler::new);
+        register(TokenTypes.LITERAL_FOR, ForHandler::new);
+        register(TokenTypes.METHOD_DEF, MethodDefHandler::new);
+        register(TokenTypes.CTOR_DEF, MethodDefHandler::new);
+        register(TokenTypes.CLASS_DEF, ClassDefHandler::new);
+        register(TokenTypes.ENUM_DEF, ClassDefHandler::new);
+        register(TokenTypes.OBJBLOCK, ObjectBlockHandler::new);
+        register(TokenTypes.INTERFACE_DEF, ClassDefHandler::new);
+        register(TokenTypes.IMPORT, ImportHandler::new);
+        register(TokenTypes.ARRAY_INIT, ArrayInitHandler::new);
+        register(TokenTypes.ANNOTATION_ARRAY_INIT, AnnotationArrayInitHandler::new);
+        register(TokenTypes.METHOD_CALL, MethodCallHandler::new);
+        register(TokenTypes.CTOR_CALL, MethodCallHandler::new);
+        register(TokenTypes.SUPER_CTOR_CALL, MethodCallHandler::new);
+        register(TokenTypes.LABELED_STAT, LabelHandler::new);
+        register(TokenTypes.STATIC_INIT, StaticInitHandler::new);
+        register(TokenTypes.INSTANCE_INIT, SlistHandler::new);
+        register(TokenTypes.VARIABLE_DEF, MemberDefHandler::new);
+        register(TokenTypes.LITERAL_NEW, NewHandler::new);
+        register(TokenTypes.INDEX_OP, IndexHandler::new);
+        register(TokenTypes.LITERAL_SYNCHRONIZED, SynchronizedHandler::new);
+        register(TokenTypes.LAMBDA, LambdaHandler::new);
+        register(TokenTypes.ANNOTATION_DEF, ClassDefHandler::new);
+        register(TokenTypes.ANNOTATION_FIELD_DEF, MethodDefHandler::new);
+        register(TokenTypes.SWITCH_RULE, SwitchRuleHandler::new);
+        register(TokenTypes.LITERAL_YIELD, YieldHandler::new);
+        register(TokenTypes.RECORD_DEF, ClassDefHandler::new);
+        register(TokenTypes.COMPACT_CTOR_DEF, MethodDefHandler::new);
     }
 
     /**
      * Registers a handler.
      *
-     * @param <T> type of the handler class object.
      * @param type
      *                type from TokenTypes
-     * @param handlerClass
-     *                the handler to register
+     * @param handlerConstructor
+     *                the constructor of the handler to register
      */
-    private <T> void register(int type, Class<T> handlerClass) {
-        final Constructor<T> ctor = CommonUtil.getConstructor(handlerClass,
-                IndentationCheck.class,
-                // current AST
-                DetailAST.class,
-                // parent
-                AbstractExpressionHandler.class
-        );
-        typeHandlers.put(type, ctor);
+    private void register(int type, HandlerConstructor handlerConstructor) {
+        typeHandlers.put(type, handlerConstructor);
     }
 
     /**
@@ -151,7 +145,7 @@ public class HandlerFactory {
         DetailAST ast, AbstractExpressionHandler parent) {
         final AbstractExpressionHandler resultHandler;
         final AbstractExpressionHandler handler =
-            createdHandlers.get(ast);
+            createdHandlers.remove(ast);
         if (handler != null) {
             resultHandler = handler;
         }
@@ -159,9 +153,7 @@ public class HandlerFactory {
             resultHandler = createMethodCallHandler(indentCheck, ast, parent);
         }
         else {
-            final Constructor<?> handlerCtor = typeHandlers.get(ast.getType());
-            resultHandler = (AbstractExpressionHandler) CommonUtil.invokeConstructor(
-                handlerCtor, indentCheck, ast, parent);
+            resultHandler = typeHandlers.get(ast.getType()).create(indentCheck, ast, parent);
         }
         return resultHandler;
     }
@@ -194,4 +186,23 @@ public class HandlerFactory {
         createdHandlers.clear();
     }
 
+    /**
+     * Constructor of a handler for an AST.
+     */
+    @FunctionalInterface
+    private interface HandlerConstructor {
+
+        /**
+         * Creates a handler.
+         *
+         * @param indentCheck the indentation check
+         * @param ast the ast to handle
+         * @param parent the handler parent of this AST
+         * @return new handler
+         */
+        AbstractExpressionHandler create(IndentationCheck indentCheck, DetailAST ast,
+            AbstractExpressionHandler parent);
+
+    }
+
 }
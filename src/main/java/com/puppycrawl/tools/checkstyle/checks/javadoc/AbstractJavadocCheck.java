@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.javadoc;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,6 +29,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.puppycrawl.tools.checkstyle.AuditProfiler;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
@@ -85,6 +87,14 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
     private static final ThreadLocal<Map<Integer, ParseStatus>> TREE_CACHE =
             ThreadLocal.withInitial(HashMap::new);
 
+    /**
+     * The checks waiting to walk the tree of the current Javadoc comment.
+     * All checks which visited the comment walk its tree together, once.
+     * Stored in {@link ThreadLocal} for the same reason as {@link #TREE_CACHE}.
+     */
+    private static final ThreadLocal<SharedWalk> SHARED_WALK =
+            ThreadLocal.withInitial(SharedWalk::new);
+
     /**
      * The file context.
      *
@@ -109,6 +119,9 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
      */
     private boolean violateExecutionOnNonTightHtml;
 
+    /** The profiler to record time spent in walks of Javadoc trees, {@code null} if disabled. */
+    private AuditProfiler profiler;
+
     /**
      * Returns the default javadoc token types a check is interested in.
      *
@@ -179,6 +192,16 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
         violateExecutionOnNonTightHtml = shouldReportViolation;
     }
 
+    /**
+     * Sets the profiler to record time spent by the check in walks of Javadoc
+     * trees. {@code TreeWalker} passes it to its checks when profiling.
+     *
+     * @param profiler the profiler.
+     */
+    public final void setProfiler(AuditProfiler profiler) {
+        this.profiler = profiler;
+    }
+
     /**
      * Adds a set of tokens the check is interested in.
      *
@@ -307,16 +330,22 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
     @Override
     public final void beginTree(DetailAST rootAST) {
         TREE_CACHE.get().clear();
+        SHARED_WALK.get().clear();
     }
 
     @Override
     public final void finishTree(DetailAST rootAST) {
-        // No code, prevent override in subclasses
+        final SharedWalk sharedWalk = SHARED_WALK.get();
+        // walk the last tree if the comment was not left
+        sharedWalk.walk();
+        sharedWalk.clear();
     }
 
     @Override
     public final void visitToken(DetailAST blockCommentNode) {
         if (JavadocUtil.isJavadocComment(blockCommentNode)) {
+            // walk the previous tree if the comment was left without walking it
+            SHARED_WALK.get().walkOtherThan(blockCommentNode);
             // store as field, to share with child Checks
             context.get().blockCommentAst = blockCommentNode;
 
@@ -329,7 +358,7 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
 
             if (result.getParseErrorMessage() == null) {
                 if (acceptJavadocWithNonTightHtml() || !result.isNonTight()) {
-                    processTree(result.getTree());
+                    SHARED_WALK.get().add(blockCommentNode, result.getTree(), this);
                 }
 
                 if (violateExecutionOnNonTightHtml && result.isNonTight()) {
@@ -347,6 +376,20 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
         }
     }
 
+    /**
+     * Walks the tree of the Javadoc comment for all checks which visited it.
+     * The walk is done when the first of them leaves the comment, after
+     * all of them have visited it. Subclasses which override this method
+     * should call it, otherwise the tree may be walked only when the next
+     * Javadoc comment is visited.
+     *
+     * @param blockCommentNode the block comment being left.
+     */
+    @Override
+    public void leaveToken(DetailAST blockCommentNode) {
+        SHARED_WALK.get().walk();
+    }
+
     /**
      * Getter for block comment in Java language syntax tree.
      *
@@ -356,63 +399,336 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
         return context.get().blockCommentAst;
     }
 
-    /**
-     * Processes JavadocAST tree notifying Check.
-     *
-     * @param root
-     *        root of JavadocAST tree.
-     */
-    private void processTree(DetailNode root) {
-        beginJavadocTree(root);
-        walk(root);
-        finishJavadocTree(root);
+    @Override
+    public void destroy() {
+        super.destroy();
+        context.remove();
+        TREE_CACHE.remove();
+        SHARED_WALK.remove();
     }
 
     /**
-     * Processes a node calling Check at interested nodes.
-     *
-     * @param root
-     *        the root of tree for process
+     * The walk of the tree of a Javadoc comment shared by all checks which
+     * visited the comment. The tree is walked once, and each node is
+     * dispatched only to the checks interested in its type.
      */
-    private void walk(DetailNode root) {
-        DetailNode curNode = root;
-        while (curNode != null) {
-            boolean waitsForProcessing = shouldBeProcessed(curNode);
+    private static final class SharedWalk {
+
+        /** The checks waiting to walk the tree, in order of visiting the comment. */
+        private final List<AbstractJavadocCheck> checks = new ArrayList<>();
+
+        /** The checks {@link #dispatchTable} was built for. */
+        private List<AbstractJavadocCheck> dispatchTableChecks;
+
+        /** The dispatch table of the last walk. */
+        private DispatchTable dispatchTable;
+
+        /** The block comment of the tree to walk. */
+        private DetailAST blockCommentAst;
+
+        /** The root of the tree to walk. */
+        private DetailNode root;
 
-            if (waitsForProcessing) {
-                visitJavadocToken(curNode);
+        /**
+         * Adds the check to the walk of the tree of the comment. A pending walk
+         * of a different comment is done first.
+         *
+         * @param commentAst the block comment of the tree.
+         * @param tree the root of the Javadoc tree.
+         * @param check the check to walk the tree for.
+         */
+        private void add(DetailAST commentAst, DetailNode tree, AbstractJavadocCheck check) {
+            walkOtherThan(commentAst);
+            if (checks.isEmpty()) {
+                blockCommentAst = commentAst;
+                root = tree;
             }
-            DetailNode toVisit = JavadocUtil.getFirstChild(curNode);
-            while (curNode != null && toVisit == null) {
-                if (waitsForProcessing) {
-                    leaveJavadocToken(curNode);
-                }
+            checks.add(check);
+        }
+
+        /**
+         * Walks the tree of a comment other than the given one, if there is
+         * a pending walk of such a tree.
+         *
+         * @param commentAst the block comment being visited.
+         */
+        private void walkOtherThan(DetailAST commentAst) {
+            if (commentAst != blockCommentAst) {
+                walk();
+            }
+        }
+
+        /**
+         * Drops the pending walk, which is left over if a previous file failed,
+         * and the dispatch table, so that the thread does not keep the checks
+         * reachable between files.
+         */
+        private void clear() {
+            clearPendingWalk();
+            dispatchTableChecks = null;
+            dispatchTable = null;
+        }
+
+        /**
+         * Drops the pending walk.
+         */
+        private void clearPendingWalk() {
+            checks.clear();
+            blockCommentAst = null;
+            root = null;
+        }
 
-                toVisit = JavadocUtil.getNextSibling(curNode);
-                curNode = curNode.getParent();
-                if (curNode != null) {
-                    waitsForProcessing = shouldBeProcessed(curNode);
+        /**
+         * Walks the tree for the waiting checks, if there are any.
+         */
+        private void walk() {
+            if (!checks.isEmpty()) {
+                final List<AbstractJavadocCheck> walkingChecks = new ArrayList<>(checks);
+                final DetailNode tree = root;
+                clearPendingWalk();
+                if (!walkingChecks.equals(dispatchTableChecks)) {
+                    dispatchTable = new DispatchTable(walkingChecks);
+                    dispatchTableChecks = walkingChecks;
                 }
+                dispatchTable.walk(tree);
             }
-            curNode = toVisit;
         }
+
     }
 
     /**
-     * Checks whether the current node should be processed by the check.
-     *
-     * @param curNode current node.
-     * @return true if the current node should be processed by the check.
+     * Checks to notify about Javadoc nodes, indexed by Javadoc token type,
+     * like the dispatch of {@code TreeWalker}. The index of a type is shifted
+     * by the value of {@link JavadocTokenTypes#EOF}, the only negative type.
+     * Checks which do not override
+     * {@link AbstractJavadocCheck#leaveJavadocToken(DetailNode)} are not
+     * notified on leaving of nodes. When profiling, each notification is
+     * recorded for the notified check, so that the walk is not counted in
+     * the check which started it.
      */
-    private boolean shouldBeProcessed(DetailNode curNode) {
-        return javadocTokens.contains(curNode.getType());
-    }
+    private static final class DispatchTable {
+
+        /** Shared array for tokens without checks. */
+        private static final AbstractJavadocCheck[] NO_CHECKS = new AbstractJavadocCheck[0];
+
+        /** The checks in order of notification. */
+        private final List<AbstractJavadocCheck> checks;
+
+        /** Checks to notify on visiting of nodes, by Javadoc token type. */
+        private final AbstractJavadocCheck[][] visitors;
+
+        /** Checks to notify on leaving of nodes, by Javadoc token type. */
+        private final AbstractJavadocCheck[][] leavers;
+
+        /** The profiles of the checks, {@code null} if profiling is disabled. */
+        private final Map<AbstractJavadocCheck, AuditProfiler.ModuleProfile> profiles;
+
+        /**
+         * Creates the table of the checks.
+         *
+         * @param checks the checks in order of notification.
+         */
+        private DispatchTable(List<AbstractJavadocCheck> checks) {
+            this.checks = checks;
+            profiles = getProfiles(checks);
+            final int size = checks.stream()
+                    .flatMap(check -> check.javadocTokens.stream())
+                    .mapToInt(DispatchTable::getIndex)
+                    .max()
+                    .orElse(-1) + 1;
+            visitors = new AbstractJavadocCheck[size][];
+            leavers = new AbstractJavadocCheck[size][];
+            Arrays.fill(visitors, NO_CHECKS);
+            Arrays.fill(leavers, NO_CHECKS);
+            for (AbstractJavadocCheck check : checks) {
+                final boolean leaving = isLeaveJavadocTokenOverridden(check);
+                for (int tokenId : check.javadocTokens) {
+                    final int index = getIndex(tokenId);
+                    visitors[index] = append(visitors[index], check);
+                    if (leaving) {
+                        leavers[index] = append(leavers[index], check);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Walks the tree notifying checks about its beginning, its nodes and
+         * its end.
+         *
+         * @param root the root of the tree.
+         */
+        private void walk(DetailNode root) {
+            notifyTree(root, true);
+            DetailNode curNode = root;
+            while (curNode != null) {
+                notify(visitors, curNode, true);
+                DetailNode toVisit = curNode.getFirstChild();
+                while (curNode != null && toVisit == null) {
+                    notify(leavers, curNode, false);
+                    toVisit = curNode.getNextSibling();
+                    curNode = curNode.getParent();
+                }
+                curNode = toVisit;
+            }
+            notifyTree(root, false);
+        }
+
+        /**
+         * Notifies all checks about the beginning or the end of the tree.
+         *
+         * @param root the root of the tree.
+         * @param beginning {@code true} to notify about the beginning, {@code false} the end.
+         */
+        private void notifyTree(DetailNode root, boolean beginning) {
+            for (AbstractJavadocCheck check : checks) {
+                if (profiles == null) {
+                    notifyTree(check, root, beginning);
+                }
+                else {
+                    final AuditProfiler.ModuleProfile profile = profiles.get(check);
+                    final AuditProfiler.Sample sample = profile.startSample();
+                    notifyTree(check, root, beginning);
+                    if (beginning) {
+                        profile.record(AuditProfiler.Operation.BEGIN_JAVADOC_TREE, sample);
+                    }
+                    else {
+                        profile.record(AuditProfiler.Operation.FINISH_JAVADOC_TREE, sample);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Notifies the check about the beginning or the end of the tree.
+         *
+         * @param check the check to notify.
+         * @param root the root of the tree.
+         * @param beginning {@code true} to notify about the beginning, {@code false} the end.
+         */
+        private static void notifyTree(AbstractJavadocCheck check, DetailNode root,
+                boolean beginning) {
+            if (beginning) {
+                check.beginJavadocTree(root);
+            }
+            else {
+                check.finishJavadocTree(root);
+            }
+        }
+
+        /**
+         * Notifies the checks of the type of the node.
+         *
+         * @param checksByType the checks to notify, by Javadoc token type.
+         * @param node the node to notify about.
+         * @param visiting {@code true} to notify about visiting, {@code false} about leaving.
+         */
+        private void notify(AbstractJavadocCheck[][] checksByType, DetailNode node,
+                boolean visiting) {
+            final int index = getIndex(node.getType());
+            if (index < checksByType.length) {
+                for (AbstractJavadocCheck check : checksByType[index]) {
+                    if (profiles == null) {
+                        notify(check, node, visiting);
+                    }
+                    else {
+                        final AuditProfiler.ModuleProfile profile = profiles.get(check);
+                        final AuditProfiler.Sample sample = profile.startSample();
+                        notify(check, node, visiting);
+                        if (visiting) {
+                            profile.record(AuditProfiler.Operation.VISIT_JAVADOC_TOKEN, sample);
+                        }
+                        else {
+                            profile.record(AuditProfiler.Operation.LEAVE_JAVADOC_TOKEN, sample);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Notifies the check about visiting or leaving of the node.
+         *
+         * @param check the check to notify.
+         * @param node the node to notify about.
+         * @param visiting {@code true} to notify about visiting, {@code false} about leaving.
+         */
+        private static void notify(AbstractJavadocCheck check, DetailNode node,
+                boolean visiting) {
+            if (visiting) {
+                check.visitJavadocToken(node);
+            }
+            else {
+                check.leaveJavadocToken(node);
+            }
+        }
+
+        /**
+         * Gets the profiles of the checks. The checks of a walk share
+         * the profiler of their {@code TreeWalker}.
+         *
+         * @param checks the checks.
+         * @return the profiles of the checks, {@code null} if profiling is disabled.
+         */
+        private static Map<AbstractJavadocCheck, AuditProfiler.ModuleProfile> getProfiles(
+                List<AbstractJavadocCheck> checks) {
+            Map<AbstractJavadocCheck, AuditProfiler.ModuleProfile> result = null;
+            final AuditProfiler profiler = checks.get(0).profiler;
+            if (profiler != null) {
+                result = new HashMap<>();
+                for (AbstractJavadocCheck check : checks) {
+                    result.put(check, profiler.getModuleProfile(check));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Gets the index of the Javadoc token type in the table.
+         *
+         * @param tokenId the Javadoc token type.
+         * @return the index of the type.
+         */
+        private static int getIndex(int tokenId) {
+            return tokenId - JavadocTokenTypes.EOF;
+        }
+
+        /**
+         * Creates a copy of the array with the check appended.
+         *
+         * @param checks the array of checks.
+         * @param check the check to append.
+         * @return the new array.
+         */
+        private static AbstractJavadocCheck[] append(AbstractJavadocCheck[] checks,
+                AbstractJavadocCheck check) {
+            final AbstractJavadocCheck[] result = Arrays.copyOf(checks, checks.length + 1);
+            result[checks.length] = check;
+            return result;
+        }
+
+        /**
+         * Checks whether the check has its own implementation of
+         * {@link AbstractJavadocCheck#leaveJavadocToken(DetailNode)}.
+         *
+         * @param check the check.
+         * @return {@code true} if leaving of nodes should be notified to the check.
+         */
+        private static boolean isLeaveJavadocTokenOverridden(AbstractJavadocCheck check) {
+            boolean result = false;
+            Class<?> clazz = check.getClass();
+            while (!result && clazz != AbstractJavadocCheck.class) {
+                result = Arrays.stream(clazz.getDeclaredMethods())
+                        .anyMatch(method -> {
+                            return "leaveJavadocToken".equals(method.getName())
+                                    && Arrays.equals(method.getParameterTypes(),
+                                            new Class<?>[] {DetailNode.class});
+                        });
+                clazz = clazz.getSuperclass();
+            }
+            return result;
+        }
 
-    @Override
-    public void destroy() {
-        super.destroy();
-        context.remove();
-        TREE_CACHE.remove();
     }
 
     /**
@@ -72,6 +72,16 @@ public class JavadocNodeImpl implements DetailNode {
      */
     private DetailNode parent;
 
+    /**
+     * Next sibling node.
+     */
+    private DetailNode nextSibling;
+
+    /**
+     * Previous sibling node.
+     */
+    private DetailNode previousSibling;
+
     @Override
     public int getType() {
         return type;
@@ -109,6 +119,25 @@ public class JavadocNodeImpl implements DetailNode {
         return index;
     }
 
+    @Override
+    public DetailNode getFirstChild() {
+        DetailNode result = null;
+        if (children != null && children.length > 0) {
+            result = children[0];
+        }
+        return result;
+    }
+
+    @Override
+    public DetailNode getNextSibling() {
+        return nextSibling;
+    }
+
+    @Override
+    public DetailNode getPreviousSibling() {
+        return previousSibling;
+    }
+
     /**
      * Sets node's type.
      *
@@ -146,12 +175,13 @@ public class JavadocNodeImpl implements DetailNode {
     }
 
     /**
-     * Sets array of child nodes.
+     * Sets array of child nodes, and links the children to their siblings.
      *
      * @param children Array of child nodes.
      */
     public void setChildren(DetailNode... children) {
         this.children = UnmodifiableCollectionUtil.copyOfArray(children, children.length);
+        linkSiblings(this.children);
     }
 
     /**
@@ -172,6 +202,27 @@ public class JavadocNodeImpl implements DetailNode {
         this.index = index;
     }
 
+    /**
+     * Links each node of the array to its neighbours in the array.
+     *
+     * @param nodes the nodes to link, some of them may not be created yet.
+     */
+    private static void linkSiblings(DetailNode... nodes) {
+        for (int position = 0; position < nodes.length; position++) {
+            if (nodes[position] instanceof JavadocNodeImpl) {
+                final JavadocNodeImpl node = (JavadocNodeImpl) nodes[position];
+                node.previousSibling = null;
+                node.nextSibling = null;
+                if (position > 0) {
+                    node.previousSibling = nodes[position - 1];
+                }
+                if (position < nodes.length - 1) {
+                    node.nextSibling = nodes[position + 1];
+                }
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "JavadocNodeImpl["
@@ -134,6 +134,24 @@ public class SuppressFilterElement
         return result;
     }
 
+    /**
+     * Returns the regexp to match file names against.
+     *
+     * @return the regexp to match file names against, may be {@code null}.
+     */
+    /* package */ Pattern getFileRegexp() {
+        return fileRegexp;
+    }
+
+    /**
+     * Returns the regexp to match check names against.
+     *
+     * @return the regexp to match check names against, may be {@code null}.
+     */
+    /* package */ Pattern getCheckRegexp() {
+        return checkRegexp;
+    }
+
     @Override
     public boolean accept(AuditEvent event) {
         return !isFileNameAndModuleNameMatching(event)
@@ -0,0 +1,318 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+
+/**
+ * <div>
+ * Filters events by a set of filters, usually the {@link SuppressFilterElement}s
+ * of a suppressions file, accepting an event only if all filters accept it,
+ * like {@link com.puppycrawl.tools.checkstyle.api.FilterSet} does.
+ * </div>
+ *
+ * <p>
+ * A {@code SuppressFilterElement} can only reject an event if its file regular
+ * expression finds a match in the file name of the event, and its check regular
+ * expression finds a match in the source name of the event. Most suppressions
+ * use file names, directories or check names as regular expressions, so every
+ * match contains a text known in advance, for example {@code src/test/} for
+ * {@code src[\\/]test[\\/]}. Elements are indexed by this text, and only
+ * the elements whose text is contained in the file name or the source name of
+ * an event are asked whether they accept it. Elements without such a text are
+ * always asked.
+ * </p>
+ */
+final class SuppressFilterElementIndex implements Filter {
+
+    /** The characters which have a special meaning in a regular expression. */
+    private static final String META_CHARACTERS = ".[]{}()*+?^$|";
+
+    /** The regular expressions matching any file separator. */
+    private static final String[] FILE_SEPARATOR_CLASSES = {"[\\\\/]", "[/\\\\]"};
+
+    /** The file separator to which all file separators are normalized. */
+    private static final char FILE_SEPARATOR = '/';
+
+    /** Elements indexed by a text contained in the file names they match. */
+    private final TextIndex fileIndex = new TextIndex();
+
+    /** Elements indexed by a text contained in the source names they match. */
+    private final TextIndex checkIndex = new TextIndex();
+
+    /** The filters which are not indexed. */
+    private final List<Filter> otherFilters = new ArrayList<>();
+
+    /** The elements which can reject events of source names, by source name. */
+    private final Map<String, List<Filter>> checkCandidates = new HashMap<>();
+
+    /** The name of the file the elements in {@link #fileCandidates} were found for. */
+    private String fileName;
+
+    /** The elements which can reject events of {@link #fileName}. */
+    private List<Filter> fileCandidates;
+
+    /**
+     * Creates an index of the filters.
+     *
+     * @param filters the filters to index.
+     */
+    /* package */ SuppressFilterElementIndex(Collection<Filter> filters) {
+        for (Filter filter : filters) {
+            String fileText = null;
+            String checkText = null;
+            if (filter.getClass() == SuppressFilterElement.class) {
+                final SuppressFilterElement element = (SuppressFilterElement) filter;
+                fileText = getRequiredText(element.getFileRegexp());
+                checkText = getRequiredText(element.getCheckRegexp());
+            }
+            if (fileText != null) {
+                fileIndex.add(fileText, filter);
+            }
+            else if (checkText != null) {
+                checkIndex.add(checkText, filter);
+            }
+            else {
+                otherFilters.add(filter);
+            }
+        }
+    }
+
+    @Override
+    public boolean accept(AuditEvent event) {
+        boolean result = isAcceptedByAll(otherFilters, event);
+        // suppress filter elements accept all events without file name or violation
+        if (result && event.getFileName() != null && event.getViolation() != null) {
+            result = isAcceptedByAll(getFileCandidates(event.getFileName()), event)
+                    && isAcceptedByAll(getCheckCandidates(event.getSourceName()), event);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the indexed elements which can reject events of the file.
+     *
+     * @param name the name of the file.
+     * @return the elements which can reject events of the file.
+     */
+    private List<Filter> getFileCandidates(String name) {
+        if (!name.equals(fileName)) {
+            fileCandidates = fileIndex.find(name);
+            fileName = name;
+        }
+        return fileCandidates;
+    }
+
+    /**
+     * Finds the indexed elements which can reject events of the source.
+     *
+     * @param sourceName the name of the source of events.
+     * @return the elements which can reject events of the source.
+     */
+    private List<Filter> getCheckCandidates(String sourceName) {
+        return checkCandidates.computeIfAbsent(sourceName, checkIndex::find);
+    }
+
+    /**
+     * Checks whether all filters accept the event.
+     *
+     * @param filters the filters to check.
+     * @param event the event to filter.
+     * @return {@code true} if all filters accept the event.
+     */
+    private static boolean isAcceptedByAll(List<Filter> filters, AuditEvent event) {
+        boolean result = true;
+        for (Filter filter : filters) {
+            if (!filter.accept(event)) {
+                result = false;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a text which is contained in every match of the regular expression,
+     * with file separators normalized.
+     * The text is the literal start of the regular expression, up to the first
+     * construct which is not a plain or escaped character or a file separator
+     * class. Regular expressions with flags or alternatives have no such text.
+     *
+     * @param pattern the regular expression, may be {@code null}.
+     * @return the text contained in every match, or {@code null} if it is unknown.
+     */
+    /* package */ static String getRequiredText(Pattern pattern) {
+        String result = null;
+        if (pattern != null && pattern.flags() == 0 && pattern.pattern().indexOf('|') == -1) {
+            final String regex = pattern.pattern();
+            final StringBuilder text = new StringBuilder(regex.length());
+            int index = 0;
+            if (regex.startsWith("^")) {
+                index++;
+            }
+            while (index < regex.length()) {
+                final int next = getLiteralEnd(regex, index);
+                if (next == index || next < regex.length()
+                        && "*?{".indexOf(regex.charAt(next)) != -1) {
+                    break;
+                }
+                text.append(getLiteral(regex, index));
+                if (next < regex.length() && regex.charAt(next) == '+') {
+                    break;
+                }
+                index = next;
+            }
+            if (text.length() > 0) {
+                result = text.toString();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the end of the literal character starting at the index of
+     * the regular expression.
+     *
+     * @param regex the regular expression.
+     * @param index the index of the literal character.
+     * @return the end of the literal character, or the index if there is no
+     *     literal character at the index.
+     */
+    private static int getLiteralEnd(String regex, int index) {
+        final char chr = regex.charAt(index);
+        int result = index;
+        if (chr == '\\') {
+            if (index + 1 < regex.length()
+                    && !Character.isLetterOrDigit(regex.charAt(index + 1))) {
+                result = index + 2;
+            }
+        }
+        else if (isFileSeparatorClass(regex, index)) {
+            result = index + FILE_SEPARATOR_CLASSES[0].length();
+        }
+        else if (META_CHARACTERS.indexOf(chr) == -1) {
+            result = index + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the literal character starting at the index of the regular
+     * expression, with file separators normalized.
+     *
+     * @param regex the regular expression.
+     * @param index the index of the literal character.
+     * @return the literal character.
+     */
+    private static char getLiteral(String regex, int index) {
+        char result = regex.charAt(index);
+        if (result == '\\') {
+            result = regex.charAt(index + 1);
+        }
+        if (result == '\\' || isFileSeparatorClass(regex, index)) {
+            result = FILE_SEPARATOR;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the regular expression has a class of file separators
+     * at the index.
+     *
+     * @param regex the regular expression.
+     * @param index the index to check.
+     * @return {@code true} if there is a class of file separators at the index.
+     */
+    private static boolean isFileSeparatorClass(String regex, int index) {
+        boolean result = false;
+        for (String separatorClass : FILE_SEPARATOR_CLASSES) {
+            if (regex.startsWith(separatorClass, index)) {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Index of filters by a text which must be contained in a name for
+     * a filter to match it.
+     */
+    private static final class TextIndex {
+
+        /** The filters by text. */
+        private final Map<String, List<Filter>> filtersByText = new HashMap<>();
+
+        /** The lengths of texts. */
+        private final Set<Integer> textLengths = new TreeSet<>();
+
+        /**
+         * Adds the filter to the index.
+         *
+         * @param text the text which must be contained in a name for the filter to match.
+         * @param filter the filter.
+         */
+        /* package */ void add(String text, Filter filter) {
+            filtersByText.computeIfAbsent(text, key -> new ArrayList<>()).add(filter);
+            textLengths.add(text.length());
+        }
+
+        /**
+         * Finds the filters whose text is contained in the name.
+         *
+         * @param name the name to find filters for.
+         * @return the filters whose text is contained in the name.
+         */
+        /* package */ List<Filter> find(String name) {
+            final String normalizedName = name.replace('\\', FILE_SEPARATOR);
+            final Set<String> foundTexts = new HashSet<>();
+            for (int length : textLengths) {
+                for (int start = 0; start + length <= normalizedName.length(); start++) {
+                    final String text = normalizedName.substring(start, start + length);
+                    if (filtersByText.containsKey(text)) {
+                        foundTexts.add(text);
+                    }
+                }
+            }
+            List<Filter> result = Collections.emptyList();
+            if (!foundTexts.isEmpty()) {
+                result = new ArrayList<>();
+                for (String text : foundTexts) {
+                    result.addAll(filtersByText.get(text));
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -200,7 +200,7 @@ public class SuppressWithNearbyTextFilter extends AbstractAutomaticBean implemen
             final String eventFileTextAbsolutePath = event.getFileName();
 
             if (!cachedFileAbsolutePath.equals(eventFileTextAbsolutePath)) {
-                final FileText currentFileText = getFileText(eventFileTextAbsolutePath);
+                final FileText currentFileText = getFileText(event);
 
                 if (currentFileText != null) {
                     cachedFileAbsolutePath = currentFileText.getFile().getAbsolutePath();
@@ -221,18 +221,20 @@ public class SuppressWithNearbyTextFilter extends AbstractAutomaticBean implemen
     }
 
     /**
-     * Returns {@link FileText} instance created based on the given file name.
+     * Returns {@link FileText} instance of the event file. The contents already read by
+     * Checker are used when the event has them, otherwise the file is read from disk.
      *
-     * @param fileName the name of the file.
+     * @param event the audit event.
      * @return {@link FileText} instance.
      * @throws IllegalStateException if the file could not be read.
      */
-    private static FileText getFileText(String fileName) {
+    private static FileText getFileText(AuditEvent event) {
+        final String fileName = event.getFileName();
         final Path path = Paths.get(fileName);
-        FileText result = null;
+        FileText result = event.getFileText();
 
         // some violations can be on a directory, instead of a file
-        if (!Files.isDirectory(path)) {
+        if (result == null && !Files.isDirectory(path)) {
             try {
                 result = new FileText(path.toFile(), StandardCharsets.UTF_8.name());
             }
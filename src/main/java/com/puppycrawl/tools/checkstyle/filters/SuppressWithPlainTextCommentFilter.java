@@ -208,7 +208,7 @@ public class SuppressWithPlainTextCommentFilter extends AbstractAutomaticBean im
 
             if (!currentFileName.equals(eventFileName)) {
                 currentFileName = eventFileName;
-                final FileText fileText = getFileText(eventFileName);
+                final FileText fileText = getFileText(event);
                 currentFileSuppressionCache.clear();
                 if (fileText != null) {
                     cacheSuppressions(fileText);
@@ -226,18 +226,20 @@ public class SuppressWithPlainTextCommentFilter extends AbstractAutomaticBean im
     }
 
     /**
-     * Caches {@link FileText} instance created based on the given file name.
+     * Returns {@link FileText} instance of the event file. The contents already read by
+     * Checker are used when the event has them, otherwise the file is read from disk.
      *
-     * @param fileName the name of the file.
+     * @param event the audit event.
      * @return {@link FileText} instance.
      * @throws IllegalStateException if the file could not be read.
      */
-    private static FileText getFileText(String fileName) {
+    private static FileText getFileText(AuditEvent event) {
+        final String fileName = event.getFileName();
         final File file = new File(fileName);
-        FileText result = null;
+        FileText result = event.getFileText();
 
         // some violations can be on a directory, instead of a file
-        if (!file.isDirectory()) {
+        if (result == null && !file.isDirectory()) {
             try {
                 result = new FileText(file, StandardCharsets.UTF_8.name());
             }
@@ -148,8 +148,8 @@ public class SuppressionFilter
      * the filter accept all audit events.
      */
     private boolean optional;
-    /** Set of individual suppresses. */
-    private FilterSet filters = new FilterSet();
+    /** Set of individual suppresses, indexed for fast lookup. */
+    private Filter filters = new FilterSet();
 
     /**
      * Setter to specify the location of the <em>suppressions XML document</em> file.
@@ -184,15 +184,27 @@ public class SuppressionFilter
         if (file != null) {
             if (optional) {
                 if (FilterUtil.isFileExists(file)) {
-                    filters = SuppressionsLoader.loadSuppressions(file);
+                    filters = loadSuppressions(file);
                 }
             }
             else {
-                filters = SuppressionsLoader.loadSuppressions(file);
+                filters = loadSuppressions(file);
             }
         }
     }
 
+    /**
+     * Loads the suppressions of the file and indexes them.
+     *
+     * @param fileName name of the suppressions file.
+     * @return the filter of the suppressions of the file.
+     * @throws CheckstyleException if an error occurs.
+     */
+    private static Filter loadSuppressions(String fileName) throws CheckstyleException {
+        final FilterSet filterSet = SuppressionsLoader.loadSuppressions(fileName);
+        return new SuppressFilterElementIndex(filterSet.getFilters());
+    }
+
     @Override
     public Set<String> getExternalResourceLocations() {
         return UnmodifiableCollectionUtil.singleton(file);
@@ -19,31 +19,54 @@
 
 package com.puppycrawl.tools.checkstyle.filters;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.puppycrawl.tools.checkstyle.TreeWalkerAuditEvent;
 import com.puppycrawl.tools.checkstyle.TreeWalkerFilter;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
+import com.puppycrawl.tools.checkstyle.utils.XpathUtil;
 import com.puppycrawl.tools.checkstyle.xpath.AbstractNode;
 import com.puppycrawl.tools.checkstyle.xpath.RootNode;
-import net.sf.saxon.Configuration;
 import net.sf.saxon.om.Item;
 import net.sf.saxon.sxpath.XPathDynamicContext;
-import net.sf.saxon.sxpath.XPathEvaluator;
 import net.sf.saxon.sxpath.XPathExpression;
 import net.sf.saxon.trans.XPathException;
 
 /**
- * This filter element is immutable and processes {@link TreeWalkerAuditEvent}
+ * This filter element processes {@link TreeWalkerAuditEvent}
  * objects based on the criteria of file, check, module id, xpathQuery.
+ * Its criteria are immutable, but the xpath query is evaluated at most once
+ * per file, and the positions of matched nodes are kept per thread until events
+ * of another file are processed. The tree of the file is only weakly referenced,
+ * so that it is not retained once the file is processed.
  *
  */
 public class XpathFilterElement implements TreeWalkerFilter {
 
+    /**
+     * The xpath root node of the file being processed, shared by all filter elements
+     * to reuse the lazily created xpath nodes. It is stored in {@link ThreadLocal}
+     * to guarantee basic thread safety and avoid shared, mutable state when not necessary.
+     */
+    private static final ThreadLocal<WeakReference<RootNode>> ROOT_NODE =
+            new ThreadLocal<>();
+
+    /**
+     * The positions of nodes matched by the xpath query in the file being processed.
+     *
+     * @noinspection ThreadLocalNotStaticFinal
+     * @noinspectionreason ThreadLocalNotStaticFinal - static context is
+     *      problematic for multithreading
+     */
+    private final ThreadLocal<FileContext> context = ThreadLocal.withInitial(FileContext::new);
+
     /** The regexp to match file names against. */
     private final Pattern fileRegexp;
 
@@ -105,10 +128,8 @@ public class XpathFilterElement implements TreeWalkerFilter {
             xpathExpression = null;
         }
         else {
-            final XPathEvaluator xpathEvaluator = new XPathEvaluator(
-                    Configuration.newConfiguration());
             try {
-                xpathExpression = xpathEvaluator.createExpression(xpathQuery);
+                xpathExpression = XpathUtil.compileXpath(xpathQuery);
             }
             catch (XPathException exc) {
                 throw new IllegalArgumentException("Incorrect xpath query: " + xpathQuery, exc);
@@ -160,46 +181,45 @@ public class XpathFilterElement implements TreeWalkerFilter {
      * @return true if it is matching or not set.
      */
     private boolean isXpathQueryMatching(TreeWalkerAuditEvent event) {
-        boolean isMatching;
-        if (xpathExpression == null) {
-            isMatching = true;
-        }
-        else {
-            isMatching = false;
-            final List<AbstractNode> nodes = getItems(event)
-                .stream().map(AbstractNode.class::cast)
-                .collect(Collectors.toUnmodifiableList());
-            for (AbstractNode abstractNode : nodes) {
-                isMatching = abstractNode.getTokenType() == event.getTokenType()
-                        && abstractNode.getLineNumber() == event.getLine()
-                        && abstractNode.getColumnNumber() == event.getColumnCharIndex();
-                if (isMatching) {
-                    break;
-                }
-            }
+        return xpathExpression == null
+                || getMatchedNodePositions(event.getRootAst()).contains(new NodePosition(
+                        event.getTokenType(), event.getLine(), event.getColumnCharIndex()));
+    }
+
+    /**
+     * Returns positions of nodes matching xpath expression in the given tree.
+     * The expression is evaluated only for the first event of each file.
+     *
+     * @param rootAst root of the tree
+     * @return positions of nodes matching xpath expression
+     */
+    private Set<NodePosition> getMatchedNodePositions(DetailAST rootAst) {
+        final FileContext fileContext = context.get();
+        if (fileContext.matchedNodePositions == null || fileContext.rootAst.get() != rootAst) {
+            fileContext.matchedNodePositions = getItems(rootAst).stream()
+                .map(AbstractNode.class::cast)
+                .map(node -> {
+                    return new NodePosition(node.getTokenType(),
+                            node.getLineNumber(), node.getColumnNumber());
+                })
+                .collect(Collectors.toUnmodifiableSet());
+            fileContext.rootAst = new WeakReference<>(rootAst);
         }
-        return isMatching;
+        return fileContext.matchedNodePositions;
     }
 
     /**
-     * Returns list of nodes matching xpath expression given event.
+     * Returns list of nodes matching xpath expression given the root of the tree.
      *
-     * @param event {@code TreeWalkerAuditEvent} object
-     * @return list of nodes matching xpath expression given event
+     * @param rootAst root of the tree
+     * @return list of nodes matching xpath expression given the root of the tree
      * @throws IllegalStateException if the xpath query could not be evaluated.
      */
-    private List<Item> getItems(TreeWalkerAuditEvent event) {
-        final RootNode rootNode;
-        if (event.getRootAst() == null) {
-            rootNode = null;
-        }
-        else {
-            rootNode = new RootNode(event.getRootAst());
-        }
+    private List<Item> getItems(DetailAST rootAst) {
         final List<Item> items;
         try {
             final XPathDynamicContext xpathDynamicContext =
-                    xpathExpression.createDynamicContext(rootNode);
+                    xpathExpression.createDynamicContext(getRootNode(rootAst));
             items = xpathExpression.evaluate(xpathDynamicContext);
         }
         catch (XPathException exc) {
@@ -209,6 +229,28 @@ public class XpathFilterElement implements TreeWalkerFilter {
         return items;
     }
 
+    /**
+     * Returns xpath root node for the given tree. The node is shared between
+     * all filter elements while they process the same tree.
+     *
+     * @param rootAst root of the tree
+     * @return xpath root node, or {@code null} if the tree is {@code null}
+     */
+    private static RootNode getRootNode(DetailAST rootAst) {
+        RootNode rootNode = null;
+        if (rootAst != null) {
+            final WeakReference<RootNode> rootNodeReference = ROOT_NODE.get();
+            if (rootNodeReference != null) {
+                rootNode = rootNodeReference.get();
+            }
+            if (rootNode == null || rootNode.getUnderlyingNode() != rootAst) {
+                rootNode = new RootNode(rootAst);
+                ROOT_NODE.set(new WeakReference<>(rootNode));
+            }
+        }
+        return rootNode;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(getPatternSafely(fileRegexp), getPatternSafely(checkRegexp),
@@ -248,4 +290,65 @@ public class XpathFilterElement implements TreeWalkerFilter {
         }
         return result;
     }
+
+    /**
+     * The file context of the filter element.
+     */
+    private static final class FileContext {
+
+        /** The root of the tree the matched node positions belong to. */
+        private WeakReference<DetailAST> rootAst;
+
+        /** The positions of nodes matched by the xpath query. */
+        private Set<NodePosition> matchedNodePositions;
+
+    }
+
+    /**
+     * The position and token type of an AST node.
+     */
+    private static final class NodePosition {
+
+        /** The token type. */
+        private final int tokenType;
+
+        /** The line number. */
+        private final int lineNumber;
+
+        /** The column number. */
+        private final int columnNumber;
+
+        /**
+         * Creates a new {@code NodePosition} instance.
+         *
+         * @param tokenType the token type
+         * @param lineNumber the line number
+         * @param columnNumber the column number
+         */
+        private NodePosition(int tokenType, int lineNumber, int columnNumber) {
+            this.tokenType = tokenType;
+            this.lineNumber = lineNumber;
+            this.columnNumber = columnNumber;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tokenType, lineNumber, columnNumber);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            final NodePosition nodePosition = (NodePosition) other;
+            return tokenType == nodePosition.tokenType
+                    && lineNumber == nodePosition.lineNumber
+                    && columnNumber == nodePosition.columnNumber;
+        }
+
+    }
 }
@@ -0,0 +1,148 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammar;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * A {@link CharStream} reading characters directly from a {@link CharSequence},
+ * without copying them into a code point buffer as
+ * {@link org.antlr.v4.runtime.CharStreams#fromString(String)} does.
+ * ANTLR lexers work with code points, so the stream can only be used for
+ * texts without supplementary characters, where every {@code char} is
+ * a code point; see {@link #isApplicable(CharSequence)}.
+ */
+public final class CharSequenceCharStream implements CharStream {
+
+    /** The text of the stream. */
+    private final CharSequence text;
+
+    /** The name of the source of the text. */
+    private final String sourceName;
+
+    /** The index of the next character to read. */
+    private int position;
+
+    /**
+     * Creates a stream over the text.
+     *
+     * @param text the text without supplementary characters.
+     * @param sourceName the name of the source of the text.
+     */
+    public CharSequenceCharStream(CharSequence text, String sourceName) {
+        this.text = text;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Checks whether the text can be read by this stream, that is whether
+     * it has no surrogate characters.
+     *
+     * @param text the text to check.
+     * @return {@code true} if every character of the text is a code point.
+     */
+    public static boolean isApplicable(CharSequence text) {
+        boolean result = true;
+        final int length = text.length();
+        for (int index = 0; index < length; index++) {
+            if (Character.isSurrogate(text.charAt(index))) {
+                result = false;
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        final int start = Math.min(interval.a, text.length());
+        final int end = Math.min(interval.b + 1, text.length());
+        return text.subSequence(start, Math.max(start, end)).toString();
+    }
+
+    @Override
+    public void consume() {
+        if (position >= text.length()) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        position++;
+    }
+
+    // -@cs[MethodName] The name is defined by ANTLR interface.
+    @Override
+    public int LA(int offset) {
+        final int result;
+        if (offset == 0) {
+            // undefined
+            result = 0;
+        }
+        else {
+            int index = position + offset;
+            if (offset > 0) {
+                index--;
+            }
+            if (index < 0 || index >= text.length()) {
+                result = IntStream.EOF;
+            }
+            else {
+                result = text.charAt(index);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {
+        // nothing to release, the whole text is always available
+    }
+
+    @Override
+    public int index() {
+        return position;
+    }
+
+    @Override
+    public void seek(int index) {
+        position = index;
+    }
+
+    @Override
+    public int size() {
+        return text.length();
+    }
+
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+}
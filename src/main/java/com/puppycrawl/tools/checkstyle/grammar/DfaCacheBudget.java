@@ -0,0 +1,162 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.dfa.DFA;
+
+/**
+ * Limits the memory used by the DFA cache that ANTLR parsers share between
+ * all parsers of a grammar. The cache makes parsing faster as it grows, but
+ * is never shrunk by ANTLR, so it is cleared when it holds more states than
+ * the budget allows, or when the heap stays nearly full after garbage
+ * collection and the cache holds a noticeable share of the allowed states.
+ *
+ * <p>
+ * The budget can be shared by parsers running in parallel: only one thread
+ * at a time inspects the cache, other threads skip the inspection meanwhile.
+ * The number of states is read without locking, so it is approximate.
+ * </p>
+ */
+public final class DfaCacheBudget {
+
+    /** System property name to set the maximum number of DFA states. */
+    public static final String MAX_STATES_PROPERTY = "checkstyle.maxDfaStates";
+
+    /** System property name to set the percentage of the heap usage limit. */
+    public static final String MAX_HEAP_USAGE_PROPERTY = "checkstyle.maxDfaHeapUsage";
+
+    /** The default maximum number of DFA states. */
+    public static final int DEFAULT_MAX_STATES = 100_000;
+
+    /**
+     * The default percentage of the maximum heap used after garbage collection
+     * above which the cache is cleared.
+     */
+    public static final int DEFAULT_MAX_HEAP_USAGE = 80;
+
+    /**
+     * The divisor of the maximum number of states giving the minimum number
+     * of states to clear the cache for on high heap usage.
+     */
+    private static final int LOW_MEMORY_STATES_DIVISOR = 10;
+
+    /** The number of percents in a whole. */
+    private static final int PERCENTS = 100;
+
+    /** The maximum number of states in the cache. */
+    private final int maxStates;
+
+    /** The percentage of the maximum heap above which the cache is cleared. */
+    private final int maxHeapUsage;
+
+    /** Whether a thread is inspecting the cache now. */
+    private final AtomicBoolean inspecting = new AtomicBoolean();
+
+    /**
+     * Creates a budget.
+     *
+     * @param maxStates the maximum number of states in the cache.
+     * @param maxHeapUsage the percentage of the maximum heap above which the cache
+     *     is cleared.
+     */
+    public DfaCacheBudget(int maxStates, int maxHeapUsage) {
+        this.maxStates = maxStates;
+        this.maxHeapUsage = maxHeapUsage;
+    }
+
+    /**
+     * Creates a budget with limits set by system properties, or the default
+     * limits if the properties are not set.
+     *
+     * @return the budget.
+     * @see #MAX_STATES_PROPERTY
+     * @see #MAX_HEAP_USAGE_PROPERTY
+     */
+    public static DfaCacheBudget fromSystemProperties() {
+        return new DfaCacheBudget(
+                Integer.getInteger(MAX_STATES_PROPERTY, DEFAULT_MAX_STATES),
+                Integer.getInteger(MAX_HEAP_USAGE_PROPERTY, DEFAULT_MAX_HEAP_USAGE));
+    }
+
+    /**
+     * Clears the DFA cache of the simulator if it exceeds the budget.
+     * Does nothing if another thread is inspecting the cache.
+     *
+     * @param simulator the simulator of a parser.
+     * @return {@code true} if the cache was cleared.
+     */
+    public boolean clearIfExceeded(ParserATNSimulator simulator) {
+        boolean cleared = false;
+        if (inspecting.compareAndSet(false, true)) {
+            try {
+                final int states = countStates(simulator.decisionToDFA);
+                if (states > maxStates
+                        || states > maxStates / LOW_MEMORY_STATES_DIVISOR && isHeapUsageHigh()) {
+                    simulator.clearDFA();
+                    cleared = true;
+                }
+            }
+            finally {
+                inspecting.set(false);
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * Counts the states of the DFA cache.
+     *
+     * @param decisionToDfa the DFA of each decision.
+     * @return the number of states.
+     */
+    private static int countStates(DFA... decisionToDfa) {
+        int result = 0;
+        for (DFA dfa : decisionToDfa) {
+            result += dfa.states.size();
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the heap used after the last garbage collection exceeds
+     * the budget. The heap used now would include garbage, which is not a sign
+     * of memory pressure.
+     *
+     * @return {@code true} if the used heap exceeds the budget.
+     */
+    private boolean isHeapUsageHigh() {
+        long usedHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                usedHeap += usage.getUsed();
+            }
+        }
+        return usedHeap >= Runtime.getRuntime().maxMemory() / PERCENTS * maxHeapUsage;
+    }
+
+}
@@ -215,12 +215,7 @@ public final class JavadocUtil {
      * @return first child
      */
     public static DetailNode getFirstChild(DetailNode node) {
-        DetailNode resultNode = null;
-
-        if (node.getChildren().length > 0) {
-            resultNode = node.getChildren()[0];
-        }
-        return resultNode;
+        return node.getFirstChild();
     }
 
     /**
@@ -230,16 +225,7 @@ public final class JavadocUtil {
      * @return next sibling.
      */
     public static DetailNode getNextSibling(DetailNode node) {
-        DetailNode nextSibling = null;
-        final DetailNode parent = node.getParent();
-        if (parent != null) {
-            final int nextSiblingIndex = node.getIndex() + 1;
-            final DetailNode[] children = parent.getChildren();
-            if (nextSiblingIndex <= children.length - 1) {
-                nextSibling = children[nextSiblingIndex];
-            }
-        }
-        return nextSibling;
+        return node.getNextSibling();
     }
 
     /**
@@ -264,14 +250,7 @@ public final class JavadocUtil {
      * @return previous sibling
      */
     public static DetailNode getPreviousSibling(DetailNode node) {
-        DetailNode previousSibling = null;
-        final int previousSiblingIndex = node.getIndex() - 1;
-        if (previousSiblingIndex >= 0) {
-            final DetailNode parent = node.getParent();
-            final DetailNode[] children = parent.getChildren();
-            previousSibling = children[previousSiblingIndex];
-        }
-        return previousSibling;
+        return node.getPreviousSibling();
     }
 
     /**
@@ -25,6 +25,8 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -121,10 +123,57 @@ public final class XpathUtil {
     /** Delimiter to separate xpath results. */
     private static final String DELIMITER = "---------" + System.lineSeparator();
 
+    /** The Saxon configuration shared by all xpath expressions and trees. */
+    private static final Configuration CONFIGURATION = Configuration.newConfiguration();
+
+    /** The maximum number of compiled xpath expressions kept for reuse. */
+    private static final int MAX_COMPILED_EXPRESSIONS = 256;
+
+    /**
+     * The compiled xpath expressions by their query. The cache is emptied when it is full,
+     * so queries evaluated once, like those of the command line, do not accumulate.
+     */
+    private static final Map<String, XPathExpression> COMPILED_EXPRESSIONS =
+            new ConcurrentHashMap<>();
+
     /** Stop instances being created. **/
     private XpathUtil() {
     }
 
+    /**
+     * Returns the Saxon configuration shared by all xpath expressions and trees.
+     * The configuration is thread-safe, creating one is expensive.
+     *
+     * @return the shared configuration
+     */
+    public static Configuration getConfiguration() {
+        return CONFIGURATION;
+    }
+
+    /**
+     * Compiles an xpath query with the shared configuration. A compiled expression is
+     * immutable and may be evaluated on several threads, so each query is compiled once
+     * and the expression is shared by all modules using the same query. At most
+     * {@value #MAX_COMPILED_EXPRESSIONS} expressions are kept, modules keep their own
+     * expression anyway.
+     *
+     * @param query the xpath query
+     * @return the compiled expression
+     * @throws XPathException if the query cannot be compiled
+     */
+    public static XPathExpression compileXpath(String query) throws XPathException {
+        XPathExpression result = COMPILED_EXPRESSIONS.get(query);
+        if (result == null) {
+            // an evaluator keeps the static context of compilation, it is not thread-safe
+            result = new XPathEvaluator(CONFIGURATION).createExpression(query);
+            if (COMPILED_EXPRESSIONS.size() >= MAX_COMPILED_EXPRESSIONS) {
+                COMPILED_EXPRESSIONS.clear();
+            }
+            COMPILED_EXPRESSIONS.putIfAbsent(query, result);
+        }
+        return result;
+    }
+
     /**
      * Iterates siblings of the given node and creates new Xpath-nodes.
      *
@@ -209,8 +258,7 @@ public final class XpathUtil {
      */
     public static List<NodeInfo> getXpathItems(String xpath, AbstractNode rootNode)
             throws XPathException {
-        final XPathEvaluator xpathEvaluator = new XPathEvaluator(Configuration.newConfiguration());
-        final XPathExpression xpathExpression = xpathEvaluator.createExpression(xpath);
+        final XPathExpression xpathExpression = compileXpath(xpath);
         final XPathDynamicContext xpathDynamicContext = xpathExpression
                 .createDynamicContext(rootNode);
         final List<Item> items = xpathExpression.evaluate(xpathDynamicContext);
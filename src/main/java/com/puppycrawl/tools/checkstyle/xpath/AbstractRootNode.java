@@ -19,8 +19,8 @@
 
 package com.puppycrawl.tools.checkstyle.xpath;
 
+import com.puppycrawl.tools.checkstyle.utils.XpathUtil;
 import com.puppycrawl.tools.checkstyle.xpath.iterators.DescendantIterator;
-import net.sf.saxon.Configuration;
 import net.sf.saxon.om.AxisInfo;
 import net.sf.saxon.om.GenericTreeInfo;
 import net.sf.saxon.om.NamespaceUri;
@@ -46,7 +46,7 @@ public abstract class AbstractRootNode extends AbstractNode {
      * Creates a new {@code AbstractRootNode} instance.
      */
     protected AbstractRootNode() {
-        super(new GenericTreeInfo(Configuration.newConfiguration()));
+        super(new GenericTreeInfo(XpathUtil.getConfiguration()));
     }
 
     /**
@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.checks.naming.TypeNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.whitespace.WhitespaceAroundCheck;
+
+public class AuditProfilerTest {
+
+    @Test
+    public void testReportSortedByTime() throws Exception {
+        final AuditProfiler profiler = new AuditProfiler(false);
+        final AuditProfiler.ModuleProfile fast = profiler.getModuleProfile(new TypeNameCheck());
+        final AuditProfiler.ModuleProfile slow =
+                profiler.getModuleProfile(new WhitespaceAroundCheck());
+        fast.record(AuditProfiler.Operation.VISIT_TOKEN, fast.startSample());
+        final AuditProfiler.Sample sample = slow.startSample();
+        Thread.sleep(10);
+        slow.record(AuditProfiler.Operation.VISIT_TOKEN, sample);
+        slow.record(AuditProfiler.Operation.VISIT_TOKEN, slow.startSample());
+
+        final String[] report = getReport(profiler);
+        assertWithMessage("Invalid report size")
+                .that(report)
+                .hasLength(3);
+        assertWithMessage("Invalid header")
+                .that(report[0])
+                .isEqualTo("module,operation,calls,nanos,allocatedBytes");
+        assertWithMessage("Slow module should be first")
+                .that(report[1])
+                .startsWith("WhitespaceAroundCheck,visitToken,2,");
+        assertWithMessage("Fast module should be last")
+                .that(report[2])
+                .startsWith("TypeNameCheck,visitToken,1,");
+        assertWithMessage("Allocations should not be measured")
+                .that(report[1])
+                .endsWith(",0");
+    }
+
+    @Test
+    public void testModulesWithIdAndSameClass() throws Exception {
+        final AuditProfiler profiler = new AuditProfiler(false);
+        final TypeNameCheck first = new TypeNameCheck();
+        first.setId("first, \"id\"");
+        final TypeNameCheck second = new TypeNameCheck();
+        final TypeNameCheck third = new TypeNameCheck();
+
+        assertWithMessage("Modules of same class without id should share profile")
+                .that(profiler.getModuleProfile(second))
+                .isSameInstanceAs(profiler.getModuleProfile(third));
+        final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(first);
+        profile.record(AuditProfiler.Operation.BEGIN_TREE, profile.startSample());
+        assertWithMessage("Module id should be escaped")
+                .that(getReport(profiler)[1])
+                .startsWith("\"first, \"\"id\"\"\",beginTree,1,");
+    }
+
+    @Test
+    public void testAllocatedBytes() throws Exception {
+        final AuditProfiler profiler = new AuditProfiler(true);
+        final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(new Object());
+        final AuditProfiler.Sample sample = profile.startSample();
+        final List<byte[]> allocated = new ArrayList<>();
+        allocated.add(new byte[1024 * 1024]);
+        profile.record(AuditProfiler.Operation.PARSE, sample);
+
+        final String line = getReport(profiler)[1];
+        assertWithMessage("Allocations should be measured")
+                .that(Long.parseLong(line.substring(line.lastIndexOf(',') + 1)))
+                .isAtLeast((long) allocated.get(0).length);
+    }
+
+    @Test
+    public void testSampleIsNotCountedAsAllocated() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 14,
+                "counter of the current thread is read without allocation since Java 14");
+        final AuditProfiler profiler = new AuditProfiler(true);
+        final AuditProfiler.ModuleProfile profile = profiler.getModuleProfile(new Object());
+        profile.record(AuditProfiler.Operation.PARSE, profile.startSample());
+
+        final String line = getReport(profiler)[1];
+        assertWithMessage("Allocations of the profiler should not be measured")
+                .that(Long.parseLong(line.substring(line.lastIndexOf(',') + 1)))
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void testNestedSampleIsNotCountedInOuter() throws Exception {
+        final AuditProfiler profiler = new AuditProfiler(false);
+        final AuditProfiler.ModuleProfile outer = profiler.getModuleProfile(new TypeNameCheck());
+        final AuditProfiler.ModuleProfile inner =
+                profiler.getModuleProfile(new WhitespaceAroundCheck());
+        final AuditProfiler.Sample processSample = outer.startSample();
+        final AuditProfiler.Sample outerSample = outer.startSample();
+        final AuditProfiler.Sample innerSample = inner.startSample();
+        Thread.sleep(20);
+        inner.record(AuditProfiler.Operation.VISIT_TOKEN, innerSample);
+        outer.record(AuditProfiler.Operation.LEAVE_TOKEN, outerSample);
+        outer.record(AuditProfiler.Operation.PROCESS, processSample);
+
+        final String[] report = getReport(profiler);
+        assertWithMessage("Process should include nested measurements")
+                .that(report[1])
+                .startsWith("TypeNameCheck,process(total),1,");
+        assertWithMessage("Nested measurement should be recorded")
+                .that(report[2])
+                .startsWith("WhitespaceAroundCheck,visitToken,1,");
+        assertWithMessage("Outer measurement should not include the nested one")
+                .that(report[3])
+                .startsWith("TypeNameCheck,leaveToken,1,");
+        assertWithMessage("Outer measurement should not include the nested one")
+                .that(getNanos(report[3]))
+                .isLessThan(getNanos(report[2]));
+    }
+
+    @Test
+    public void testWriteError() {
+        final AuditProfiler profiler = new AuditProfiler(false);
+        final Writer writer = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("test");
+            }
+
+            @Override
+            public void flush() {
+                // nothing to flush
+            }
+
+            @Override
+            public void close() {
+                // nothing to close
+            }
+        };
+        final IOException exc = getExpectedThrowable(IOException.class,
+                () -> profiler.writeReport(writer));
+        assertWithMessage("Invalid exception message")
+                .that(exc.getMessage())
+                .isEqualTo("Unable to write the profiling report");
+    }
+
+    private static String[] getReport(AuditProfiler profiler) throws IOException {
+        final StringWriter writer = new StringWriter();
+        profiler.writeReport(writer);
+        return writer.toString().split("\\R");
+    }
+
+    private static long getNanos(String line) {
+        return Long.parseLong(line.split(",")[3]);
+    }
+
+}
@@ -0,0 +1,366 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
+
+public class AuditServerTest {
+
+    private static final String SECRET = "secret";
+
+    private static final String CONFIG_START = "<?xml version=\"1.0\"?>\n"
+            + "<!DOCTYPE module PUBLIC \"-//Checkstyle//DTD Checkstyle Configuration 1.3//EN\""
+            + " \"https://checkstyle.org/dtds/configuration_1_3.dtd\">\n"
+            + "<module name=\"Checker\">\n";
+
+    private static final String TREE_WALKER = "<module name=\"TreeWalker\">"
+            + "<module name=\"MemberName\"/></module>\n";
+
+    @TempDir
+    public File temporaryFolder;
+
+    @Test
+    public void testAuditReusesRootModule() throws Exception {
+        final File config = createFile("config.xml", CONFIG_START + TREE_WALKER + "</module>");
+        final File file = createFile("Test.java", "class Test { int Abc; }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+
+        final ByteArrayOutputStream firstResponse = new ByteArrayOutputStream();
+        final int firstErrorCount = server.audit(createRequest(config, file), firstResponse);
+        final Object rootModule = getRootModule(server, config);
+        final ByteArrayOutputStream secondResponse = new ByteArrayOutputStream();
+        final int secondErrorCount = server.audit(createRequest(config, file), secondResponse);
+
+        assertWithMessage("Invalid error count")
+                .that(firstErrorCount)
+                .isEqualTo(1);
+        assertWithMessage("Invalid error count of the second audit")
+                .that(secondErrorCount)
+                .isEqualTo(1);
+        assertWithMessage("Report should contain the violation")
+                .that(firstResponse.toString(StandardCharsets.UTF_8))
+                .contains("Test.java:1:18: Name 'Abc' must match pattern");
+        assertWithMessage("Reports should be the same")
+                .that(secondResponse.toString(StandardCharsets.UTF_8))
+                .isEqualTo(firstResponse.toString(StandardCharsets.UTF_8));
+        assertWithMessage("Root module should be reused")
+                .that(getRootModule(server, config))
+                .isSameInstanceAs(rootModule);
+        server.destroy();
+    }
+
+    @Test
+    public void testAuditConfiguresAgainWhenConfigurationChanges() throws Exception {
+        final File config = createFile("config.xml", CONFIG_START + TREE_WALKER + "</module>");
+        final File file = createFile("Test.java", "class Test { int Abc; }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+
+        server.audit(createRequest(config, file), new ByteArrayOutputStream());
+        final Object rootModule = getRootModule(server, config);
+        Files.writeString(config.toPath(), CONFIG_START + "</module>");
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        final int errorCount = server.audit(createRequest(config, file), response);
+
+        assertWithMessage("Changed configuration should be used")
+                .that(errorCount)
+                .isEqualTo(0);
+        assertWithMessage("Report should not contain violations")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .doesNotContain("[ERROR]");
+        assertWithMessage("Root module should be configured again")
+                .that(getRootModule(server, config))
+                .isNotSameInstanceAs(rootModule);
+        server.destroy();
+    }
+
+    @Test
+    public void testAuditConfiguresAgainWhenExternalResourceChanges() throws Exception {
+        final File suppressions = createFile("suppressions.xml", "<suppressions/>");
+        final File config = createFile("config.xml", CONFIG_START
+                + "<module name=\"SuppressionFilter\"><property name=\"file\" value=\""
+                + suppressions.getPath() + "\"/></module>\n" + TREE_WALKER + "</module>");
+        final File file = createFile("Test.java", "class Test { int Abc; }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+
+        final int errorCount = server.audit(createRequest(config, file),
+                new ByteArrayOutputStream());
+        final Object rootModule = getRootModule(server, config);
+        Files.writeString(suppressions.toPath(), "<?xml version=\"1.0\"?>\n"
+                + "<!DOCTYPE suppressions PUBLIC"
+                + " \"-//Checkstyle//DTD SuppressionFilter Configuration 1.2//EN\""
+                + " \"https://checkstyle.org/dtds/suppressions_1_2.dtd\">\n"
+                + "<suppressions><suppress checks=\"MemberName\"/></suppressions>");
+        final int changedErrorCount = server.audit(createRequest(config, file),
+                new ByteArrayOutputStream());
+
+        assertWithMessage("Invalid error count")
+                .that(errorCount)
+                .isEqualTo(1);
+        assertWithMessage("Changed suppressions should be used")
+                .that(changedErrorCount)
+                .isEqualTo(0);
+        assertWithMessage("Root module should be configured again")
+                .that(getRootModule(server, config))
+                .isNotSameInstanceAs(rootModule);
+        server.destroy();
+    }
+
+    @Test
+    public void testAuditWithInvalidConfiguration() throws Exception {
+        final File config = new File(temporaryFolder, "missing.xml");
+        final File file = createFile("Test.java", "class Test { }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        final int errorCount = server.audit(createRequest(config, file), response);
+
+        assertWithMessage("Invalid error count")
+                .that(errorCount)
+                .isEqualTo(1);
+        assertWithMessage("Report should contain the error")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .contains("Checkstyle ends with 1 errors.");
+        assertWithMessage("Root module should not be kept")
+                .that(getRootModule(server, config))
+                .isNull();
+    }
+
+    @Test
+    public void testAuditWithEmptyRequest() throws Exception {
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        final int errorCount = server.audit(createRequest(SECRET + "\n"), response);
+
+        assertWithMessage("Invalid error count")
+                .that(errorCount)
+                .isEqualTo(1);
+        assertWithMessage("Report should contain the error")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .contains("Request has no configuration location");
+    }
+
+    @Test
+    public void testAuditWithoutSecret() throws Exception {
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        final int errorCount = server.audit(new ByteArrayInputStream(new byte[0]), response);
+
+        assertWithMessage("Invalid error count")
+                .that(errorCount)
+                .isEqualTo(1);
+        assertWithMessage("Report should contain the error")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .contains("Request is not authenticated");
+    }
+
+    @Test
+    public void testAuditWithWrongSecret() throws Exception {
+        final File config = createFile("config.xml", CONFIG_START + TREE_WALKER + "</module>");
+        final File file = createFile("Test.java", "class Test { int Abc; }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        final int errorCount = server.audit(createRequest("wrong\n" + config.getPath() + "\n"
+                + file.getPath() + "\n\n"), response);
+
+        assertWithMessage("Invalid error count")
+                .that(errorCount)
+                .isEqualTo(1);
+        assertWithMessage("Report should contain the error")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .contains("Request is not authenticated");
+        assertWithMessage("Files should not be audited")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .doesNotContain("Test.java");
+        assertWithMessage("Root module should not be configured")
+                .that(getRootModule(server, config))
+                .isNull();
+    }
+
+    @Test
+    public void testAuditWithInvalidRootModule() throws Exception {
+        final File config = createFile("config.xml", CONFIG_START.replace("Checker",
+                "TreeWalker") + "</module>");
+        final File file = createFile("Test.java", "class Test { }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        final int errorCount = server.audit(createRequest(config, file), response);
+
+        assertWithMessage("Invalid error count")
+                .that(errorCount)
+                .isEqualTo(1);
+        assertWithMessage("Report should contain the error")
+                .that(response.toString(StandardCharsets.UTF_8))
+                .contains(ClassCastException.class.getName());
+        assertWithMessage("Root module should not be kept")
+                .that(getRootModule(server, config))
+                .isNull();
+    }
+
+    @Test
+    public void testServeAfterEmptyRequest() throws Exception {
+        final File config = createFile("config.xml", CONFIG_START + TREE_WALKER + "</module>");
+        final File file = createFile("Test.java", "class Test { int Abc; }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ServerSocket serverSocket =
+                new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        final CompletableFuture<Void> serverThread =
+                CompletableFuture.runAsync(() -> server.serve(serverSocket));
+
+        final String emptyRequestReport = request(serverSocket, new byte[0]);
+        final String report = request(serverSocket, createRequest(config, file).readAllBytes());
+        serverSocket.close();
+        serverThread.get();
+
+        assertWithMessage("Report should contain the error")
+                .that(emptyRequestReport)
+                .contains("Request is not authenticated");
+        assertWithMessage("Server should answer the next request")
+                .that(report)
+                .contains("Test.java:1:18: Name 'Abc' must match pattern");
+    }
+
+    @Test
+    public void testServe() throws Exception {
+        final File config = createFile("config.xml", CONFIG_START + TREE_WALKER + "</module>");
+        final File file = createFile("Test.java", "class Test { int Abc; }\n");
+        final AuditServer server = new AuditServer(new Properties(), SECRET);
+        final ServerSocket serverSocket =
+                new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        final CompletableFuture<Void> serverThread =
+                CompletableFuture.runAsync(() -> server.serve(serverSocket));
+
+        final String report = request(serverSocket, createRequest(config, file).readAllBytes());
+        serverSocket.close();
+        serverThread.get();
+
+        assertWithMessage("Report should contain the violation")
+                .that(report)
+                .contains("Test.java:1:18: Name 'Abc' must match pattern");
+        assertWithMessage("Report should contain the error count")
+                .that(report)
+                .contains("Checkstyle ends with 1 errors.");
+        assertWithMessage("Root modules should be destroyed")
+                .that(getRootModule(server, config))
+                .isNull();
+    }
+
+    @Test
+    public void testMainWithoutPort() {
+        final IllegalArgumentException exception =
+                getExpectedThrowable(IllegalArgumentException.class, AuditServer::main);
+        assertWithMessage("Invalid exception message")
+                .that(exception.getMessage())
+                .isEqualTo("Usage: AuditServer <port> <secret file>");
+    }
+
+    @Test
+    public void testCreateSecretFile() throws Exception {
+        final Path secretFile = temporaryFolder.toPath().resolve("secret");
+
+        final String secret = AuditServer.createSecretFile(secretFile);
+
+        assertWithMessage("Secret file should contain the secret")
+                .that(Files.readString(secretFile))
+                .isEqualTo(secret);
+        assertWithMessage("Secrets should differ")
+                .that(AuditServer.createSecretFile(secretFile.resolveSibling("other")))
+                .isNotEqualTo(secret);
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"),
+                "Permissions can only be read on POSIX file systems");
+        assertWithMessage("Only the owner should be able to read the secret")
+                .that(Files.getPosixFilePermissions(secretFile))
+                .isEqualTo(EnumSet.of(PosixFilePermission.OWNER_READ,
+                        PosixFilePermission.OWNER_WRITE));
+    }
+
+    @Test
+    public void testCreateSecretFileWhichExists() throws Exception {
+        final File secretFile = createFile("secret", "");
+
+        final FileAlreadyExistsException exception =
+                getExpectedThrowable(FileAlreadyExistsException.class,
+                    () -> AuditServer.createSecretFile(secretFile.toPath()));
+        assertWithMessage("Invalid exception file")
+                .that(exception.getFile())
+                .isEqualTo(secretFile.getPath());
+    }
+
+    private static String request(ServerSocket serverSocket, byte[] request)
+            throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(),
+                serverSocket.getLocalPort())) {
+            final OutputStream output = socket.getOutputStream();
+            output.write(request);
+            output.flush();
+            socket.shutdownOutput();
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        final File file = new File(temporaryFolder, name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    private static ByteArrayInputStream createRequest(File config, File file) {
+        return createRequest(SECRET + "\n" + config.getPath() + "\n" + file.getPath() + "\n\n");
+    }
+
+    private static ByteArrayInputStream createRequest(String request) {
+        return new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object getRootModule(AuditServer server, File config) {
+        final Map<String, Object> rootModules = TestUtil.getInternalState(server, "rootModules");
+        return rootModules.get(config.getPath());
+    }
+
+}
@@ -0,0 +1,238 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+public class ChangedLinesFilterTest {
+
+    private static final String GIT_DIFF = "diff --git a/src/Test.java b/src/Test.java\n"
+            + "index 1234567..89abcde 100644\n"
+            + "--- a/src/Test.java\n"
+            + "+++ b/src/Test.java\n"
+            + "@@ -3,2 +3,3 @@ class Test {\n"
+            + "-    int a;\n"
+            + "--- removed line which looks like a header\n"
+            + "+    int b;\n"
+            + "+++ added line which looks like a header\n"
+            + "+    int c;\n"
+            + "@@ -20 +21,0 @@ class Test {\n"
+            + "-    int d;\n"
+            + "\\ No newline at end of file\n"
+            + "diff --git a/src/Removed.java b/src/Removed.java\n"
+            + "--- a/src/Removed.java\n"
+            + "+++ /dev/null\n"
+            + "@@ -1 +0,0 @@\n"
+            + "-class Removed {}\n"
+            + "diff --git a/src/Added.java b/src/Added.java\n"
+            + "--- /dev/null\n"
+            + "+++ b/src/Added.java\n"
+            + "@@ -0,0 +1 @@\n"
+            + "+class Added {}\n";
+
+    @TempDir
+    public File temporaryFolder;
+
+    @Test
+    public void testChangedLines() throws IOException {
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromDiff(
+                new StringReader(GIT_DIFF), temporaryFolder);
+        final String fileName = getFile("src/Test.java").getPath();
+
+        assertWithMessage("Added lines should be changed")
+                .that(isChanged(filter, fileName, 3, 5))
+                .isTrue();
+        assertWithMessage("Lines before the hunk should not be changed")
+                .that(isChanged(filter, fileName, 1, 2))
+                .isFalse();
+        assertWithMessage("Lines after the hunk should not be changed")
+                .that(isChanged(filter, fileName, 6, 20))
+                .isFalse();
+        assertWithMessage("Lines around removed lines should be changed")
+                .that(isChanged(filter, fileName, 21, 22))
+                .isTrue();
+        assertWithMessage("Lines after removed lines should not be changed")
+                .that(isChanged(filter, fileName, 23, 23))
+                .isFalse();
+        assertWithMessage("Lines of added file should be changed")
+                .that(isChanged(filter, getFile("src/Added.java").getPath(), 1, 1))
+                .isTrue();
+        assertWithMessage("Removed file should not be changed")
+                .that(filter.isChanged(getFile("src/Removed.java")))
+                .isFalse();
+        assertWithMessage("Lines which look like headers should not be file names")
+                .that(filter.isChanged(getFile("added line which looks like a header")))
+                .isFalse();
+    }
+
+    @Test
+    public void testDiffWithoutGitPrefixes() throws IOException {
+        final String diff = "--- Test.java.orig\t2025-01-01 00:00:00\n"
+                + "+++ Test.java\t2025-01-01 00:00:01\n"
+                + "@@ -1,3 +1,3 @@\n"
+                + " class Test {\n"
+                + "-    int a;\n"
+                + "+    int b;\n"
+                + " }\n";
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromDiff(
+                new StringReader(diff), temporaryFolder);
+
+        assertWithMessage("File should be changed")
+                .that(filter.isChanged(getFile("Test.java")))
+                .isTrue();
+        assertWithMessage("Hunk lines should be changed")
+                .that(isChanged(filter, getFile("Test.java").getPath(), 1, 3))
+                .isTrue();
+        assertWithMessage("Lines after the hunk should not be changed")
+                .that(isChanged(filter, getFile("Test.java").getPath(), 4, 4))
+                .isFalse();
+    }
+
+    @Test
+    public void testAccept() throws IOException {
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromDiff(
+                new StringReader(GIT_DIFF), temporaryFolder);
+        final String fileName = getFile("src/Test.java").getPath();
+        final String otherFileName = getFile("src/Other.java").getPath();
+
+        assertWithMessage("Event on a changed line should be accepted")
+                .that(filter.accept(createEvent(fileName, 4)))
+                .isTrue();
+        assertWithMessage("Event on an unchanged line should not be accepted")
+                .that(filter.accept(createEvent(fileName, 10)))
+                .isFalse();
+        assertWithMessage("Event without line of a changed file should be accepted")
+                .that(filter.accept(createEvent(fileName, 0)))
+                .isTrue();
+        assertWithMessage("Event without line of an unchanged file should not be accepted")
+                .that(filter.accept(createEvent(otherFileName, 0)))
+                .isFalse();
+        assertWithMessage("Event without violation should be accepted")
+                .that(filter.accept(new AuditEvent(this, otherFileName)))
+                .isTrue();
+        assertWithMessage("Event without file name should be accepted")
+                .that(filter.accept(createEvent(null, 1)))
+                .isTrue();
+    }
+
+    @Test
+    public void testAcceptWithEventBaseDirectory() throws IOException {
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromDiff(
+                new StringReader(GIT_DIFF), temporaryFolder);
+        filter.setEventBaseDirectory(getFile("src").getPath());
+
+        assertWithMessage("Event with name relative to base directory should be accepted")
+                .that(filter.accept(createEvent("Test.java", 4)))
+                .isTrue();
+        assertWithMessage("Event on an unchanged line should not be accepted")
+                .that(filter.accept(createEvent("Test.java", 10)))
+                .isFalse();
+        assertWithMessage("Event with absolute name should be accepted")
+                .that(filter.accept(createEvent(getFile("src/Test.java").getPath(), 4)))
+                .isTrue();
+
+        filter.setEventBaseDirectory(null);
+        assertWithMessage("Event with name relative to current directory should not match")
+                .that(filter.accept(createEvent("Test.java", 4)))
+                .isFalse();
+    }
+
+    @Test
+    public void testFromGitRevision() throws Exception {
+        final File directory = new File("").getAbsoluteFile();
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromGitRevision("HEAD", directory);
+
+        assertWithMessage("Files which are not tracked should not be changed")
+                .that(filter.isChanged(new File(temporaryFolder, "Test.java")))
+                .isFalse();
+    }
+
+    @Test
+    public void testFromGitRevisionWithInvalidRevision() {
+        final File directory = new File("").getAbsoluteFile();
+        final CheckstyleException exception = getExpectedThrowable(CheckstyleException.class,
+                () -> ChangedLinesFilter.fromGitRevision("invalid-revision", directory));
+
+        assertWithMessage("Invalid exception message")
+                .that(exception.getMessage())
+                .startsWith("git diff of revision 'invalid-revision' failed with exit code");
+    }
+
+    @Test
+    public void testLineRangesAreMerged() throws IOException {
+        final String diff = "--- a/Test.java\n"
+                + "+++ b/Test.java\n"
+                + "@@ -10 +10,2 @@\n"
+                + "+a\n"
+                + "+b\n"
+                + "@@ -2 +1,3 @@\n"
+                + "+c\n"
+                + "+d\n"
+                + "+e\n"
+                + "@@ -5 +4 @@\n"
+                + "+f\n";
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromDiff(
+                new StringReader(diff), temporaryFolder);
+        final ChangedLinesFilter.LineRanges ranges =
+                filter.getChangedLines(getFile("Test.java").getPath());
+
+        assertWithMessage("Lines of merged ranges should be changed")
+                .that(ranges.intersects(4, 4))
+                .isTrue();
+        assertWithMessage("Lines between ranges should not be changed")
+                .that(ranges.intersects(5, 9))
+                .isFalse();
+        assertWithMessage("Lines of the last range should be changed")
+                .that(ranges.intersects(11, 15))
+                .isTrue();
+        assertWithMessage("Lines after the last range should not be changed")
+                .that(ranges.intersects(12, 15))
+                .isFalse();
+    }
+
+    private File getFile(String name) {
+        return new File(temporaryFolder, name);
+    }
+
+    private static boolean isChanged(ChangedLinesFilter filter, String fileName,
+            int first, int last) {
+        return filter.getChangedLines(fileName).intersects(first, last);
+    }
+
+    private AuditEvent createEvent(String fileName, int line) {
+        final Violation violation = new Violation(line, 0, "bundle", "key", null,
+                SeverityLevel.ERROR, null, getClass(), null);
+        return new AuditEvent(this, fileName, violation);
+    }
+
+}
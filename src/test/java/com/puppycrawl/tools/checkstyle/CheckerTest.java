@@ -37,6 +37,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -78,8 +80,11 @@ import com.puppycrawl.tools.checkstyle.api.Violation;
 import com.puppycrawl.tools.checkstyle.checks.NewlineAtEndOfFileCheck;
 import com.puppycrawl.tools.checkstyle.checks.TranslationCheck;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.TypeNameCheck;
 import com.puppycrawl.tools.checkstyle.checks.sizes.LineLengthCheck;
 import com.puppycrawl.tools.checkstyle.filefilters.BeforeExecutionExclusionFileFilter;
+import com.puppycrawl.tools.checkstyle.filters.SeverityMatchFilter;
+import com.puppycrawl.tools.checkstyle.filters.SuppressWithNearbyCommentFilter;
 import com.puppycrawl.tools.checkstyle.filters.SuppressionFilter;
 import com.puppycrawl.tools.checkstyle.internal.testmodules.CheckWhichThrowsError;
 import com.puppycrawl.tools.checkstyle.internal.testmodules.DebugAuditAdapter;
@@ -731,6 +736,46 @@ public class CheckerTest extends AbstractModuleTestSupport {
             .hasSize(expectedNumberOfObjectsInCacheAfterSecondRun);
     }
 
+    @Test
+    public void testProfiler() throws Exception {
+        final DefaultConfiguration checkConfig = createModuleConfig(LineLengthCheck.class);
+        checkConfig.addProperty("max", "1");
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        final DefaultConfiguration typeNameConfig = createModuleConfig(TypeNameCheck.class);
+        typeNameConfig.addProperty("format", "^x$");
+        treeWalkerConfig.addChild(typeNameConfig);
+        treeWalkerConfig.addChild(createModuleConfig(HiddenFieldCheck.class));
+        treeWalkerConfig.addChild(createModuleConfig(SuppressWithNearbyCommentFilter.class));
+        final DefaultConfiguration checkerConfig = createRootConfig(checkConfig);
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(createModuleConfig(SeverityMatchFilter.class));
+
+        final AuditProfiler profiler = new AuditProfiler(false);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.setProfiler(profiler);
+        checker.configure(checkerConfig);
+        checker.process(Collections.singletonList(new File(getPath("InputChecker.java"))));
+        checker.destroy();
+
+        final StringWriter report = new StringWriter();
+        profiler.writeReport(report);
+        final List<String> measured = Arrays.stream(report.toString().split("\\R"))
+                .skip(1)
+                .map(line -> line.substring(0, line.indexOf(',', line.indexOf(',') + 1)))
+                .collect(Collectors.toUnmodifiableList());
+        assertWithMessage("Invalid measured operations")
+                .that(measured)
+                .containsExactly("Checker,read", "LineLengthCheck,process(total)",
+                        "TreeWalker,process(total)", "TreeWalker,parse",
+                        "HiddenFieldCheck,beginTree", "HiddenFieldCheck,visitToken",
+                        "HiddenFieldCheck,leaveToken", "HiddenFieldCheck,finishTree",
+                        "TypeNameCheck,beginTree",
+                        "TypeNameCheck,visitToken", "TypeNameCheck,finishTree",
+                        "SuppressWithNearbyCommentFilter,accept",
+                        "SeverityMatchFilter,accept");
+    }
+
     @Test
     public void testClearCache() throws Exception {
         final DefaultConfiguration violationCheck =
@@ -1436,6 +1481,24 @@ public class CheckerTest extends AbstractModuleTestSupport {
             .isEqualTo(expected);
     }
 
+    @Test
+    public void testProcessKeepingFileSetChecks() throws Exception {
+        final DummyFileSet fileSet = new DummyFileSet();
+        final Checker checker = new Checker();
+        checker.addFileSetCheck(fileSet);
+        checker.processKeepingFileSetChecks(Collections.singletonList(new File("dummy.java")));
+        checker.processKeepingFileSetChecks(Collections.singletonList(new File("dummy.java")));
+        assertWithMessage("File sets should be kept between audits")
+            .that(fileSet.getMethodCalls())
+            .isEqualTo(Arrays.asList("beginProcessing", "finishProcessing",
+                "beginProcessing", "finishProcessing"));
+        checker.destroyFileSetChecks();
+        assertWithMessage("File sets should be destroyed")
+            .that(fileSet.getMethodCalls())
+            .isEqualTo(Arrays.asList("beginProcessing", "finishProcessing",
+                "beginProcessing", "finishProcessing", "destroy"));
+    }
+
     @Test
     public void testSetFileSetCheckSetsMessageDispatcher() {
         final DummyFileSet fileSet = new DummyFileSet();
@@ -1741,6 +1804,310 @@ public class CheckerTest extends AbstractModuleTestSupport {
                 tempFile.getName(), expected);
     }
 
+    @Test
+    public void testFiltersReceiveFileTextOfProcessedFile() throws Exception {
+        final List<FileText> fileTexts = new ArrayList<>();
+        final DummyFileSetViolationCheck check = new DummyFileSetViolationCheck();
+        check.configure(new DefaultConfiguration("check"));
+        final Checker checker = new Checker();
+        checker.addFileSetCheck(check);
+        checker.addFilter(event -> {
+            fileTexts.add(event.getFileText());
+            return true;
+        });
+        final File file = createTempFile("file", ".java");
+        Files.writeString(file.toPath(), "class Test {}");
+
+        checker.process(Collections.singletonList(file));
+
+        assertWithMessage("Filter should be called once")
+                .that(fileTexts)
+                .hasSize(1);
+        assertWithMessage("Filter should receive file text read by checker")
+                .that(fileTexts.get(0).get(0))
+                .isEqualTo("class Test {}");
+    }
+
+    @Test
+    public void testMultiThreadModeOutputIsSameAsSingleThreadMode() throws Exception {
+        final String[] files = {
+            getPath("InputChecker.java"),
+            getPath("InputCheckerTabCharacter.java"),
+            getPath("InputCheckerTestCharset.java"),
+            getPath("InputCheckerTestSeverity.java"),
+            getPath("InputCheckerClearDetailAstLazyLoadCache.java"),
+        };
+
+        final String singleThreadOutput = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, files);
+        final String multiThreadOutput = processWithXmlLogger(
+                new ThreadModeSettings(3, 1), files);
+
+        assertWithMessage("Output in multi thread mode should be the same")
+                .that(multiThreadOutput)
+                .isEqualTo(singleThreadOutput);
+        assertWithMessage("Output should contain violations")
+                .that(multiThreadOutput)
+                .contains("<error ");
+    }
+
+    @Test
+    public void testMultiThreadModeHaltOnException() throws Exception {
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createModuleConfig(CheckWhichThrowsError.class));
+        final DefaultConfiguration checkerConfig =
+                new DefaultConfiguration("checkstyle_checks", new ThreadModeSettings(2, 1));
+        checkerConfig.addChild(treeWalkerConfig);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+
+        final String filePath = getPath("InputChecker.java");
+        try {
+            checker.process(Collections.singletonList(new File(filePath)));
+            assertWithMessage("Exception is expected").fail();
+        }
+        catch (CheckstyleException exc) {
+            assertWithMessage("Error message is not expected")
+                .that(exc.getMessage())
+                .isEqualTo("Exception was thrown while processing " + filePath);
+        }
+    }
+
+    @Test
+    public void testContentCacheReplaysViolationsWithoutFilters() throws Exception {
+        final File cacheFile = createTempFile("junit");
+        final String[] files = {
+            getPath("InputChecker.java"),
+            getPath("InputCheckerTabCharacter.java"),
+        };
+        final List<AuditEvent> firstRunEvents = new ArrayList<>();
+        final String firstRunOutput = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, cacheFile, firstRunEvents, files);
+        final List<AuditEvent> secondRunEvents = new ArrayList<>();
+        final String secondRunOutput = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, cacheFile, secondRunEvents, files);
+
+        assertWithMessage("Output should contain violations")
+                .that(firstRunOutput)
+                .contains("<error ");
+        assertWithMessage("Filters should be called on first run")
+                .that(firstRunEvents)
+                .isNotEmpty();
+        assertWithMessage("Cached violations should not be filtered again")
+                .that(secondRunEvents)
+                .isEmpty();
+        assertWithMessage("Output from cache should be the same")
+                .that(secondRunOutput)
+                .isEqualTo(firstRunOutput);
+    }
+
+    @Test
+    public void testContentCacheRechecksChangedFile() throws Exception {
+        final File cacheFile = createTempFile("junit");
+        final File file = createTempFile("file", ".java");
+        Files.writeString(file.toPath(), "class Test {}\n");
+        processWithXmlLogger(ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, cacheFile,
+                new ArrayList<>(), file.getPath());
+
+        Files.writeString(file.toPath(), "class Test {}");
+        final List<AuditEvent> events = new ArrayList<>();
+        final String output = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, cacheFile, events,
+                file.getPath());
+
+        assertWithMessage("Changed file should be checked again")
+                .that(events)
+                .hasSize(1);
+        assertWithMessage("Output should contain violation of changed file")
+                .that(output)
+                .contains(NewlineAtEndOfFileCheck.class.getName());
+    }
+
+    @Test
+    public void testChangedLinesFilterWithBasedir() throws Exception {
+        final File file = createChangedLinesInput();
+        final String output = processWithChangedLinesFilter(file, null, true);
+
+        assertWithMessage("Violation on changed line should be reported")
+                .that(output)
+                .contains("line=\"3\"");
+        assertWithMessage("Violation on unchanged line should not be reported")
+                .that(output)
+                .doesNotContain("line=\"2\"");
+    }
+
+    @Test
+    public void testContentCacheIsNotUsedWithChangedLinesFilter() throws Exception {
+        final File file = createChangedLinesInput();
+        final File cacheFile = new File(temporaryFolder, "cache");
+        processWithChangedLinesFilter(file, cacheFile, true);
+        assertWithMessage("Content cache should not be written with changed lines filter")
+                .that(cacheFile.exists())
+                .isFalse();
+        final String output = processWithChangedLinesFilter(file, cacheFile, false);
+
+        assertWithMessage("Violation on unchanged line should be reported without filter")
+                .that(output)
+                .contains("line=\"2\"");
+    }
+
+    @Test
+    public void testContentCacheInMultiThreadMode() throws Exception {
+        final File cacheFile = createTempFile("junit");
+        final String[] files = {
+            getPath("InputChecker.java"),
+            getPath("InputCheckerTabCharacter.java"),
+            getPath("InputCheckerTestCharset.java"),
+        };
+        final String singleThreadOutput = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, files);
+        processWithXmlLogger(new ThreadModeSettings(2, 1), cacheFile, new ArrayList<>(),
+                files[0]);
+        final List<AuditEvent> events = new ArrayList<>();
+        final String multiThreadOutput = processWithXmlLogger(
+                new ThreadModeSettings(2, 1), cacheFile, events, files);
+
+        assertWithMessage("Output in multi thread mode with cache should be the same")
+                .that(multiThreadOutput)
+                .isEqualTo(singleThreadOutput);
+        assertWithMessage("Cached file should not be filtered again")
+                .that(events.stream().map(AuditEvent::getFileName).collect(Collectors.toSet()))
+                .doesNotContain(files[0]);
+    }
+
+    @Test
+    public void testPrefetchFilesOutputIsSameAsWithoutPrefetch() throws Exception {
+        final File cacheFile = createTempFile("junit");
+        final String[] files = {
+            getPath("InputChecker.java"),
+            getPath("InputCheckerTabCharacter.java"),
+            getPath("InputCheckerTestCharset.java"),
+            getPath("InputCheckerTestSeverity.java"),
+            getPath("InputCheckerMissingFile.java"),
+        };
+        final String output = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, files);
+        processWithXmlLogger(ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, cacheFile, 2,
+                new ArrayList<>(), files[1]);
+        final List<AuditEvent> events = new ArrayList<>();
+        final String prefetchOutput = processWithXmlLogger(
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, cacheFile, 2, events, files);
+
+        assertWithMessage("Output with files read ahead should be the same")
+                .that(prefetchOutput)
+                .isEqualTo(output);
+        assertWithMessage("Output should contain violations of missing file")
+                .that(prefetchOutput)
+                .contains("InputCheckerMissingFile.java");
+        assertWithMessage("Cached file should not be filtered again")
+                .that(events.stream().map(AuditEvent::getFileName).collect(Collectors.toSet()))
+                .doesNotContain(files[1]);
+    }
+
+    @Test
+    public void testPrefetchFilesIsIgnoredInMultiThreadMode() throws Exception {
+        final DefaultConfiguration checkerConfig =
+                new DefaultConfiguration("checkstyle_checks", new ThreadModeSettings(2, 1));
+        checkerConfig.addProperty("prefetchFiles", "2");
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+
+        assertWithMessage("Files should be read by worker threads")
+                .that((Object) TestUtil.getInternalState(checker, "filePrefetcher"))
+                .isNull();
+    }
+
+    private static String processWithXmlLogger(ThreadModeSettings threadModeSettings,
+            String... files) throws Exception {
+        return processWithXmlLogger(threadModeSettings, null, new ArrayList<>(), files);
+    }
+
+    private static String processWithXmlLogger(ThreadModeSettings threadModeSettings,
+            File contentCacheFile, List<AuditEvent> filteredEvents, String... files)
+            throws Exception {
+        return processWithXmlLogger(threadModeSettings, contentCacheFile, 0, filteredEvents,
+                files);
+    }
+
+    private static String processWithXmlLogger(ThreadModeSettings threadModeSettings,
+            File contentCacheFile, int prefetchFiles, List<AuditEvent> filteredEvents,
+            String... files) throws Exception {
+        final DefaultConfiguration treeWalkerConfig =
+                new DefaultConfiguration(TreeWalker.class.getName(), threadModeSettings);
+        treeWalkerConfig.addChild(new DefaultConfiguration(
+                HiddenFieldCheck.class.getName(), threadModeSettings));
+        final DefaultConfiguration lineLengthConfig = new DefaultConfiguration(
+                LineLengthCheck.class.getName(), threadModeSettings);
+        lineLengthConfig.addProperty("max", "40");
+        final DefaultConfiguration checkerConfig =
+                new DefaultConfiguration("checkstyle_checks", threadModeSettings);
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(lineLengthConfig);
+        checkerConfig.addChild(new DefaultConfiguration(
+                NewlineAtEndOfFileCheck.class.getName(), threadModeSettings));
+        checkerConfig.addChild(new DefaultConfiguration(
+                TranslationCheck.class.getName(), threadModeSettings));
+        if (contentCacheFile != null) {
+            checkerConfig.addProperty("contentCacheFile", contentCacheFile.getPath());
+        }
+        if (prefetchFiles > 0) {
+            checkerConfig.addProperty("prefetchFiles", String.valueOf(prefetchFiles));
+        }
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addFilter(event -> {
+            filteredEvents.add(event);
+            return true;
+        });
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checker.addListener(new XMLLogger(out, OutputStreamOptions.CLOSE));
+
+        final List<File> filesToProcess = Arrays.stream(files)
+                .map(File::new)
+                .collect(Collectors.toUnmodifiableList());
+        checker.process(filesToProcess);
+        checker.destroy();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private File createChangedLinesInput() throws IOException {
+        final File directory = new File(temporaryFolder, "src");
+        final File file = new File(directory, "Test.java");
+        Files.createDirectories(directory.toPath());
+        Files.writeString(file.toPath(), "class Test {\n    int unchanged;\n"
+                + "    int changed;\n}\n");
+        return file;
+    }
+
+    private String processWithChangedLinesFilter(File file, File contentCacheFile,
+            boolean withFilter) throws Exception {
+        final DefaultConfiguration lineLengthConfig = createModuleConfig(LineLengthCheck.class);
+        lineLengthConfig.addProperty("max", "5");
+        final DefaultConfiguration checkerConfig = createRootConfig(lineLengthConfig);
+        checkerConfig.addProperty("basedir", file.getParent());
+        if (contentCacheFile != null) {
+            checkerConfig.addProperty("contentCacheFile", contentCacheFile.getPath());
+        }
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        if (withFilter) {
+            checker.setChangedLinesFilter(ChangedLinesFilter.fromDiff(new StringReader(
+                    "--- a/src/Test.java\n+++ b/src/Test.java\n@@ -3 +3 @@\n"
+                            + "+    int changed;\n"), temporaryFolder));
+        }
+        checker.configure(checkerConfig);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checker.addListener(new XMLLogger(out, OutputStreamOptions.CLOSE));
+        checker.process(List.of(file));
+        checker.destroy();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
     public static class DefaultLoggerWithCounter extends DefaultLogger {
 
         private int fileStartedCount;
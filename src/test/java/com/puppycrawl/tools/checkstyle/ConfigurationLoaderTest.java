@@ -104,16 +104,41 @@ public class ConfigurationLoaderTest extends AbstractPathTestSupport {
         final ThreadModeSettings multiThreadModeSettings =
             new ThreadModeSettings(4, 2);
 
-        try {
-            ConfigurationLoader.loadConfiguration(
+        final DefaultConfiguration config =
+            (DefaultConfiguration) ConfigurationLoader.loadConfiguration(
                 configPath, propertiesExpander, multiThreadModeSettings);
-            assertWithMessage("An exception is expected").fail();
-        }
-        catch (IllegalArgumentException exc) {
-            assertWithMessage("Invalid exception message")
-                .that(exc.getMessage())
-                .isEqualTo("Multi thread mode for Checker module is not implemented");
-        }
+        final DefaultConfiguration treeWalkerConfig =
+            (DefaultConfiguration) config.getChildren()[0];
+
+        assertWithMessage("Invalid tree walker module name")
+            .that(treeWalkerConfig.getName())
+            .isEqualTo("TreeWalker");
+        assertWithMessage("Invalid thread mode settings")
+            .that(treeWalkerConfig.getThreadModeSettings())
+            .isEqualTo(multiThreadModeSettings);
+    }
+
+    @Test
+    public void testResourceLoadConfigurationWithMultiThreadCheckerConfiguration()
+            throws Exception {
+        final Properties props = new Properties();
+        props.setProperty("checkstyle.basedir", "basedir");
+
+        final PropertiesExpander propertiesExpander = new PropertiesExpander(props);
+        final String configPath = getPath("InputConfigurationLoaderChecks.xml");
+        final ThreadModeSettings multiThreadModeSettings =
+            new ThreadModeSettings(4, 1);
+
+        final DefaultConfiguration config =
+            (DefaultConfiguration) ConfigurationLoader.loadConfiguration(
+                configPath, propertiesExpander, multiThreadModeSettings);
+
+        assertWithMessage("Invalid thread mode settings")
+            .that(config.getThreadModeSettings())
+            .isEqualTo(multiThreadModeSettings);
+        assertWithMessage("Invalid root module name")
+            .that(config.getName())
+            .isEqualTo("Checker");
     }
 
     @Test
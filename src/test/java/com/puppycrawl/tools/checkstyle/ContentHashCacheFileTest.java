@@ -0,0 +1,401 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
+
+public class ContentHashCacheFileTest {
+
+    @TempDir
+    public File temporaryFolder;
+
+    @Test
+    public void testCtor() {
+        final Configuration config = new DefaultConfiguration("myName");
+        final ClassLoader classLoader = getClass().getClassLoader();
+        final IllegalArgumentException configException =
+                getExpectedThrowable(IllegalArgumentException.class,
+                    () -> new ContentHashCacheFile(null, "", classLoader));
+        assertWithMessage("Invalid exception message")
+                .that(configException.getMessage())
+                .isEqualTo("config can not be null");
+        final IllegalArgumentException fileNameException =
+                getExpectedThrowable(IllegalArgumentException.class,
+                    () -> new ContentHashCacheFile(config, null, classLoader));
+        assertWithMessage("Invalid exception message")
+                .that(fileNameException.getMessage())
+                .isEqualTo("fileName can not be null");
+        final IllegalArgumentException classLoaderException =
+                getExpectedThrowable(IllegalArgumentException.class,
+                    () -> new ContentHashCacheFile(config, "", null));
+        assertWithMessage("Invalid exception message")
+                .that(classLoaderException.getMessage())
+                .isEqualTo("classLoader can not be null");
+    }
+
+    @Test
+    public void testViolationsAreReplayedAfterReload() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+        final SortedSet<Violation> violations = createViolations();
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        assertWithMessage("New file should not be in cache")
+                .that(read(cache, "Test.java", file))
+                .isNull();
+        cache.put("Test.java", violations);
+        cache.persist();
+
+        final ContentHashCacheFile reloadedCache = createCache(config, cacheFile);
+        assertWithMessage("Unchanged file should be in cache")
+                .that(isInCache(reloadedCache, "Test.java", file))
+                .isTrue();
+        final SortedSet<Violation> cachedViolations = read(reloadedCache, "Test.java", file);
+        assertWithMessage("Cached violations have unexpected size")
+                .that(cachedViolations)
+                .hasSize(violations.size());
+        final Violation expected = violations.first();
+        final Violation actual = cachedViolations.first();
+        assertWithMessage("Message should be the same")
+                .that(actual.getViolation())
+                .isEqualTo(expected.getViolation());
+        assertWithMessage("Line should be the same")
+                .that(actual.getLineNo())
+                .isEqualTo(expected.getLineNo());
+        assertWithMessage("Column should be the same")
+                .that(actual.getColumnNo())
+                .isEqualTo(expected.getColumnNo());
+        assertWithMessage("Column char index should be the same")
+                .that(actual.getColumnCharIndex())
+                .isEqualTo(expected.getColumnCharIndex());
+        assertWithMessage("Token type should be the same")
+                .that(actual.getTokenType())
+                .isEqualTo(expected.getTokenType());
+        assertWithMessage("Severity should be the same")
+                .that(actual.getSeverityLevel())
+                .isEqualTo(expected.getSeverityLevel());
+        assertWithMessage("Module id should be the same")
+                .that(actual.getModuleId())
+                .isEqualTo(expected.getModuleId());
+        assertWithMessage("Key should be the same")
+                .that(actual.getKey())
+                .isEqualTo(expected.getKey());
+        assertWithMessage("Source should be the same")
+                .that(actual.getSourceName())
+                .isEqualTo(expected.getSourceName());
+    }
+
+    @Test
+    public void testFileWithoutViolationsIsCached() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", new TreeSet<>());
+        cache.persist();
+
+        assertWithMessage("File without violations should be in cache")
+                .that(read(createCache(config, cacheFile), "Test.java", file))
+                .isEmpty();
+    }
+
+    @Test
+    public void testChangedFileIsNotInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.persist();
+        Files.writeString(file.toPath(), "class Test { }");
+
+        final ContentHashCacheFile reloadedCache = createCache(config, cacheFile);
+        assertWithMessage("Changed file should not be in cache")
+                .that(isInCache(reloadedCache, "Test.java", file))
+                .isFalse();
+        assertWithMessage("Changed file should not be in cache")
+                .that(read(reloadedCache, "Test.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testFileChangedAfterCacheHitIsNotInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        assertWithMessage("Unchanged file should be in cache")
+                .that(read(cache, "Test.java", file))
+                .isNotNull();
+        final Map<String, byte[]> contentHashes =
+                TestUtil.getInternalState(cache, "contentHashes");
+        assertWithMessage("Hash of a cached file should not be remembered")
+                .that(contentHashes)
+                .isEmpty();
+        Files.writeString(file.toPath(), "class Test { }");
+
+        assertWithMessage("File changed after a cache hit should not be in cache")
+                .that(isInCache(cache, "Test.java", file))
+                .isFalse();
+        assertWithMessage("File changed after a cache hit should not be in cache")
+                .that(read(cache, "Test.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testOtherFileNameIsNotInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+
+        assertWithMessage("File should be cached under its own name only")
+                .that(read(cache, "Other.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testConfigurationChangeResetsCache() throws IOException {
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache =
+                createCache(new DefaultConfiguration("myName"), cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.persist();
+
+        assertWithMessage("Cache should be reset for another configuration")
+                .that(read(createCache(new DefaultConfiguration("otherName"), cacheFile),
+                        "Test.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testExternalResourceChangeResetsCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+        final File resource = createFile("suppressions.xml", "<suppressions/>");
+        final String location = resource.getPath();
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        cache.putExternalResources(Collections.singleton(location));
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.persist();
+
+        final ContentHashCacheFile unchangedCache = createCache(config, cacheFile);
+        unchangedCache.putExternalResources(Collections.singleton(location));
+        assertWithMessage("Cache should be kept when resources are the same")
+                .that(read(unchangedCache, "Test.java", file))
+                .isNotNull();
+
+        Files.writeString(resource.toPath(), "<suppressions></suppressions>");
+        final ContentHashCacheFile changedCache = createCache(config, cacheFile);
+        changedCache.putExternalResources(Collections.singleton(location));
+        assertWithMessage("Cache should be reset when resource is changed")
+                .that(read(changedCache, "Test.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testBrokenCacheFileIsIgnored() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = createFile("cache", "broken");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        assertWithMessage("Broken cache should be empty")
+                .that(read(cache, "Test.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testTruncatedCacheFileIsIgnored() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.persist();
+        final byte[] content = Files.readAllBytes(cacheFile.toPath());
+        Files.write(cacheFile.toPath(), Arrays.copyOf(content, content.length - 1));
+
+        assertWithMessage("Truncated cache should be empty")
+                .that(read(createCache(config, cacheFile), "Test.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testUnknownSourceOfViolationIsNotReplayed() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.persist();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0], null)) {
+            final ContentHashCacheFile otherCache =
+                    new ContentHashCacheFile(config, cacheFile.getPath(), classLoader);
+            otherCache.load();
+            assertWithMessage("Violations of unknown source should not be replayed")
+                    .that(read(otherCache, "Test.java", file))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void testUnreadableFileIsNotCached() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = new File(temporaryFolder, "Missing.java");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        assertWithMessage("File which was not read should not be in cache")
+                .that(cache.get("Missing.java"))
+                .isNull();
+        cache.put("Missing.java", createViolations());
+        cache.persist();
+
+        Files.writeString(file.toPath(), "");
+        assertWithMessage("File which was not read should not be cached")
+                .that(read(createCache(config, cacheFile), "Missing.java", file))
+                .isNull();
+    }
+
+    @Test
+    public void testViolationsAreStoredWithCheckedContent() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        Files.writeString(file.toPath(), "class Test { }");
+        cache.put("Test.java", createViolations());
+        cache.persist();
+
+        final ContentHashCacheFile reloadedCache = createCache(config, cacheFile);
+        assertWithMessage("File changed after it was read should not be in cache")
+                .that(read(reloadedCache, "Test.java", file))
+                .isNull();
+        Files.writeString(file.toPath(), "class Test {}");
+        assertWithMessage("Violations should be stored with the content which was read")
+                .that(read(reloadedCache, "Test.java", file))
+                .isNotNull();
+    }
+
+    @Test
+    public void testRemoveAndReset() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final File cacheFile = new File(temporaryFolder, "cache");
+        final File file = createFile("Test.java", "class Test {}");
+
+        final ContentHashCacheFile cache = createCache(config, cacheFile);
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.remove("Test.java");
+        assertWithMessage("Removed file should not be in cache")
+                .that(isInCache(cache, "Test.java", file))
+                .isFalse();
+
+        read(cache, "Test.java", file);
+        cache.put("Test.java", createViolations());
+        cache.reset();
+        assertWithMessage("Cache should be empty after reset")
+                .that(isInCache(cache, "Test.java", file))
+                .isFalse();
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        final File file = new File(temporaryFolder, name);
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static SortedSet<Violation> read(ContentHashCacheFile cache, String name,
+            File file) throws IOException {
+        cache.putContentHash(name, new FileText(file, StandardCharsets.UTF_8.name()));
+        return cache.get(name);
+    }
+
+    private static boolean isInCache(ContentHashCacheFile cache, String name, File file)
+            throws IOException {
+        cache.putContentHash(name, new FileText(file, StandardCharsets.UTF_8.name()));
+        return cache.isInCache(name);
+    }
+
+    private ContentHashCacheFile createCache(Configuration config, File cacheFile)
+            throws IOException {
+        final ContentHashCacheFile cache = new ContentHashCacheFile(config,
+                cacheFile.getPath(), getClass().getClassLoader());
+        cache.load();
+        return cache;
+    }
+
+    private static SortedSet<Violation> createViolations() {
+        final SortedSet<Violation> violations = new TreeSet<>();
+        violations.add(new Violation(3, 5, 4, 58, "messages", "hidden.field",
+                new Object[] {"it's {0}"}, SeverityLevel.WARNING, "moduleId",
+                HiddenFieldCheck.class, "''{0}'' hides a field '{'}'."));
+        return violations;
+    }
+
+}
@@ -29,7 +29,6 @@ import java.nio.file.Files;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -385,9 +384,8 @@ public class DetailAstImplTest extends AbstractModuleTestSupport {
         final List<Consumer<DetailAstImpl>> clearBranchTokenTypesMethods = Arrays.asList(
                 child::setFirstChild,
                 child::setNextSibling,
-                child::addPreviousSibling,
-                child::addNextSibling,
-                child::addChild,
+            ast -> child.removeChildren(),
+            ast -> child.setType(TokenTypes.IDENT),
             ast -> {
                 try {
                     TestUtil.invokeMethod(child, "setParent", ast);
@@ -400,25 +398,89 @@ public class DetailAstImplTest extends AbstractModuleTestSupport {
         );
 
         for (Consumer<DetailAstImpl> method : clearBranchTokenTypesMethods) {
-            final BitSet branchTokenTypes = TestUtil.invokeMethod(parent, "getBranchTokenTypes");
+            final long[] branchTokenTypes = TestUtil.invokeMethod(parent, "getBranchTokenTypes");
             method.accept(null);
-            final BitSet branchTokenTypes2 = TestUtil.invokeMethod(parent, "getBranchTokenTypes");
-            assertWithMessage("Branch token types are not equal")
-                .that(branchTokenTypes)
-                .isEqualTo(branchTokenTypes2);
-            assertWithMessage("Branch token types should not be the same")
+            final long[] clearedBranchTokenTypes =
+                    TestUtil.getInternalState(parent, "branchTokenTypes");
+            assertWithMessage("Branch token types should be cleared")
+                .that(clearedBranchTokenTypes)
+                .isNull();
+            final long[] branchTokenTypes2 = TestUtil.invokeMethod(parent, "getBranchTokenTypes");
+            assertWithMessage("Branch token types should be computed again")
+                .that(branchTokenTypes2)
+                .isNotNull();
+            assertWithMessage("Branch token types should not be modified")
+                .that(TestUtil.<long[]>invokeMethod(parent, "getBranchTokenTypes"))
+                .isSameInstanceAs(branchTokenTypes2);
+            assertWithMessage("Old branch token types should not be modified")
                 .that(branchTokenTypes)
-                .isNotSameInstanceAs(branchTokenTypes2);
+                .isNotEmpty();
+        }
+    }
+
+    @Test
+    public void testAddedNodesUpdateBranchTokenTypes() throws Exception {
+        final DetailAstImpl root = createToken(null, TokenTypes.CLASS_DEF);
+        final DetailAstImpl objBlock = createToken(root, TokenTypes.OBJBLOCK);
+        final DetailAstImpl rcurly = createToken(objBlock, TokenTypes.RCURLY);
+        assertWithMessage("invalid result")
+                .that(root.branchContains(TokenTypes.SINGLE_LINE_COMMENT))
+                .isFalse();
+        final long[] rootTypes = TestUtil.getInternalState(root, "branchTokenTypes");
+
+        final DetailAstImpl comment = new DetailAstImpl();
+        comment.setType(TokenTypes.SINGLE_LINE_COMMENT);
+        rcurly.addPreviousSibling(comment);
+        final DetailAstImpl blockComment = new DetailAstImpl();
+        blockComment.setType(TokenTypes.BLOCK_COMMENT_BEGIN);
+        createToken(blockComment, TokenTypes.COMMENT_CONTENT);
+        rcurly.addNextSibling(blockComment);
+        createToken(objBlock, TokenTypes.SEMI);
+        final DetailAstImpl secondComment = new DetailAstImpl();
+        secondComment.setType(TokenTypes.SINGLE_LINE_COMMENT);
+        rcurly.addPreviousSibling(secondComment);
+
+        final long[] objBlockTypes = TestUtil.getInternalState(objBlock, "branchTokenTypes");
+        assertWithMessage("Branch token types of parent should be updated, not cleared")
+                .that(objBlockTypes)
+                .isNotNull();
+        for (int type : new int[] {TokenTypes.SINGLE_LINE_COMMENT, TokenTypes.COMMENT_CONTENT,
+            TokenTypes.SEMI, TokenTypes.RCURLY, TokenTypes.OBJBLOCK, }) {
+            assertWithMessage("Added type should be in branch: " + type)
+                    .that(root.branchContains(type))
+                    .isTrue();
         }
+        assertWithMessage("Branch token types which were computed should not be modified")
+                .that(rootTypes)
+                .isNotSameInstanceAs(TestUtil.getInternalState(root, "branchTokenTypes"));
+        assertWithMessage("invalid result")
+                .that(objBlock.branchContains(TokenTypes.CLASS_DEF))
+                .isFalse();
+    }
+
+    @Test
+    public void testBranchContainsBeyondKnownTokenTypes() {
+        final DetailAstImpl root = createToken(null, TokenTypes.CLASS_DEF);
+        createToken(root, 999);
+
+        assertWithMessage("invalid result")
+                .that(root.branchContains(999))
+                .isTrue();
+        assertWithMessage("invalid result")
+                .that(root.branchContains(998))
+                .isFalse();
+        assertWithMessage("invalid result")
+                .that(root.branchContains(2000))
+                .isFalse();
     }
 
     @Test
     public void testCacheBranchTokenTypes() {
         final DetailAST root = new DetailAstImpl();
-        final BitSet bitSet = new BitSet();
-        bitSet.set(999);
+        final long[] words = new long[16];
+        words[999 / 64] = 1L << 999;
 
-        TestUtil.setInternalState(root, "branchTokenTypes", bitSet);
+        TestUtil.setInternalState(root, "branchTokenTypes", words);
         assertWithMessage("Branch tokens has changed")
                 .that(root.branchContains(999))
                 .isTrue();
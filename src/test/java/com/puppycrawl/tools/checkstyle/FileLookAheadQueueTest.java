@@ -0,0 +1,193 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
+
+public class FileLookAheadQueueTest {
+
+    private final Map<File, Thread> processingThreads = new ConcurrentHashMap<>();
+
+    @Test
+    public void testProcessFilesAhead() throws Exception {
+        final FileLookAheadQueue<File, IOException> queue =
+                new FileLookAheadQueue<>(2, this::processFile, IOException.class);
+        final List<File> files = createFiles(5);
+        queue.start(files, file -> true, 2);
+        try {
+            final Collection<?> pendingFiles = TestUtil.getInternalState(queue, "pendingFiles");
+            assertWithMessage("Number of files processed ahead should be limited")
+                    .that(pendingFiles)
+                    .hasSize(2);
+            for (final File file : files) {
+                assertWithMessage("Invalid result of " + file)
+                        .that(queue.get(file))
+                        .isSameInstanceAs(file);
+                assertWithMessage("File should be processed on another thread: " + file)
+                        .that(processingThreads.get(file))
+                        .isNotSameInstanceAs(Thread.currentThread());
+            }
+        }
+        finally {
+            queue.finish();
+        }
+    }
+
+    @Test
+    public void testProcessSkippedAndFilteredFiles() throws Exception {
+        final FileLookAheadQueue<File, IOException> queue =
+                new FileLookAheadQueue<>(2, this::processFile, IOException.class);
+        final List<File> files = createFiles(10);
+        final File filteredFile = files.get(1);
+        queue.start(files, file -> !file.equals(filteredFile), 1);
+        try {
+            for (final File file : List.of(files.get(0), filteredFile, files.get(3),
+                    files.get(9))) {
+                assertWithMessage("Invalid result of " + file)
+                        .that(queue.get(file))
+                        .isSameInstanceAs(file);
+            }
+        }
+        finally {
+            queue.finish();
+        }
+    }
+
+    @Test
+    public void testGetRethrowsCheckedException() {
+        final IOException exception = new IOException("test");
+        final FileLookAheadQueue<File, IOException> queue =
+            new FileLookAheadQueue<>(1, file -> {
+                throw exception;
+            }, IOException.class);
+        assertWithMessage("Invalid exception")
+                .that(getProcessFailure(queue))
+                .isSameInstanceAs(exception);
+    }
+
+    @Test
+    public void testGetRethrowsRuntimeException() {
+        final IllegalStateException exception = new IllegalStateException("test");
+        final FileLookAheadQueue<File, IOException> queue =
+            new FileLookAheadQueue<>(1, file -> {
+                throw exception;
+            }, IOException.class);
+        assertWithMessage("Invalid exception")
+                .that(getProcessFailure(queue))
+                .isSameInstanceAs(exception);
+    }
+
+    @Test
+    public void testGetRethrowsError() {
+        final AssertionError error = new AssertionError("test");
+        final FileLookAheadQueue<File, IOException> queue =
+            new FileLookAheadQueue<>(1, file -> {
+                throw error;
+            }, IOException.class);
+        assertWithMessage("Invalid error")
+                .that(getProcessFailure(queue))
+                .isSameInstanceAs(error);
+    }
+
+    @Test
+    public void testGetInterrupted() {
+        final FileLookAheadQueue<File, IOException> queue = new FileLookAheadQueue<>(1,
+                FileLookAheadQueueTest::processForever, IOException.class);
+        final List<File> files = createFiles(1);
+        queue.start(files, file -> true, 1);
+        try {
+            Thread.currentThread().interrupt();
+            final CheckstyleException exception = getExpectedThrowable(
+                    CheckstyleException.class, () -> queue.get(files.get(0)));
+
+            assertWithMessage("Invalid exception message")
+                    .that(exception.getMessage())
+                    .isEqualTo("Interrupted while waiting for a file to be processed");
+            assertWithMessage("Interrupted state should be kept")
+                    .that(Thread.interrupted())
+                    .isTrue();
+        }
+        finally {
+            queue.finish();
+        }
+    }
+
+    @Test
+    public void testFinishWithoutStart() {
+        final FileLookAheadQueue<File, IOException> queue =
+                new FileLookAheadQueue<>(1, this::processFile, IOException.class);
+        queue.finish();
+        final Object executor = TestUtil.getInternalState(queue, "executor");
+        assertWithMessage("Executor should not be created")
+                .that(executor)
+                .isNull();
+    }
+
+    private File processFile(File file) {
+        processingThreads.put(file, Thread.currentThread());
+        return file;
+    }
+
+    private static File processForever(File file) throws IOException {
+        try {
+            Thread.sleep(Long.MAX_VALUE);
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+        throw new IOException("interrupted");
+    }
+
+    private static Throwable getProcessFailure(FileLookAheadQueue<File, IOException> queue) {
+        final List<File> files = createFiles(1);
+        queue.start(files, file -> true, 1);
+        try {
+            return getExpectedThrowable(Throwable.class,
+                () -> queue.get(files.get(0)),
+                "Failure of background thread is expected");
+        }
+        finally {
+            queue.finish();
+        }
+    }
+
+    private static List<File> createFiles(int count) {
+        final List<File> files = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            files.add(new File("file" + index + ".txt"));
+        }
+        return files;
+    }
+
+}
@@ -0,0 +1,71 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+public class FilePrefetcherTest {
+
+    private final Map<File, Thread> readingThreads = new ConcurrentHashMap<>();
+
+    @Test
+    public void testReadFilesAhead() throws Exception {
+        final FilePrefetcher prefetcher = new FilePrefetcher(2, this::readFile);
+        final List<File> files = createFiles(5);
+        prefetcher.start(files, file -> true);
+        try {
+            for (final File file : files) {
+                assertWithMessage("Invalid contents of " + file)
+                        .that(prefetcher.read(file).getFile())
+                        .isEqualTo(file);
+                assertWithMessage("File should be read on another thread: " + file)
+                        .that(readingThreads.get(file))
+                        .isNotSameInstanceAs(Thread.currentThread());
+            }
+        }
+        finally {
+            prefetcher.finish();
+        }
+    }
+
+    private FileText readFile(File file) {
+        readingThreads.put(file, Thread.currentThread());
+        return new FileText(file, List.of(""));
+    }
+
+    private static List<File> createFiles(int count) {
+        final List<File> files = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            files.add(new File("file" + index + ".txt"));
+        }
+        return files;
+    }
+
+}
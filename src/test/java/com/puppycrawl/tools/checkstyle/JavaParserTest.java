@@ -28,10 +28,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import org.antlr.v4.runtime.Token;
 import org.junit.jupiter.api.Test;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocContentLocationCheck;
 import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
@@ -192,6 +194,41 @@ public class JavaParserTest extends AbstractModuleTestSupport {
                 .isFalse();
     }
 
+    @Test
+    public void testNodesShareTexts() throws Exception {
+        final FileText text = new FileText(new File("Test.java"),
+                List.of("class Test { int a; int b = a; /* comment */ }"));
+        final DetailAST root = JavaParser.parseFileText(text, JavaParser.Options.WITHOUT_COMMENTS);
+
+        final List<DetailAST> idents = new ArrayList<>();
+        final List<DetailAST> types = new ArrayList<>();
+        TestUtil.findTokenInAstByPredicate(root, ast -> {
+            if ("a".equals(ast.getText())) {
+                idents.add(ast);
+            }
+            else if (ast.getType() == TokenTypes.LITERAL_INT) {
+                types.add(ast);
+            }
+            return false;
+        });
+        assertWithMessage("Nodes of the same identifier should share the text")
+                .that(idents.get(1).getText())
+                .isSameInstanceAs(idents.get(0).getText());
+        assertWithMessage("Nodes of the same keyword should share the text")
+                .that(types.get(1).getText())
+                .isSameInstanceAs(types.get(0).getText());
+
+        final DetailAstImpl rcurly = (DetailAstImpl) TestUtil.findTokenInAstByPredicate(root,
+                ast -> ast.getType() == TokenTypes.RCURLY).orElseThrow();
+        final Token comment = rcurly.getHiddenBefore().get(0);
+        assertWithMessage("Comment token should not refer to the token stream")
+                .that(comment.getInputStream())
+                .isNull();
+        assertWithMessage("Invalid comment text")
+                .that(comment.getText())
+                .isEqualTo(" comment ");
+    }
+
     @Test
     public void testParseException() throws Exception {
         final File input = new File(getNonCompilablePath("InputJavaParser.java"));
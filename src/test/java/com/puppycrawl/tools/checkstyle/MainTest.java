@@ -73,18 +73,23 @@ public class MainTest {
             + "Try 'checkstyle --help' for more information.%n");
 
     private static final String USAGE = String.format(Locale.ROOT,
-          "Usage: checkstyle [-dEgGhjJtTV] [-b=<xpath>] [-c=<configurationFile>] "
-                  + "[-f=<format>]%n"
-                  + "                  [-o=<outputPath>] [-p=<propertiesFile>] "
-                  + "[-s=<suppressionLineColumnNumber>]%n"
-                  + "                  [-w=<tabWidth>] [-e=<exclude>]... [-x=<excludeRegex>]... "
-                  + "<files or folders>...%n"
+          "Usage: checkstyle [-AdEgGhjJtTV] [-b=<xpath>] [-c=<configurationFile>] "
+                  + "[-C=<checkerThreadsNumber>]%n"
+                  + "                  [-f=<format>] [-o=<outputPath>] [-p=<propertiesFile>] "
+                  + "[-P=<profilePath>]%n"
+                  + "                  [-r=<diffRevision>] [-s=<suppressionLineColumnNumber>] "
+                  + "[-u=<diffFile>]%n"
+                  + "                  [-w=<tabWidth>] [-W=<treeWalkerThreadsNumber>] "
+                  + "[-e=<exclude>]...%n"
+                  + "                  [-x=<excludeRegex>]... <files or folders>...%n"
                   + "Checkstyle verifies that the specified source code files adhere to the"
                   + " specified rules. By default,%n"
                   + "violations are reported to standard out in plain format. Checkstyle requires"
                   + " a configuration XML%n"
                   + "file that configures the checks to apply.%n"
                   + "      <files or folders>... One or more source files to verify%n"
+                  + "  -A, --profile-allocations Measures the bytes allocated by each module when"
+                  + " profiling.%n"
                   + "  -b, --branch-matching-xpath=<xpath>%n"
                   + "                            Shows Abstract Syntax Tree(AST) branches that"
                   + " match given XPath query.%n"
@@ -94,6 +99,10 @@ public class MainTest {
                   + " filesystem location, or a name%n"
                   + "                              passed to the ClassLoader.getResource()"
                   + " method.%n"
+                  + "  -C, --checker-threads-number=<checkerThreadsNumber>%n"
+                  + "                            Sets the number of threads used to process files"
+                  + " in parallel. Default%n"
+                  + "                              value is 1.%n"
                   + "  -d, --debug               Prints all debug logging of CheckStyle utility.%n"
                   + "  -e, --exclude=<exclude>   Directory/file to exclude from CheckStyle. The"
                   + " path can be the full,%n"
@@ -146,6 +155,18 @@ public class MainTest {
                   + " with other options.%n"
                   + "  -o=<outputPath>           Sets the output file. Defaults to stdout.%n"
                   + "  -p=<propertiesFile>       Sets the property files to load.%n"
+                  + "  -P, --profile=<profilePath>%n"
+                  + "                            Writes the time spent in each module to the given"
+                  + " file as CSV, sorted%n"
+                  + "                              by cost. The process(total) row of a file set"
+                  + " check includes the rows%n"
+                  + "                              of the checks and filters it runs.%n"
+                  + "  -r, --diff-revision=<diffRevision>%n"
+                  + "                            Audits only the files changed since the given git"
+                  + " revision and reports%n"
+                  + "                              only violations on the changed lines. Changes"
+                  + " are read with git diff%n"
+                  + "                              in the current directory.%n"
                   + "  -s=<suppressionLineColumnNumber>%n"
                   + "                            Prints xpath suppressions at the file's line and"
                   + " column position.%n"
@@ -177,10 +198,19 @@ public class MainTest {
                   + " specified file. It can only be%n"
                   + "                              used on a single file and cannot be combined"
                   + " with other options.%n"
+                  + "  -u, --diff=<diffFile>     Audits only the files changed by the given unified"
+                  + " diff and reports%n"
+                  + "                              only violations on the changed lines. File names"
+                  + " in the diff are%n"
+                  + "                              relative to the current directory.%n"
                   + "  -V, --version             Print version information and exit.%n"
                   + "  -w, --tabWidth=<tabWidth> Sets the length of the tab character. Used only"
                   + " with -s option. Default%n"
                   + "                              value is 8.%n"
+                  + "  -W, --tree-walker-threads-number=<treeWalkerThreadsNumber>%n"
+                  + "                            Sets the number of threads used to run"
+                  + " independent checks of a file in%n"
+                  + "                              parallel. Default value is 1.%n"
                   + "  -x, --exclude-regexp=<excludeRegex>%n"
                   + "                            Directory/file pattern to exclude from CheckStyle."
                   + " Multiple excludes%n"
@@ -446,6 +476,105 @@ public class MainTest {
             .isEqualTo("");
     }
 
+    @Test
+    public void testProfile(@SysErr Capturable systemErr, @SysOut Capturable systemOut)
+            throws IOException {
+        final Path profilePath = new File(temporaryFolder, "profile.csv").toPath();
+        assertMainReturnCode(0, "-c", getPath("InputMainConfig-classname.xml"),
+                "-P", profilePath.toString(), getPath("InputMain.java"));
+        final List<String> report = Files.readAllLines(profilePath);
+        assertWithMessage("Invalid report header")
+                .that(report.get(0))
+                .isEqualTo("module,operation,calls,nanos,allocatedBytes");
+        assertWithMessage("Invalid report")
+                .that(report.stream()
+                        .map(line -> line.substring(0, line.indexOf(',', line.indexOf(',') + 1)))
+                        .collect(Collectors.toUnmodifiableList()))
+                .containsAtLeast("Checker,read", "TreeWalker,process(total)", "TreeWalker,parse",
+                        "TypeNameCheck,beginTree", "TypeNameCheck,visitToken",
+                        "TypeNameCheck,finishTree");
+        assertWithMessage("Allocations should not be measured")
+                .that(report.stream().skip(1).allMatch(line -> line.endsWith(",0")))
+                .isTrue();
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
+    @Test
+    public void testProfileAllocations(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) throws IOException {
+        final Path profilePath = new File(temporaryFolder, "profile.csv").toPath();
+        assertMainReturnCode(0, "-c", getPath("InputMainConfig-classname.xml"),
+                "-P", profilePath.toString(), "--profile-allocations",
+                getPath("InputMain.java"));
+        final String parseReport = Files.readAllLines(profilePath).stream()
+                .filter(line -> line.startsWith("TreeWalker,parse,"))
+                .findFirst()
+                .orElseThrow();
+        final long allocatedBytes =
+                Long.parseLong(parseReport.substring(parseReport.lastIndexOf(',') + 1));
+        assertWithMessage("Allocations should be measured")
+                .that(allocatedBytes)
+                .isGreaterThan(0);
+    }
+
+    @Test
+    public void testExistingTargetFileWithCheckerThreads(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) {
+        assertMainReturnCode(0, "-c", getPath("InputMainConfig-classname.xml"), "-C", "2",
+                getPath("InputMain.java"), getPath("InputMain.java"));
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo(addEndOfLine(auditStartMessage.getMessage(),
+                auditFinishMessage.getMessage()));
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
+    @Test
+    public void testInvalidCheckerThreadsNumber(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) {
+        assertMainReturnCode(-1, "-c", getPath("InputMainConfig-classname.xml"), "-C", "0",
+                getPath("InputMain.java"));
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo("Checker threads number must be greater than zero."
+                + System.lineSeparator());
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
+    @Test
+    public void testExistingTargetFileWithTreeWalkerThreads(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) {
+        assertMainReturnCode(0, "-c", getPath("InputMainConfig-classname.xml"), "-W", "2",
+                getPath("InputMain.java"));
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo(addEndOfLine(auditStartMessage.getMessage(),
+                auditFinishMessage.getMessage()));
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
+    @Test
+    public void testInvalidTreeWalkerThreadsNumber(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) {
+        assertMainReturnCode(-1, "-c", getPath("InputMainConfig-classname.xml"), "-W", "0",
+                getPath("InputMain.java"));
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo("TreeWalker threads number must be greater than zero."
+                + System.lineSeparator());
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
     @Test
     public void testExistingTargetFileXmlOutput(@SysErr Capturable systemErr,
             @SysOut Capturable systemOut) throws IOException {
@@ -557,6 +686,65 @@ public class MainTest {
             .isEqualTo("");
     }
 
+    @Test
+    public void testExistingTargetFileWithViolationsOnChangedLines(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) throws IOException {
+        final String expectedPath = getFilePath("InputMain.java");
+        final File diffFile = new File(temporaryFolder, "changes.diff");
+        Files.writeString(diffFile.toPath(), "--- " + expectedPath + "\n"
+                + "+++ " + expectedPath + "\n"
+                + "@@ -5 +5 @@\n"
+                + "-class InputMainInnerOld {\n"
+                + "+class InputMainInner {\n");
+        assertMainReturnCode(0, "-c", getPath("InputMainConfig-classname2.xml"),
+                "-u", diffFile.getPath(), getPath("InputMain.java"));
+        final Violation invalidPatternMessageMainInner = new Violation(1,
+                "com.puppycrawl.tools.checkstyle.checks.naming.messages",
+                "name.invalidPattern", new String[] {"InputMainInner", "^[a-z0-9]*$"},
+                null, getClass(), null);
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo(addEndOfLine(auditStartMessage.getMessage(),
+                    "[WARN] " + expectedPath + ":5:7: "
+                        + invalidPatternMessageMainInner.getViolation()
+                        + " [TypeName]",
+                    auditFinishMessage.getMessage()));
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
+    @Test
+    public void testUnchangedTargetFileIsNotAudited(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) throws IOException {
+        final File diffFile = new File(temporaryFolder, "changes.diff");
+        Files.writeString(diffFile.toPath(), "");
+        assertMainReturnCode(0, "-c", getPath("InputMainConfig-classname2.xml"),
+                "--diff", diffFile.getPath(), getPath("InputMain.java"));
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo(addEndOfLine(auditStartMessage.getMessage(),
+                    auditFinishMessage.getMessage()));
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
+    @Test
+    public void testDiffAndDiffRevisionTogether(@SysErr Capturable systemErr,
+            @SysOut Capturable systemOut) throws IOException {
+        final File diffFile = new File(temporaryFolder, "changes.diff");
+        Files.writeString(diffFile.toPath(), "");
+        assertMainReturnCode(-1, "-c", "/google_checks.xml", "-u", diffFile.getPath(),
+                "-r", "HEAD", getPath("InputMain.java"));
+        assertWithMessage("Unexpected output log")
+            .that(systemOut.getCapturedData())
+            .isEqualTo("Options '-u' and '-r' cannot be used together." + EOL);
+        assertWithMessage("Unexpected system error log")
+            .that(systemErr.getCapturedData())
+            .isEqualTo("");
+    }
+
     @Test
     public void testViolationsByGoogleAndXpathSuppressions(@SysErr Capturable systemErr,
             @SysOut Capturable systemOut) {
@@ -885,75 +1073,30 @@ public class MainTest {
             .isEqualTo("");
     }
 
-    /**
-     * Test doesn't need to be serialized.
-     *
-     * @noinspection SerializableInnerClassWithNonSerializableOuterClass
-     * @noinspectionreason SerializableInnerClassWithNonSerializableOuterClass - mocked file
-     *      for test does not require serialization
-     */
     @Test
-    public void testListFilesNotFile() throws Exception {
-        final File fileMock = new File("") {
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public boolean canRead() {
-                return true;
-            }
-
-            @Override
-            public boolean isDirectory() {
-                return false;
-            }
-
-            @Override
-            public boolean isFile() {
-                return false;
-            }
-        };
-
+    public void testListFilesNotExisting() throws Exception {
         final List<File> result = TestUtil.invokeStaticMethod(Main.class, "listFiles",
-                fileMock, new ArrayList<>());
+                new File(temporaryFolder, "missing"), new ArrayList<>());
         assertWithMessage("Invalid result size")
             .that(result)
             .isEmpty();
     }
 
-    /**
-     * Test doesn't need to be serialized.
-     *
-     * @noinspection SerializableInnerClassWithNonSerializableOuterClass
-     * @noinspectionreason SerializableInnerClassWithNonSerializableOuterClass - mocked file
-     *      for test does not require serialization
-     */
     @Test
-    public void testListFilesDirectoryWithNull() throws Exception {
-        final File[] nullResult = null;
-        final File fileMock = new File("") {
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public boolean canRead() {
-                return true;
-            }
-
-            @Override
-            public boolean isDirectory() {
-                return true;
-            }
-
-            @Override
-            public File[] listFiles() {
-                return nullResult;
-            }
-        };
+    public void testListFilesSkipsExcludedDirectory() throws Exception {
+        final File excludedDirectory = new File(temporaryFolder, "excludedDirectory");
+        final File nestedDirectory = new File(excludedDirectory, "nested");
+        final File file = new File(temporaryFolder, "Input.java");
+        final File excludedFile = new File(nestedDirectory, "Input.java");
+        Files.createDirectories(nestedDirectory.toPath());
+        Files.writeString(file.toPath(), "class Input {}");
+        Files.writeString(excludedFile.toPath(), "class Input {}");
 
         final List<File> result = TestUtil.invokeStaticMethod(Main.class, "listFiles",
-                fileMock, new ArrayList<>());
-        assertWithMessage("Invalid result size")
+                temporaryFolder, List.of(Pattern.compile("excludedDirectory$")));
+        assertWithMessage("Files of excluded directory should be skipped")
             .that(result)
-            .isEmpty();
+            .containsExactly(file);
     }
 
     @Test
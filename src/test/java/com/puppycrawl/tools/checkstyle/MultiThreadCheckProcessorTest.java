@@ -0,0 +1,364 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
+
+public class MultiThreadCheckProcessorTest {
+
+    @TempDir
+    public File temporaryFolder;
+
+    @Test
+    public void testGetThreadsNumber() {
+        assertWithMessage("Invalid threads number of thread mode settings")
+                .that(MultiThreadCheckProcessor.getThreadsNumber(new DefaultConfiguration(
+                        TreeWalker.class.getName(), new ThreadModeSettings(1, 3))))
+                .isEqualTo(3);
+        assertWithMessage("Invalid threads number of single thread mode")
+                .that(MultiThreadCheckProcessor.getThreadsNumber(
+                        new DefaultConfiguration(TreeWalker.class.getName())))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testPrepareTree() throws Exception {
+        final File file = new File(temporaryFolder, "Test.java");
+        Files.writeString(file.toPath(), "class Test {\n    int field;\n}\n");
+        final DetailAST root = JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+
+        MultiThreadCheckProcessor.prepareTree(null);
+        MultiThreadCheckProcessor.prepareTree(root);
+
+        for (DetailAST node = root; node != null; node = getNextNode(node)) {
+            assertWithMessage("Branch token types should be computed: " + node)
+                    .that((Object) TestUtil.getInternalState(node, "branchTokenTypes"))
+                    .isNotNull();
+        }
+    }
+
+    @Test
+    public void testSplitChecks() {
+        final AbstractCheck dependentCheck = new ThreadRecordingCheck();
+        final AbstractCheck threadLocalCheck = new ThreadLocalThreadRecordingCheck();
+        final AbstractCheck firstCheck = new IndependentThreadRecordingCheck();
+        final AbstractCheck secondCheck = new IndependentThreadRecordingCheck();
+        final AbstractCheck thirdCheck = new IndependentThreadRecordingCheck();
+        final Set<AbstractCheck> checks = new LinkedHashSet<>(List.of(
+                firstCheck, dependentCheck, secondCheck, threadLocalCheck, thirdCheck));
+
+        final List<Set<AbstractCheck>> groups = new MultiThreadCheckProcessor(3)
+                .splitChecks(checks);
+
+        assertWithMessage("Dependent checks should be kept in the first group")
+                .that(groups.get(0))
+                .containsExactly(dependentCheck, threadLocalCheck, thirdCheck)
+                .inOrder();
+        assertWithMessage("Independent checks should be distributed in turn")
+                .that(groups.subList(1, groups.size()))
+                .containsExactly(Set.of(firstCheck), Set.of(secondCheck))
+                .inOrder();
+    }
+
+    @Test
+    public void testSplitChecksWithoutIndependentChecks() {
+        final MultiThreadCheckProcessor processor = new MultiThreadCheckProcessor(3);
+        final AbstractCheck dependentCheck = new ThreadRecordingCheck();
+
+        assertWithMessage("Dependent checks should be kept in a single group")
+                .that(processor.splitChecks(Set.of(dependentCheck)))
+                .containsExactly(Set.of(dependentCheck));
+        assertWithMessage("Single empty group is expected without checks")
+                .that(processor.splitChecks(Set.of()))
+                .containsExactly(Set.of());
+    }
+
+    @Test
+    public void testIndependentChecksAreNotifiedOnOtherThreads() throws Exception {
+        final File file = new File(temporaryFolder, "Test.java");
+        Files.writeString(file.toPath(), "/* comment */\nclass Test {\n}\n");
+        final TreeWalker treeWalker = createTreeWalker(ThreadRecordingCheck.class,
+                IndependentThreadRecordingCheck.class, ThreadLocalThreadRecordingCheck.class,
+                IndependentThreadRecordingCommentCheck.class);
+
+        final Set<Violation> violations =
+                treeWalker.process(file, new FileText(file, StandardCharsets.UTF_8.name()));
+
+        final Collection<ThreadRecordingCheck> ordinaryChecks =
+                TestUtil.getInternalState(treeWalker, "ordinaryChecks");
+        final Collection<ThreadRecordingCheck> commentChecks =
+                TestUtil.getInternalState(treeWalker, "commentChecks");
+        for (ThreadRecordingCheck check : ordinaryChecks) {
+            final String checkName = check.getClass().getSimpleName();
+            assertWithMessage("Check should be notified on one thread: " + checkName)
+                    .that(check.threads)
+                    .hasSize(1);
+            assertWithMessage("Check should be notified on the calling thread: " + checkName)
+                    .that(check.threads.contains(Thread.currentThread()))
+                    .isEqualTo(!(check instanceof IndependentThreadRecordingCheck));
+            assertWithMessage("Worker thread should not keep the JVM alive: " + checkName)
+                    .that(check.threads.iterator().next().isDaemon())
+                    .isEqualTo(check instanceof IndependentThreadRecordingCheck);
+        }
+        assertWithMessage("Single group of checks should be notified on the calling thread")
+                .that(commentChecks.iterator().next().threads)
+                .containsExactly(Thread.currentThread());
+        assertWithMessage("Violations of all checks should be collected")
+                .that(violations)
+                .hasSize(4);
+
+        final MultiThreadCheckProcessor processor =
+                TestUtil.getInternalState(treeWalker, "multiThreadCheckProcessor");
+        treeWalker.destroy();
+        assertWithMessage("Threads should be stopped")
+                .that((Object) TestUtil.getInternalState(processor, "executor"))
+                .isNull();
+    }
+
+    @Test
+    public void testFailureOfCheckOnOtherThread() throws Exception {
+        final File file = new File(temporaryFolder, "Test.java");
+        Files.writeString(file.toPath(), "class Test {\n}\n");
+        final TreeWalker treeWalker = createTreeWalker(
+                ThreadRecordingCheck.class, FailingIndependentCheck.class);
+        final FileText fileText = new FileText(file, StandardCharsets.UTF_8.name());
+
+        final IllegalStateException exception = getExpectedThrowable(
+                IllegalStateException.class, () -> treeWalker.process(file, fileText));
+
+        assertWithMessage("Invalid exception message")
+                .that(exception.getMessage())
+                .isEqualTo("failure on CLASS_DEF");
+        treeWalker.finishProcessing();
+    }
+
+    @Test
+    public void testProcessRethrowsFailureOfOtherGroup() {
+        final MultiThreadCheckProcessor processor = new MultiThreadCheckProcessor(2);
+        try {
+            final IllegalStateException exception = getExpectedThrowable(
+                IllegalStateException.class,
+                () -> {
+                    processor.process(List.of("first", "second"), group -> group,
+                        (group, violations) -> {
+                            throw new IllegalStateException("failure of " + group);
+                        },
+                        new TreeSet<>());
+                });
+
+            assertWithMessage("Invalid exception message")
+                    .that(exception.getMessage())
+                    .isEqualTo("failure of second");
+        }
+        finally {
+            processor.finish();
+        }
+    }
+
+    @Test
+    public void testProcessRethrowsErrorOfOtherGroup() {
+        final MultiThreadCheckProcessor processor = new MultiThreadCheckProcessor(2);
+        try {
+            final Error error = getExpectedThrowable(Error.class,
+                () -> {
+                    processor.process(List.of("first", "second"), group -> group,
+                        (group, violations) -> {
+                            throw new AssertionError("error of " + group);
+                        },
+                        new TreeSet<>());
+                });
+
+            assertWithMessage("Invalid error message")
+                    .that(error.getMessage())
+                    .isEqualTo("error of second");
+        }
+        finally {
+            processor.finish();
+        }
+    }
+
+    @Test
+    public void testProcessInterrupted() {
+        final MultiThreadCheckProcessor processor = new MultiThreadCheckProcessor(2);
+        try {
+            final CheckstyleException exception = getExpectedThrowable(
+                CheckstyleException.class, () -> processInterrupted(processor));
+
+            assertWithMessage("Invalid exception message")
+                    .that(exception.getMessage())
+                    .isEqualTo("Interrupted while waiting for checks");
+            assertWithMessage("Interrupted state should be kept")
+                    .that(Thread.interrupted())
+                    .isTrue();
+        }
+        finally {
+            processor.finish();
+        }
+    }
+
+    private static void processInterrupted(MultiThreadCheckProcessor processor)
+            throws CheckstyleException {
+        processor.process(List.of("first", "second"),
+            group -> {
+                Thread.currentThread().interrupt();
+                return group;
+            },
+            (group, violations) -> {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                }
+                catch (InterruptedException exc) {
+                    throw new IllegalStateException(exc);
+                }
+            },
+            new TreeSet<>());
+    }
+
+    private static DetailAST getNextNode(DetailAST ast) {
+        DetailAST result = ast.getFirstChild();
+        DetailAST node = ast;
+        while (result == null && node != null) {
+            result = node.getNextSibling();
+            node = node.getParent();
+        }
+        return result;
+    }
+
+    private static TreeWalker createTreeWalker(Class<?>... checkClasses) throws Exception {
+        final TreeWalker treeWalker = new TreeWalker();
+        final PackageObjectFactory factory = new PackageObjectFactory(
+                new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        final DefaultConfiguration config = new DefaultConfiguration(
+                TreeWalker.class.getName(), new ThreadModeSettings(1, 2));
+        for (Class<?> checkClass : checkClasses) {
+            config.addChild(new DefaultConfiguration(checkClass.getName()));
+        }
+        treeWalker.configure(config);
+        return treeWalker;
+    }
+
+    public static class ThreadRecordingCheck extends AbstractCheck {
+
+        private final Set<Thread> threads = new HashSet<>();
+
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getDefaultTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return CommonUtil.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            threads.add(Thread.currentThread());
+            log(ast, getClass().getSimpleName());
+        }
+
+        @Override
+        public void finishTree(DetailAST rootAST) {
+            threads.add(Thread.currentThread());
+        }
+
+    }
+
+    @FileStatefulCheck
+    public static class IndependentThreadRecordingCheck extends ThreadRecordingCheck {
+        // the threads show that the check is notified apart from other checks
+    }
+
+    @StatelessCheck
+    public static class ThreadLocalThreadRecordingCheck extends ThreadRecordingCheck {
+
+        private static final ThreadLocal<DetailAST> ROOT = new ThreadLocal<>();
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            super.beginTree(rootAST);
+            ROOT.set(rootAST);
+        }
+
+        @Override
+        public void finishTree(DetailAST rootAST) {
+            super.finishTree(rootAST);
+            ROOT.remove();
+        }
+
+    }
+
+    public static class IndependentThreadRecordingCommentCheck
+            extends IndependentThreadRecordingCheck {
+
+        @Override
+        public boolean isCommentNodesRequired() {
+            return true;
+        }
+
+    }
+
+    @StatelessCheck
+    public static class FailingIndependentCheck extends ThreadRecordingCheck {
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            throw new IllegalStateException("failure on "
+                    + TokenUtil.getTokenName(ast.getType()));
+        }
+
+    }
+
+}
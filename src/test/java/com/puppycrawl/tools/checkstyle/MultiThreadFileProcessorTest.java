@@ -0,0 +1,138 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.internal.testmodules.TestFileSetCheck;
+
+public class MultiThreadFileProcessorTest {
+
+    private final FileSetCheck workerCheck = new TestFileSetCheck();
+
+    private final FileSetCheck sharedCheck = new TestFileSetCheck();
+
+    @Test
+    public void testProcessWithWorkerAndSharedChecks() throws Exception {
+        final MultiThreadFileProcessor processor =
+                new MultiThreadFileProcessor(2, this::processFile);
+        processor.addFileSetCheckCopies(workerCheck, List.of(new TestFileSetCheck()));
+        final List<File> files = createFiles(10);
+        processor.start(files, List.of(workerCheck, sharedCheck), file -> true);
+        try {
+            for (final File file : files) {
+                final SortedSet<Violation> fileMessages = new TreeSet<>();
+                processor.process(file, fileMessages);
+                assertWithMessage("Invalid violations of " + file)
+                        .that(getMessages(fileMessages))
+                        .containsExactly(file.getName() + ":shared", file.getName() + ":worker");
+            }
+        }
+        finally {
+            processor.finish();
+        }
+    }
+
+    @Test
+    public void testProcessAborted() throws Exception {
+        final MultiThreadFileProcessor processor = new MultiThreadFileProcessor(2,
+            (file, fileText, checks, fileMessages) -> {
+                assertWithMessage("Shared checks should not be run for aborted file")
+                        .that(checks)
+                        .doesNotContain(sharedCheck);
+                return null;
+            });
+        final List<File> files = createFiles(1);
+        processor.start(files, List.of(sharedCheck), file -> true);
+        try {
+            final SortedSet<Violation> fileMessages = new TreeSet<>();
+            processor.process(files.get(0), fileMessages);
+            assertWithMessage("Violations are not expected")
+                    .that(fileMessages)
+                    .isEmpty();
+        }
+        finally {
+            processor.finish();
+        }
+    }
+
+    @Test
+    public void testFileSetCheckCopies() {
+        final MultiThreadFileProcessor processor =
+                new MultiThreadFileProcessor(3, this::processFile);
+        final List<FileSetCheck> copies =
+                List.of(new TestFileSetCheck(), new TestFileSetCheck());
+        processor.addFileSetCheckCopies(workerCheck, copies);
+        assertWithMessage("Invalid threads number")
+                .that(processor.getThreadsNumber())
+                .isEqualTo(3);
+        assertWithMessage("Invalid copies")
+                .that(processor.getFileSetCheckCopies())
+                .containsExactlyElementsIn(copies);
+        processor.clear();
+        assertWithMessage("Copies should be removed")
+                .that(processor.getFileSetCheckCopies())
+                .isEmpty();
+    }
+
+    private FileText processFile(File file, FileText fileText, List<FileSetCheck> checks,
+            SortedSet<Violation> fileMessages) {
+        final String source;
+        if (checks.contains(sharedCheck)) {
+            assertWithMessage("Shared checks should reuse text read by the worker")
+                    .that(fileText)
+                    .isNotNull();
+            source = "shared";
+        }
+        else {
+            source = "worker";
+        }
+        fileMessages.add(new Violation(1, "messages", "key", null, source, null,
+                file.getName() + ':' + source));
+        return new FileText(file, List.of(""));
+    }
+
+    private static List<File> createFiles(int count) {
+        final List<File> files = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            files.add(new File("file" + index + ".txt"));
+        }
+        return files;
+    }
+
+    private static List<String> getMessages(SortedSet<Violation> violations) {
+        return violations.stream()
+                .map(Violation::getViolation)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+}
@@ -166,6 +166,33 @@ public class SarifLoggerTest extends AbstractModuleTestSupport {
         verifyContent(getPath("ExpectedSarifLoggerDoubleError.sarif"), outStream);
     }
 
+    @Test
+    public void testResultsWrittenBeforeAuditFinished() throws IOException {
+        final SarifLogger logger = new SarifLogger(outStream,
+                OutputStreamOptions.NONE);
+        logger.auditStarted(null);
+        final int resultCount = 100;
+        for (int line = 1; line <= resultCount; line++) {
+            final Violation violation =
+                    new Violation(line, 1,
+                            "messages.properties", "ruleId", null, SeverityLevel.ERROR, null,
+                            getClass(), "found an error");
+            logger.addError(new AuditEvent(this, "Test.java", violation));
+        }
+        assertWithMessage("Results should be written before the audit is finished")
+                .that(outStream.size())
+                .isGreaterThan(0);
+        logger.auditFinished(null);
+
+        final String report = outStream.toString(StandardCharsets.UTF_8);
+        assertWithMessage("All results should be written")
+                .that(report.split("\"ruleId\": ", -1))
+                .hasLength(resultCount + 1);
+        assertWithMessage("Report should be closed")
+                .that(report)
+                .endsWith("      ]\n    }\n  ]\n}\n");
+    }
+
     @Test
     public void testAddException() throws IOException {
         final SarifLogger logger = new SarifLogger(outStream,
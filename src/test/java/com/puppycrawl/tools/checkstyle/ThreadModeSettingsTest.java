@@ -42,17 +42,18 @@ public class ThreadModeSettingsTest {
 
     @Test
     public void testResolveCheckerInMultiThreadMode() {
-        final ThreadModeSettings configuration = new ThreadModeSettings(2, 2);
+        final ThreadModeSettings configuration = new ThreadModeSettings(2, 1);
 
-        try {
-            configuration.resolveName(ThreadModeSettings.CHECKER_MODULE_NAME);
-            assertWithMessage("An exception is expected").fail();
-        }
-        catch (IllegalArgumentException exc) {
-            assertWithMessage("Invalid exception message")
-                    .that(exc.getMessage())
-                    .isEqualTo("Multi thread mode for Checker module is not implemented");
-        }
+        final String checkerName =
+                configuration.resolveName(ThreadModeSettings.CHECKER_MODULE_NAME);
+        assertWithMessage("Invalid name resolved")
+                .that(checkerName)
+                .isEqualTo(ThreadModeSettings.CHECKER_MODULE_NAME);
+        final String treeWalkerName =
+                configuration.resolveName(ThreadModeSettings.TREE_WALKER_MODULE_NAME);
+        assertWithMessage("Invalid name resolved")
+                .that(treeWalkerName)
+                .isEqualTo(ThreadModeSettings.TREE_WALKER_MODULE_NAME);
     }
 
     @Test
@@ -69,15 +70,11 @@ public class ThreadModeSettingsTest {
     public void testResolveTreeWalker() {
         final ThreadModeSettings configuration = new ThreadModeSettings(2, 2);
 
-        try {
-            configuration.resolveName(ThreadModeSettings.TREE_WALKER_MODULE_NAME);
-            assertWithMessage("Exception is expected").fail();
-        }
-        catch (IllegalArgumentException exc) {
-            assertWithMessage("Invalid exception message")
-                    .that(exc.getMessage())
-                    .isEqualTo("Multi thread mode for TreeWalker module is not implemented");
-        }
+        final String actual =
+                configuration.resolveName(ThreadModeSettings.TREE_WALKER_MODULE_NAME);
+        assertWithMessage("Invalid name resolved")
+                .that(actual)
+                .isEqualTo(ThreadModeSettings.TREE_WALKER_MODULE_NAME);
     }
 
     @Test
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
+import java.io.StringReader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -62,6 +63,7 @@ import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.checks.NoCodeInFileCheck;
 import com.puppycrawl.tools.checkstyle.checks.coding.EmptyStatementCheck;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
+import com.puppycrawl.tools.checkstyle.checks.coding.RequireThisCheck;
 import com.puppycrawl.tools.checkstyle.checks.design.OneTopLevelClassCheck;
 import com.puppycrawl.tools.checkstyle.checks.indentation.CommentsIndentationCheck;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocPackageCheck;
@@ -76,6 +78,7 @@ import com.puppycrawl.tools.checkstyle.filters.SuppressWithNearbyCommentFilter;
 import com.puppycrawl.tools.checkstyle.filters.SuppressionXpathFilter;
 import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
 /**
  * TreeWalkerTest.
@@ -353,6 +356,37 @@ public class TreeWalkerTest extends AbstractModuleTestSupport {
             .isEmpty();
     }
 
+    @Test
+    public void testChecksShareSymbolTableOfFile() throws Exception {
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.configure(createModuleConfig(TreeWalker.class));
+        final PackageObjectFactory factory = new PackageObjectFactory(
+            new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.setupChild(createModuleConfig(HiddenFieldCheck.class));
+        treeWalker.setupChild(createModuleConfig(RequireThisCheck.class));
+        final File file = new File(temporaryFolder, "file.java");
+        final FileText fileText = new FileText(file,
+            Collections.singletonList("class A { int a; void m(int a) { } }"));
+        treeWalker.setFileContents(new FileContents(fileText));
+        treeWalker.processFiltered(file, fileText);
+        final Collection<AbstractCheck> checks =
+            TestUtil.getInternalState(treeWalker, "ordinaryChecks");
+        final List<Object> symbolTables = new ArrayList<>();
+        for (AbstractCheck check : checks) {
+            symbolTables.add(TestUtil.getInternalState(check, "symbolTable"));
+        }
+        assertWithMessage("Checks should get a symbol table")
+            .that(symbolTables.get(0))
+            .isNotNull();
+        assertWithMessage("Checks of a file should share one symbol table")
+            .that(symbolTables.get(1))
+            .isSameInstanceAs(symbolTables.get(0));
+        assertWithMessage("Symbol table should not outlive the file")
+            .that(TestUtil.<Object>getInternalState(treeWalker, "symbolTable"))
+            .isNull();
+    }
+
     @Test
     public void testWithCacheWithNoViolation() throws Exception {
         final String path = getPath("InputTreeWalkerWithCacheWithNoViolation.java");
@@ -794,6 +828,142 @@ public class TreeWalkerTest extends AbstractModuleTestSupport {
         verify(checker, files, expectedViolation);
     }
 
+    @Test
+    public void testLeaveTokenIsCalledForInheritedOverride() throws Exception {
+        final TreeWalker treeWalker = createTreeWalker(VisitLeaveCountingSubclassCheck.class);
+        final File file = new File(getPath("InputTreeWalker.java"));
+
+        treeWalker.process(file, new FileText(file, StandardCharsets.UTF_8.name()));
+
+        final VisitLeaveCountingCheck check = getOnlyOrdinaryCheck(treeWalker);
+        assertWithMessage("Check should visit tokens")
+                .that(check.visitCount)
+                .isGreaterThan(0);
+        assertWithMessage("Inherited leaveToken should be called for every visited token")
+                .that(check.leaveCount)
+                .isEqualTo(check.visitCount);
+    }
+
+    @Test
+    public void testCheckRegisteredAfterProcessingIsNotified() throws Exception {
+        final TreeWalker treeWalker = createTreeWalker(VisitLeaveCountingCheck.class);
+        final File file = new File(getPath("InputTreeWalker.java"));
+        final FileText fileText = new FileText(file, StandardCharsets.UTF_8.name());
+        treeWalker.process(file, fileText);
+
+        treeWalker.setupChild(createModuleConfig(VisitLeaveCountingSubclassCheck.class));
+        treeWalker.process(file, fileText);
+
+        final Collection<VisitLeaveCountingCheck> checks =
+                TestUtil.getInternalState(treeWalker, "ordinaryChecks");
+        assertWithMessage("Both checks should be registered")
+                .that(checks)
+                .hasSize(2);
+        for (VisitLeaveCountingCheck check : checks) {
+            assertWithMessage("Every check should be notified")
+                    .that(check.leaveCount)
+                    .isGreaterThan(0);
+        }
+    }
+
+    @Test
+    public void testCommentNodesAppendedAfterOrdinaryWalk() throws Exception {
+        final TreeWalker treeWalker = createTreeWalker(TreeRecordingCheck.class);
+        treeWalker.setupChild(createModuleConfig(TreeRecordingCommentCheck.class));
+        final File file = new File(getPath("InputTreeWalkerCommentNodes.java"));
+
+        treeWalker.process(file, new FileText(file, StandardCharsets.UTF_8.name()));
+
+        final Collection<TreeRecordingCheck> ordinaryChecks =
+                TestUtil.getInternalState(treeWalker, "ordinaryChecks");
+        final Collection<TreeRecordingCheck> commentChecks =
+                TestUtil.getInternalState(treeWalker, "commentChecks");
+        assertWithMessage("Ordinary check should see AST without comments")
+                .that(ordinaryChecks.iterator().next().tree)
+                .isEqualTo(printTree(
+                        JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS)));
+        assertWithMessage("Comment check should see AST with all comments")
+                .that(commentChecks.iterator().next().tree)
+                .isEqualTo(printTree(JavaParser.parseFile(file, JavaParser.Options.WITH_COMMENTS)));
+    }
+
+    @Test
+    public void testLocalChecksSkipUnchangedMembers() throws Exception {
+        final File file = new File(temporaryFolder, "Test.java");
+        Files.writeString(file.toPath(), "class Test {\n"
+                + "    void first() {\n"
+                + "    }\n"
+                + "\n"
+                + "    void second() {\n"
+                + "    }\n"
+                + "}\n");
+        final ChangedLinesFilter filter = ChangedLinesFilter.fromDiff(new StringReader(
+                "--- a/Test.java\n+++ b/Test.java\n@@ -5 +5 @@\n-    void old() {\n"
+                        + "+    void second() {\n"), temporaryFolder);
+        final TreeWalker treeWalker = createTreeWalker(VisitLeaveCountingCheck.class);
+        treeWalker.setupChild(createModuleConfig(LocalVisitLeaveCountingCheck.class));
+        treeWalker.setChangedLinesFilter(filter);
+
+        treeWalker.process(file, new FileText(file, StandardCharsets.UTF_8.name()));
+
+        final Collection<VisitLeaveCountingCheck> checks =
+                TestUtil.getInternalState(treeWalker, "ordinaryChecks");
+        for (VisitLeaveCountingCheck check : checks) {
+            final int expectedCount;
+            if (check instanceof LocalVisitLeaveCountingCheck) {
+                expectedCount = 2;
+            }
+            else {
+                expectedCount = 3;
+            }
+            assertWithMessage("Invalid visit count of " + check.getClass().getSimpleName())
+                    .that(check.visitCount)
+                    .isEqualTo(expectedCount);
+            assertWithMessage("Invalid leave count of " + check.getClass().getSimpleName())
+                    .that(check.leaveCount)
+                    .isEqualTo(expectedCount);
+        }
+    }
+
+    private static String printTree(DetailAST root) {
+        final StringBuilder result = new StringBuilder(1024);
+        DetailAST curNode = root;
+        int depth = 0;
+        while (curNode != null) {
+            result.append(depth).append(' ').append(TokenUtil.getTokenName(curNode.getType()))
+                    .append(' ').append(curNode.getText()).append('\n');
+            DetailAST toVisit = curNode.getFirstChild();
+            if (toVisit != null) {
+                depth++;
+            }
+            while (curNode != null && toVisit == null) {
+                toVisit = curNode.getNextSibling();
+                if (toVisit == null) {
+                    depth--;
+                }
+                curNode = curNode.getParent();
+            }
+            curNode = toVisit;
+        }
+        return result.toString();
+    }
+
+    private static TreeWalker createTreeWalker(Class<?> checkClass) throws Exception {
+        final TreeWalker treeWalker = new TreeWalker();
+        final PackageObjectFactory factory = new PackageObjectFactory(
+                new HashSet<>(), Thread.currentThread().getContextClassLoader());
+        treeWalker.setModuleFactory(factory);
+        treeWalker.finishLocalSetup();
+        treeWalker.setupChild(new DefaultConfiguration(checkClass.getName()));
+        return treeWalker;
+    }
+
+    private static VisitLeaveCountingCheck getOnlyOrdinaryCheck(TreeWalker treeWalker) {
+        final Collection<VisitLeaveCountingCheck> checks =
+                TestUtil.getInternalState(treeWalker, "ordinaryChecks");
+        return checks.iterator().next();
+    }
+
     public static class BadJavaDocCheck extends AbstractCheck {
 
         @Override
@@ -936,6 +1106,88 @@ public class TreeWalkerTest extends AbstractModuleTestSupport {
 
     }
 
+    public static class TreeRecordingCheck extends AbstractCheck {
+
+        private String tree;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return CommonUtil.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return CommonUtil.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return CommonUtil.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public void finishTree(DetailAST rootAST) {
+            tree = printTree(rootAST);
+        }
+
+    }
+
+    public static class TreeRecordingCommentCheck extends TreeRecordingCheck {
+
+        @Override
+        public boolean isCommentNodesRequired() {
+            return true;
+        }
+
+    }
+
+    public static class VisitLeaveCountingCheck extends AbstractCheck {
+
+        private int visitCount;
+
+        private int leaveCount;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[] {TokenTypes.CLASS_DEF, TokenTypes.METHOD_DEF};
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getDefaultTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return CommonUtil.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            visitCount++;
+        }
+
+        @Override
+        public void leaveToken(DetailAST ast) {
+            leaveCount++;
+        }
+
+    }
+
+    public static class VisitLeaveCountingSubclassCheck extends VisitLeaveCountingCheck {
+
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+    }
+
+    @LocalCheck
+    public static class LocalVisitLeaveCountingCheck extends VisitLeaveCountingCheck {
+        // the counts show which nodes a local check is notified about
+    }
+
     public static class RequiredTokenIsEmptyIntArray extends AbstractCheck {
 
         @Override
@@ -23,6 +23,7 @@ import static com.google.common.truth.Truth.assertWithMessage;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -341,6 +342,41 @@ public class XMLLoggerTest extends AbstractXmlTestSupport {
         verifyXml(getPath("ExpectedXMLLoggerError.xml"), outStream, violation.getViolation());
     }
 
+    @Test
+    public void testInterleavedFiles() {
+        final XMLLogger logger = new XMLLogger(outStream, OutputStreamOptions.CLOSE);
+        logger.auditStarted(null);
+        final AuditEvent firstFileEvent = new AuditEvent(this, "First.java");
+        final AuditEvent secondFileEvent = new AuditEvent(this, "Second.java");
+        logger.fileStarted(firstFileEvent);
+        logger.fileStarted(secondFileEvent);
+        logger.addError(createErrorEvent("Second.java", 2));
+        logger.addError(createErrorEvent("First.java", 1));
+        logger.fileFinished(secondFileEvent);
+        logger.addError(createErrorEvent(null, 3));
+        logger.addException(createErrorEvent(null, 4),
+                new TestException("msg", new RuntimeException("msg")));
+        logger.fileFinished(firstFileEvent);
+        logger.addError(createErrorEvent("Second.java", 5));
+        logger.auditFinished(null);
+
+        final String error = "\" column=\"1\" severity=\"error\" message=\"key\""
+                + " source=\"com.puppycrawl.tools.checkstyle.XMLLoggerTest\"/>\n";
+        final String expected = "<file name=\"First.java\">\n"
+                + "<error line=\"1" + error
+                + "</file>\n"
+                + "<file name=\"Second.java\">\n"
+                + "<error line=\"2" + error
+                + "</file>\n"
+                + "<error line=\"3" + error
+                + "<exception>\n<![CDATA[\nstackTrace&#10;example\n]]>\n</exception>\n"
+                + "<error line=\"5" + error
+                + "</checkstyle>\n";
+        assertWithMessage("Files should be written one after the other")
+                .that(outStream.toString(StandardCharsets.UTF_8).replace("\r\n", "\n"))
+                .endsWith(expected);
+    }
+
     @Test
     public void testFileOpenTag()
             throws Exception {
@@ -428,6 +464,14 @@ public class XMLLoggerTest extends AbstractXmlTestSupport {
                 .isFalse();
     }
 
+    private AuditEvent createErrorEvent(String fileName, int line) {
+        final Violation violation =
+                new Violation(line, 1,
+                        "messages.properties", "key", null, SeverityLevel.ERROR, null,
+                        getClass(), null);
+        return new AuditEvent(this, fileName, violation);
+    }
+
     private static final class TestException extends RuntimeException {
 
         private static final long serialVersionUID = 1L;
@@ -267,6 +267,25 @@ public class AbstractCheckTest extends AbstractModuleTestSupport {
                 .isEqualTo(lines);
     }
 
+    @Test
+    public void testSymbolTable() {
+        final AbstractCheck check = new DummyAbstractCheck();
+        final DetailAST root = new DetailAstImpl();
+        final SymbolTable symbolTable = new SymbolTable(root);
+
+        assertWithMessage("Table should be built without a table of the file")
+                .that(check.getSymbolTable(root).isTableOf(root))
+                .isTrue();
+        check.setSymbolTable(symbolTable);
+        assertWithMessage("Table of the file should be shared")
+                .that(check.getSymbolTable(root))
+                .isSameInstanceAs(symbolTable);
+        final DetailAST otherRoot = new DetailAstImpl();
+        assertWithMessage("Table of another tree should be built")
+                .that(check.getSymbolTable(otherRoot).isTableOf(otherRoot))
+                .isTrue();
+    }
+
     @Test
     public void testGetAcceptableTokens() {
         final int[] defaultTokens = {TokenTypes.CLASS_DEF, TokenTypes.INTERFACE_DEF};
@@ -22,6 +22,9 @@ package com.puppycrawl.tools.checkstyle.api;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
 
+import java.io.File;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 public class AuditEventTest {
@@ -42,6 +45,9 @@ public class AuditEventTest {
         assertWithMessage("invalid severity")
                 .that(event.getSeverityLevel())
                 .isEqualTo(SeverityLevel.INFO);
+        assertWithMessage("invalid file text")
+                .that(event.getFileText())
+                .isNull();
     }
 
     @Test
@@ -88,4 +94,19 @@ public class AuditEventTest {
                 .that(event.getSourceName())
                 .isEqualTo("com.puppycrawl.tools.checkstyle.api.AuditEventTest");
     }
+
+    @Test
+    public void testFileText() {
+        final Violation message = new Violation(1, 2, 3, "bundle", "key", null,
+                SeverityLevel.ERROR, "moduleId", getClass(), "customMessage");
+        final FileText fileText = new FileText(new File("fileName"), List.of("line"));
+        final AuditEvent event = new AuditEvent(getClass(), "fileName", message, fileText);
+
+        assertWithMessage("invalid file text")
+                .that(event.getFileText())
+                .isSameInstanceAs(fileText);
+        assertWithMessage("invalid violation")
+                .that(event.getViolation())
+                .isEqualTo(message);
+    }
 }
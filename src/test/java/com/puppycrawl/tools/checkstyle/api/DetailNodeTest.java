@@ -0,0 +1,111 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.api;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import org.junit.jupiter.api.Test;
+
+public class DetailNodeTest {
+
+    @Test
+    public void testDefaultNavigation() {
+        final SimpleNode root = new SimpleNode(null, 0);
+        final SimpleNode first = new SimpleNode(root, 0);
+        final SimpleNode second = new SimpleNode(root, 1);
+        root.children = new DetailNode[] {first, second};
+
+        assertWithMessage("Invalid first child")
+                .that(root.getFirstChild())
+                .isSameInstanceAs(first);
+        assertWithMessage("Node without children should have no first child")
+                .that(first.getFirstChild())
+                .isNull();
+        assertWithMessage("Invalid next sibling")
+                .that(first.getNextSibling())
+                .isSameInstanceAs(second);
+        assertWithMessage("Last child should have no next sibling")
+                .that(second.getNextSibling())
+                .isNull();
+        assertWithMessage("Invalid previous sibling")
+                .that(second.getPreviousSibling())
+                .isSameInstanceAs(first);
+        assertWithMessage("First child should have no previous sibling")
+                .that(first.getPreviousSibling())
+                .isNull();
+        assertWithMessage("Root should have no next sibling")
+                .that(root.getNextSibling())
+                .isNull();
+    }
+
+    /**
+     * Implements only the methods which have no default implementation.
+     */
+    private static final class SimpleNode implements DetailNode {
+
+        private final DetailNode parent;
+
+        private final int index;
+
+        private DetailNode[] children = new DetailNode[0];
+
+        private SimpleNode(DetailNode parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public int getType() {
+            return JavadocTokenTypes.TEXT;
+        }
+
+        @Override
+        public String getText() {
+            return "text";
+        }
+
+        @Override
+        public int getLineNumber() {
+            return 0;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return 0;
+        }
+
+        @Override
+        public DetailNode[] getChildren() {
+            return children.clone();
+        }
+
+        @Override
+        public DetailNode getParent() {
+            return parent;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+    }
+
+}
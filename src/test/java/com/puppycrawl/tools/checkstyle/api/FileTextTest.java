@@ -26,11 +26,13 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.puppycrawl.tools.checkstyle.AbstractPathTestSupport;
 import com.puppycrawl.tools.checkstyle.internal.utils.CheckUtil;
@@ -38,6 +40,9 @@ import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
 
 public class FileTextTest extends AbstractPathTestSupport {
 
+    @TempDir
+    public File temporaryFolder;
+
     @Override
     protected String getPackageLocation() {
         return "com/puppycrawl/tools/checkstyle/api/filetext";
@@ -110,9 +115,9 @@ public class FileTextTest extends AbstractPathTestSupport {
         final String filepath = getPath("InputFileTextImportControl.xml");
         final FileText fileText = new FileText(new File(filepath), charset.name());
         final FileText copy = new FileText(fileText);
-        assertWithMessage("LineBreaks not null")
+        assertWithMessage("LineBreaks not copied")
                 .that(TestUtil.<int[]>getInternalState(copy, "lineBreaks"))
-                .isNull();
+                .isEqualTo(TestUtil.<int[]>getInternalState(fileText, "lineBreaks"));
         final LineColumn lineColumn = copy.lineColumn(100);
         assertWithMessage("Invalid line")
                 .that(lineColumn.getLine())
@@ -199,4 +204,94 @@ public class FileTextTest extends AbstractPathTestSupport {
         assertWithMessage("Should not be null")
                 .that(copy.getCharset()).isNotNull();
     }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        final File file = new File(temporaryFolder, "file.txt");
+        Files.writeString(file.toPath(), "a\nb\r\nc\rd\r\r\n\ne\r");
+        final FileText fileText = new FileText(file, StandardCharsets.UTF_8.name());
+
+        assertWithMessage("Invalid line")
+                .that(fileText.get(4))
+                .isEqualTo("");
+        assertWithMessage("Invalid lines")
+                .that(fileText.toLinesArray())
+                .isEqualTo(new String[] {"a", "b", "c", "d", "", "", "e"});
+        assertWithMessage("Invalid size")
+                .that(fileText.size())
+                .isEqualTo(7);
+        assertWithMessage("Invalid line column")
+                .that(fileText.lineColumn(7))
+                .isEqualTo(new LineColumn(4, 0));
+        assertWithMessage("Invalid line column")
+                .that(fileText.lineColumn(13))
+                .isEqualTo(new LineColumn(7, 1));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final File file = new File(temporaryFolder, "file.txt");
+        Files.writeString(file.toPath(), "");
+        final FileText fileText = new FileText(file, StandardCharsets.UTF_8.name());
+
+        assertWithMessage("Invalid size")
+                .that(fileText.size())
+                .isEqualTo(0);
+        assertWithMessage("Invalid full text")
+                .that(fileText.getFullText().toString())
+                .isEmpty();
+        assertWithMessage("Invalid line column")
+                .that(fileText.lineColumn(0))
+                .isEqualTo(new LineColumn(1, 0));
+    }
+
+    @Test
+    public void testLinesCreatedOnRequest() throws IOException {
+        final FileText fileText = new FileText(new File(getPath("InputFileTextImportControl.xml")),
+                StandardCharsets.ISO_8859_1.name());
+        final String[] lines = TestUtil.getInternalState(fileText, "lines");
+
+        assertWithMessage("Lines should not be created before requested")
+                .that(lines[1])
+                .isNull();
+        assertWithMessage("Line should be cached")
+                .that(fileText.get(1))
+                .isSameInstanceAs(fileText.get(1));
+        assertWithMessage("Line should be shared with copy")
+                .that(new FileText(fileText).get(1))
+                .isSameInstanceAs(fileText.get(1));
+    }
+
+    @Test
+    public void testFilesLargerThanReusedBuffer() throws IOException {
+        final String line = "\u00e9".repeat(1023) + "\n";
+        final File largeFile = new File(temporaryFolder, "large.txt");
+        Files.writeString(largeFile.toPath(), line.repeat(2048), StandardCharsets.UTF_8);
+        final File smallFile = new File(temporaryFolder, "small.txt");
+        Files.writeString(smallFile.toPath(), "small\n");
+
+        final FileText largeText = new FileText(largeFile, StandardCharsets.UTF_8.name());
+        final FileText smallText = new FileText(smallFile, StandardCharsets.UTF_8.name());
+
+        assertWithMessage("Invalid size")
+                .that(largeText.size())
+                .isEqualTo(2048);
+        assertWithMessage("Invalid line")
+                .that(largeText.get(2047))
+                .isEqualTo(line.substring(0, 1023));
+        assertWithMessage("Invalid full text")
+                .that(smallText.getFullText().toString())
+                .isEqualTo("small\n");
+    }
+
+    @Test
+    public void testMalformedInputReplaced() throws IOException {
+        final File file = new File(temporaryFolder, "file.txt");
+        Files.write(file.toPath(), new byte[] {'a', (byte) 0xC3});
+        final FileText fileText = new FileText(file, StandardCharsets.UTF_8.name());
+
+        assertWithMessage("Invalid full text")
+                .that(fileText.getFullText().toString())
+                .isEqualTo("a" + "\uFFFD");
+    }
 }
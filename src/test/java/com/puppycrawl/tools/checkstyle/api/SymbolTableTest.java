@@ -0,0 +1,314 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.api;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
+
+public class SymbolTableTest {
+
+    private static final List<String> SOURCE = List.of(
+        "class Outer {",
+        "    int field;",
+        "    final int finalField = 0;",
+        "    static int staticField;",
+        "    void method(int param) {",
+        "        int before = later;",
+        "        int later = param;",
+        "        method(later);",
+        "        staticMethod(later, field);",
+        "        method();",
+        "        try (AutoCloseable res = null) {",
+        "            res.close();",
+        "        }",
+        "        catch (Exception ex) {",
+        "            res = ex;",
+        "        }",
+        "        for (int index = 0; index < 1; index++) {",
+        "            index = staticField;",
+        "        }",
+        "        java.util.function.IntUnaryOperator op = (int lambdaParam) -> lambdaParam;",
+        "        Runnable runnable = new Runnable() {",
+        "            public void run() {",
+        "                field = 1;",
+        "            }",
+        "        };",
+        "    }",
+        "    static void staticMethod(int first, int second) {",
+        "    }",
+        "    Outer(int field) {",
+        "        this.field = field;",
+        "    }",
+        "}",
+        "record Rec(int component) {",
+        "}",
+        "enum Color {",
+        "    RED {",
+        "        int shade;",
+        "    };",
+        "    static int shade;",
+        "}"
+    );
+
+    @Test
+    public void testTableIsBuiltOnFirstUse() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+
+        assertWithMessage("Table should not be built before it is used")
+                .that(TestUtil.<Object>getInternalState(table, "scopes"))
+                .isNull();
+        assertWithMessage("Scope should be found")
+                .that(table.getScope(findIdent(root, "Outer", 0).getParent()))
+                .isNotNull();
+        assertWithMessage("Table should be built once it is used")
+                .that(TestUtil.<Object>getInternalState(table, "scopes"))
+                .isNotNull();
+        assertWithMessage("Table should be built from the tree")
+                .that(table.isTableOf(root))
+                .isTrue();
+        assertWithMessage("Table should not be built from another tree")
+                .that(table.isTableOf(parse()))
+                .isFalse();
+    }
+
+    @Test
+    public void testFieldIdents() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+        final SymbolTable.Scope outer = table.getScope(findIdent(root, "Outer", 0).getParent());
+        final SymbolTable.Scope color = table.getScope(findIdent(root, "Color", 0).getParent());
+
+        assertWithMessage("Instance field should be found")
+                .that(outer.getFieldIdents("field"))
+                .containsExactly(findIdent(root, "field", 0));
+        assertWithMessage("Static field should be found")
+                .that(outer.getFieldIdents("staticField"))
+                .containsExactly(findIdent(root, "staticField", 0));
+        assertWithMessage("Unknown field should not be found")
+                .that(outer.getFieldIdents("unknown"))
+                .isEmpty();
+        assertWithMessage("Record component should be found")
+                .that(table.getScope(findIdent(root, "Rec", 0).getParent())
+                        .getFieldIdents("component"))
+                .containsExactly(findIdent(root, "component", 0));
+        assertWithMessage("Fields of enum constant bodies are recorded in the enum")
+                .that(color.getFieldIdents("shade"))
+                .containsExactly(findIdent(root, "shade", 0), findIdent(root, "shade", 1))
+                .inOrder();
+        assertWithMessage("Enum constant should not be a field ident")
+                .that(color.getFieldIdents("RED"))
+                .isEmpty();
+    }
+
+    @Test
+    public void testTypeScope() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+        final SymbolTable.Scope outer = table.getScope(findIdent(root, "Outer", 0).getParent());
+
+        assertWithMessage("Invalid kind")
+                .that(outer.getKind())
+                .isEqualTo(SymbolTable.ScopeKind.TYPE);
+        assertWithMessage("Invalid name")
+                .that(outer.getName())
+                .isEqualTo("Outer");
+        assertWithMessage("Invalid name ident")
+                .that(outer.getNameIdent())
+                .isSameInstanceAs(findIdent(root, "Outer", 0));
+        assertWithMessage("Top level type should have no parent")
+                .that(outer.getParent())
+                .isNull();
+        assertWithMessage("Instance field should be found")
+                .that(outer.hasInstanceField(findIdent(root, "field", 0)))
+                .isTrue();
+        assertWithMessage("Static field should not be an instance field")
+                .that(outer.hasInstanceField(findIdent(root, "staticField", 0)))
+                .isFalse();
+        assertWithMessage("Final field should be found")
+                .that(outer.hasFinalField(findIdent(root, "finalField", 0)))
+                .isTrue();
+        assertWithMessage("Field should not be final")
+                .that(outer.hasFinalField(findIdent(root, "field", 0)))
+                .isFalse();
+    }
+
+    @Test
+    public void testMethodsAreFoundByNameAndArity() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+        final SymbolTable.Scope outer = table.getScope(findIdent(root, "Outer", 0).getParent());
+        final DetailAST methodCall = findIdent(root, "method", 1);
+        final DetailAST staticMethodCall = findIdent(root, "staticMethod", 0);
+        final DetailAST callWithoutArguments = findIdent(root, "method", 2);
+
+        assertWithMessage("Instance method should match the call")
+                .that(outer.hasInstanceMethod(methodCall))
+                .isTrue();
+        assertWithMessage("Static method should not be an instance method")
+                .that(outer.hasInstanceMethod(staticMethodCall))
+                .isFalse();
+        assertWithMessage("Static method should match the call")
+                .that(outer.hasStaticMethod(staticMethodCall))
+                .isTrue();
+        assertWithMessage("Method with other arity should not match the call")
+                .that(outer.hasInstanceMethod(callWithoutArguments))
+                .isFalse();
+        assertWithMessage("Declaration is not a call")
+                .that(outer.hasInstanceMethod(findIdent(root, "method", 0)))
+                .isFalse();
+        assertWithMessage("Type should declare the method")
+                .that(findDeclaringScope(table, methodCall, true))
+                .isSameInstanceAs(outer);
+    }
+
+    @Test
+    public void testVariablesAreFoundInDeclaringScope() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+        final DetailAST later = findIdent(root, "later", 2);
+        final DetailAST param = findIdent(root, "param", 1);
+
+        final SymbolTable.Scope laterScope = findDeclaringScope(table, later, false);
+        assertWithMessage("Invalid scope of local variable")
+                .that(laterScope.getKind())
+                .isEqualTo(SymbolTable.ScopeKind.BLOCK);
+        assertWithMessage("Invalid scope of parameter")
+                .that(findDeclaringScope(table, param, false).getKind())
+                .isEqualTo(SymbolTable.ScopeKind.METHOD);
+        assertWithMessage("Variables are not searched for a method")
+                .that(findDeclaringScope(table, later, true))
+                .isNull();
+        assertWithMessage("Variable used before its declaration should not be found")
+                .that(findDeclaringScope(table, findIdent(root, "later", 0), false))
+                .isNull();
+        assertWithMessage("Invalid scope of for variable")
+                .that(findDeclaringScope(table, findIdent(root, "index", 3), false).getKind())
+                .isEqualTo(SymbolTable.ScopeKind.FOR);
+        assertWithMessage("Invalid scope of static field")
+                .that(findDeclaringScope(table, findIdent(root, "staticField", 1), false)
+                        .getName())
+                .isEqualTo("Outer");
+    }
+
+    @Test
+    public void testResourcesAreNotVisibleFromCatch() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+
+        assertWithMessage("Invalid scope of resource")
+                .that(findDeclaringScope(table, findIdent(root, "res", 1), false).getKind())
+                .isEqualTo(SymbolTable.ScopeKind.TRY_WITH_RESOURCES);
+        assertWithMessage("Resource should not be visible from catch")
+                .that(findDeclaringScope(table, findIdent(root, "res", 2), false))
+                .isNull();
+        assertWithMessage("Invalid scope of catch parameter")
+                .that(findDeclaringScope(table, findIdent(root, "ex", 1), false).getKind())
+                .isEqualTo(SymbolTable.ScopeKind.CATCH);
+    }
+
+    @Test
+    public void testLambdaParametersAreNotRecorded() throws Exception {
+        final DetailAST root = parse();
+        final SymbolTable table = new SymbolTable(root);
+
+        assertWithMessage("Lambda parameter should not be recorded")
+                .that(findDeclaringScope(table, findIdent(root, "lambdaParam", 1), false))
+                .isNull();
+    }
+
+    @Test
+    public void testAnonymousTypeScope() throws Exception {
+        final DetailAST root = parse();
+        final DetailAST field = findIdent(root, "field", 2);
+        final SymbolTable table = new SymbolTable(root);
+        final SymbolTable.Scope runScope = table.getScope(findIdent(root, "run", 0).getParent());
+        final SymbolTable.Scope anonymous = runScope.getParent();
+
+        assertWithMessage("Invalid kind")
+                .that(anonymous.getKind())
+                .isEqualTo(SymbolTable.ScopeKind.ANONYMOUS_TYPE);
+        assertWithMessage("Anonymous type should be a type")
+                .that(anonymous.isType())
+                .isTrue();
+        assertWithMessage("Anonymous type should have no name ident")
+                .that(anonymous.getNameIdent())
+                .isNull();
+        assertWithMessage("Field should be declared by the enclosing type")
+                .that(findDeclaringScope(table, field, false).getName())
+                .isEqualTo("Outer");
+    }
+
+    @Test
+    public void testConstructorAndRecordScopes() throws Exception {
+        final DetailAST root = parse();
+        final DetailAST constructorField = findIdent(root, "field", 4);
+        final SymbolTable table = new SymbolTable(root);
+        final SymbolTable.Scope record = table.getScope(findIdent(root, "Rec", 0).getParent());
+
+        assertWithMessage("Invalid scope of constructor parameter")
+                .that(findDeclaringScope(table, constructorField, false).getKind())
+                .isEqualTo(SymbolTable.ScopeKind.CONSTRUCTOR);
+        assertWithMessage("Record component should be an instance field")
+                .that(record.hasInstanceField(findIdent(root, "component", 0)))
+                .isTrue();
+        assertWithMessage("Fields of records with components should be final")
+                .that(record.hasFinalField(findIdent(root, "field", 0)))
+                .isTrue();
+    }
+
+    private static DetailAST parse() throws Exception {
+        return JavaParser.parseFileText(new FileText(new File("Outer.java"), SOURCE),
+                JavaParser.Options.WITHOUT_COMMENTS);
+    }
+
+    private static SymbolTable.Scope findDeclaringScope(SymbolTable table, DetailAST ident,
+            boolean lookForMethod) {
+        DetailAST node = ident.getParent();
+        while (table.getScope(node) == null) {
+            node = node.getParent();
+        }
+        return table.getScope(node).findDeclaringScope(ident, lookForMethod);
+    }
+
+    private static DetailAST findIdent(DetailAST root, String text, int index) {
+        final List<DetailAST> idents = new ArrayList<>();
+        collectIdents(root, text, idents);
+        return idents.get(index);
+    }
+
+    private static void collectIdents(DetailAST ast, String text, List<DetailAST> idents) {
+        for (DetailAST node = ast; node != null; node = node.getNextSibling()) {
+            if (node.getType() == TokenTypes.IDENT && text.equals(node.getText())) {
+                idents.add(node);
+            }
+            collectIdents(node.getFirstChild(), text, idents);
+        }
+    }
+
+}
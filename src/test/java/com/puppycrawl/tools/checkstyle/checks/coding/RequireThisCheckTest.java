@@ -24,7 +24,6 @@ import static com.puppycrawl.tools.checkstyle.checks.coding.RequireThisCheck.MSG
 import static com.puppycrawl.tools.checkstyle.checks.coding.RequireThisCheck.MSG_VARIABLE;
 
 import java.io.File;
-import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.SortedSet;
@@ -510,52 +509,6 @@ public class RequireThisCheckTest extends AbstractModuleTestSupport {
             expected);
     }
 
-    /**
-     * We cannot confirm the type of the private class unless using reflection.
-     * Until <a href="https://github.com/checkstyle/checkstyle/issues/12666">#12666</a>.
-     *
-     * @throws Exception when code tested throws an exception.
-     */
-    @Test
-    public void testUnusedMethodCatch() throws Exception {
-        final DetailAstImpl ident = new DetailAstImpl();
-        ident.setText("testName");
-
-        final Class<?> cls = Class.forName(RequireThisCheck.class.getName() + "$CatchFrame");
-        final Constructor<?> constructor = cls.getDeclaredConstructors()[0];
-        constructor.setAccessible(true);
-        final Object o = constructor.newInstance(null, ident);
-
-        final DetailAstImpl actual = TestUtil.invokeMethod(o, "getFrameNameIdent");
-        assertWithMessage("expected ident token")
-            .that(actual)
-            .isSameInstanceAs(ident);
-        assertWithMessage("expected catch frame type")
-            .that(TestUtil.invokeMethod(o, "getType").toString())
-            .isEqualTo("CATCH_FRAME");
-    }
-
-    /**
-     * We cannot confirm the type of the private class unless using reflection.
-     * Until <a href="https://github.com/checkstyle/checkstyle/issues/12666">#12666</a>.
-     *
-     * @throws Exception when code tested throws an exception.
-     */
-    @Test
-    public void testUnusedMethodFor() throws Exception {
-        final DetailAstImpl ident = new DetailAstImpl();
-        ident.setText("testName");
-
-        final Class<?> cls = Class.forName(RequireThisCheck.class.getName() + "$ForFrame");
-        final Constructor<?> constructor = cls.getDeclaredConstructors()[0];
-        constructor.setAccessible(true);
-        final Object o = constructor.newInstance(null, ident);
-
-        assertWithMessage("expected for frame type")
-            .that(TestUtil.invokeMethod(o, "getType").toString())
-            .isEqualTo("FOR_FRAME");
-    }
-
     /**
      * We cannot reproduce situation when visitToken is called and leaveToken is not.
      * So, we have to use reflection to be sure that even in such situation
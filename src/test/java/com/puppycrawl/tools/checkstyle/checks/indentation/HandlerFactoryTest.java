@@ -0,0 +1,89 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.indentation;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
+
+public class HandlerFactoryTest {
+
+    @Test
+    public void testHandlerIsCreatedForRegisteredType() throws Exception {
+        final DetailAST root = parse("class Test {", "}");
+        final IndentationCheck check = new IndentationCheck();
+
+        final AbstractExpressionHandler handler = new HandlerFactory()
+                .getHandler(check, root.getFirstChild(), new PrimordialHandler(check));
+
+        assertWithMessage("Invalid handler")
+                .that(handler)
+                .isInstanceOf(ClassDefHandler.class);
+    }
+
+    @Test
+    public void testHandlerOfMethodCallTargetIsHandedOutOnce() throws Exception {
+        final DetailAST root = parse(
+            "class Test {",
+            "    Object field = new Object().toString();",
+            "}");
+        final DetailAST methodCall = findToken(root, TokenTypes.METHOD_CALL);
+        final DetailAST literalNew = findToken(root, TokenTypes.LITERAL_NEW);
+        final IndentationCheck check = new IndentationCheck();
+        final HandlerFactory factory = new HandlerFactory();
+        final Map<DetailAST, AbstractExpressionHandler> createdHandlers =
+                TestUtil.getInternalState(factory, "createdHandlers");
+
+        final AbstractExpressionHandler callHandler =
+                factory.getHandler(check, methodCall, new PrimordialHandler(check));
+        final AbstractExpressionHandler newHandler = createdHandlers.get(literalNew);
+
+        assertWithMessage("Handler of the method call target should be its parent")
+                .that(callHandler.getParent())
+                .isSameInstanceAs(newHandler);
+        assertWithMessage("Created handler should be handed out")
+                .that(factory.getHandler(check, literalNew, callHandler))
+                .isSameInstanceAs(newHandler);
+        assertWithMessage("Created handler should be handed out only once")
+                .that(createdHandlers)
+                .isEmpty();
+    }
+
+    private static DetailAST parse(String... lines) throws Exception {
+        return JavaParser.parseFileText(new FileText(new File("Test.java"), List.of(lines)),
+                JavaParser.Options.WITHOUT_COMMENTS);
+    }
+
+    private static DetailAST findToken(DetailAST root, int type) {
+        return TestUtil.findTokenInAstByPredicate(root, ast -> ast.getType() == type)
+                .orElseThrow();
+    }
+
+}
@@ -29,6 +29,10 @@ import static com.puppycrawl.tools.checkstyle.checks.javadoc.SummaryJavadocCheck
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import java.io.File;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import org.itsallcode.io.Capturable;
@@ -40,9 +44,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
+import com.puppycrawl.tools.checkstyle.AuditProfiler;
+import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.DetailNode;
 import com.puppycrawl.tools.checkstyle.api.JavadocTokenTypes;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 import com.puppycrawl.tools.checkstyle.utils.JavadocUtil;
 
@@ -600,6 +609,161 @@ public class AbstractJavadocCheckTest extends AbstractModuleTestSupport {
                 getPath("InputAbstractJavadocLeaveToken.java"), expected);
     }
 
+    @Test
+    public void testSingleWalkForAllChecks() throws Exception {
+        JavadocTokenRecordingCheck.RECORDED.clear();
+        final DefaultConfiguration textConfig =
+                createModuleConfig(JavadocTokenRecordingCheck.class);
+        textConfig.addProperty("javadocTokens", "TEXT");
+        final DefaultConfiguration javadocConfig =
+                createModuleConfig(JavadocTokenRecordingCheck.class);
+        javadocConfig.addProperty("javadocTokens", "JAVADOC");
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(textConfig);
+        treeWalkerConfig.addChild(javadocConfig);
+
+        execute(createRootConfig(treeWalkerConfig),
+                getPath("InputAbstractJavadocLeaveTokenOne.java"));
+
+        final List<Integer> recorded = JavadocTokenRecordingCheck.RECORDED;
+        assertWithMessage("Checks should only visit their tokens")
+                .that(recorded)
+                .containsAtLeast(JavadocTokenTypes.JAVADOC, JavadocTokenTypes.TEXT);
+        assertWithMessage("Checks should only visit their tokens")
+                .that(recorded)
+                .containsNoneIn(List.of(JavadocTokenTypes.JAVADOC_TAG,
+                        JavadocTokenTypes.NEWLINE));
+        assertWithMessage("Tree should be walked once, root first, for all checks")
+                .that(recorded.get(0))
+                .isEqualTo(JavadocTokenTypes.JAVADOC);
+    }
+
+    @Test
+    public void testTreesAreWalkedWhenLeaveTokenIsOverridden() throws Exception {
+        JavadocTokenRecordingCheck.RECORDED.clear();
+        execute(createModuleConfig(JavadocTokenRecordingCheck.class),
+                getPath("InputAbstractJavadocLeaveTokenOne.java"));
+        final List<Integer> expected = new ArrayList<>(JavadocTokenRecordingCheck.RECORDED);
+        JavadocTokenRecordingCheck.RECORDED.clear();
+        execute(createModuleConfig(LeaveTokenOverridingCheck.class),
+                getPath("InputAbstractJavadocLeaveTokenOne.java"));
+
+        assertWithMessage("All trees should be walked without leaving of comments")
+                .that(JavadocTokenRecordingCheck.RECORDED)
+                .isEqualTo(expected);
+    }
+
+    @Test
+    public void testPendingWalkIsDroppedOnBeginTree() {
+        final JavadocTokenRecordingCheck check = new JavadocTokenRecordingCheck();
+        final ThreadLocal<?> sharedWalk =
+                TestUtil.getInternalStaticState(AbstractJavadocCheck.class, "SHARED_WALK");
+        final List<AbstractJavadocCheck> checks =
+                TestUtil.getInternalState(sharedWalk.get(), "checks");
+        checks.add(check);
+
+        check.beginTree(null);
+
+        assertWithMessage("Walk left over by a previous file should be dropped")
+                .that(checks)
+                .isEmpty();
+        check.destroy();
+    }
+
+    @Test
+    public void testDispatchTableIsDroppedOnFinishTree() {
+        final JavadocTokenRecordingCheck check = new JavadocTokenRecordingCheck();
+        final ThreadLocal<?> sharedWalk =
+                TestUtil.getInternalStaticState(AbstractJavadocCheck.class, "SHARED_WALK");
+        final List<AbstractJavadocCheck> checks =
+                TestUtil.getInternalState(sharedWalk.get(), "checks");
+        checks.add(check);
+
+        check.finishTree(null);
+
+        assertWithMessage("Pending walk should be done")
+                .that(checks)
+                .isEmpty();
+        assertWithMessage("Checks of the last walk should not be kept")
+                .that(TestUtil.<Object>getInternalState(sharedWalk.get(), "dispatchTableChecks"))
+                .isNull();
+        assertWithMessage("Dispatch table of the last walk should not be kept")
+                .that(TestUtil.<Object>getInternalState(sharedWalk.get(), "dispatchTable"))
+                .isNull();
+        check.destroy();
+    }
+
+    @Test
+    public void testProfilerRecordsWalkForEachCheck() throws Exception {
+        final DefaultConfiguration textConfig =
+                createModuleConfig(JavadocTokenRecordingCheck.class);
+        textConfig.addProperty("id", "text");
+        textConfig.addProperty("javadocTokens", "TEXT");
+        final DefaultConfiguration javadocConfig =
+                createModuleConfig(JavadocTokenRecordingCheck.class);
+        javadocConfig.addProperty("id", "javadoc");
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(textConfig);
+        treeWalkerConfig.addChild(javadocConfig);
+
+        final AuditProfiler profiler = new AuditProfiler(false);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.setProfiler(profiler);
+        checker.configure(createRootConfig(treeWalkerConfig));
+        checker.process(Collections.singletonList(
+                new File(getPath("InputAbstractJavadocLeaveTokenOne.java"))));
+        checker.destroy();
+
+        final StringWriter report = new StringWriter();
+        profiler.writeReport(report);
+        assertWithMessage("Walk should be recorded for each check")
+                .that(report.toString())
+                .contains("text,visitJavadocToken,");
+        assertWithMessage("Walk should be recorded for each check")
+                .that(report.toString())
+                .contains("javadoc,visitJavadocToken,");
+        assertWithMessage("Beginning of trees should be recorded for each check")
+                .that(report.toString())
+                .contains("text,beginJavadocTree,");
+        assertWithMessage("Finishing of trees should be recorded for each check")
+                .that(report.toString())
+                .contains("javadoc,finishJavadocTree,");
+        assertWithMessage("Leaving should not be recorded for checks which ignore it")
+                .that(report.toString())
+                .doesNotContain("leaveJavadocToken");
+    }
+
+    public static class JavadocTokenRecordingCheck extends AbstractJavadocCheck {
+
+        private static final List<Integer> RECORDED = new ArrayList<>();
+
+        @Override
+        public int[] getDefaultJavadocTokens() {
+            return new int[] {JavadocTokenTypes.JAVADOC};
+        }
+
+        @Override
+        public int[] getAcceptableJavadocTokens() {
+            return new int[] {JavadocTokenTypes.JAVADOC, JavadocTokenTypes.TEXT};
+        }
+
+        @Override
+        public void visitJavadocToken(DetailNode ast) {
+            RECORDED.add(ast.getType());
+        }
+
+    }
+
+    public static class LeaveTokenOverridingCheck extends JavadocTokenRecordingCheck {
+
+        @Override
+        public void leaveToken(DetailAST blockCommentNode) {
+            // the tree is not walked on leaving of the comment
+        }
+
+    }
+
     public static class JavadocLeaveTokenCheck extends AbstractJavadocCheck {
 
         private static int visitCount;
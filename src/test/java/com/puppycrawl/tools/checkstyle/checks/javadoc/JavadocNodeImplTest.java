@@ -62,4 +62,55 @@ public class JavadocNodeImplTest {
             .isEqualTo(1);
     }
 
+    @Test
+    public void testSiblingLinks() {
+        final JavadocNodeImpl javadocNode = new JavadocNodeImpl();
+        final JavadocNodeImpl child1 = new JavadocNodeImpl();
+        final JavadocNodeImpl child2 = new JavadocNodeImpl();
+        final JavadocNodeImpl child3 = new JavadocNodeImpl();
+        javadocNode.setChildren(child1, child2, child3);
+
+        assertWithMessage("Invalid first child")
+            .that(javadocNode.getFirstChild())
+            .isSameInstanceAs(child1);
+        assertWithMessage("Invalid next sibling")
+            .that(child1.getNextSibling())
+            .isSameInstanceAs(child2);
+        assertWithMessage("Invalid next sibling")
+            .that(child2.getNextSibling())
+            .isSameInstanceAs(child3);
+        assertWithMessage("Last child should have no next sibling")
+            .that(child3.getNextSibling())
+            .isNull();
+        assertWithMessage("Invalid previous sibling")
+            .that(child3.getPreviousSibling())
+            .isSameInstanceAs(child2);
+        assertWithMessage("First child should have no previous sibling")
+            .that(child1.getPreviousSibling())
+            .isNull();
+        assertWithMessage("Node without children should have no first child")
+            .that(child1.getFirstChild())
+            .isNull();
+    }
+
+    @Test
+    public void testSiblingLinksAfterChildrenReplaced() {
+        final JavadocNodeImpl javadocNode = new JavadocNodeImpl();
+        final JavadocNodeImpl child1 = new JavadocNodeImpl();
+        final JavadocNodeImpl child2 = new JavadocNodeImpl();
+        javadocNode.setChildren(child1, child2);
+        javadocNode.setChildren(child2);
+
+        assertWithMessage("Invalid first child")
+            .that(javadocNode.getFirstChild())
+            .isSameInstanceAs(child2);
+        assertWithMessage("Only child should have no previous sibling")
+            .that(child2.getPreviousSibling())
+            .isNull();
+        javadocNode.setChildren(JavadocNodeImpl.EMPTY_DETAIL_NODE_ARRAY);
+        assertWithMessage("Node without children should have no first child")
+            .that(javadocNode.getFirstChild())
+            .isNull();
+    }
+
 }
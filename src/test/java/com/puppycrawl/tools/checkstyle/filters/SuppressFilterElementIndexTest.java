@@ -0,0 +1,177 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+public class SuppressFilterElementIndexTest {
+
+    private static final String[] FILE_NAMES = {
+        "src/main/java/org/example/Foo.java",
+        "src\\main\\java\\org\\example\\Foo.java",
+        "src/test/java/org/example/FooTest.java",
+        "src/test/java/org/example/BarFoo.java",
+        "/home/user/project/generated/Bar.java",
+        "Foo.javax",
+        "Baz.java",
+    };
+
+    private static final Class<?>[] SOURCES = {
+        SuppressionFilter.class,
+        SuppressFilterElement.class,
+        CsvFilterElement.class,
+    };
+
+    @Test
+    public void testRequiredText() {
+        assertRequiredText("Foo\\.java", "Foo.java");
+        assertRequiredText("^src[\\\\/]test[\\\\/]", "src/test/");
+        assertRequiredText("src[/\\\\]main\\\\java", "src/main/java");
+        assertRequiredText("generated/.*", "generated/");
+        assertRequiredText("Foo\\.java$", "Foo.java");
+        assertRequiredText("Tests?\\.java", "Test");
+        assertRequiredText("Fo+", "Fo");
+        assertRequiredText("Foo{2}", "Fo");
+        assertRequiredText("Foo\\d", "Foo");
+        assertRequiredText("SuppressionFilter", "SuppressionFilter");
+        assertRequiredText("\\\\", "/");
+        assertRequiredText("[a-z]+\\.java", null);
+        assertRequiredText(".*", null);
+        assertRequiredText("F*oo", null);
+        assertRequiredText("\\QFoo\\E", null);
+        assertRequiredText("Foo|Bar", null);
+        assertWithMessage("Patterns with flags should have no required text")
+                .that(SuppressFilterElementIndex.getRequiredText(
+                        Pattern.compile("Foo", Pattern.CASE_INSENSITIVE)))
+                .isNull();
+        assertWithMessage("Missing pattern should have no required text")
+                .that(SuppressFilterElementIndex.getRequiredText(null))
+                .isNull();
+    }
+
+    @Test
+    public void testSameResultsAsFilterSet() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(new SuppressFilterElement("Foo\\.java", "SuppressionFilter",
+                null, null, null, null));
+        filterSet.addFilter(new SuppressFilterElement("Foo\\.java$", null,
+                null, null, "2-3", null));
+        filterSet.addFilter(new SuppressFilterElement("^src[\\\\/]test[\\\\/]", "Csv",
+                null, null, null, null));
+        filterSet.addFilter(new SuppressFilterElement("generated", null,
+                null, "moduleId", null, null));
+        filterSet.addFilter(new SuppressFilterElement("Baz", null,
+                "message", null, null, null));
+        filterSet.addFilter(new SuppressFilterElement(".*Bar.*", "FilterElement",
+                null, null, null, "5"));
+        filterSet.addFilter(new SuppressFilterElement((String) null, "Element$",
+                null, null, "4", null));
+        filterSet.addFilter(new SuppressFilterElement((String) null, null,
+                null, "otherId", null, null));
+        filterSet.addFilter(new SuppressFilterElement("[Ff]oo", "(?i)suppressionfilter",
+                null, null, "5", null));
+        final SuppressFilterElementIndex index =
+                new SuppressFilterElementIndex(filterSet.getFilters());
+
+        for (AuditEvent event : createEvents()) {
+            assertWithMessage("Invalid result for %s", event)
+                    .that(index.accept(event))
+                    .isEqualTo(filterSet.accept(event));
+        }
+    }
+
+    @Test
+    public void testEventsWithoutFileNameOrViolation() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(new SuppressFilterElement("Foo", "Csv", null, null, null, null));
+        filterSet.addFilter(event -> event.getFileName() != null);
+        final SuppressFilterElementIndex index =
+                new SuppressFilterElementIndex(filterSet.getFilters());
+
+        assertWithMessage("Event without file name should be rejected by other filters")
+                .that(index.accept(new AuditEvent(this, null, createViolation(1, 1, null,
+                        CsvFilterElement.class))))
+                .isFalse();
+        assertWithMessage("Event without violation should be accepted")
+                .that(index.accept(new AuditEvent(this, "Foo.java")))
+                .isTrue();
+        assertWithMessage("Matching event should be rejected")
+                .that(index.accept(new AuditEvent(this, "Foo.java", createViolation(1, 1, null,
+                        CsvFilterElement.class))))
+                .isFalse();
+    }
+
+    @Test
+    public void testSubclassesOfElementAreNotIndexed() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(new SuppressFilterElement("Foo", null, null, "id", null, null) {
+            @Override
+            public boolean accept(AuditEvent event) {
+                return false;
+            }
+        });
+        final SuppressFilterElementIndex index =
+                new SuppressFilterElementIndex(filterSet.getFilters());
+
+        assertWithMessage("Subclass should be asked for every event")
+                .that(index.accept(new AuditEvent(this, "Bar.java", createViolation(1, 1, null,
+                        CsvFilterElement.class))))
+                .isFalse();
+    }
+
+    private static void assertRequiredText(String regex, String expected) {
+        assertWithMessage("Invalid required text of %s", regex)
+                .that(SuppressFilterElementIndex.getRequiredText(Pattern.compile(regex)))
+                .isEqualTo(expected);
+    }
+
+    private List<AuditEvent> createEvents() {
+        final List<AuditEvent> events = new ArrayList<>();
+        for (String fileName : FILE_NAMES) {
+            for (Class<?> source : SOURCES) {
+                for (int line = 1; line <= 5; line++) {
+                    events.add(new AuditEvent(this, fileName,
+                            createViolation(line, line, null, source)));
+                    events.add(new AuditEvent(this, fileName,
+                            createViolation(line, 1, "moduleId", source)));
+                    events.add(new AuditEvent(this, fileName,
+                            createViolation(line, 1, "otherId", source)));
+                }
+            }
+        }
+        return events;
+    }
+
+    private static Violation createViolation(int line, int column, String moduleId,
+            Class<?> source) {
+        return new Violation(line, column, "", "", null, moduleId, source, "message");
+    }
+
+}
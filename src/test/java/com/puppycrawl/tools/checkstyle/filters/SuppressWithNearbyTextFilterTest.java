@@ -36,6 +36,7 @@ import org.junit.jupiter.api.io.TempDir;
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.api.Violation;
@@ -508,6 +509,21 @@ public class SuppressWithNearbyTextFilterTest extends AbstractModuleTestSupport
         }
     }
 
+    @Test
+    public void testAcceptUsesFileTextOfEvent() {
+        final Violation message = new Violation(1, 1, 1, TokenTypes.CLASS_DEF,
+            "messages.properties", "key", null, SeverityLevel.ERROR, null, getClass(), null);
+        final String fileName = "nonexisting_file";
+        final FileText fileText = new FileText(new File(fileName),
+                List.of("\tint i; // SUPPRESS CHECKSTYLE test"));
+        final AuditEvent auditEvent = new AuditEvent(this, fileName, message, fileText);
+        final SuppressWithNearbyTextFilter filter = new SuppressWithNearbyTextFilter();
+
+        assertWithMessage("Filter should suppress event using file text of the event")
+                .that(filter.accept(auditEvent))
+                .isFalse();
+    }
+
     /**
      * Calls the filter with an audit event for a directory and asserts that the filter accepts the
      * event. Some violations can be on a directory instead of a file. Our goal is 100% test
@@ -42,6 +42,7 @@ import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.api.Violation;
@@ -633,6 +634,21 @@ public class SuppressWithPlainTextCommentFilterTest extends AbstractModuleTestSu
         }
     }
 
+    @Test
+    public void testAcceptUsesFileTextOfEvent() {
+        final Violation message = new Violation(2, 1, 1, TokenTypes.CLASS_DEF,
+            "messages.properties", "key", null, SeverityLevel.ERROR, null, getClass(), null);
+        final String fileName = "nonexisting_file";
+        final FileText fileText = new FileText(new File(fileName),
+                List.of("// CHECKSTYLE:OFF", "\tint i;"));
+        final AuditEvent auditEvent = new AuditEvent(this, fileName, message, fileText);
+        final SuppressWithPlainTextCommentFilter filter = new SuppressWithPlainTextCommentFilter();
+
+        assertWithMessage("Filter should suppress event using file text of the event")
+                .that(filter.accept(auditEvent))
+                .isFalse();
+    }
+
     @Test
     public void testFilterWithCustomMessageFormat() throws Exception {
         final String[] suppressed = {
@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle.filters;
 import static com.google.common.truth.Truth.assertWithMessage;
 
 import java.io.File;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 
@@ -31,10 +32,12 @@ import org.junit.jupiter.api.Test;
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.JavaParser;
 import com.puppycrawl.tools.checkstyle.TreeWalkerAuditEvent;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.internal.utils.TestUtil;
 import net.sf.saxon.Configuration;
 import net.sf.saxon.sxpath.XPathEvaluator;
 import net.sf.saxon.sxpath.XPathExpression;
@@ -144,6 +147,63 @@ public class XpathFilterElementTest extends AbstractModuleTestSupport {
         }
     }
 
+    @Test
+    public void testMatchingSeveralEventsOfSameTree() throws Exception {
+        final DetailAST rootAst = JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+        final XpathFilterElement classFilter = new XpathFilterElement(
+                "InputXpathFilterElementSuppressByXpath", "Test", null, null,
+                "//CLASS_DEF[./IDENT[@text='InputXpathFilterElementSuppressByXpath']]");
+        final XpathFilterElement methodFilter = new XpathFilterElement(
+                "InputXpathFilterElementSuppressByXpath", "Test", null, null,
+                "//METHOD_DEF[./IDENT[@text='countTokens']]");
+        final TreeWalkerAuditEvent classEvent = getEvent(3, 0, TokenTypes.CLASS_DEF, rootAst);
+        final TreeWalkerAuditEvent methodEvent = getEvent(4, 4, TokenTypes.METHOD_DEF, rootAst);
+
+        assertWithMessage("Class event should be rejected")
+                .that(classFilter.accept(classEvent))
+                .isFalse();
+        assertWithMessage("Method event should be accepted")
+                .that(classFilter.accept(methodEvent))
+                .isTrue();
+        assertWithMessage("Class event should be accepted")
+                .that(methodFilter.accept(classEvent))
+                .isTrue();
+        assertWithMessage("Method event should be rejected")
+                .that(methodFilter.accept(methodEvent))
+                .isFalse();
+        assertWithMessage("Class event of another tree should be rejected")
+                .that(classFilter.accept(getEvent(3, 0, TokenTypes.CLASS_DEF)))
+                .isFalse();
+    }
+
+    @Test
+    public void testTreeIsWeaklyReferenced() throws Exception {
+        final DetailAST rootAst = JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+        final XpathFilterElement filter = new XpathFilterElement(
+                "InputXpathFilterElementSuppressByXpath", "Test", null, null,
+                "//CLASS_DEF[./IDENT[@text='InputXpathFilterElementSuppressByXpath']]");
+        final TreeWalkerAuditEvent event = getEvent(3, 0, TokenTypes.CLASS_DEF, rootAst);
+        filter.accept(event);
+
+        final ThreadLocal<?> context = TestUtil.getInternalState(filter, "context");
+        final WeakReference<DetailAST> treeReference =
+                TestUtil.getInternalState(context.get(), "rootAst");
+        final ThreadLocal<WeakReference<?>> rootNode =
+                TestUtil.getInternalStaticState(XpathFilterElement.class, "ROOT_NODE");
+        assertWithMessage("Tree should be referenced weakly")
+                .that(treeReference.get())
+                .isSameInstanceAs(rootAst);
+        assertWithMessage("Root node should be referenced weakly")
+                .that(rootNode.get().get())
+                .isNotNull();
+        treeReference.clear();
+        rootNode.get().clear();
+
+        assertWithMessage("Event should be rejected after the tree was collected")
+                .that(filter.accept(event))
+                .isFalse();
+    }
+
     @Test
     public void testIncorrectQuery() {
         final String xpath = "1@#";
@@ -350,8 +410,10 @@ public class XpathFilterElementTest extends AbstractModuleTestSupport {
             .withPrefabValues(XPathExpression.class,
                 xpathEvaluator.createExpression("//METHOD_DEF"),
                 xpathEvaluator.createExpression("//VARIABLE_DEF"))
+            .withPrefabValues(ThreadLocal.class,
+                ThreadLocal.withInitial(() -> 1), ThreadLocal.withInitial(() -> 2))
                 .usingGetClass()
-                .withIgnoredFields("xpathExpression", "isEmptyConfig")
+                .withIgnoredFields("xpathExpression", "isEmptyConfig", "context")
                 .report();
         assertWithMessage("Error: " + ev.getMessage())
                 .that(ev.isSuccessful())
@@ -360,11 +422,16 @@ public class XpathFilterElementTest extends AbstractModuleTestSupport {
 
     private TreeWalkerAuditEvent getEvent(int line, int column, int tokenType)
             throws Exception {
+        return getEvent(line, column, tokenType,
+                JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS));
+    }
+
+    private TreeWalkerAuditEvent getEvent(int line, int column, int tokenType,
+            DetailAST rootAst) {
         final Violation message =
                 new Violation(line, column, tokenType, "", "", null, null, null,
                         getClass(), null);
-        return new TreeWalkerAuditEvent(fileContents, file.getName(), message,
-                JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS));
+        return new TreeWalkerAuditEvent(fileContents, file.getName(), message, rootAst);
     }
 
 }
@@ -0,0 +1,122 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammar;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.junit.jupiter.api.Test;
+
+public class CharSequenceCharStreamTest {
+
+    private static final String TEXT = "class A {\r\n}\n";
+
+    @Test
+    public void testBehavesAsCodePointCharStream() {
+        final CharStream expected = CharStreams.fromString(TEXT);
+        final CharStream actual = new CharSequenceCharStream(TEXT, IntStream.UNKNOWN_SOURCE_NAME);
+
+        assertWithMessage("Invalid size")
+                .that(actual.size())
+                .isEqualTo(expected.size());
+        for (int index = 0; index <= TEXT.length(); index++) {
+            for (int offset = -2; offset <= 2; offset++) {
+                assertWithMessage("Invalid look ahead %s at %s", offset, index)
+                        .that(actual.LA(offset))
+                        .isEqualTo(expected.LA(offset));
+            }
+            assertWithMessage("Invalid index")
+                    .that(actual.index())
+                    .isEqualTo(expected.index());
+            if (index < TEXT.length()) {
+                actual.consume();
+                expected.consume();
+            }
+        }
+        assertWithMessage("Invalid source name")
+                .that(actual.getSourceName())
+                .isEqualTo(expected.getSourceName());
+        assertWithMessage("Invalid text")
+                .that(actual.toString())
+                .isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void testConsumeEof() {
+        final CharStream stream = new CharSequenceCharStream("", "name");
+        final IllegalStateException exc =
+                getExpectedThrowable(IllegalStateException.class, stream::consume);
+
+        assertWithMessage("Invalid exception message")
+                .that(exc.getMessage())
+                .isEqualTo("cannot consume EOF");
+    }
+
+    @Test
+    public void testGetText() {
+        final CharStream stream = new CharSequenceCharStream(TEXT, "name");
+
+        assertWithMessage("Invalid text")
+                .that(stream.getText(Interval.of(6, 6)))
+                .isEqualTo("A");
+        assertWithMessage("Invalid text")
+                .that(stream.getText(Interval.of(11, 20)))
+                .isEqualTo("}\n");
+        assertWithMessage("Invalid text")
+                .that(stream.getText(Interval.of(20, 30)))
+                .isEmpty();
+        assertWithMessage("Invalid text")
+                .that(stream.getText(Interval.of(3, 2)))
+                .isEmpty();
+    }
+
+    @Test
+    public void testSeekAndMark() {
+        final CharStream stream = new CharSequenceCharStream(TEXT, "name");
+        final int marker = stream.mark();
+        stream.seek(6);
+        stream.release(marker);
+
+        assertWithMessage("Invalid marker")
+                .that(marker)
+                .isEqualTo(-1);
+        assertWithMessage("Invalid look ahead")
+                .that(stream.LA(1))
+                .isEqualTo('A');
+        assertWithMessage("Invalid source name")
+                .that(stream.getSourceName())
+                .isEqualTo("name");
+    }
+
+    @Test
+    public void testIsApplicable() {
+        assertWithMessage("Text without surrogates should be applicable")
+                .that(CharSequenceCharStream.isApplicable("int " + "\u00e9" + " = 0;"))
+                .isTrue();
+        assertWithMessage("Text with surrogates should not be applicable")
+                .that(CharSequenceCharStream.isApplicable("int " + "\uD801\uDC00" + " = 0;"))
+                .isFalse();
+    }
+
+}
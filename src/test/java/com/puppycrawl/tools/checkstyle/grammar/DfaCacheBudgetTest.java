@@ -0,0 +1,91 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2025 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.grammar;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.io.File;
+import java.util.List;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.grammar.java.JavaLanguageLexer;
+import com.puppycrawl.tools.checkstyle.grammar.java.JavaLanguageParser;
+
+public class DfaCacheBudgetTest {
+
+    @Test
+    public void testClearWhenStatesExceeded() throws Exception {
+        final ParserATNSimulator simulator = parseAndGetSimulator();
+        final DfaCacheBudget budget = new DfaCacheBudget(0, 100);
+
+        assertWithMessage("Cache with states should be cleared")
+                .that(budget.clearIfExceeded(simulator))
+                .isTrue();
+        assertWithMessage("Empty cache should not be cleared")
+                .that(budget.clearIfExceeded(simulator))
+                .isFalse();
+    }
+
+    @Test
+    public void testClearWhenHeapUsageExceeded() throws Exception {
+        final ParserATNSimulator simulator = parseAndGetSimulator();
+
+        assertWithMessage("Cache within budget should not be cleared")
+                .that(new DfaCacheBudget(Integer.MAX_VALUE, 100).clearIfExceeded(simulator))
+                .isFalse();
+        assertWithMessage("Cache with states should be cleared on high heap usage")
+                .that(new DfaCacheBudget(1, 0).clearIfExceeded(simulator))
+                .isTrue();
+    }
+
+    @Test
+    public void testFromSystemProperties() throws Exception {
+        final ParserATNSimulator simulator = parseAndGetSimulator();
+        System.setProperty(DfaCacheBudget.MAX_STATES_PROPERTY, "0");
+        try {
+            assertWithMessage("Cache should be cleared with budget from property")
+                    .that(DfaCacheBudget.fromSystemProperties().clearIfExceeded(simulator))
+                    .isTrue();
+        }
+        finally {
+            System.clearProperty(DfaCacheBudget.MAX_STATES_PROPERTY);
+        }
+        parseAndGetSimulator();
+        assertWithMessage("Cache should not be cleared with default budget")
+                .that(DfaCacheBudget.fromSystemProperties().clearIfExceeded(simulator))
+                .isFalse();
+    }
+
+    private static ParserATNSimulator parseAndGetSimulator() throws Exception {
+        JavaParser.parse(new FileContents(new FileText(new File("Test.java"),
+                List.of("class Test {", "  void method() { method(); }", "}"))));
+        final JavaLanguageLexer lexer =
+                new JavaLanguageLexer(CharStreams.fromString(""), true);
+        return new JavaLanguageParser(new CommonTokenStream(lexer)).getInterpreter();
+    }
+
+}
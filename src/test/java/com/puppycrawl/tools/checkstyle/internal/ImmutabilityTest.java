@@ -118,6 +118,8 @@ public class ImmutabilityTest {
      */
     private static final Set<String> SUPPRESSED_FIELDS_IN_UTIL_CLASSES = Set.of(
         "com.puppycrawl.tools.checkstyle.utils.TokenUtil.TOKEN_IDS",
+        "com.puppycrawl.tools.checkstyle.utils.XpathUtil.COMPILED_EXPRESSIONS",
+        "com.puppycrawl.tools.checkstyle.utils.XpathUtil.CONFIGURATION",
         "com.puppycrawl.tools.checkstyle.utils.XpathUtil.TOKEN_TYPES_WITH_TEXT_ATTRIBUTE"
     );
 
@@ -142,8 +142,12 @@ public class XdocsPagesTest {
             "Checker.classloader",
             "Checker.moduleClassLoader",
             "Checker.moduleFactory",
+            "Checker.profiler",
+            "Checker.changedLinesFilter",
             "TreeWalker.classLoader",
             "TreeWalker.moduleFactory",
+            "TreeWalker.profiler",
+            "TreeWalker.changedLinesFilter",
             "TreeWalker.cacheFile",
             "TreeWalker.upChild",
             "SuppressWithNearbyCommentFilter.fileContents",
@@ -21,6 +21,8 @@ package com.puppycrawl.tools.checkstyle.utils;
 
 import static com.google.common.truth.Truth.assertWithMessage;
 import static com.puppycrawl.tools.checkstyle.AbstractPathTestSupport.addEndOfLine;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getExpectedThrowable;
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.getInternalStaticState;
 import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.isUtilsClassHasPrivateConstructor;
 import static com.puppycrawl.tools.checkstyle.utils.XpathUtil.getTextAttributeValue;
 
@@ -29,6 +31,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -40,6 +43,8 @@ import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.xpath.AbstractNode;
 import com.puppycrawl.tools.checkstyle.xpath.RootNode;
+import net.sf.saxon.sxpath.XPathExpression;
+import net.sf.saxon.trans.XPathException;
 
 public class XpathUtilTest {
 
@@ -205,6 +210,49 @@ public class XpathUtilTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void testCompiledXpathIsShared() throws Exception {
+        final XPathExpression expression = XpathUtil.compileXpath("//CLASS_DEF");
+
+        assertWithMessage("Expression of the same query should be reused")
+                .that(XpathUtil.compileXpath("//CLASS_DEF"))
+                .isSameInstanceAs(expression);
+        assertWithMessage("Expression of another query should be compiled")
+                .that(XpathUtil.compileXpath("//METHOD_DEF"))
+                .isNotSameInstanceAs(expression);
+        assertWithMessage("Trees should use the shared configuration")
+                .that(new RootNode(new DetailAstImpl()).getTreeInfo().getConfiguration())
+                .isSameInstanceAs(XpathUtil.getConfiguration());
+    }
+
+    @Test
+    public void testCompiledXpathCacheIsBounded() throws Exception {
+        final int maxExpressions =
+                getInternalStaticState(XpathUtil.class, "MAX_COMPILED_EXPRESSIONS");
+        final Map<String, XPathExpression> compiledExpressions =
+                getInternalStaticState(XpathUtil.class, "COMPILED_EXPRESSIONS");
+        for (int index = 0; index <= maxExpressions; index++) {
+            XpathUtil.compileXpath("//CLASS_DEF[@lineNo=" + index + "]");
+        }
+
+        assertWithMessage("Cache should not grow over its limit")
+                .that(compiledExpressions.size())
+                .isAtMost(maxExpressions);
+        assertWithMessage("Last compiled expression should be cached")
+                .that(compiledExpressions)
+                .containsKey("//CLASS_DEF[@lineNo=" + maxExpressions + "]");
+    }
+
+    @Test
+    public void testCompileInvalidXpath() {
+        final XPathException exception = getExpectedThrowable(XPathException.class,
+            () -> XpathUtil.compileXpath("\\//CLASS_DEF"));
+
+        assertWithMessage("Exception message should not be empty")
+                .that(exception.getMessage())
+                .isNotEmpty();
+    }
+
     private static DetailAST createDetailAST(int type) {
         final DetailAstImpl detailAST = new DetailAstImpl();
         detailAST.setType(type);
@@ -0,0 +1,17 @@
+// comment before package
+package com.puppycrawl.tools.checkstyle.treewalker;
+
+/**
+ * Javadoc.
+ */
+public class InputTreeWalkerCommentNodes { // trailing comment
+    /* block */ private int field; // after field
+
+    /** Javadoc of method. */
+    public void method(/* parameters */) {
+        // inside method
+        int local = 0; /* after local */
+    }
+}
+// comment at the end of file
+/* another one */